@@ -0,0 +1,115 @@
+package org.raystack.depot.benchmark;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.util.JsonFormat;
+import org.raystack.depot.common.Tuple;
+import org.raystack.depot.message.Message;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic synthetic messages for the benchmarks, every field of the shape is populated.
+ */
+public final class BenchmarkCorpus {
+    private static final int REPEATED_COUNT = 3;
+    private static final String TOPIC = "bench-topic";
+
+    private BenchmarkCorpus() {
+    }
+
+    public static List<Message> protoMessages(CorpusShape shape, int size) {
+        List<Message> messages = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            messages.add(message(generate(shape.getDescriptor(), i).toByteArray(), i));
+        }
+        return messages;
+    }
+
+    public static List<Message> jsonMessages(CorpusShape shape, int size) {
+        List<Message> messages = new ArrayList<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                String json = JsonFormat.printer().print(generate(shape.getDescriptor(), i));
+                messages.add(message(json.getBytes(StandardCharsets.UTF_8), i));
+            }
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        return messages;
+    }
+
+    /**
+     * Descriptors of the corpus keyed by java class name, the way stencil hands them out.
+     */
+    public static Map<String, Descriptors.Descriptor> descriptors() {
+        Map<String, Descriptors.Descriptor> descriptors = new HashMap<>();
+        descriptors.put(BenchNarrowMessage.class.getName(), BenchNarrowMessage.getDescriptor());
+        descriptors.put(BenchWideMessage.class.getName(), BenchWideMessage.getDescriptor());
+        descriptors.put(BenchNestedMessage.class.getName(), BenchNestedMessage.getDescriptor());
+        descriptors.put(BenchNestedChild.class.getName(), BenchNestedChild.getDescriptor());
+        descriptors.put(BenchNestedLeaf.class.getName(), BenchNestedLeaf.getDescriptor());
+        return descriptors;
+    }
+
+    /**
+     * Settings shared by every sink config built for the corpus.
+     */
+    public static Map<String, String> env(CorpusShape shape) {
+        Map<String, String> env = new HashMap<>();
+        env.put("SINK_CONNECTOR_SCHEMA_PROTO_MESSAGE_CLASS", shape.getSchemaClass());
+        env.put("SINK_CONNECTOR_SCHEMA_MESSAGE_MODE", "LOG_MESSAGE");
+        return env;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Message message(byte[] payload, int offset) {
+        return new Message(null, payload,
+                new Tuple<>("topic", TOPIC),
+                new Tuple<>("partition", offset % REPEATED_COUNT),
+                new Tuple<>("offset", (long) offset));
+    }
+
+    private static DynamicMessage generate(Descriptors.Descriptor descriptor, int seed) {
+        DynamicMessage.Builder builder = DynamicMessage.newBuilder(descriptor);
+        for (Descriptors.FieldDescriptor field : descriptor.getFields()) {
+            if (field.isRepeated()) {
+                for (int i = 0; i < REPEATED_COUNT; i++) {
+                    builder.addRepeatedField(field, value(field, seed + i));
+                }
+            } else {
+                builder.setField(field, value(field, seed));
+            }
+        }
+        return builder.build();
+    }
+
+    private static Object value(Descriptors.FieldDescriptor field, int seed) {
+        switch (field.getJavaType()) {
+            case STRING:
+                return field.getName() + "-" + seed;
+            case LONG:
+                return (long) seed * field.getNumber();
+            case INT:
+                return seed * field.getNumber();
+            case DOUBLE:
+                return seed + field.getNumber() / 100.0;
+            case FLOAT:
+                return (float) seed;
+            case BOOLEAN:
+                return seed % 2 == 0;
+            case BYTE_STRING:
+                return ByteString.copyFromUtf8(field.getName());
+            case MESSAGE:
+                return generate(field.getMessageType(), seed);
+            default:
+                throw new IllegalArgumentException("Unsupported corpus field " + field.getFullName());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.raystack.depot.benchmark;
+
+import org.raystack.depot.bigquery.converter.MessageRecordConverter;
+import org.raystack.depot.bigquery.storage.proto.BigQueryProtoStorageClient;
+import org.raystack.depot.bigquery.storage.proto.BigQueryProtoWriter;
+import org.raystack.depot.config.BigQuerySinkConfig;
+import org.raystack.depot.config.BigQuerySinkConfigSnapshot;
+import org.raystack.depot.metrics.BigQueryMetrics;
+import org.raystack.depot.metrics.Instrumentation;
+import org.raystack.depot.metrics.StatsDReporter;
+import com.google.protobuf.Descriptors;
+import com.timgroup.statsd.NoOpStatsDClient;
+import org.aeonbits.owner.ConfigFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converting a batch into insertAll records and into storage write api rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BigQueryConverterBenchmark {
+
+    @Benchmark
+    public void messageRecordConverter(Converters converters, ProtoCorpus corpus, Blackhole blackhole) {
+        blackhole.consume(converters.recordConverter.convert(corpus.messages));
+    }
+
+    @Benchmark
+    public void storageClientConvert(Converters converters, ProtoCorpus corpus, Blackhole blackhole) {
+        blackhole.consume(converters.storageClient.convert(corpus.messages));
+    }
+
+    /**
+     * The storage client writes into a table shaped like the input message, metadata is only added
+     * to insertAll records since the table descriptor has no metadata columns.
+     */
+    @State(Scope.Benchmark)
+    public static class Converters {
+        public MessageRecordConverter recordConverter;
+        public BigQueryProtoStorageClient storageClient;
+
+        @Setup(Level.Trial)
+        public void setup(ProtoCorpus corpus) {
+            Map<String, String> env = BenchmarkCorpus.env(corpus.shape);
+            env.put("SINK_BIGQUERY_METADATA_COLUMNS_TYPES", "topic=string,partition=integer,offset=integer");
+            BigQuerySinkConfig recordConfig = BigQuerySinkConfigSnapshot.of(
+                    ConfigFactory.create(BigQuerySinkConfig.class, env));
+            recordConverter = new MessageRecordConverter(corpus.parser, recordConfig, corpus.schema);
+
+            env.put("SINK_BIGQUERY_ADD_METADATA_ENABLED", "false");
+            BigQuerySinkConfig storageConfig = BigQuerySinkConfigSnapshot.of(
+                    ConfigFactory.create(BigQuerySinkConfig.class, env));
+            storageClient = new BigQueryProtoStorageClient(
+                    new FixedDescriptorWriter(storageConfig, corpus.shape.getDescriptor()), storageConfig, corpus.parser);
+        }
+    }
+
+    /**
+     * Writer that is never initialized nor appended to, it only hands the table descriptor to the storage client.
+     */
+    private static class FixedDescriptorWriter extends BigQueryProtoWriter {
+        private final Descriptors.Descriptor descriptor;
+
+        FixedDescriptorWriter(BigQuerySinkConfig config, Descriptors.Descriptor descriptor) {
+            super(config, c -> null, c -> null, (c, cr, p) -> null,
+                    new Instrumentation(new StatsDReporter(new NoOpStatsDClient()), BigQueryProtoWriter.class),
+                    new BigQueryMetrics(config));
+            this.descriptor = descriptor;
+        }
+
+        @Override
+        public Descriptors.Descriptor getDescriptor() {
+            return descriptor;
+        }
+    }
+}
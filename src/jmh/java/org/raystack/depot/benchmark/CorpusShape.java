@@ -0,0 +1,28 @@
+package org.raystack.depot.benchmark;
+
+import com.google.protobuf.Descriptors;
+
+/**
+ * Message shapes of the synthetic corpus, from a handful of scalars to repeated nested children.
+ */
+public enum CorpusShape {
+    NARROW(BenchNarrowMessage.getDescriptor(), BenchNarrowMessage.class.getName()),
+    WIDE(BenchWideMessage.getDescriptor(), BenchWideMessage.class.getName()),
+    NESTED(BenchNestedMessage.getDescriptor(), BenchNestedMessage.class.getName());
+
+    private final Descriptors.Descriptor descriptor;
+    private final String schemaClass;
+
+    CorpusShape(Descriptors.Descriptor descriptor, String schemaClass) {
+        this.descriptor = descriptor;
+        this.schemaClass = schemaClass;
+    }
+
+    public Descriptors.Descriptor getDescriptor() {
+        return descriptor;
+    }
+
+    public String getSchemaClass() {
+        return schemaClass;
+    }
+}
@@ -0,0 +1,109 @@
+package org.raystack.depot.benchmark;
+
+import org.raystack.depot.bigtable.model.BigTableSchema;
+import org.raystack.depot.bigtable.parser.BigTableRecordParser;
+import org.raystack.depot.bigtable.parser.BigTableRowKeyParser;
+import org.raystack.depot.common.Template;
+import org.raystack.depot.config.RedisSinkConfig;
+import org.raystack.depot.config.RedisSinkConfigSnapshot;
+import org.raystack.depot.exception.InvalidTemplateException;
+import org.raystack.depot.message.Message;
+import org.raystack.depot.message.ParsedMessage;
+import org.raystack.depot.message.SinkConnectorSchemaMessageMode;
+import org.raystack.depot.metrics.StatsDReporter;
+import org.raystack.depot.redis.parsers.RedisEntryParserFactory;
+import org.raystack.depot.redis.parsers.RedisParser;
+import org.raystack.depot.utils.MessageConfigUtils;
+import com.timgroup.statsd.NoOpStatsDClient;
+import org.aeonbits.owner.ConfigFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Key construction and record conversion for the template driven sinks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KeyTemplateBenchmark {
+    private static final String KEY_TEMPLATE = "bench:%s:%s, id, count";
+    private static final String HASHSET_MAPPING = "{\"id\":\"id\",\"count\":\"count_%s,id\"}";
+    private static final String COLUMN_FAMILY_MAPPING = "{\"cf\":{\"q_id\":\"id\",\"q_count\":\"count\"}}";
+
+    @Benchmark
+    public void templateParse(Parsers parsers, FreshMessages fresh, ProtoCorpus corpus, Blackhole blackhole) {
+        for (ParsedMessage parsedMessage : fresh.parsedMessages) {
+            blackhole.consume(parsers.template.parse(parsedMessage, corpus.schema));
+        }
+    }
+
+    @Benchmark
+    public void redisParserConvert(Parsers parsers, ProtoCorpus corpus, Blackhole blackhole) {
+        blackhole.consume(parsers.redisParser.convert(corpus.messages));
+    }
+
+    @Benchmark
+    public void bigTableRecordParserConvert(Parsers parsers, ProtoCorpus corpus, Blackhole blackhole) {
+        blackhole.consume(parsers.bigTableRecordParser.convert(corpus.messages));
+    }
+
+    /**
+     * Redis writes hashsets keyed by the template, bigtable writes two qualifiers keyed by the same template.
+     */
+    @State(Scope.Benchmark)
+    public static class Parsers {
+        public Template template;
+        public RedisParser redisParser;
+        public BigTableRecordParser bigTableRecordParser;
+
+        @Setup(Level.Trial)
+        public void setup(ProtoCorpus corpus) throws IOException, InvalidTemplateException {
+            template = new Template(KEY_TEMPLATE);
+            Map<String, String> env = BenchmarkCorpus.env(corpus.shape);
+            env.put("SINK_REDIS_KEY_TEMPLATE", KEY_TEMPLATE);
+            env.put("SINK_REDIS_DATA_TYPE", "HASHSET");
+            env.put("SINK_REDIS_HASHSET_FIELD_TO_COLUMN_MAPPING", HASHSET_MAPPING);
+            RedisSinkConfig redisConfig = RedisSinkConfigSnapshot.of(ConfigFactory.create(RedisSinkConfig.class, env));
+            redisParser = new RedisParser(corpus.parser,
+                    RedisEntryParserFactory.getRedisEntryParser(redisConfig,
+                            new StatsDReporter(new NoOpStatsDClient()), corpus.schema),
+                    MessageConfigUtils.getModeAndSchema(redisConfig));
+
+            bigTableRecordParser = new BigTableRecordParser(corpus.parser,
+                    new BigTableRowKeyParser(new Template(KEY_TEMPLATE), corpus.schema),
+                    MessageConfigUtils.getModeAndSchema(redisConfig),
+                    corpus.schema,
+                    new BigTableSchema(COLUMN_FAMILY_MAPPING));
+        }
+    }
+
+    /**
+     * Messages parsed again before every invocation, parsed messages memoize the fields they resolved,
+     * so reusing them would only measure the lookups of the memo.
+     */
+    @State(Scope.Thread)
+    public static class FreshMessages {
+        public List<ParsedMessage> parsedMessages;
+
+        @Setup(Level.Invocation)
+        public void setup(ProtoCorpus corpus) throws IOException {
+            parsedMessages = new ArrayList<>(corpus.messages.size());
+            for (Message message : corpus.messages) {
+                parsedMessages.add(corpus.parser.parse(message, SinkConnectorSchemaMessageMode.LOG_MESSAGE,
+                        corpus.shape.getSchemaClass()));
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.raystack.depot.benchmark;
+
+import org.raystack.depot.config.SinkConfig;
+import org.raystack.depot.message.Message;
+import org.raystack.depot.message.ParsedMessage;
+import org.raystack.depot.message.SinkConnectorSchemaMessageMode;
+import org.raystack.depot.message.json.JsonMessageParser;
+import org.raystack.depot.metrics.Instrumentation;
+import org.raystack.depot.metrics.JsonParserMetrics;
+import org.raystack.depot.metrics.StatsDReporter;
+import com.timgroup.statsd.NoOpStatsDClient;
+import org.aeonbits.owner.ConfigFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a batch of protobuf or json payloads, and flattening parsed protobuf messages into columns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MessageParserBenchmark {
+
+    @Benchmark
+    public void protoParse(ProtoCorpus corpus, Blackhole blackhole) throws IOException {
+        for (Message message : corpus.messages) {
+            blackhole.consume(corpus.parser.parse(message, SinkConnectorSchemaMessageMode.LOG_MESSAGE,
+                    corpus.shape.getSchemaClass()));
+        }
+    }
+
+    @Benchmark
+    public void protoGetMapping(ProtoCorpus corpus, Blackhole blackhole) throws IOException {
+        for (Message message : corpus.messages) {
+            ParsedMessage parsedMessage = corpus.parser.parse(message, SinkConnectorSchemaMessageMode.LOG_MESSAGE,
+                    corpus.shape.getSchemaClass());
+            blackhole.consume(parsedMessage.getMapping(corpus.schema));
+        }
+    }
+
+    @Benchmark
+    public void jsonParse(JsonCorpus corpus, Blackhole blackhole) throws IOException {
+        for (Message message : corpus.messages) {
+            blackhole.consume(corpus.parser.parse(message, SinkConnectorSchemaMessageMode.LOG_MESSAGE, null));
+        }
+    }
+
+    /**
+     * The protobuf corpus printed as json, string mode is off so nested objects are kept.
+     */
+    @State(Scope.Benchmark)
+    public static class JsonCorpus {
+        @Param({"NARROW", "WIDE", "NESTED"})
+        public CorpusShape shape;
+
+        @Param({"100"})
+        public int batchSize;
+
+        public List<Message> messages;
+        public JsonMessageParser parser;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            Map<String, String> env = BenchmarkCorpus.env(shape);
+            env.put("SINK_CONNECTOR_SCHEMA_DATA_TYPE", "JSON");
+            env.put("SINK_CONNECTOR_SCHEMA_JSON_PARSER_STRING_MODE_ENABLED", "false");
+            SinkConfig config = ConfigFactory.create(SinkConfig.class, env);
+            messages = BenchmarkCorpus.jsonMessages(shape, batchSize);
+            parser = new JsonMessageParser(config,
+                    new Instrumentation(new StatsDReporter(new NoOpStatsDClient()), JsonMessageParser.class),
+                    new JsonParserMetrics(config));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.raystack.depot.benchmark;
+
+import org.raystack.depot.message.Message;
+import org.raystack.depot.message.MessageSchema;
+import org.raystack.depot.message.proto.ProtoMessageParser;
+import org.raystack.stencil.StencilClientFactory;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A batch of serialized protobuf messages of one shape, with the parser and schema to read them.
+ */
+@State(Scope.Benchmark)
+public class ProtoCorpus {
+    @Param({"NARROW", "WIDE", "NESTED"})
+    public CorpusShape shape;
+
+    @Param({"100"})
+    public int batchSize;
+
+    public List<Message> messages;
+    public ProtoMessageParser parser;
+    public MessageSchema schema;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        messages = BenchmarkCorpus.protoMessages(shape, batchSize);
+        parser = new ProtoMessageParser(StencilClientFactory.getClient());
+        schema = parser.getSchema(shape.getSchemaClass(), BenchmarkCorpus.descriptors());
+    }
+}
@@ -0,0 +1,16 @@
+package org.raystack.depot;
+
+import org.raystack.depot.message.Message;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sink that can push a batch without blocking the caller on the sink round trip.
+ * The returned future completes with the same response pushToSink would return,
+ * or exceptionally with a {@link org.raystack.depot.exception.SinkException}.
+ */
+public interface AsyncSink extends Sink {
+
+    CompletableFuture<SinkResponse> pushToSinkAsync(List<Message> messages);
+}
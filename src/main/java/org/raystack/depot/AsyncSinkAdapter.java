@@ -0,0 +1,72 @@
+package org.raystack.depot;
+
+import org.raystack.depot.exception.SinkException;
+import org.raystack.depot.message.Message;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a synchronous sink on an executor, for sinks without a native async path.
+ * Batches are pushed one at a time in submission order, as the wrapped sinks are not thread safe.
+ */
+public class AsyncSinkAdapter implements AsyncSink {
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+    private final Sink sink;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+
+    public AsyncSinkAdapter(Sink sink) {
+        this(sink, Executors.newSingleThreadExecutor());
+    }
+
+    private AsyncSinkAdapter(Sink sink, ExecutorService executorService) {
+        this.sink = sink;
+        this.executor = executorService;
+        this.ownedExecutor = executorService;
+    }
+
+    /**
+     * The executor is owned by the caller and must run one task at a time.
+     */
+    public AsyncSinkAdapter(Sink sink, Executor executor) {
+        this.sink = sink;
+        this.executor = executor;
+        this.ownedExecutor = null;
+    }
+
+    @Override
+    public SinkResponse pushToSink(List<Message> messages) throws SinkException {
+        return sink.pushToSink(messages);
+    }
+
+    @Override
+    public CompletableFuture<SinkResponse> pushToSinkAsync(List<Message> messages) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return sink.pushToSink(messages);
+            } catch (SinkException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+            try {
+                ownedExecutor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        sink.close();
+    }
+}
@@ -0,0 +1,206 @@
+package org.raystack.depot;
+
+import org.raystack.depot.config.SinkConfig;
+import org.raystack.depot.exception.SinkException;
+import org.raystack.depot.message.Message;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accumulates the batches of several calls and pushes them to the wrapped sink in one request.
+ * A buffer is flushed once it holds SINK_BUFFER_MAX_MESSAGES messages, SINK_BUFFER_MAX_BYTES estimated bytes
+ * or when SINK_BUFFER_LINGER_MS has passed since its first message, whichever comes first.
+ * The errors of the combined response are mapped back to the indexes of every call.
+ * <p>
+ * All flushes run on a single background thread, so the wrapped sink is never called concurrently
+ * and buffers are pushed in the order they were filled.
+ * <p>
+ * {@link #pushToSink(List)} blocks until the batch is flushed, so a synchronous caller waits up to
+ * SINK_BUFFER_LINGER_MS longer for each batch unless the buffer fills up first. A single thread gets several batches
+ * into one request with {@link #pushToSinkAsync(List)}, waiting for the futures afterwards.
+ */
+public class BufferingSink implements AsyncSink {
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+    private final Sink sink;
+    private final int maxMessages;
+    private final long maxBytes;
+    private final long lingerMs;
+    private final ScheduledThreadPoolExecutor flushExecutor;
+    private Buffer buffer = new Buffer();
+    private boolean closed;
+
+    public BufferingSink(Sink sink, int maxMessages, long maxBytes, long lingerMs) {
+        this.sink = sink;
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.lingerMs = lingerMs;
+        this.flushExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "depot-buffering-sink-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // close flushes the last buffer itself, pending linger deadlines are dropped
+        this.flushExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    public BufferingSink(Sink sink, SinkConfig sinkConfig) {
+        this(sink, sinkConfig.getSinkBufferMaxMessages(), sinkConfig.getSinkBufferMaxBytes(), sinkConfig.getSinkBufferLingerMs());
+    }
+
+    /**
+     * Wraps the sink when SINK_BUFFER_ENABLE is set, returns it unchanged otherwise.
+     */
+    public static Sink wrap(Sink sink, SinkConfig sinkConfig) {
+        return sinkConfig.getSinkBufferEnable() ? new BufferingSink(sink, sinkConfig) : sink;
+    }
+
+    /**
+     * Same as {@link #wrap(Sink, SinkConfig)} for the sinks of createAsync.
+     */
+    public static AsyncSink wrapAsync(AsyncSink sink, SinkConfig sinkConfig) {
+        return sinkConfig.getSinkBufferEnable() ? new BufferingSink(sink, sinkConfig) : sink;
+    }
+
+    @Override
+    public SinkResponse pushToSink(List<Message> messages) throws SinkException {
+        try {
+            return pushToSinkAsync(messages).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SinkException) {
+                throw (SinkException) e.getCause();
+            }
+            throw new SinkException("Exception occurred while flushing buffered messages", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SinkException("Interrupted exception occurred", e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<SinkResponse> pushToSinkAsync(List<Message> messages) {
+        CompletableFuture<SinkResponse> future = new CompletableFuture<>();
+        if (messages.isEmpty()) {
+            future.complete(new SinkResponse());
+            return future;
+        }
+        synchronized (this) {
+            if (closed) {
+                future.completeExceptionally(new SinkException("Sink is closed", new IllegalStateException()));
+                return future;
+            }
+            Buffer current = buffer;
+            if (current.isEmpty()) {
+                flushExecutor.schedule(() -> flushIfCurrent(current), lingerMs, TimeUnit.MILLISECONDS);
+            }
+            current.add(messages, future);
+            if (current.messages.size() >= maxMessages || current.bytes >= maxBytes) {
+                buffer = new Buffer();
+                flushExecutor.execute(() -> flush(current));
+            }
+        }
+        return future;
+    }
+
+    private void flushIfCurrent(Buffer lingering) {
+        synchronized (this) {
+            if (buffer != lingering) {
+                return;
+            }
+            buffer = new Buffer();
+        }
+        flush(lingering);
+    }
+
+    private void flush(Buffer full) {
+        SinkResponse response;
+        try {
+            response = sink.pushToSink(full.messages);
+        } catch (SinkException | RuntimeException e) {
+            full.callers.forEach(caller -> caller.future.completeExceptionally(e));
+            return;
+        }
+        for (Caller caller : full.callers) {
+            SinkResponse callerResponse = new SinkResponse();
+            for (int i = 0; i < caller.size; i++) {
+                if (response.getErrorsFor(caller.offset + i) != null) {
+                    callerResponse.addErrors(i, response.getErrorsFor(caller.offset + i));
+                }
+            }
+            caller.future.complete(callerResponse);
+        }
+    }
+
+    /**
+     * Flushes the messages still buffered before closing the wrapped sink.
+     */
+    @Override
+    public void close() throws IOException {
+        Buffer remaining;
+        synchronized (this) {
+            closed = true;
+            remaining = buffer;
+            buffer = new Buffer();
+        }
+        if (!remaining.isEmpty()) {
+            flushExecutor.execute(() -> flush(remaining));
+        }
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sink.close();
+    }
+
+    static long estimateSize(Message message) {
+        return estimateSize(message.getLogKey()) + estimateSize(message.getLogMessage());
+    }
+
+    private static long estimateSize(Object value) {
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        if (value instanceof String) {
+            return ((String) value).getBytes(StandardCharsets.UTF_8).length;
+        }
+        return 0;
+    }
+
+    private static class Buffer {
+        private final List<Message> messages = new ArrayList<>();
+        private final List<Caller> callers = new ArrayList<>();
+        private long bytes;
+
+        void add(List<Message> batch, CompletableFuture<SinkResponse> future) {
+            callers.add(new Caller(messages.size(), batch.size(), future));
+            for (Message message : batch) {
+                messages.add(message);
+                bytes += estimateSize(message);
+            }
+        }
+
+        boolean isEmpty() {
+            return messages.isEmpty();
+        }
+    }
+
+    private static class Caller {
+        private final int offset;
+        private final int size;
+        private final CompletableFuture<SinkResponse> future;
+
+        Caller(int offset, int size, CompletableFuture<SinkResponse> future) {
+            this.offset = offset;
+            this.size = size;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.raystack.depot;
+
+import org.raystack.depot.config.SinkConfig;
+import org.raystack.depot.deadletter.DeadLetterWriter;
+import org.raystack.depot.error.ErrorInfo;
+import org.raystack.depot.error.ErrorType;
+import org.raystack.depot.exception.ConfigurationException;
+import org.raystack.depot.exception.SinkException;
+import org.raystack.depot.message.Message;
+import org.raystack.depot.message.ParsedMessages;
+import org.raystack.depot.metrics.Instrumentation;
+import org.raystack.depot.metrics.SinkMetrics;
+import org.raystack.depot.metrics.StatsDReporter;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hands the messages the wrapped sink failed with one of SINK_DEAD_LETTER_ERROR_TYPES to a {@link DeadLetterWriter}.
+ * Messages taken by the writer are removed from the response, the caller only sees the errors of
+ * other types and of messages the writer had no room for.
+ * <p>
+ * The sink factories wrap it inside {@link SpillingSink}, so replayed spilled messages failing for good
+ * are written as dead letters as well. Messages already parsed, see {@link FanOutSink}, are passed on parsed when
+ * the wrapped sink is a {@link ParsedSink}.
+ */
+public class DeadLetterSink implements ParsedSink {
+    private final Sink sink;
+    private final DeadLetterWriter deadLetterWriter;
+    private final Set<ErrorType> errorTypes;
+
+    public DeadLetterSink(Sink sink, DeadLetterWriter deadLetterWriter, Set<ErrorType> errorTypes) {
+        this.sink = sink;
+        this.deadLetterWriter = deadLetterWriter;
+        this.errorTypes = errorTypes;
+    }
+
+    /**
+     * Wraps the sink when SINK_DEAD_LETTER_ENABLE is set, returns it unchanged otherwise.
+     * Every wrapped sink writes to its own numbered subdirectory of SINK_DEAD_LETTER_DIRECTORY.
+     */
+    public static Sink wrap(Sink sink, SinkConfig sinkConfig, StatsDReporter statsDReporter) {
+        if (!sinkConfig.getSinkDeadLetterEnable()) {
+            return sink;
+        }
+        try {
+            DeadLetterWriter deadLetterWriter = DeadLetterWriter.openUnused(Paths.get(sinkConfig.getSinkDeadLetterDirectory()),
+                    sinkConfig.getSinkDeadLetterSegmentBytes(), sinkConfig.getSinkDeadLetterMaxSegments(),
+                    sinkConfig.getSinkDeadLetterQueueSize(), new Instrumentation(statsDReporter, DeadLetterWriter.class),
+                    new SinkMetrics(sinkConfig));
+            return new DeadLetterSink(sink, deadLetterWriter, EnumSet.copyOf(sinkConfig.getSinkDeadLetterErrorTypes()));
+        } catch (IOException e) {
+            throw new ConfigurationException("Exception occurred while opening dead letter directory", e);
+        }
+    }
+
+    @Override
+    public SinkResponse pushToSink(List<Message> messages) throws SinkException {
+        return writeDeadLetters(messages, sink.pushToSink(messages));
+    }
+
+    @Override
+    public SinkResponse pushParsedToSink(List<Message> messages, ParsedMessages parsedMessages) throws SinkException {
+        SinkResponse response = sink instanceof ParsedSink
+                ? ((ParsedSink) sink).pushParsedToSink(messages, parsedMessages)
+                : sink.pushToSink(messages);
+        return writeDeadLetters(messages, response);
+    }
+
+    private SinkResponse writeDeadLetters(List<Message> messages, SinkResponse response) {
+        if (!response.hasErrors()) {
+            return response;
+        }
+        SinkResponse remaining = new SinkResponse();
+        for (Map.Entry<Long, ErrorInfo> error : response.getErrors().entrySet()) {
+            boolean written = errorTypes.contains(error.getValue().getErrorType())
+                    && deadLetterWriter.offer(messages.get(error.getKey().intValue()), error.getValue());
+            if (!written) {
+                remaining.addErrors(error.getKey(), error.getValue());
+            }
+        }
+        return remaining;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sink.close();
+        } finally {
+            deadLetterWriter.close();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.raystack.depot;
+
+import org.raystack.depot.common.BatchConverter;
+import org.raystack.depot.common.Tuple;
+import org.raystack.depot.config.SinkConfig;
+import org.raystack.depot.config.enums.SinkFanOutResponsePolicy;
+import org.raystack.depot.error.ErrorInfo;
+import org.raystack.depot.exception.SinkException;
+import org.raystack.depot.message.Message;
+import org.raystack.depot.message.MessageParser;
+import org.raystack.depot.message.ParsedMessages;
+import org.raystack.depot.message.SinkConnectorSchemaMessageMode;
+import org.raystack.depot.utils.MessageConfigUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pushes every batch to several sinks at once, parsing each message only once.
+ * Sinks implementing {@link ParsedSink} reuse the parsed messages when they parse with the same mode and schema class,
+ * other sinks parse the messages themselves. {@link DeadLetterSink} passes the parsed messages on, while
+ * {@link BufferingSink} and {@link SpillingSink} keep messages past the push and parse them again, so buffering and
+ * spilling are best applied to the fan out sink rather than to its sinks.
+ * The responses are merged with SINK_FAN_OUT_RESPONSE_POLICY. If a sink throws, the push fails after every sink returned.
+ */
+public class FanOutSink implements Sink {
+    private final List<Sink> sinks;
+    private final MessageParser messageParser;
+    private final Tuple<SinkConnectorSchemaMessageMode, String> modeAndSchema;
+    private final BatchConverter batchConverter;
+    private final SinkFanOutResponsePolicy responsePolicy;
+    private final ExecutorService executor;
+
+    public FanOutSink(List<Sink> sinks, MessageParser messageParser, SinkConfig sinkConfig) {
+        this(sinks, messageParser, MessageConfigUtils.getModeAndSchema(sinkConfig), BatchConverter.create(sinkConfig),
+                sinkConfig.getSinkFanOutResponsePolicy());
+    }
+
+    public FanOutSink(List<Sink> sinks, MessageParser messageParser,
+            Tuple<SinkConnectorSchemaMessageMode, String> modeAndSchema, BatchConverter batchConverter,
+            SinkFanOutResponsePolicy responsePolicy) {
+        if (sinks.isEmpty()) {
+            throw new IllegalArgumentException("Fan out sink needs at least one sink");
+        }
+        this.sinks = new ArrayList<>(sinks);
+        this.messageParser = messageParser;
+        this.modeAndSchema = modeAndSchema;
+        this.batchConverter = batchConverter;
+        this.responsePolicy = responsePolicy;
+        this.executor = Executors.newFixedThreadPool(sinks.size());
+    }
+
+    @Override
+    public SinkResponse pushToSink(List<Message> messages) throws SinkException {
+        ParsedMessages parsedMessages = ParsedMessages.parse(messages, messageParser, modeAndSchema.getFirst(),
+                modeAndSchema.getSecond(), batchConverter);
+        List<CompletableFuture<SinkResponse>> futures = new ArrayList<>(sinks.size());
+        for (Sink sink : sinks) {
+            futures.add(CompletableFuture.supplyAsync(() -> push(sink, messages, parsedMessages), executor));
+        }
+        List<SinkResponse> responses = new ArrayList<>(sinks.size());
+        Throwable failure = null;
+        for (CompletableFuture<SinkResponse> future : futures) {
+            try {
+                responses.add(future.join());
+            } catch (CompletionException e) {
+                failure = failure == null ? e.getCause() : failure;
+            }
+        }
+        if (failure instanceof SinkException) {
+            throw (SinkException) failure;
+        }
+        if (failure != null) {
+            throw new SinkException("Exception occurred while pushing to fan out sinks", failure);
+        }
+        return merge(responses);
+    }
+
+    private SinkResponse push(Sink sink, List<Message> messages, ParsedMessages parsedMessages) {
+        try {
+            if (sink instanceof ParsedSink) {
+                return ((ParsedSink) sink).pushParsedToSink(messages, parsedMessages);
+            }
+            return sink.pushToSink(messages);
+        } catch (SinkException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private SinkResponse merge(List<SinkResponse> responses) {
+        SinkResponse merged = new SinkResponse();
+        if (responsePolicy == SinkFanOutResponsePolicy.ANY_SUCCEEDED) {
+            for (Map.Entry<Long, ErrorInfo> error : responses.get(0).getErrors().entrySet()) {
+                if (responses.stream().allMatch(response -> response.getErrorsFor(error.getKey()) != null)) {
+                    merged.addErrors(error.getKey(), error.getValue());
+                }
+            }
+            return merged;
+        }
+        for (SinkResponse response : responses) {
+            for (Map.Entry<Long, ErrorInfo> error : response.getErrors().entrySet()) {
+                if (merged.getErrorsFor(error.getKey()) == null) {
+                    merged.addErrors(error.getKey(), error.getValue());
+                }
+            }
+        }
+        return merged;
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        IOException failure = null;
+        for (Sink sink : sinks) {
+            try {
+                sink.close();
+            } catch (IOException e) {
+                failure = failure == null ? e : failure;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package org.raystack.depot;
+
+import org.raystack.depot.exception.SinkException;
+import org.raystack.depot.message.Message;
+import org.raystack.depot.message.ParsedMessages;
+
+import java.util.List;
+
+/**
+ * Sink that can push messages another sink has already parsed, see {@link FanOutSink}.
+ * The response is the same pushToSink would return for the messages.
+ */
+public interface ParsedSink extends Sink {
+
+    SinkResponse pushParsedToSink(List<Message> messages, ParsedMessages parsedMessages) throws SinkException;
+}
@@ -2,19 +2,40 @@ package org.raystack.depot;
 
 import org.raystack.depot.error.ErrorInfo;
 
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 public class SinkResponse {
-    private final Map<Long, ErrorInfo> errors = new HashMap<>();
+    private static final int INITIAL_CAPACITY = 8;
+    /**
+     * Indexes of failed messages.
+     */
+    private final BitSet errorIndexes = new BitSet();
+    /**
+     * Sparse array of errors, sorted by message index.
+     */
+    private int[] errorKeys = new int[0];
+    private ErrorInfo[] errorValues = new ErrorInfo[0];
+    private int errorCount;
+    private Map<Long, ErrorInfo> errorsView;
 
     /**
      * Returns error as a map whose keys are indexes of messages that failed to be
      * pushed.
      * Each failed message index is associated with a {@link ErrorInfo}.
+     * The map is a read only view, errors are added through {@link #addErrors(long, ErrorInfo)}.
      */
     public Map<Long, ErrorInfo> getErrors() {
-        return errors;
+        if (errorsView == null) {
+            errorsView = new ErrorsView();
+        }
+        return errorsView;
     }
 
     /**
@@ -22,14 +43,36 @@ public class SinkResponse {
      * {@code null}.
      */
     public ErrorInfo getErrorsFor(long index) {
-        return errors.get(index);
+        if (!hasError(index)) {
+            return null;
+        }
+        return errorValues[Arrays.binarySearch(errorKeys, 0, errorCount, (int) index)];
     }
 
     /**
      * Adds an error for the index.
      */
     public void addErrors(long index, ErrorInfo errorInfo) {
-        errors.put(index, errorInfo);
+        int key = Math.toIntExact(index);
+        if (errorIndexes.get(key)) {
+            errorValues[Arrays.binarySearch(errorKeys, 0, errorCount, key)] = errorInfo;
+            return;
+        }
+        errorIndexes.set(key);
+        if (errorCount == errorKeys.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, errorCount * 2);
+            errorKeys = Arrays.copyOf(errorKeys, capacity);
+            errorValues = Arrays.copyOf(errorValues, capacity);
+        }
+        int position = errorCount;
+        if (errorCount > 0 && errorKeys[errorCount - 1] > key) {
+            position = -Arrays.binarySearch(errorKeys, 0, errorCount, key) - 1;
+            System.arraycopy(errorKeys, position, errorKeys, position + 1, errorCount - position);
+            System.arraycopy(errorValues, position, errorValues, position + 1, errorCount - position);
+        }
+        errorKeys[position] = key;
+        errorValues[position] = errorInfo;
+        errorCount++;
     }
 
     /**
@@ -38,7 +81,61 @@ public class SinkResponse {
      * {@link #getErrors()} ()} returns an empty map.
      */
     public boolean hasErrors() {
-        return !errors.isEmpty();
+        return errorCount > 0;
     }
 
+    private boolean hasError(long index) {
+        return index >= 0 && index <= Integer.MAX_VALUE && errorIndexes.get((int) index);
+    }
+
+    private final class ErrorsView extends AbstractMap<Long, ErrorInfo> {
+
+        @Override
+        public ErrorInfo get(Object key) {
+            return key instanceof Long ? getErrorsFor((Long) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Long && hasError((Long) key);
+        }
+
+        @Override
+        public int size() {
+            return errorCount;
+        }
+
+        @Override
+        public Set<Entry<Long, ErrorInfo>> entrySet() {
+            return new AbstractSet<Entry<Long, ErrorInfo>>() {
+                @Override
+                public Iterator<Entry<Long, ErrorInfo>> iterator() {
+                    return new Iterator<Entry<Long, ErrorInfo>>() {
+                        private int position;
+
+                        @Override
+                        public boolean hasNext() {
+                            return position < errorCount;
+                        }
+
+                        @Override
+                        public Entry<Long, ErrorInfo> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<Long, ErrorInfo> entry = new SimpleImmutableEntry<>(
+                                    (long) errorKeys[position], errorValues[position]);
+                            position++;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return errorCount;
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,180 @@
+package org.raystack.depot;
+
+import org.raystack.depot.common.RetryExecutor;
+import org.raystack.depot.config.SinkConfig;
+import org.raystack.depot.error.ErrorInfo;
+import org.raystack.depot.error.ErrorType;
+import org.raystack.depot.exception.ConfigurationException;
+import org.raystack.depot.exception.SinkException;
+import org.raystack.depot.message.Message;
+import org.raystack.depot.metrics.Instrumentation;
+import org.raystack.depot.metrics.SinkMetrics;
+import org.raystack.depot.metrics.StatsDReporter;
+import org.raystack.depot.spill.SpillLog;
+import org.raystack.depot.spill.SpillMessageSerializer;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps accepting messages while the backend of the wrapped sink is down by spilling them to a {@link SpillLog}.
+ * When more than SINK_SPILL_ERROR_RATE_THRESHOLD of a batch fails with retryable errors, those messages are spilled
+ * and reported as succeeded. While the log holds messages, every new batch is appended behind them. Before each push,
+ * at most once every SINK_SPILL_REPLAY_INTERVAL_MS, the log is replayed in batches of SINK_SPILL_REPLAY_BATCH_SIZE
+ * until it is empty or more than the threshold of a batch fails again.
+ * <p>
+ * Messages are replayed in the order they were spilled. A replayed message failing again with a retryable error,
+ * while the rest of its batch went through, is spilled again at the end of the log, so it reaches the sink after
+ * the messages spilled meanwhile. The order of the messages is only kept for those that did not have to be retried.
+ * <p>
+ * Replayed messages were already reported as succeeded, the ones failing with a non retryable error are logged
+ * and dropped. Messages are delivered at least once, a crash during replay pushes the last replayed batch again.
+ * When the log is full, failed messages are reported to the caller as usual.
+ */
+public class SpillingSink implements Sink {
+    private final Sink sink;
+    private final SpillLog spillLog;
+    private final Instrumentation instrumentation;
+    private final String spilledMessagesMetric;
+    private final double errorRateThreshold;
+    private final int replayBatchSize;
+    private final long replayIntervalMs;
+    private long lastReplayMillis;
+
+    public SpillingSink(Sink sink, SpillLog spillLog, Instrumentation instrumentation, SinkConfig sinkConfig) {
+        this.sink = sink;
+        this.spillLog = spillLog;
+        this.instrumentation = instrumentation;
+        this.spilledMessagesMetric = new SinkMetrics(sinkConfig).getSpilledMessagesMetric();
+        this.errorRateThreshold = sinkConfig.getSinkSpillErrorRateThreshold();
+        this.replayBatchSize = sinkConfig.getSinkSpillReplayBatchSize();
+        this.replayIntervalMs = sinkConfig.getSinkSpillReplayIntervalMs();
+    }
+
+    /**
+     * Wraps the sink when SINK_SPILL_ENABLE is set, returns it unchanged otherwise.
+     * Every wrapped sink spills to its own numbered subdirectory of SINK_SPILL_DIRECTORY.
+     */
+    public static Sink wrap(Sink sink, SinkConfig sinkConfig, StatsDReporter statsDReporter) {
+        if (!sinkConfig.getSinkSpillEnable()) {
+            return sink;
+        }
+        try {
+            SpillLog spillLog = SpillLog.openUnused(Paths.get(sinkConfig.getSinkSpillDirectory()),
+                    sinkConfig.getSinkSpillSegmentBytes(), sinkConfig.getSinkSpillMaxBytes());
+            return new SpillingSink(sink, spillLog, new Instrumentation(statsDReporter, SpillingSink.class), sinkConfig);
+        } catch (IOException e) {
+            throw new ConfigurationException("Exception occurred while opening spill log", e);
+        }
+    }
+
+    @Override
+    public synchronized SinkResponse pushToSink(List<Message> messages) throws SinkException {
+        if (!spillLog.isEmpty()) {
+            replay();
+        }
+        if (!spillLog.isEmpty()) {
+            List<Long> indexes = new ArrayList<>(messages.size());
+            for (long i = 0; i < messages.size(); i++) {
+                indexes.add(i);
+            }
+            SinkResponse response = new SinkResponse();
+            if (!spill(messages, indexes)) {
+                ErrorInfo full = new ErrorInfo(new IOException("Spill log is full"), ErrorType.SINK_RETRYABLE_ERROR);
+                indexes.forEach(index -> response.addErrors(index, full));
+            }
+            return response;
+        }
+        SinkResponse response = sink.pushToSink(messages);
+        List<Long> retryable = retryableIndexes(response);
+        if (retryable.isEmpty() || retryable.size() <= errorRateThreshold * messages.size()
+                || !spill(messages, retryable)) {
+            return response;
+        }
+        instrumentation.logWarn("Spilled {} messages failing with retryable errors", retryable.size());
+        SinkResponse remaining = new SinkResponse();
+        for (Map.Entry<Long, ErrorInfo> error : response.getErrors().entrySet()) {
+            if (!RetryExecutor.isRetryable(error.getValue())) {
+                remaining.addErrors(error.getKey(), error.getValue());
+            }
+        }
+        return remaining;
+    }
+
+    private boolean spill(List<Message> messages, List<Long> indexes) {
+        try {
+            List<byte[]> records = new ArrayList<>(indexes.size());
+            for (long index : indexes) {
+                records.add(SpillMessageSerializer.serialize(messages.get((int) index)));
+            }
+            boolean spilled = spillLog.append(records);
+            captureSpilledMessages();
+            return spilled;
+        } catch (IOException e) {
+            instrumentation.logError("Messages could not be spilled: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void replay() {
+        long now = System.currentTimeMillis();
+        if (now - lastReplayMillis < replayIntervalMs) {
+            return;
+        }
+        lastReplayMillis = now;
+        try {
+            while (!spillLog.isEmpty()) {
+                List<byte[]> records = spillLog.read(replayBatchSize);
+                List<Message> batch = new ArrayList<>(records.size());
+                for (byte[] record : records) {
+                    batch.add(SpillMessageSerializer.deserialize(record));
+                }
+                SinkResponse response = sink.pushToSink(batch);
+                List<Long> retryable = retryableIndexes(response);
+                // the few messages failing again go behind the log instead of holding up the ones after them
+                if (retryable.size() > errorRateThreshold * batch.size() || !spill(batch, retryable)) {
+                    return;
+                }
+                for (Map.Entry<Long, ErrorInfo> error : response.getErrors().entrySet()) {
+                    if (!RetryExecutor.isRetryable(error.getValue())) {
+                        instrumentation.logError("Dropped replayed message. Metadata: {}, Error: {}",
+                                batch.get(error.getKey().intValue()).getMetadataString(), error.getValue().toString());
+                    }
+                }
+                spillLog.advance(records.size());
+                captureSpilledMessages();
+            }
+            instrumentation.logInfo("Replayed all spilled messages");
+        } catch (SinkException e) {
+            instrumentation.logWarn("Replay of spilled messages failed: {}", e.getMessage());
+        } catch (IOException e) {
+            instrumentation.logError("Spilled messages could not be read: {}", e.getMessage());
+        }
+    }
+
+    private static List<Long> retryableIndexes(SinkResponse response) {
+        List<Long> indexes = new ArrayList<>();
+        for (Map.Entry<Long, ErrorInfo> error : response.getErrors().entrySet()) {
+            if (RetryExecutor.isRetryable(error.getValue())) {
+                indexes.add(error.getKey());
+            }
+        }
+        return indexes;
+    }
+
+    private void captureSpilledMessages() {
+        instrumentation.captureValue(spilledMessagesMetric, (int) Math.min(Integer.MAX_VALUE, spillLog.size()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sink.close();
+        } finally {
+            spillLog.close();
+        }
+    }
+}
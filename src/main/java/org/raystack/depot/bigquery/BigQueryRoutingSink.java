@@ -0,0 +1,181 @@
+package org.raystack.depot.bigquery;
+
+import org.raystack.depot.ParsedSink;
+import org.raystack.depot.Sink;
+import org.raystack.depot.SinkResponse;
+import org.raystack.depot.common.BatchConverter;
+import org.raystack.depot.common.Template;
+import org.raystack.depot.common.Tuple;
+import org.raystack.depot.error.ErrorInfo;
+import org.raystack.depot.error.ErrorType;
+import org.raystack.depot.exception.SinkException;
+import org.raystack.depot.message.Message;
+import org.raystack.depot.message.MessageParser;
+import org.raystack.depot.message.MessageSchema;
+import org.raystack.depot.message.ParsedMessage;
+import org.raystack.depot.message.ParsedMessages;
+import org.raystack.depot.message.SinkConnectorSchemaMessageMode;
+import org.raystack.depot.metrics.Instrumentation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Routes every message to the table SINK_BIGQUERY_TABLE_NAME_TEMPLATE renders from its fields.
+ * Messages are parsed once, grouped by table and pushed to one sink per table, created the first time a message
+ * is routed to the table. At most SINK_BIGQUERY_ROUTING_MAX_TABLES sinks are kept, the least recently used one is
+ * closed when another table is needed.
+ * <p>
+ * When the sink of a table can not be created, the messages of the table fail with the same error for
+ * SINK_BIGQUERY_ROUTING_FAILED_TABLE_RETRY_MS before creating it is tried again.
+ * <p>
+ * Messages that can not be parsed fail with a deserialization error, messages whose table name can not be rendered
+ * with an invalid message error, and all messages of a table whose sink can not be created with an unknown error.
+ * When the sink of a table throws, only the messages of that table fail, with a retryable error.
+ */
+public class BigQueryRoutingSink implements Sink {
+    private final Template tableNameTemplate;
+    private final MessageParser messageParser;
+    private final Tuple<SinkConnectorSchemaMessageMode, String> modeAndSchema;
+    private final BatchConverter batchConverter;
+    private final int maxTables;
+    private final long failedTableRetryMillis;
+    private final Function<String, Sink> sinkCreator;
+    private final Instrumentation instrumentation;
+    private final Map<String, Sink> sinks = new LinkedHashMap<>(16, 0.75f, true);
+    // the time until which creating the sink of a table is not tried again, with the error it failed with
+    private final Map<String, Tuple<Long, RuntimeException>> failedTables = new HashMap<>();
+
+    /**
+     * @param sinkCreator creates the sink writing to the given table, creating the table when it does not exist
+     */
+    public BigQueryRoutingSink(Template tableNameTemplate, MessageParser messageParser,
+            Tuple<SinkConnectorSchemaMessageMode, String> modeAndSchema, BatchConverter batchConverter,
+            int maxTables, long failedTableRetryMillis, Function<String, Sink> sinkCreator,
+            Instrumentation instrumentation) {
+        this.tableNameTemplate = tableNameTemplate;
+        this.messageParser = messageParser;
+        this.modeAndSchema = modeAndSchema;
+        this.batchConverter = batchConverter;
+        this.maxTables = Math.max(1, maxTables);
+        this.failedTableRetryMillis = failedTableRetryMillis;
+        this.sinkCreator = sinkCreator;
+        this.instrumentation = instrumentation;
+    }
+
+    @Override
+    public synchronized SinkResponse pushToSink(List<Message> messages) throws SinkException {
+        SinkConnectorSchemaMessageMode mode = modeAndSchema.getFirst();
+        String schemaClass = modeAndSchema.getSecond();
+        MessageSchema schema;
+        try {
+            schema = messageParser.getSchema(schemaClass);
+        } catch (IOException e) {
+            throw new SinkException("Exception occurred while fetching schema for table routing", e);
+        }
+        ParsedMessages parsedMessages = ParsedMessages.parse(messages, messageParser, mode, schemaClass, batchConverter);
+        SinkResponse sinkResponse = new SinkResponse();
+        Map<String, List<Integer>> tables = new LinkedHashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            try {
+                ParsedMessage parsedMessage = parsedMessages.getOrParse(messages.get(i), i, messageParser, mode,
+                        schemaClass);
+                tables.computeIfAbsent(tableNameTemplate.parse(parsedMessage, schema), table -> new ArrayList<>())
+                        .add(i);
+            } catch (IOException e) {
+                sinkResponse.addErrors(i, new ErrorInfo(e, ErrorType.DESERIALIZATION_ERROR));
+            } catch (RuntimeException e) {
+                sinkResponse.addErrors(i, new ErrorInfo(e, ErrorType.INVALID_MESSAGE_ERROR));
+            }
+        }
+        for (Map.Entry<String, List<Integer>> table : tables.entrySet()) {
+            push(table.getKey(), table.getValue(), messages, parsedMessages, sinkResponse);
+        }
+        return sinkResponse;
+    }
+
+    private void push(String table, List<Integer> indexes, List<Message> messages, ParsedMessages parsedMessages,
+            SinkResponse sinkResponse) {
+        Sink sink;
+        try {
+            sink = sinkFor(table);
+        } catch (RuntimeException e) {
+            instrumentation.logError("Sink for table {} could not be created: {}", table, e.getMessage());
+            ErrorInfo errorInfo = new ErrorInfo(e, ErrorType.SINK_UNKNOWN_ERROR);
+            indexes.forEach(index -> sinkResponse.addErrors(index, errorInfo));
+            return;
+        }
+        List<Message> tableMessages = new ArrayList<>(indexes.size());
+        indexes.forEach(index -> tableMessages.add(messages.get(index)));
+        SinkResponse response;
+        try {
+            response = sink instanceof ParsedSink
+                    ? ((ParsedSink) sink).pushParsedToSink(tableMessages, parsedMessages.select(indexes))
+                    : sink.pushToSink(tableMessages);
+        } catch (IOException | RuntimeException e) {
+            instrumentation.logError("Messages could not be pushed to table {}: {}", table, e.getMessage());
+            ErrorInfo errorInfo = new ErrorInfo(e, ErrorType.SINK_RETRYABLE_ERROR);
+            indexes.forEach(index -> sinkResponse.addErrors(index, errorInfo));
+            return;
+        }
+        for (Map.Entry<Long, ErrorInfo> error : response.getErrors().entrySet()) {
+            sinkResponse.addErrors(indexes.get(error.getKey().intValue()), error.getValue());
+        }
+    }
+
+    private Sink sinkFor(String table) {
+        Sink sink = sinks.get(table);
+        if (sink != null) {
+            return sink;
+        }
+        Tuple<Long, RuntimeException> failure = failedTables.get(table);
+        if (failure != null && System.currentTimeMillis() < failure.getFirst()) {
+            throw failure.getSecond();
+        }
+        failedTables.remove(table);
+        try {
+            sink = sinkCreator.apply(table);
+        } catch (RuntimeException e) {
+            long now = System.currentTimeMillis();
+            failedTables.values().removeIf(failed -> failed.getFirst() <= now);
+            failedTables.put(table, new Tuple<>(now + failedTableRetryMillis, e));
+            throw e;
+        }
+        instrumentation.logInfo("Created sink for table {}", table);
+        sinks.put(table, sink);
+        Iterator<Map.Entry<String, Sink>> eldest = sinks.entrySet().iterator();
+        while (sinks.size() > maxTables) {
+            Map.Entry<String, Sink> evicted = eldest.next();
+            eldest.remove();
+            try {
+                evicted.getValue().close();
+                instrumentation.logInfo("Closed sink for table {}", evicted.getKey());
+            } catch (IOException e) {
+                instrumentation.logWarn("Sink for table {} could not be closed: {}", evicted.getKey(), e.getMessage());
+            }
+        }
+        return sink;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        IOException failure = null;
+        for (Sink sink : sinks.values()) {
+            try {
+                sink.close();
+            } catch (IOException e) {
+                failure = failure == null ? e : failure;
+            }
+        }
+        sinks.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
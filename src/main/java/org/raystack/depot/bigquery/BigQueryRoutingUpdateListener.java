@@ -0,0 +1,50 @@
+package org.raystack.depot.bigquery;
+
+import com.google.protobuf.Descriptors;
+import org.raystack.depot.metrics.Instrumentation;
+import org.raystack.depot.stencil.DepotStencilUpdateListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Listens to the schema updates of the parser the routing sink shares between its tables, and passes them on to the
+ * listeners of the tables that have a sink. A table whose schema can not be updated does not stop the others.
+ */
+public class BigQueryRoutingUpdateListener extends DepotStencilUpdateListener {
+    private final Map<String, DepotStencilUpdateListener> tableListeners = new ConcurrentHashMap<>();
+    private final Instrumentation instrumentation;
+
+    public BigQueryRoutingUpdateListener(Instrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+    }
+
+    public void addTable(String table, DepotStencilUpdateListener listener) {
+        tableListeners.put(table, listener);
+    }
+
+    public void removeTable(String table, DepotStencilUpdateListener listener) {
+        tableListeners.remove(table, listener);
+    }
+
+    @Override
+    public void onSchemaUpdate(Map<String, Descriptors.Descriptor> newDescriptor) {
+        forEachTable(listener -> listener.onSchemaUpdate(newDescriptor));
+    }
+
+    @Override
+    public void updateSchema() {
+        forEachTable(DepotStencilUpdateListener::updateSchema);
+    }
+
+    private void forEachTable(Consumer<DepotStencilUpdateListener> update) {
+        tableListeners.forEach((table, listener) -> {
+            try {
+                update.accept(listener);
+            } catch (RuntimeException e) {
+                instrumentation.logError("Schema of table {} could not be updated: {}", table, e.getMessage());
+            }
+        });
+    }
+}
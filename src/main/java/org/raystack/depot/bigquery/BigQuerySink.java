@@ -1,26 +1,37 @@
 package org.raystack.depot.bigquery;
 
+import com.google.cloud.bigquery.BigQueryError;
+import com.google.cloud.bigquery.BigQueryException;
 import com.google.cloud.bigquery.InsertAllRequest;
 import com.google.cloud.bigquery.InsertAllResponse;
 import org.raystack.depot.bigquery.client.BigQueryClient;
+import org.raystack.depot.bigquery.client.BigQueryInsertAllChunker;
 import org.raystack.depot.bigquery.client.BigQueryResponseParser;
 import org.raystack.depot.bigquery.client.BigQueryRow;
 import org.raystack.depot.bigquery.converter.MessageRecordConverterCache;
 import org.raystack.depot.bigquery.handler.ErrorHandler;
 import org.raystack.depot.bigquery.models.Record;
 import org.raystack.depot.bigquery.models.Records;
-import org.raystack.depot.Sink;
+import org.raystack.depot.ParsedSink;
 import org.raystack.depot.SinkResponse;
+import org.raystack.depot.common.RetryExecutor;
 import org.raystack.depot.error.ErrorInfo;
+import org.raystack.depot.error.ErrorType;
 import org.raystack.depot.message.Message;
+import org.raystack.depot.message.ParsedMessages;
 import org.raystack.depot.metrics.BigQueryMetrics;
 import org.raystack.depot.metrics.Instrumentation;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
 
-public class BigQuerySink implements Sink {
+public class BigQuerySink implements ParsedSink {
 
     private final BigQueryClient bigQueryClient;
     private final BigQueryRow rowCreator;
@@ -28,6 +39,8 @@ public class BigQuerySink implements Sink {
     private final Instrumentation instrumentation;
     private final BigQueryMetrics bigQueryMetrics;
     private final ErrorHandler errorHandler;
+    private final RetryExecutor retryExecutor;
+    private final BigQueryInsertAllChunker insertAllChunker;
 
     public BigQuerySink(BigQueryClient client,
             MessageRecordConverterCache converterCache,
@@ -35,41 +48,139 @@ public class BigQuerySink implements Sink {
             BigQueryMetrics bigQueryMetrics,
             Instrumentation instrumentation,
             ErrorHandler errorHandler) {
+        this(client, converterCache, rowCreator, bigQueryMetrics, instrumentation, errorHandler,
+                RetryExecutor.noRetry());
+    }
+
+    /**
+     * @param retryExecutor reinserts the records that failed with a retryable error
+     */
+    public BigQuerySink(BigQueryClient client,
+            MessageRecordConverterCache converterCache,
+            BigQueryRow rowCreator,
+            BigQueryMetrics bigQueryMetrics,
+            Instrumentation instrumentation,
+            ErrorHandler errorHandler,
+            RetryExecutor retryExecutor) {
+        this(client, converterCache, rowCreator, bigQueryMetrics, instrumentation, errorHandler, retryExecutor,
+                BigQueryInsertAllChunker.single());
+    }
+
+    /**
+     * @param insertAllChunker splits the records of an insert into several insertAll requests
+     */
+    public BigQuerySink(BigQueryClient client,
+            MessageRecordConverterCache converterCache,
+            BigQueryRow rowCreator,
+            BigQueryMetrics bigQueryMetrics,
+            Instrumentation instrumentation,
+            ErrorHandler errorHandler,
+            RetryExecutor retryExecutor,
+            BigQueryInsertAllChunker insertAllChunker) {
         this.bigQueryClient = client;
         this.messageRecordConverterCache = converterCache;
         this.rowCreator = rowCreator;
         this.instrumentation = instrumentation;
         this.bigQueryMetrics = bigQueryMetrics;
         this.errorHandler = errorHandler;
+        this.retryExecutor = retryExecutor;
+        this.insertAllChunker = insertAllChunker;
     }
 
     @Override
     public void close() throws IOException {
+        insertAllChunker.close();
     }
 
-    private InsertAllResponse insertIntoBQ(List<Record> records) {
+    private InsertAllResponse insertIntoBQ(List<InsertAllRequest.RowToInsert> rows) {
         InsertAllRequest.Builder builder = InsertAllRequest.newBuilder(bigQueryClient.getTableID());
-        records.forEach((Record m) -> builder.addRow(rowCreator.of(m)));
+        rows.forEach(builder::addRow);
         return bigQueryClient.insertAll(builder.build());
     }
 
     @Override
     public SinkResponse pushToSink(List<Message> messageList) {
-        Records records = messageRecordConverterCache.getMessageRecordConverter().convert(messageList);
+        return push(messageRecordConverterCache.getMessageRecordConverter().convert(messageList));
+    }
+
+    @Override
+    public SinkResponse pushParsedToSink(List<Message> messages, ParsedMessages parsedMessages) {
+        return push(messageRecordConverterCache.getMessageRecordConverter().convert(messages, parsedMessages));
+    }
+
+    private SinkResponse push(Records records) {
         SinkResponse sinkResponse = new SinkResponse();
         records.getInvalidRecords().forEach(
                 invalidRecord -> sinkResponse.addErrors(invalidRecord.getIndex(), invalidRecord.getErrorInfo()));
         if (records.getValidRecords().size() > 0) {
-            InsertAllResponse response = insertIntoBQ(records.getValidRecords());
-            instrumentation.logInfo("Pushed a batch of {} records to BQ. Insert success?: {}",
-                    records.getValidRecords().size(), !response.hasErrors());
-            if (response.hasErrors()) {
-                Map<Long, ErrorInfo> errorInfoMap = BigQueryResponseParser
-                        .getErrorsFromBQResponse(records.getValidRecords(), response, bigQueryMetrics, instrumentation);
-                errorInfoMap.forEach(sinkResponse::addErrors);
-                errorHandler.handle(response.getInsertErrors(), records.getValidRecords());
-            }
+            errorHandler.beforeInsert(records.getValidRecords());
+            retryExecutor.execute(records.getValidRecords(), Record::getIndex, this::insert)
+                    .forEach(sinkResponse::addErrors);
         }
         return sinkResponse;
     }
+
+    private Map<Long, ErrorInfo> insert(List<Record> validRecords) {
+        List<InsertAllRequest.RowToInsert> rows = new ArrayList<>(validRecords.size());
+        validRecords.forEach(record -> rows.add(rowCreator.of(record)));
+        List<Integer> chunkEnds = insertAllChunker.chunkEnds(rows);
+        List<Callable<InsertAllResponse>> requests = new ArrayList<>(chunkEnds.size());
+        // a failed request fails only its own records, the responses of the other requests are kept
+        BigQueryException[] failures = new BigQueryException[chunkEnds.size()];
+        int start = 0;
+        for (int i = 0; i < chunkEnds.size(); i++) {
+            List<InsertAllRequest.RowToInsert> chunk = rows.subList(start, chunkEnds.get(i));
+            int request = i;
+            requests.add(() -> {
+                try {
+                    return insertIntoBQ(chunk);
+                } catch (BigQueryException e) {
+                    failures[request] = e;
+                    return null;
+                }
+            });
+            start = chunkEnds.get(i);
+        }
+        List<InsertAllResponse> responses;
+        try {
+            responses = insertAllChunker.invokeAll(requests);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Map<Long, ErrorInfo> interrupted = new HashMap<>();
+            ErrorInfo errorInfo = new ErrorInfo(e, ErrorType.SINK_RETRYABLE_ERROR);
+            validRecords.forEach(record -> interrupted.put(record.getIndex(), errorInfo));
+            return interrupted;
+        }
+        if (Arrays.stream(failures).allMatch(Objects::nonNull)) {
+            // nothing was inserted, fail the whole batch as a single request would
+            throw failures[0];
+        }
+        Map<Long, ErrorInfo> errorInfoMap = new HashMap<>();
+        // insert errors are keyed by the row index within their request, shifted here to the index in validRecords
+        Map<Long, List<BigQueryError>> insertErrors = new HashMap<>();
+        start = 0;
+        for (int i = 0; i < responses.size(); i++) {
+            InsertAllResponse response = responses.get(i);
+            List<Record> chunk = validRecords.subList(start, chunkEnds.get(i));
+            if (failures[i] != null) {
+                errorInfoMap.putAll(BigQueryResponseParser
+                        .getErrorsFromBQException(chunk, failures[i], bigQueryMetrics, instrumentation));
+            } else {
+                instrumentation.logInfo("Pushed a batch of {} records to BQ. Insert success?: {}",
+                        chunk.size(), !response.hasErrors());
+            }
+            if (failures[i] == null && response.hasErrors()) {
+                errorInfoMap.putAll(BigQueryResponseParser
+                        .getErrorsFromBQResponse(chunk, response, bigQueryMetrics, instrumentation));
+                for (Map.Entry<Long, List<BigQueryError>> error : response.getInsertErrors().entrySet()) {
+                    insertErrors.put(error.getKey() + start, error.getValue());
+                }
+            }
+            start = chunkEnds.get(i);
+        }
+        if (!insertErrors.isEmpty()) {
+            errorHandler.handle(insertErrors, validRecords);
+        }
+        return errorInfoMap;
+    }
 }
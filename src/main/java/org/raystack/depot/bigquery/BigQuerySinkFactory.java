@@ -1,6 +1,7 @@
 package org.raystack.depot.bigquery;
 
 import org.raystack.depot.bigquery.client.BigQueryClient;
+import org.raystack.depot.bigquery.client.BigQueryInsertAllChunker;
 import org.raystack.depot.bigquery.client.BigQueryRow;
 import org.raystack.depot.bigquery.client.BigQueryRowWithInsertId;
 import org.raystack.depot.bigquery.client.BigQueryRowWithoutInsertId;
@@ -14,17 +15,34 @@ import org.raystack.depot.bigquery.storage.BigQueryWriter;
 import org.raystack.depot.bigquery.storage.BigQueryWriterFactory;
 import org.raystack.depot.bigquery.storage.BigQueryWriterUtils;
 import com.timgroup.statsd.NoOpStatsDClient;
+import org.raystack.depot.AsyncSink;
+import org.raystack.depot.AsyncSinkAdapter;
+import org.raystack.depot.BufferingSink;
+import org.raystack.depot.DeadLetterSink;
+import org.raystack.depot.ParsedSink;
 import org.raystack.depot.Sink;
+import org.raystack.depot.SinkResponse;
+import org.raystack.depot.SpillingSink;
+import org.raystack.depot.common.BatchConverter;
+import org.raystack.depot.common.RetryExecutor;
+import org.raystack.depot.common.Template;
 import org.raystack.depot.config.BigQuerySinkConfig;
+import org.raystack.depot.config.BigQuerySinkConfigSnapshot;
+import org.raystack.depot.exception.InvalidTemplateException;
+import org.raystack.depot.exception.SinkException;
+import org.raystack.depot.message.Message;
 import org.raystack.depot.message.MessageParser;
 import org.raystack.depot.message.MessageParserFactory;
+import org.raystack.depot.message.ParsedMessages;
 import org.raystack.depot.metrics.BigQueryMetrics;
 import org.raystack.depot.metrics.Instrumentation;
 import org.raystack.depot.metrics.StatsDReporter;
 import org.raystack.depot.stencil.DepotStencilUpdateListener;
+import org.raystack.depot.utils.MessageConfigUtils;
 import org.aeonbits.owner.ConfigFactory;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -40,6 +58,10 @@ public class BigQuerySinkFactory {
     private MessageRecordConverterCache converterCache;
     private BigQueryStorageClient bigQueryStorageClient;
     private BigQueryStorageResponseParser responseParser;
+    private Template tableNameTemplate;
+    private MessageParser routingMessageParser;
+    private BigQueryRoutingUpdateListener routingUpdateListener;
+    private DepotStencilUpdateListener stencilUpdateListener;
 
     public BigQuerySinkFactory(Map<String, String> env, StatsDReporter statsDReporter,
             Function<Map<String, Object>, String> rowIDCreator) {
@@ -48,11 +70,20 @@ public class BigQuerySinkFactory {
 
     public BigQuerySinkFactory(BigQuerySinkConfig sinkConfig, StatsDReporter statsDReporter,
             Function<Map<String, Object>, String> rowIDCreator) {
-        this.sinkConfig = sinkConfig;
+        this.sinkConfig = BigQuerySinkConfigSnapshot.of(sinkConfig);
         this.rowIDCreator = rowIDCreator;
         this.statsDReporter = statsDReporter;
     }
 
+    /**
+     * Creates the sink of one table of the routing sink, parsing with the parser the routing sink shares.
+     */
+    private BigQuerySinkFactory(BigQuerySinkConfig tableConfig, StatsDReporter statsDReporter,
+            Function<Map<String, Object>, String> rowIDCreator, MessageParser routingMessageParser) {
+        this(tableConfig, statsDReporter, rowIDCreator);
+        this.routingMessageParser = routingMessageParser;
+    }
+
     public BigQuerySinkFactory(BigQuerySinkConfig sinkConfig) {
         this(sinkConfig, new StatsDReporter(new NoOpStatsDClient()), null);
     }
@@ -65,7 +96,25 @@ public class BigQuerySinkFactory {
         this(sinkConfig, new StatsDReporter(new NoOpStatsDClient()), rowIDCreator);
     }
 
+    /**
+     * With SINK_BIGQUERY_TABLE_NAME_TEMPLATE set only the parser routing the messages is created here,
+     * the clients, schemas and converters of every table are created by the sink when the table is first used.
+     * The tables share the parser, and with it the stencil client and its refreshes.
+     */
     public void init() {
+        if (!sinkConfig.getSinkBigqueryTableNameTemplate().isEmpty()) {
+            try {
+                this.tableNameTemplate = new Template(sinkConfig.getSinkBigqueryTableNameTemplate());
+            } catch (InvalidTemplateException e) {
+                throw new IllegalArgumentException("Exception occurred while creating sink", e);
+            }
+            this.routingUpdateListener = new BigQueryRoutingUpdateListener(
+                    new Instrumentation(statsDReporter, BigQueryRoutingUpdateListener.class));
+            this.routingMessageParser = MessageParserFactory.getParser(sinkConfig, statsDReporter,
+                    routingUpdateListener);
+            routingUpdateListener.setMessageParser(routingMessageParser);
+            return;
+        }
         try {
             this.bigQueryMetrics = new BigQueryMetrics(sinkConfig);
             this.bigQueryClient = new BigQueryClient(sinkConfig, bigQueryMetrics,
@@ -74,10 +123,12 @@ public class BigQuerySinkFactory {
             this.errorHandler = ErrorHandlerFactory.create(sinkConfig, bigQueryClient, statsDReporter);
             DepotStencilUpdateListener depotStencilUpdateListener = BigqueryStencilUpdateListenerFactory
                     .create(sinkConfig, bigQueryClient, converterCache, statsDReporter);
-            MessageParser messageParser = MessageParserFactory.getParser(sinkConfig, statsDReporter,
-                    depotStencilUpdateListener);
+            MessageParser messageParser = routingMessageParser != null
+                    ? routingMessageParser
+                    : MessageParserFactory.getParser(sinkConfig, statsDReporter, depotStencilUpdateListener);
             depotStencilUpdateListener.setMessageParser(messageParser);
             depotStencilUpdateListener.updateSchema();
+            this.stencilUpdateListener = depotStencilUpdateListener;
 
             if (sinkConfig.isRowInsertIdEnabled()) {
                 this.rowCreator = new BigQueryRowWithInsertId(rowIDCreator);
@@ -107,10 +158,27 @@ public class BigQuerySinkFactory {
     }
 
     public Sink create() {
+        return BufferingSink.wrap(SpillingSink.wrap(DeadLetterSink.wrap(createSink(), sinkConfig, statsDReporter),
+                sinkConfig, statsDReporter), sinkConfig);
+    }
+
+    private Sink createSink() {
+        if (tableNameTemplate != null) {
+            return new BigQueryRoutingSink(
+                    tableNameTemplate,
+                    routingMessageParser,
+                    MessageConfigUtils.getModeAndSchema(sinkConfig),
+                    BatchConverter.create(sinkConfig),
+                    sinkConfig.getSinkBigqueryRoutingMaxTables(),
+                    sinkConfig.getSinkBigqueryRoutingFailedTableRetryMs(),
+                    this::createTableSink,
+                    new Instrumentation(statsDReporter, BigQueryRoutingSink.class));
+        }
         if (sinkConfig.getSinkBigqueryStorageAPIEnable()) {
             return new BigQueryStorageAPISink(
                     bigQueryStorageClient,
-                    responseParser);
+                    responseParser,
+                    RetryExecutor.create(sinkConfig));
         } else {
             return new BigQuerySink(
                     bigQueryClient,
@@ -118,7 +186,50 @@ public class BigQuerySinkFactory {
                     rowCreator,
                     bigQueryMetrics,
                     new Instrumentation(statsDReporter, BigQuerySink.class),
-                    errorHandler);
+                    errorHandler,
+                    RetryExecutor.create(sinkConfig),
+                    BigQueryInsertAllChunker.create(sinkConfig));
         }
     }
+
+    /**
+     * Only the client, writer, schema and converter of the table are created, the routing sink closes them with
+     * the returned sink and schema updates stop reaching the table then.
+     */
+    private Sink createTableSink(String tableName) {
+        BigQuerySinkFactory factory = new BigQuerySinkFactory(BigQuerySinkConfigSnapshot.forTable(sinkConfig,
+                tableName), statsDReporter, rowIDCreator, routingMessageParser);
+        factory.init();
+        ParsedSink sink = (ParsedSink) factory.createSink();
+        DepotStencilUpdateListener tableUpdateListener = factory.stencilUpdateListener;
+        routingUpdateListener.addTable(tableName, tableUpdateListener);
+        return new ParsedSink() {
+            @Override
+            public SinkResponse pushToSink(List<Message> messages) throws SinkException {
+                return sink.pushToSink(messages);
+            }
+
+            @Override
+            public SinkResponse pushParsedToSink(List<Message> messages, ParsedMessages parsedMessages)
+                    throws SinkException {
+                return sink.pushParsedToSink(messages, parsedMessages);
+            }
+
+            @Override
+            public void close() throws IOException {
+                routingUpdateListener.removeTable(tableName, tableUpdateListener);
+                sink.close();
+            }
+        };
+    }
+
+    /**
+     * The storage write sink pushes asynchronously natively, the legacy insertAll sink is run on an adapter thread.
+     * Either is buffered when SINK_BUFFER_ENABLE is set.
+     */
+    public AsyncSink createAsync() {
+        Sink sink = createSink();
+        return BufferingSink.wrapAsync(sink instanceof AsyncSink ? (AsyncSink) sink : new AsyncSinkAdapter(sink),
+                sinkConfig);
+    }
 }
@@ -1,48 +1,165 @@
 package org.raystack.depot.bigquery;
 
 import com.google.cloud.bigquery.storage.v1.AppendRowsResponse;
-import org.raystack.depot.Sink;
+import org.raystack.depot.AsyncSink;
+import org.raystack.depot.ParsedSink;
 import org.raystack.depot.SinkResponse;
 import org.raystack.depot.bigquery.storage.BigQueryPayload;
 import org.raystack.depot.bigquery.storage.BigQueryStorageClient;
 import org.raystack.depot.bigquery.storage.BigQueryStorageResponseParser;
+import org.raystack.depot.common.RetryExecutor;
+import org.raystack.depot.error.ErrorInfo;
 import org.raystack.depot.exception.SinkException;
 import org.raystack.depot.message.Message;
+import org.raystack.depot.message.ParsedMessages;
 
 import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 
-public class BigQueryStorageAPISink implements Sink {
+public class BigQueryStorageAPISink implements AsyncSink, ParsedSink {
     private final BigQueryStorageClient bigQueryStorageClient;
     private final BigQueryStorageResponseParser responseParser;
+    private final RetryExecutor retryExecutor;
 
     public BigQueryStorageAPISink(
             BigQueryStorageClient bigQueryStorageClient,
             BigQueryStorageResponseParser responseParser) {
+        this(bigQueryStorageClient, responseParser, RetryExecutor.noRetry());
+    }
+
+    /**
+     * @param retryExecutor appends the already serialised rows that failed with a retryable error again in pushToSink
+     */
+    public BigQueryStorageAPISink(
+            BigQueryStorageClient bigQueryStorageClient,
+            BigQueryStorageResponseParser responseParser,
+            RetryExecutor retryExecutor) {
         this.bigQueryStorageClient = bigQueryStorageClient;
         this.responseParser = responseParser;
+        this.retryExecutor = retryExecutor;
     }
 
     @Override
     public SinkResponse pushToSink(List<Message> messages) throws SinkException {
+        return push(bigQueryStorageClient.convert(messages), messages);
+    }
+
+    @Override
+    public SinkResponse pushParsedToSink(List<Message> messages, ParsedMessages parsedMessages) throws SinkException {
+        return push(bigQueryStorageClient.convert(messages, parsedMessages), messages);
+    }
+
+    private SinkResponse push(BigQueryPayload payload, List<Message> messages) throws SinkException {
         SinkResponse sinkResponse = new SinkResponse();
-        BigQueryPayload payload = bigQueryStorageClient.convert(messages);
         responseParser.setSinkResponseForInvalidMessages(payload, messages, sinkResponse);
-        if (payload.getPayloadIndexes().size() > 0) {
+        if (payload.getPayloadSize() > 0) {
+            retryExecutor.execute(payloadRows(payload.getPayloadSize()), payload::getInputIndex,
+                    rows -> append(rows.size() == payload.getPayloadSize()
+                            ? payload
+                            : bigQueryStorageClient.select(payload, rows), messages))
+                    .forEach(sinkResponse::addErrors);
+        }
+        return sinkResponse;
+    }
+
+    private Map<Long, ErrorInfo> append(BigQueryPayload payload, List<Message> messages) throws SinkException {
+        List<BigQueryPayload> chunks = bigQueryStorageClient.split(payload);
+        if (chunks.size() > 1) {
+            return appendChunks(chunks, messages);
+        }
+        SinkResponse sinkResponse = new SinkResponse();
+        try {
+            AppendRowsResponse appendRowsResponse = bigQueryStorageClient.appendAndGet(payload);
+            responseParser.setSinkResponseForErrors(payload, appendRowsResponse, messages, sinkResponse);
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+            Throwable cause = e.getCause();
+            responseParser.setSinkResponseForException(cause, payload, messages, sinkResponse);
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+            throw new SinkException("Interrupted exception occurred", e);
+        }
+        return sinkResponse.getErrors();
+    }
+
+    // chunks are appended pipelined, bounded by SINK_BIGQUERY_STORAGE_API_MAX_INFLIGHT_REQUESTS and the adaptive
+    // concurrency limit of the writer
+    private Map<Long, ErrorInfo> appendChunks(List<BigQueryPayload> chunks, List<Message> messages) throws SinkException {
+        List<CompletableFuture<AppendRowsResponse>> futures = new ArrayList<>(chunks.size());
+        chunks.forEach(chunk -> futures.add(bigQueryStorageClient.appendAsync(chunk)));
+        SinkResponse sinkResponse = new SinkResponse();
+        for (int i = 0; i < chunks.size(); i++) {
             try {
-                AppendRowsResponse appendRowsResponse = bigQueryStorageClient.appendAndGet(payload);
-                responseParser.setSinkResponseForErrors(payload, appendRowsResponse, messages, sinkResponse);
+                responseParser.setSinkResponseForErrors(chunks.get(i), futures.get(i).get(), messages, sinkResponse);
             } catch (ExecutionException e) {
-                e.printStackTrace();
-                Throwable cause = e.getCause();
-                responseParser.setSinkResponseForException(cause, payload, messages, sinkResponse);
+                responseParser.setSinkResponseForException(e.getCause(), chunks.get(i), messages, sinkResponse);
             } catch (InterruptedException e) {
-                e.printStackTrace();
                 throw new SinkException("Interrupted exception occurred", e);
             }
         }
-        return sinkResponse;
+        return sinkResponse.getErrors();
+    }
+
+    private static List<Integer> payloadRows(int size) {
+        return new AbstractList<Integer>() {
+            @Override
+            public Integer get(int index) {
+                return index;
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Converts the messages and appends them without waiting for the AppendRows response.
+     * Several batches can be in flight at once, bounded by SINK_BIGQUERY_STORAGE_API_MAX_INFLIGHT_REQUESTS and,
+     * when SINK_ADAPTIVE_CONCURRENCY_ENABLE is set, the adaptive concurrency limit.
+     * The returned future completes with the errors mapped back to the input indexes of this batch,
+     * once all chunks of a batch above SINK_BIGQUERY_STORAGE_API_MAX_REQUEST_BYTES completed.
+     */
+    @Override
+    public CompletableFuture<SinkResponse> pushToSinkAsync(List<Message> messages) {
+        SinkResponse sinkResponse = new SinkResponse();
+        BigQueryPayload payload = bigQueryStorageClient.convert(messages);
+        responseParser.setSinkResponseForInvalidMessages(payload, messages, sinkResponse);
+        if (payload.getPayloadSize() == 0) {
+            return CompletableFuture.completedFuture(sinkResponse);
+        }
+        List<BigQueryPayload> chunks = bigQueryStorageClient.split(payload);
+        CompletableFuture<?>[] appends = new CompletableFuture<?>[chunks.size()];
+        for (int i = 0; i < chunks.size(); i++) {
+            BigQueryPayload chunk = chunks.get(i);
+            appends[i] = bigQueryStorageClient.appendAsync(chunk).handle((appendRowsResponse, throwable) ->
+                    handleAppend(chunk, appendRowsResponse, throwable, messages, sinkResponse));
+        }
+        return CompletableFuture.allOf(appends).thenApply(ignored -> sinkResponse);
+    }
+
+    // chunks of one batch complete on different threads
+    private SinkResponse handleAppend(BigQueryPayload payload, AppendRowsResponse appendRowsResponse, Throwable throwable,
+            List<Message> messages, SinkResponse sinkResponse) {
+        synchronized (sinkResponse) {
+            if (throwable == null) {
+                responseParser.setSinkResponseForErrors(payload, appendRowsResponse, messages, sinkResponse);
+                return sinkResponse;
+            }
+            Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+            if (cause instanceof InterruptedException) {
+                throw new CompletionException(new SinkException("Interrupted exception occurred", cause));
+            }
+            responseParser.setSinkResponseForException(cause, payload, messages, sinkResponse);
+            return sinkResponse;
+        }
     }
 
     @Override
@@ -18,6 +18,7 @@ import com.google.cloud.bigquery.TableId;
 import com.google.cloud.bigquery.TableInfo;
 import com.google.cloud.bigquery.TimePartitioning;
 import org.raystack.depot.bigquery.exception.BQDatasetLocationChangedException;
+import org.raystack.depot.common.AdaptiveConcurrencyLimiter;
 import org.raystack.depot.config.BigQuerySinkConfig;
 import org.raystack.depot.metrics.BigQueryMetrics;
 import org.raystack.depot.metrics.Instrumentation;
@@ -32,6 +33,7 @@ import java.util.Random;
 public class BigQueryClient {
     private static final int TABLE_INFO_UPDATE_RETRIES = 10;
     private static final int DEFAULT_SLEEP_RETRY = 10000;
+    private static final int TOO_MANY_REQUESTS = 429;
     private final BigQuery bigquery;
     @Getter
     private final TableId tableID;
@@ -40,6 +42,7 @@ public class BigQueryClient {
     private final Instrumentation instrumentation;
     private final Random random = new Random(System.currentTimeMillis());
     private final BigQueryMetrics bigqueryMetrics;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
 
     public BigQueryClient(BigQuerySinkConfig bqConfig, BigQueryMetrics bigQueryMetrics, Instrumentation instrumentation)
             throws IOException {
@@ -54,6 +57,7 @@ public class BigQueryClient {
         this.bigQueryTableDefinition = new BigQueryTableDefinition(bqConfig);
         this.instrumentation = instrumentation;
         this.bigqueryMetrics = bigQueryMetrics;
+        this.concurrencyLimiter = AdaptiveConcurrencyLimiter.create("bigquery", bqConfig, instrumentation);
     }
 
     private static BigQuery getBigQueryInstance(BigQuerySinkConfig sinkConfig) throws IOException {
@@ -71,11 +75,28 @@ public class BigQueryClient {
 
     public InsertAllResponse insertAll(InsertAllRequest rows) {
         Instant start = Instant.now();
-        InsertAllResponse response = bigquery.insertAll(rows);
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire();
+        InsertAllResponse response;
+        try {
+            response = bigquery.insertAll(rows);
+            permit.onSuccess();
+        } catch (BigQueryException e) {
+            if (isRateLimited(e)) {
+                permit.onDropped();
+            }
+            throw e;
+        } finally {
+            permit.onIgnore();
+        }
         instrument(start, BigQueryMetrics.BigQueryAPIType.TABLE_INSERT_ALL);
         return response;
     }
 
+    private static boolean isRateLimited(BigQueryException e) {
+        return e.getCode() == TOO_MANY_REQUESTS
+                || "rateLimitExceeded".equals(e.getReason()) || "quotaExceeded".equals(e.getReason());
+    }
+
     public void upsertTable(List<Field> bqSchemaFields) throws BigQueryException {
         Schema schema = Schema.of(bqSchemaFields);
         TableDefinition tableDefinition = getTableDefinition(schema);
@@ -0,0 +1,139 @@
+package org.raystack.depot.bigquery.client;
+
+import com.google.cloud.bigquery.InsertAllRequest;
+import org.raystack.depot.config.BigQuerySinkConfig;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Splits the rows of one insertAll call into requests of at most SINK_BIGQUERY_INSERT_ALL_MAX_ROWS rows and about
+ * SINK_BIGQUERY_INSERT_ALL_MAX_REQUEST_BYTES of JSON each, and sends them on up to
+ * SINK_BIGQUERY_INSERT_ALL_PARALLELISM threads.
+ * <p>
+ * The JSON size of a row is estimated from its content without serialising it, byte arrays count as base64.
+ * A row larger than the limit is sent on its own.
+ */
+public class BigQueryInsertAllChunker implements Closeable {
+    private static final BigQueryInsertAllChunker SINGLE = new BigQueryInsertAllChunker(Integer.MAX_VALUE, Long.MAX_VALUE, null);
+    // quotes, colon and comma around a key or value
+    private static final int FIELD_OVERHEAD = 4;
+    private static final int BASE64_GROUP_BYTES = 3;
+    private static final int BASE64_GROUP_CHARS = 4;
+    private final int maxRows;
+    private final long maxRequestBytes;
+    private final ExecutorService executor;
+
+    public BigQueryInsertAllChunker(int maxRows, long maxRequestBytes, ExecutorService executor) {
+        this.maxRows = Math.max(1, maxRows);
+        this.maxRequestBytes = maxRequestBytes;
+        this.executor = executor;
+    }
+
+    public static BigQueryInsertAllChunker create(BigQuerySinkConfig config) {
+        int parallelism = config.getSinkBigqueryInsertAllParallelism();
+        return new BigQueryInsertAllChunker(config.getSinkBigqueryInsertAllMaxRows(),
+                config.getSinkBigqueryInsertAllMaxRequestBytes(),
+                parallelism > 1 ? Executors.newFixedThreadPool(parallelism) : null);
+    }
+
+    /**
+     * Sends all rows in one request, as before chunking was configurable.
+     */
+    public static BigQueryInsertAllChunker single() {
+        return SINGLE;
+    }
+
+    /**
+     * Returns the exclusive end index of every chunk of the rows, in order.
+     */
+    public List<Integer> chunkEnds(List<InsertAllRequest.RowToInsert> rows) {
+        List<Integer> ends = new ArrayList<>();
+        int start = 0;
+        long chunkBytes = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            long rowBytes = estimateJsonBytes(rows.get(i).getContent());
+            if (i > start && (i - start >= maxRows || chunkBytes + rowBytes > maxRequestBytes)) {
+                ends.add(i);
+                start = i;
+                chunkBytes = 0;
+            }
+            chunkBytes += rowBytes;
+        }
+        ends.add(rows.size());
+        return ends;
+    }
+
+    /**
+     * Runs the requests, concurrently when there is more than one and SINK_BIGQUERY_INSERT_ALL_PARALLELISM is above one.
+     * Rethrows the runtime exception of the first failed request.
+     */
+    public <T> List<T> invokeAll(List<Callable<T>> requests) throws InterruptedException {
+        List<T> results = new ArrayList<>(requests.size());
+        if (executor == null || requests.size() == 1) {
+            for (Callable<T> request : requests) {
+                results.add(call(request));
+            }
+            return results;
+        }
+        for (Future<T> future : executor.invokeAll(requests)) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException
+                        ? (RuntimeException) e.getCause()
+                        : new IllegalStateException(e.getCause());
+            }
+        }
+        return results;
+    }
+
+    private static <T> T call(Callable<T> request) {
+        try {
+            return request.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static long estimateJsonBytes(Object value) {
+        if (value == null) {
+            return FIELD_OVERHEAD;
+        }
+        if (value instanceof Map) {
+            long bytes = FIELD_OVERHEAD;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                bytes += String.valueOf(entry.getKey()).length() + FIELD_OVERHEAD + estimateJsonBytes(entry.getValue());
+            }
+            return bytes;
+        }
+        if (value instanceof Collection) {
+            long bytes = FIELD_OVERHEAD;
+            for (Object element : (Collection<?>) value) {
+                bytes += estimateJsonBytes(element);
+            }
+            return bytes;
+        }
+        if (value instanceof byte[]) {
+            return (((byte[]) value).length + BASE64_GROUP_BYTES - 1) / BASE64_GROUP_BYTES * BASE64_GROUP_CHARS + FIELD_OVERHEAD;
+        }
+        return String.valueOf(value).length() + FIELD_OVERHEAD;
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
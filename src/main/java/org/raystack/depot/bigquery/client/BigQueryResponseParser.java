@@ -1,6 +1,7 @@
 package org.raystack.depot.bigquery.client;
 
 import com.google.cloud.bigquery.BigQueryError;
+import com.google.cloud.bigquery.BigQueryException;
 import com.google.cloud.bigquery.InsertAllResponse;
 import org.raystack.depot.bigquery.exception.BigQuerySinkException;
 import org.raystack.depot.bigquery.models.Record;
@@ -20,6 +21,10 @@ import java.util.List;
 import java.util.Map;
 
 public class BigQueryResponseParser {
+    private static final int CLIENT_ERROR = 400;
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVER_ERROR = 500;
+
     /**
      * Parses the {@link InsertAllResponse} object and returns errors type
      * {@link ErrorDescriptor}.
@@ -73,6 +78,38 @@ public class BigQueryResponseParser {
         return errorInfoResponse;
     }
 
+    /**
+     * Maps an insertAll request that failed as a whole to an error for each of its records.
+     * Server errors and errors BigQuery marks retryable are 5XX errors, other client errors 4XX errors.
+     *
+     * @param records   - list of records that were sent in the failed request
+     * @param exception - the failure of the request
+     * @return the error of every record.
+     */
+    public static Map<Long, ErrorInfo> getErrorsFromBQException(
+            final List<Record> records,
+            final BigQueryException exception,
+            BigQueryMetrics bigQueryMetrics,
+            Instrumentation instrumentation) {
+        instrumentation.logError("Error while bigquery insert of {} records: {}", records.size(),
+                exception.getMessage());
+        ErrorType errorType;
+        if (exception.isRetryable() || exception.getCode() >= SERVER_ERROR
+                || exception.getCode() == TOO_MANY_REQUESTS) {
+            errorType = ErrorType.SINK_5XX_ERROR;
+        } else if (exception.getCode() >= CLIENT_ERROR) {
+            errorType = ErrorType.SINK_4XX_ERROR;
+        } else {
+            errorType = ErrorType.SINK_UNKNOWN_ERROR;
+        }
+        ErrorInfo errorInfo = new ErrorInfo(exception, errorType);
+        Map<Long, ErrorInfo> errorInfoResponse = new HashMap<>();
+        records.forEach(record -> errorInfoResponse.put(record.getIndex(), errorInfo));
+        instrumentation.incrementCounter(bigQueryMetrics.getBigqueryTotalErrorsMetrics(), String
+                .format(BigQueryMetrics.BIGQUERY_ERROR_TAG, BigQueryMetrics.BigQueryErrorType.UNKNOWN_ERROR));
+        return errorInfoResponse;
+    }
+
     private static boolean errorMatch(List<ErrorDescriptor> errors, Class c) {
         return errors.stream().anyMatch(errorDescriptor -> errorDescriptor.getClass().equals(c));
     }
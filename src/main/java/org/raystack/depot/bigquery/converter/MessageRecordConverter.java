@@ -2,6 +2,7 @@ package org.raystack.depot.bigquery.converter;
 
 import org.raystack.depot.bigquery.models.Record;
 import org.raystack.depot.bigquery.models.Records;
+import org.raystack.depot.common.BatchConverter;
 import org.raystack.depot.config.BigQuerySinkConfig;
 import org.raystack.depot.error.ErrorInfo;
 import org.raystack.depot.error.ErrorType;
@@ -12,54 +13,77 @@ import org.raystack.depot.message.Message;
 import org.raystack.depot.message.MessageParser;
 import org.raystack.depot.message.MessageSchema;
 import org.raystack.depot.message.ParsedMessage;
+import org.raystack.depot.message.ParsedMessages;
 import org.raystack.depot.message.SinkConnectorSchemaMessageMode;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-@AllArgsConstructor
 @Slf4j
 public class MessageRecordConverter {
     private final MessageParser parser;
     private final BigQuerySinkConfig config;
     private final MessageSchema schema;
+    private final BatchConverter batchConverter;
+
+    public MessageRecordConverter(MessageParser parser, BigQuerySinkConfig config, MessageSchema schema) {
+        this.parser = parser;
+        this.config = config;
+        this.schema = schema;
+        this.batchConverter = BatchConverter.create(config);
+    }
 
     public Records convert(List<Message> messages) {
+        return convert(messages, ParsedMessages.none());
+    }
+
+    /**
+     * Converts the messages, reusing the ones already parsed with the same mode and schema class.
+     */
+    public Records convert(List<Message> messages, ParsedMessages parsedMessages) {
         ArrayList<Record> validRecords = new ArrayList<>();
         ArrayList<Record> invalidRecords = new ArrayList<>();
-        for (int index = 0; index < messages.size(); index++) {
-            Message message = messages.get(index);
-            try {
-                Record record = createRecord(message, index);
+        for (Record record : batchConverter.convert(messages,
+                (message, index) -> toRecord(message, index, parsedMessages))) {
+            if (record.getErrorInfo() == null) {
                 validRecords.add(record);
-            } catch (UnknownFieldsException e) {
-                ErrorInfo errorInfo = new ErrorInfo(e, ErrorType.UNKNOWN_FIELDS_ERROR);
-                invalidRecords.add(new Record(message.getMetadata(), Collections.emptyMap(), index, errorInfo));
-            } catch (EmptyMessageException | UnsupportedOperationException e) {
-                ErrorInfo errorInfo = new ErrorInfo(e, ErrorType.INVALID_MESSAGE_ERROR);
-                invalidRecords.add(new Record(message.getMetadata(), Collections.emptyMap(), index, errorInfo));
-            } catch (DeserializerException | IllegalArgumentException e) {
-                ErrorInfo errorInfo = new ErrorInfo(e, ErrorType.DESERIALIZATION_ERROR);
-                invalidRecords.add(new Record(message.getMetadata(), Collections.emptyMap(), index, errorInfo));
+            } else {
+                invalidRecords.add(record);
             }
         }
         return new Records(validRecords, invalidRecords);
     }
 
-    private Record createRecord(Message message, int index) {
+    private Record toRecord(Message message, int index, ParsedMessages parsedMessages) {
+        try {
+            return createRecord(message, index, parsedMessages);
+        } catch (UnknownFieldsException e) {
+            ErrorInfo errorInfo = new ErrorInfo(e, ErrorType.UNKNOWN_FIELDS_ERROR);
+            return new Record(message.getMetadata(), Collections.emptyMap(), index, errorInfo);
+        } catch (EmptyMessageException | UnsupportedOperationException e) {
+            ErrorInfo errorInfo = new ErrorInfo(e, ErrorType.INVALID_MESSAGE_ERROR);
+            return new Record(message.getMetadata(), Collections.emptyMap(), index, errorInfo);
+        } catch (DeserializerException | IllegalArgumentException e) {
+            ErrorInfo errorInfo = new ErrorInfo(e, ErrorType.DESERIALIZATION_ERROR);
+            return new Record(message.getMetadata(), Collections.emptyMap(), index, errorInfo);
+        }
+    }
+
+    private Record createRecord(Message message, int index, ParsedMessages parsedMessages) {
         try {
             SinkConnectorSchemaMessageMode mode = config.getSinkConnectorSchemaMessageMode();
             String schemaClass = mode == SinkConnectorSchemaMessageMode.LOG_MESSAGE
                     ? config.getSinkConnectorSchemaProtoMessageClass()
                     : config.getSinkConnectorSchemaProtoKeyClass();
-            ParsedMessage parsedMessage = parser.parse(message, mode, schemaClass);
+            ParsedMessage parsedMessage = parsedMessages.getOrParse(message, index, parser, mode, schemaClass);
             parsedMessage.validate(config);
-            Map<String, Object> columns = parsedMessage.getMapping(schema);
+            // the mapping can be shared with other sinks, metadata is added to a copy
+            Map<String, Object> columns = new HashMap<>(parsedMessage.getMapping(schema));
             MessageRecordConverterUtils.addMetadata(columns, message, config);
             MessageRecordConverterUtils.addTimeStampColumnForJson(columns, config);
             return new Record(message.getMetadata(), columns, index, null);
@@ -7,6 +7,12 @@ import java.util.List;
 import java.util.Map;
 
 public interface ErrorHandler {
+    /**
+     * Called with the valid records of a batch before they are inserted.
+     */
+    default void beforeInsert(List<Record> records) {
+    }
+
     default void handle(Map<Long, List<BigQueryError>> errorInfoMap, List<Record> records) {
     }
 }
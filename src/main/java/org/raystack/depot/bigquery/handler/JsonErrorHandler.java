@@ -14,6 +14,7 @@ import org.raystack.depot.bigquery.client.BigQueryClient;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -22,7 +23,9 @@ import java.util.stream.Collectors;
 
 /*
 the job of the class is to handle unknown field errors and then update the bq table schema,
- this happens incase of where schema is inferred from incoming data
+ this happens incase of where schema is inferred from incoming data.
+ the column names of the table are cached, so new keys are added to the table before the records are inserted
+ and the schema is only fetched again when a record has a key missing from the cache or an insert hit an unknown field
  */
 public class JsonErrorHandler implements ErrorHandler {
 
@@ -32,6 +35,7 @@ public class JsonErrorHandler implements ErrorHandler {
     private final String bqMetadataNamespace;
     private final Instrumentation instrumentation;
     private final Map<String, String> defaultColumnsMap;
+    private Set<String> cachedColumns;
 
     public JsonErrorHandler(BigQueryClient bigQueryClient, BigQuerySinkConfig bigQuerySinkConfig,
             Instrumentation instrumentation) {
@@ -54,12 +58,39 @@ public class JsonErrorHandler implements ErrorHandler {
 
     }
 
-    public void handle(Map<Long, List<BigQueryError>> insertErrors, List<Record> records) {
+    @Override
+    public synchronized void beforeInsert(List<Record> records) {
+        Set<String> columns = cachedColumns;
+        if (columns != null && records.stream().allMatch(record -> columns.containsAll(record.getColumns().keySet()))) {
+            return;
+        }
+        FieldList existingFieldList = refreshCachedColumns();
+        Set<String> keys = records
+                .stream()
+                .map(record -> record.getColumns().keySet())
+                .flatMap(Collection::stream)
+                .collect(Collectors.toSet());
+        ArrayList<Field> bqSchemaFields = keys
+                .stream()
+                .filter(key -> filterExistingFields(existingFieldList, key))
+                .map(this::getField)
+                .distinct()
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (bqSchemaFields.isEmpty()) {
+            // every key is a column of the table, possibly under another name the cache does not match
+            cachedColumns.addAll(keys);
+            return;
+        }
+        instrumentation.logInfo("updating table with new fields detected before insert {}", bqSchemaFields);
+        upsertTable(bqSchemaFields, existingFieldList);
+    }
+
+    public synchronized void handle(Map<Long, List<BigQueryError>> insertErrors, List<Record> records) {
 
-        Schema schema = bigQueryClient.getSchema();
-        FieldList existingFieldList = schema.getFields();
         List<Entry<Long, List<BigQueryError>>> unknownFieldBqErrors = getUnknownFieldBqErrors(insertErrors);
         if (!unknownFieldBqErrors.isEmpty()) {
+            // the cached columns are out of date, the table changed since they were fetched
+            FieldList existingFieldList = refreshCachedColumns();
             ArrayList<Field> bqSchemaFields = unknownFieldBqErrors
                     .stream()
                     .map(x -> getColumnNamesForRecordsWhichHadUnknownBqFieldErrors(records, x))
@@ -69,11 +100,22 @@ public class JsonErrorHandler implements ErrorHandler {
                     .distinct()
                     .collect(Collectors.toCollection(ArrayList::new));
             instrumentation.logInfo("updating table with missing fields detected {}", bqSchemaFields);
-            existingFieldList.iterator().forEachRemaining(bqSchemaFields::add);
-            bigQueryClient.upsertTable(bqSchemaFields);
+            upsertTable(bqSchemaFields, existingFieldList);
         }
     }
 
+    private FieldList refreshCachedColumns() {
+        FieldList existingFieldList = bigQueryClient.getSchema().getFields();
+        cachedColumns = existingFieldList.stream().map(Field::getName).collect(Collectors.toCollection(HashSet::new));
+        return existingFieldList;
+    }
+
+    private void upsertTable(List<Field> newFields, FieldList existingFieldList) {
+        existingFieldList.iterator().forEachRemaining(newFields::add);
+        bigQueryClient.upsertTable(newFields);
+        cachedColumns = newFields.stream().map(Field::getName).collect(Collectors.toCollection(HashSet::new));
+    }
+
     private Set<String> getColumnNamesForRecordsWhichHadUnknownBqFieldErrors(List<Record> records,
             Entry<Long, List<BigQueryError>> x) {
         int recordKey = x.getKey().intValue();
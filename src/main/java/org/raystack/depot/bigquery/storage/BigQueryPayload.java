@@ -2,16 +2,22 @@ package org.raystack.depot.bigquery.storage;
 
 import org.raystack.depot.bigquery.storage.proto.BigQueryRecordMeta;
 
+import java.util.AbstractSet;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.stream.LongStream;
 
 public class BigQueryPayload implements Iterable<BigQueryRecordMeta> {
     private final List<BigQueryRecordMeta> recordMetadata = new ArrayList<>();
-    private final Map<Long, Long> payloadIndexToInputIndex = new HashMap<>();
+    private static final int INITIAL_CAPACITY = 16;
+    /**
+     * Input index of every row in the payload, valid rows are appended in order so payload indexes are dense.
+     */
+    private int[] payloadIndexToInputIndex = new int[0];
+    private int payloadSize;
     private Object payload;
 
     public void addMetadataRecord(BigQueryRecordMeta record) {
@@ -19,15 +25,49 @@ public class BigQueryPayload implements Iterable<BigQueryRecordMeta> {
     }
 
     public void putValidIndexToInputIndex(long validIndex, long inputIndex) {
-        payloadIndexToInputIndex.put(validIndex, inputIndex);
+        int index = Math.toIntExact(validIndex);
+        if (index >= payloadIndexToInputIndex.length) {
+            payloadIndexToInputIndex = Arrays.copyOf(payloadIndexToInputIndex,
+                    Math.max(index + 1, Math.max(INITIAL_CAPACITY, payloadIndexToInputIndex.length * 2)));
+        }
+        payloadIndexToInputIndex[index] = Math.toIntExact(inputIndex);
+        payloadSize = Math.max(payloadSize, index + 1);
     }
 
     public long getInputIndex(long payloadIndex) {
-        return payloadIndexToInputIndex.get(payloadIndex);
+        if (payloadIndex < 0 || payloadIndex >= payloadSize) {
+            throw new IndexOutOfBoundsException("Payload index " + payloadIndex + " out of " + payloadSize);
+        }
+        return payloadIndexToInputIndex[(int) payloadIndex];
     }
 
+    /**
+     * Number of rows in the payload, payload indexes run from zero to this size.
+     */
+    public int getPayloadSize() {
+        return payloadSize;
+    }
+
+    /**
+     * Payload indexes as a read only view, prefer {@link #getPayloadSize()}.
+     */
     public Set<Long> getPayloadIndexes() {
-        return payloadIndexToInputIndex.keySet();
+        return new AbstractSet<Long>() {
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Long && (Long) o >= 0 && (Long) o < payloadSize;
+            }
+
+            @Override
+            public Iterator<Long> iterator() {
+                return LongStream.range(0, payloadSize).iterator();
+            }
+
+            @Override
+            public int size() {
+                return payloadSize;
+            }
+        };
     }
 
     public Iterator<BigQueryRecordMeta> iterator() {
@@ -2,13 +2,33 @@ package org.raystack.depot.bigquery.storage;
 
 import com.google.cloud.bigquery.storage.v1.AppendRowsResponse;
 import org.raystack.depot.message.Message;
+import org.raystack.depot.message.ParsedMessages;
 
 import java.io.Closeable;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 public interface BigQueryStorageClient extends Closeable {
     BigQueryPayload convert(List<Message> messages);
 
+    /**
+     * Converts the messages, reusing the ones already parsed with the same mode and schema class.
+     */
+    BigQueryPayload convert(List<Message> messages, ParsedMessages parsedMessages);
+
+    /**
+     * Builds a payload of the given rows of an already converted payload, keeping their input indexes.
+     */
+    BigQueryPayload select(BigQueryPayload payload, List<Integer> payloadIndexes);
+
+    /**
+     * Splits a payload into chunks of consecutive rows each small enough for one AppendRows request,
+     * keeping their input indexes. Returns the payload itself when it fits.
+     */
+    List<BigQueryPayload> split(BigQueryPayload payload);
+
     AppendRowsResponse appendAndGet(BigQueryPayload payload) throws ExecutionException, InterruptedException;
+
+    CompletableFuture<AppendRowsResponse> appendAsync(BigQueryPayload payload);
 }
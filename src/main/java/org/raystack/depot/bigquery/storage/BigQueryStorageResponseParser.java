@@ -120,13 +120,11 @@ public class BigQueryStorageResponseParser {
             instrumentation.logError("received an error in stream :{} ", appendRowsResponse.getError());
             com.google.rpc.Status error = appendRowsResponse.getError();
             ErrorInfo errorInfo = BigQueryStorageResponseParser.getError(error);
-            Set<Long> payloadIndexes = payload.getPayloadIndexes();
             com.google.rpc.Code code = com.google.rpc.Code.forNumber(error.getCode());
-            payloadIndexes.forEach(index -> {
-                long inputIndex = payload.getInputIndex(index);
-                sinkResponse.addErrors(inputIndex, errorInfo);
+            for (int index = 0; index < payload.getPayloadSize(); index++) {
+                sinkResponse.addErrors(payload.getInputIndex(index), errorInfo);
                 instrumentErrors(code);
-            });
+            }
         }
 
         // per message error
@@ -154,7 +152,7 @@ public class BigQueryStorageResponseParser {
         instrumentation.logError("Error from exception: {} ", status);
         if (cause instanceof Exceptions.AppendSerializationError) {
             // first set all messages to retryable
-            IntStream.range(0, payload.getPayloadIndexes().size())
+            IntStream.range(0, payload.getPayloadSize())
                     .forEach(index -> {
                         sinkResponse.addErrors(payload.getInputIndex(index),
                                 new ErrorInfo(new Exception(cause), ErrorType.SINK_5XX_ERROR));
@@ -176,14 +174,14 @@ public class BigQueryStorageResponseParser {
             });
         } else {
             if (BigQueryStorageResponseParser.shouldRetry(status)) {
-                IntStream.range(0, payload.getPayloadIndexes().size())
+                IntStream.range(0, payload.getPayloadSize())
                         .forEach(index -> {
                             sinkResponse.addErrors(payload.getInputIndex(index),
                                     new ErrorInfo(new Exception(cause), ErrorType.SINK_5XX_ERROR));
                             instrumentErrors(status.getCode());
                         });
             } else {
-                IntStream.range(0, payload.getPayloadIndexes().size())
+                IntStream.range(0, payload.getPayloadSize())
                         .forEach(index -> {
                             sinkResponse.addErrors(payload.getInputIndex(index),
                                     new ErrorInfo(new Exception(cause), ErrorType.SINK_4XX_ERROR));
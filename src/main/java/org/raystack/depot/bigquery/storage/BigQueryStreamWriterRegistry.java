@@ -0,0 +1,156 @@
+package org.raystack.depot.bigquery.storage;
+
+import com.google.api.gax.core.CredentialsProvider;
+import com.google.cloud.bigquery.storage.v1.BigQueryWriteClient;
+import com.google.cloud.bigquery.storage.v1.ConnectionWorkerPool;
+import com.google.cloud.bigquery.storage.v1.ProtoSchema;
+import com.google.cloud.bigquery.storage.v1.StreamWriter;
+import org.raystack.depot.bigquery.storage.proto.BigQueryProtoStream;
+import org.raystack.depot.config.BigQuerySinkConfig;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Process wide registry of the storage write clients and stream writers of all sinks in the JVM.
+ * <p>
+ * Writers use the multiplexing connection pool of the storage write API, so the default streams of all tables
+ * in a region share between SINK_BIGQUERY_STORAGE_API_MIN_CONNECTIONS_PER_REGION and
+ * SINK_BIGQUERY_STORAGE_API_MAX_CONNECTIONS_PER_REGION connections. The pool is configured once per process,
+ * by the first sink acquiring a writer.
+ * Sinks writing to the same stream with the same schema and credentials share one writer, which is closed once
+ * the last of them released it. Writers of the same credentials share one write client.
+ */
+public class BigQueryStreamWriterRegistry {
+    private static final BigQueryStreamWriterRegistry INSTANCE = new BigQueryStreamWriterRegistry(
+            BigQueryWriterUtils::getBigQueryWriterClient, BigQueryStreamWriterRegistry::newStreamWriter);
+    private final Function<BigQuerySinkConfig, BigQueryWriteClient> clientCreator;
+    private final WriterCreator writerCreator;
+    private final Map<String, SharedClient> clients = new HashMap<>();
+    private final Map<WriterKey, SharedWriter> writers = new HashMap<>();
+    private boolean poolConfigured;
+
+    BigQueryStreamWriterRegistry(Function<BigQuerySinkConfig, BigQueryWriteClient> clientCreator,
+            WriterCreator writerCreator) {
+        this.clientCreator = clientCreator;
+        this.writerCreator = writerCreator;
+    }
+
+    public static BigQueryStreamWriterRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the shared writer of the default stream of the table, creating it if needed.
+     * Closing the returned stream releases the writer.
+     */
+    public synchronized BigQueryProtoStream acquire(BigQuerySinkConfig config, CredentialsProvider credentialsProvider,
+            ProtoSchema schema) {
+        configurePool(config);
+        WriterKey key = new WriterKey(config.getBigQueryCredentialPath(), BigQueryWriterUtils.getDefaultStreamName(config), schema);
+        SharedWriter shared = writers.get(key);
+        if (shared == null || shared.writer.isClosed()) {
+            shared = create(key, config, credentialsProvider);
+            writers.put(key, shared);
+        }
+        shared.references++;
+        SharedWriter acquired = shared;
+        AtomicBoolean released = new AtomicBoolean();
+        return new BigQueryProtoStream(shared.writer, () -> {
+            if (released.compareAndSet(false, true)) {
+                release(acquired);
+            }
+        });
+    }
+
+    private SharedWriter create(WriterKey key, BigQuerySinkConfig config, CredentialsProvider credentialsProvider) {
+        SharedClient client = clients.computeIfAbsent(key.credentialPath,
+                credentialPath -> new SharedClient(credentialPath, clientCreator.apply(config)));
+        try {
+            StreamWriter writer = writerCreator.create(key.streamName, client.client, credentialsProvider, key.schema);
+            client.references++;
+            return new SharedWriter(key, client, writer);
+        } catch (IOException e) {
+            if (client.references == 0) {
+                clients.remove(client.credentialPath);
+                client.client.close();
+            }
+            throw new IllegalArgumentException("Can't initialise Stream Writer", e);
+        }
+    }
+
+    private static StreamWriter newStreamWriter(String streamName, BigQueryWriteClient client,
+            CredentialsProvider credentialsProvider, ProtoSchema schema) throws IOException {
+        return StreamWriter.newBuilder(streamName, client)
+                .setCredentialsProvider(credentialsProvider)
+                .setWriterSchema(schema)
+                .setEnableConnectionPool(true)
+                .build();
+    }
+
+    private synchronized void release(SharedWriter shared) {
+        if (--shared.references > 0) {
+            return;
+        }
+        shared.writer.close();
+        writers.remove(shared.key, shared);
+        if (--shared.client.references == 0) {
+            clients.remove(shared.client.credentialPath);
+            shared.client.client.close();
+        }
+    }
+
+    private void configurePool(BigQuerySinkConfig config) {
+        if (poolConfigured) {
+            return;
+        }
+        ConnectionWorkerPool.setOptions(ConnectionWorkerPool.Settings.builder()
+                .setMinConnectionsPerRegion(config.getSinkBigqueryStorageAPIMinConnectionsPerRegion())
+                .setMaxConnectionsPerRegion(config.getSinkBigqueryStorageAPIMaxConnectionsPerRegion())
+                .build());
+        poolConfigured = true;
+    }
+
+    @FunctionalInterface
+    interface WriterCreator {
+        StreamWriter create(String streamName, BigQueryWriteClient client, CredentialsProvider credentialsProvider,
+                ProtoSchema schema) throws IOException;
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class WriterKey {
+        private final String credentialPath;
+        private final String streamName;
+        private final ProtoSchema schema;
+    }
+
+    private static class SharedClient {
+        private final String credentialPath;
+        private final BigQueryWriteClient client;
+        private int references;
+
+        SharedClient(String credentialPath, BigQueryWriteClient client) {
+            this.credentialPath = credentialPath;
+            this.client = client;
+        }
+    }
+
+    private static class SharedWriter {
+        private final WriterKey key;
+        private final SharedClient client;
+        private final StreamWriter writer;
+        private int references;
+
+        SharedWriter(WriterKey key, SharedClient client, StreamWriter writer) {
+            this.key = key;
+            this.client = client;
+            this.writer = writer;
+        }
+    }
+}
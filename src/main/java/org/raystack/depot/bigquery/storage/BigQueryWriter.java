@@ -2,6 +2,7 @@ package org.raystack.depot.bigquery.storage;
 
 import com.google.cloud.bigquery.storage.v1.AppendRowsResponse;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 public interface BigQueryWriter extends AutoCloseable {
@@ -9,4 +10,10 @@ public interface BigQueryWriter extends AutoCloseable {
     void init();
 
     AppendRowsResponse appendAndGet(BigQueryPayload payload) throws ExecutionException, InterruptedException;
+
+    /**
+     * Appends the payload without waiting for the response.
+     * The returned future completes when the AppendRows response for this payload arrives.
+     */
+    CompletableFuture<AppendRowsResponse> appendAsync(BigQueryPayload payload);
 }
@@ -40,6 +40,9 @@ public class BigQueryWriterUtils {
 
     public static BigQueryStream getStreamWriter(BigQuerySinkConfig config, CredentialsProvider credentialsProvider,
             ProtoSchema schema) {
+        if (config.getSinkBigqueryStorageAPIConnectionPoolEnable()) {
+            return BigQueryStreamWriterRegistry.getInstance().acquire(config, credentialsProvider, schema);
+        }
         try {
             String streamName = getDefaultStreamName(config);
             StreamWriter.Builder builder = StreamWriter.newBuilder(streamName);
@@ -52,6 +55,19 @@ public class BigQueryWriterUtils {
         }
     }
 
+    /**
+     * Writer for a stream created by the application, using the settings of the client.
+     */
+    public static StreamWriter getApplicationStreamWriter(BigQueryWriteClient client, String streamName, ProtoSchema schema) {
+        try {
+            return StreamWriter.newBuilder(streamName, client)
+                    .setWriterSchema(schema)
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Can't initialise Stream Writer", e);
+        }
+    }
+
     public static String getDefaultStreamName(BigQuerySinkConfig config) {
         TableName parentTable = TableName.of(config.getGCloudProjectID(), config.getDatasetName(),
                 config.getTableName());
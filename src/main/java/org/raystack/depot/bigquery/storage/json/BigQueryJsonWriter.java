@@ -5,6 +5,7 @@ import org.raystack.depot.bigquery.storage.BigQueryPayload;
 import org.raystack.depot.bigquery.storage.BigQueryWriter;
 import org.raystack.depot.config.BigQuerySinkConfig;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 public class BigQueryJsonWriter implements BigQueryWriter {
@@ -23,6 +24,11 @@ public class BigQueryJsonWriter implements BigQueryWriter {
         return null;
     }
 
+    @Override
+    public CompletableFuture<AppendRowsResponse> appendAsync(BigQueryPayload payload) {
+        return null;
+    }
+
     @Override
     public void close() throws Exception {
 
@@ -0,0 +1,116 @@
+package org.raystack.depot.bigquery.storage.proto;
+
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+import org.raystack.depot.message.proto.converter.fields.DurationProtoField;
+import org.raystack.depot.message.proto.converter.fields.MessageProtoField;
+import org.raystack.depot.message.proto.converter.fields.ProtoField;
+import org.raystack.depot.message.proto.converter.fields.ProtoFieldFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Conversion of an input proto message into a row of the table descriptor.
+ * Input fields are matched to table fields once, when the plan is compiled,
+ * and nested plans are resolved on first use and kept for the following rows.
+ */
+public class BigQueryProtoConversionPlan {
+    private final Descriptors.Descriptor outputDescriptor;
+    private final List<FieldPlan> fields;
+
+    BigQueryProtoConversionPlan(Descriptors.Descriptor inputDescriptor, Descriptors.Descriptor outputDescriptor,
+            boolean isTopLevel, String partitionKey, BigQueryProtoConversionPlans plans) {
+        this.outputDescriptor = outputDescriptor;
+        List<FieldPlan> fieldPlans = new ArrayList<>();
+        for (Descriptors.FieldDescriptor inputField : inputDescriptor.getFields()) {
+            Descriptors.FieldDescriptor outputField = outputDescriptor
+                    .findFieldByName(inputField.getName().toLowerCase());
+            if (outputField == null) {
+                // not found in table
+                continue;
+            }
+            boolean isPartitionColumn = isTopLevel && outputField.getName().equals(partitionKey);
+            fieldPlans.add(new FieldPlan(inputField, outputField, isPartitionColumn, plans));
+        }
+        this.fields = Collections.unmodifiableList(fieldPlans);
+    }
+
+    public Descriptors.Descriptor getOutputDescriptor() {
+        return outputDescriptor;
+    }
+
+    public DynamicMessage.Builder convert(DynamicMessage inputMessage) {
+        DynamicMessage.Builder messageBuilder = DynamicMessage.newBuilder(outputDescriptor);
+        for (FieldPlan field : fields) {
+            ProtoField protoField = ProtoFieldFactory.getField(field.inputField, inputMessage.getField(field.inputField));
+            Object fieldValue = protoField.getValue();
+            if (fieldValue instanceof List) {
+                addRepeatedFields(messageBuilder, field, (List<?>) fieldValue);
+                continue;
+            }
+            if (fieldValue.toString().isEmpty()) {
+                continue;
+            }
+            if (fieldValue instanceof Instant) {
+                if (((Instant) fieldValue).getEpochSecond() > 0) {
+                    long timeStampValue = TimeStampUtils.getBQInstant((Instant) fieldValue, field.outputField,
+                            field.isPartitionColumn);
+                    messageBuilder.setField(field.outputField, timeStampValue);
+                }
+            } else if (protoField instanceof MessageProtoField || protoField instanceof DurationProtoField) {
+                messageBuilder.setField(field.outputField,
+                        field.getNestedPlan().convert((DynamicMessage) fieldValue).build());
+            } else {
+                messageBuilder.setField(field.outputField, fieldValue);
+            }
+        }
+        return messageBuilder;
+    }
+
+    private void addRepeatedFields(DynamicMessage.Builder messageBuilder, FieldPlan field, List<?> fieldValue) {
+        if (fieldValue.isEmpty()) {
+            return;
+        }
+        List<Object> repeatedNestedFields = new ArrayList<>(fieldValue.size());
+        for (Object f : fieldValue) {
+            if (f instanceof DynamicMessage) {
+                repeatedNestedFields.add(field.getNestedPlan().convert((DynamicMessage) f).build());
+            } else if (f instanceof Instant) {
+                if (((Instant) f).getEpochSecond() > 0) {
+                    repeatedNestedFields.add(TimeStampUtils.getBQInstant((Instant) f, field.outputField, false));
+                }
+            } else {
+                repeatedNestedFields.add(f);
+            }
+        }
+        messageBuilder.setField(field.outputField, repeatedNestedFields);
+    }
+
+    private static final class FieldPlan {
+        private final Descriptors.FieldDescriptor inputField;
+        private final Descriptors.FieldDescriptor outputField;
+        private final boolean isPartitionColumn;
+        private final BigQueryProtoConversionPlans plans;
+        private volatile BigQueryProtoConversionPlan nestedPlan;
+
+        private FieldPlan(Descriptors.FieldDescriptor inputField, Descriptors.FieldDescriptor outputField,
+                boolean isPartitionColumn, BigQueryProtoConversionPlans plans) {
+            this.inputField = inputField;
+            this.outputField = outputField;
+            this.isPartitionColumn = isPartitionColumn;
+            this.plans = plans;
+        }
+
+        private BigQueryProtoConversionPlan getNestedPlan() {
+            BigQueryProtoConversionPlan plan = nestedPlan;
+            if (plan == null) {
+                plan = plans.getNestedPlan(inputField.getMessageType(), outputField.getMessageType());
+                nestedPlan = plan;
+            }
+            return plan;
+        }
+    }
+}
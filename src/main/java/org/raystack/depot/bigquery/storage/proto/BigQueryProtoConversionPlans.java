@@ -0,0 +1,43 @@
+package org.raystack.depot.bigquery.storage.proto;
+
+import com.google.protobuf.Descriptors;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conversion plans for one input root descriptor and one table descriptor.
+ * A new instance is needed when either descriptor changes.
+ */
+public class BigQueryProtoConversionPlans {
+    private final Descriptors.Descriptor inputDescriptor;
+    private final Descriptors.Descriptor tableDescriptor;
+    private final String partitionKey;
+    private final BigQueryProtoConversionPlan rootPlan;
+    // nested message types keyed by input type, then table type
+    private final Map<Descriptors.Descriptor, Map<Descriptors.Descriptor, BigQueryProtoConversionPlan>> nestedPlans =
+            new ConcurrentHashMap<>();
+
+    public BigQueryProtoConversionPlans(Descriptors.Descriptor inputDescriptor,
+            Descriptors.Descriptor tableDescriptor, String partitionKey) {
+        this.inputDescriptor = inputDescriptor;
+        this.tableDescriptor = tableDescriptor;
+        this.partitionKey = partitionKey;
+        this.rootPlan = new BigQueryProtoConversionPlan(inputDescriptor, tableDescriptor, true, partitionKey, this);
+    }
+
+    public boolean isFor(Descriptors.Descriptor input, Descriptors.Descriptor table) {
+        return inputDescriptor == input && tableDescriptor == table;
+    }
+
+    public BigQueryProtoConversionPlan getRootPlan() {
+        return rootPlan;
+    }
+
+    BigQueryProtoConversionPlan getNestedPlan(Descriptors.Descriptor input, Descriptors.Descriptor output) {
+        return nestedPlans
+                .computeIfAbsent(input, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(output,
+                        k -> new BigQueryProtoConversionPlan(input, output, false, partitionKey, this));
+    }
+}
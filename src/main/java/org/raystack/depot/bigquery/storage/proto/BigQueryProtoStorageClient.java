@@ -2,11 +2,15 @@ package org.raystack.depot.bigquery.storage.proto;
 
 import com.google.cloud.bigquery.storage.v1.AppendRowsResponse;
 import com.google.cloud.bigquery.storage.v1.ProtoRows;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.Descriptors;
 import com.google.protobuf.DynamicMessage;
 import org.raystack.depot.bigquery.storage.BigQueryPayload;
 import org.raystack.depot.bigquery.storage.BigQueryStorageClient;
 import org.raystack.depot.bigquery.storage.BigQueryWriter;
+import org.raystack.depot.common.BatchConverter;
+import org.raystack.depot.common.Tuple;
 import org.raystack.depot.config.BigQuerySinkConfig;
 import org.raystack.depot.error.ErrorInfo;
 import org.raystack.depot.error.ErrorType;
@@ -16,16 +20,14 @@ import org.raystack.depot.exception.UnknownFieldsException;
 import org.raystack.depot.message.Message;
 import org.raystack.depot.message.MessageParser;
 import org.raystack.depot.message.ParsedMessage;
+import org.raystack.depot.message.ParsedMessages;
 import org.raystack.depot.message.SinkConnectorSchemaMessageMode;
-import org.raystack.depot.message.proto.converter.fields.DurationProtoField;
-import org.raystack.depot.message.proto.converter.fields.MessageProtoField;
-import org.raystack.depot.message.proto.converter.fields.ProtoField;
-import org.raystack.depot.message.proto.converter.fields.ProtoFieldFactory;
 
 import java.io.IOException;
-import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 public class BigQueryProtoStorageClient implements BigQueryStorageClient {
@@ -35,6 +37,9 @@ public class BigQueryProtoStorageClient implements BigQueryStorageClient {
     private final MessageParser parser;
     private final String schemaClass;
     private final SinkConnectorSchemaMessageMode mode;
+    private final BatchConverter batchConverter;
+    private final int maxRequestBytes;
+    private volatile BigQueryProtoConversionPlans conversionPlans;
 
     public BigQueryProtoStorageClient(BigQueryWriter writer, BigQuerySinkConfig config, MessageParser parser) {
         this.writer = (BigQueryProtoWriter) writer;
@@ -44,113 +49,123 @@ public class BigQueryProtoStorageClient implements BigQueryStorageClient {
         this.schemaClass = mode == SinkConnectorSchemaMessageMode.LOG_MESSAGE
                 ? config.getSinkConnectorSchemaProtoMessageClass()
                 : config.getSinkConnectorSchemaProtoKeyClass();
+        this.batchConverter = BatchConverter.create(config);
+        this.maxRequestBytes = config.getSinkBigqueryStorageAPIMaxRequestBytes();
     }
 
     public BigQueryPayload convert(List<Message> messages) {
+        return convert(messages, ParsedMessages.none());
+    }
+
+    @Override
+    public BigQueryPayload convert(List<Message> messages, ParsedMessages parsedMessages) {
         ProtoRows.Builder rowBuilder = ProtoRows.newBuilder();
         BigQueryPayload payload = new BigQueryPayload();
         Descriptors.Descriptor descriptor = writer.getDescriptor();
         long validIndex = 0;
-        for (int index = 0; index < messages.size(); index++) {
-            Message message = messages.get(index);
-            try {
-                DynamicMessage convertedMessage = convert(message, descriptor);
-                BigQueryRecordMeta metadata = new BigQueryRecordMeta(index, null, true);
-                payload.addMetadataRecord(metadata);
-                payload.putValidIndexToInputIndex(validIndex++, index);
-                rowBuilder.addSerializedRows(convertedMessage.toByteString());
-            } catch (UnknownFieldsException e) {
-                ErrorInfo errorInfo = new ErrorInfo(e, ErrorType.UNKNOWN_FIELDS_ERROR);
-                BigQueryRecordMeta metadata = new BigQueryRecordMeta(index, errorInfo, false);
-                payload.addMetadataRecord(metadata);
-            } catch (EmptyMessageException | UnsupportedOperationException e) {
-                ErrorInfo errorInfo = new ErrorInfo(e, ErrorType.INVALID_MESSAGE_ERROR);
-                BigQueryRecordMeta metadata = new BigQueryRecordMeta(index, errorInfo, false);
-                payload.addMetadataRecord(metadata);
-            } catch (DeserializerException | IllegalArgumentException | IOException e) {
-                ErrorInfo errorInfo = new ErrorInfo(e, ErrorType.DESERIALIZATION_ERROR);
-                BigQueryRecordMeta metadata = new BigQueryRecordMeta(index, errorInfo, false);
-                payload.addMetadataRecord(metadata);
-            } catch (Exception e) {
-                ErrorInfo errorInfo = new ErrorInfo(e, ErrorType.SINK_UNKNOWN_ERROR);
-                BigQueryRecordMeta metadata = new BigQueryRecordMeta(index, errorInfo, false);
-                payload.addMetadataRecord(metadata);
+        for (Tuple<BigQueryRecordMeta, ByteString> row
+                : batchConverter.convert(messages, (message, index) -> toRow(message, index, descriptor, parsedMessages))) {
+            BigQueryRecordMeta metadata = row.getFirst();
+            payload.addMetadataRecord(metadata);
+            if (metadata.isValid()) {
+                payload.putValidIndexToInputIndex(validIndex++, metadata.getInputIndex());
+                rowBuilder.addSerializedRows(row.getSecond());
             }
         }
         payload.setPayload(rowBuilder.build());
         return payload;
     }
 
+    @Override
+    public BigQueryPayload select(BigQueryPayload payload, List<Integer> payloadIndexes) {
+        ProtoRows rows = (ProtoRows) payload.getPayload();
+        ProtoRows.Builder rowBuilder = ProtoRows.newBuilder();
+        BigQueryPayload selected = new BigQueryPayload();
+        for (int i = 0; i < payloadIndexes.size(); i++) {
+            int payloadIndex = payloadIndexes.get(i);
+            rowBuilder.addSerializedRows(rows.getSerializedRows(payloadIndex));
+            selected.putValidIndexToInputIndex(i, payload.getInputIndex(payloadIndex));
+        }
+        selected.setPayload(rowBuilder.build());
+        return selected;
+    }
+
+    // a row larger than the limit is sent on its own and rejected by BigQuery as before
+    @Override
+    public List<BigQueryPayload> split(BigQueryPayload payload) {
+        ProtoRows rows = (ProtoRows) payload.getPayload();
+        if (rows.getSerializedSize() <= maxRequestBytes) {
+            return Collections.singletonList(payload);
+        }
+        List<BigQueryPayload> chunks = new ArrayList<>();
+        List<Integer> chunk = new ArrayList<>();
+        long chunkBytes = 0;
+        for (int i = 0; i < rows.getSerializedRowsCount(); i++) {
+            int rowBytes = CodedOutputStream.computeBytesSize(ProtoRows.SERIALIZED_ROWS_FIELD_NUMBER,
+                    rows.getSerializedRows(i));
+            if (!chunk.isEmpty() && chunkBytes + rowBytes > maxRequestBytes) {
+                chunks.add(select(payload, chunk));
+                chunk = new ArrayList<>();
+                chunkBytes = 0;
+            }
+            chunk.add(i);
+            chunkBytes += rowBytes;
+        }
+        chunks.add(select(payload, chunk));
+        return chunks;
+    }
+
+    private Tuple<BigQueryRecordMeta, ByteString> toRow(Message message, int index, Descriptors.Descriptor descriptor,
+            ParsedMessages parsedMessages) {
+        try {
+            DynamicMessage convertedMessage = convert(message, index, descriptor, parsedMessages);
+            return new Tuple<>(new BigQueryRecordMeta(index, null, true), convertedMessage.toByteString());
+        } catch (UnknownFieldsException e) {
+            return invalidRow(index, new ErrorInfo(e, ErrorType.UNKNOWN_FIELDS_ERROR));
+        } catch (EmptyMessageException | UnsupportedOperationException e) {
+            return invalidRow(index, new ErrorInfo(e, ErrorType.INVALID_MESSAGE_ERROR));
+        } catch (DeserializerException | IllegalArgumentException | IOException e) {
+            return invalidRow(index, new ErrorInfo(e, ErrorType.DESERIALIZATION_ERROR));
+        } catch (Exception e) {
+            return invalidRow(index, new ErrorInfo(e, ErrorType.SINK_UNKNOWN_ERROR));
+        }
+    }
+
+    private Tuple<BigQueryRecordMeta, ByteString> invalidRow(int index, ErrorInfo errorInfo) {
+        return new Tuple<>(new BigQueryRecordMeta(index, errorInfo, false), null);
+    }
+
     @Override
     public AppendRowsResponse appendAndGet(BigQueryPayload payload) throws ExecutionException, InterruptedException {
         return writer.appendAndGet(payload);
     }
 
-    private DynamicMessage convert(Message message, Descriptors.Descriptor descriptor) throws IOException {
-        ParsedMessage parsedMessage = parser.parse(message, mode, schemaClass);
+    @Override
+    public CompletableFuture<AppendRowsResponse> appendAsync(BigQueryPayload payload) {
+        return writer.appendAsync(payload);
+    }
+
+    private DynamicMessage convert(Message message, int index, Descriptors.Descriptor descriptor,
+            ParsedMessages parsedMessages) throws IOException {
+        ParsedMessage parsedMessage = parsedMessages.getOrParse(message, index, parser, mode, schemaClass);
         parsedMessage.validate(config);
-        DynamicMessage.Builder messageBuilder = convert((DynamicMessage) parsedMessage.getRaw(), descriptor, true);
+        DynamicMessage inputMessage = (DynamicMessage) parsedMessage.getRaw();
+        DynamicMessage.Builder messageBuilder = getConversionPlans(inputMessage.getDescriptorForType(), descriptor)
+                .getRootPlan()
+                .convert(inputMessage);
         BigQueryProtoUtils.addMetadata(message.getMetadata(), messageBuilder, descriptor, config);
         return messageBuilder.build();
     }
 
-    private DynamicMessage.Builder convert(DynamicMessage inputMessage, Descriptors.Descriptor descriptor,
-            boolean isTopLevel) {
-        DynamicMessage.Builder messageBuilder = DynamicMessage.newBuilder(descriptor);
-        List<Descriptors.FieldDescriptor> allFields = inputMessage.getDescriptorForType().getFields();
-        for (Descriptors.FieldDescriptor inputField : allFields) {
-            Descriptors.FieldDescriptor outputField = descriptor.findFieldByName(inputField.getName().toLowerCase());
-            if (outputField == null) {
-                // not found in table
-                continue;
-            }
-            ProtoField protoField = ProtoFieldFactory.getField(inputField, inputMessage.getField(inputField));
-            Object fieldValue = protoField.getValue();
-            if (fieldValue instanceof List) {
-                addRepeatedFields(messageBuilder, outputField, (List<?>) fieldValue);
-                continue;
-            }
-            if (fieldValue.toString().isEmpty()) {
-                continue;
-            }
-            if (fieldValue instanceof Instant) {
-                if (((Instant) fieldValue).getEpochSecond() > 0) {
-                    long timeStampValue = TimeStampUtils.getBQInstant((Instant) fieldValue, outputField, isTopLevel,
-                            config);
-                    messageBuilder.setField(outputField, timeStampValue);
-                }
-            } else if (protoField.getClass().getName().equals(MessageProtoField.class.getName())
-                    || protoField.getClass().getName().equals(DurationProtoField.class.getName())) {
-                Descriptors.Descriptor messageType = outputField.getMessageType();
-                messageBuilder.setField(outputField, convert((DynamicMessage) fieldValue, messageType, false).build());
-            } else {
-                messageBuilder.setField(outputField, fieldValue);
-            }
-        }
-        return messageBuilder;
-    }
-
-    private void addRepeatedFields(DynamicMessage.Builder messageBuilder, Descriptors.FieldDescriptor outputField,
-            List<?> fieldValue) {
-        if (fieldValue.isEmpty()) {
-            return;
-        }
-        List<Object> repeatedNestedFields = new ArrayList<>();
-        for (Object f : fieldValue) {
-            if (f instanceof DynamicMessage) {
-                Descriptors.Descriptor messageType = outputField.getMessageType();
-                repeatedNestedFields.add(convert((DynamicMessage) f, messageType, false).build());
-            } else {
-                if (f instanceof Instant) {
-                    if (((Instant) f).getEpochSecond() > 0) {
-                        repeatedNestedFields.add(TimeStampUtils.getBQInstant((Instant) f, outputField, false, config));
-                    }
-                } else {
-                    repeatedNestedFields.add(f);
-                }
-            }
+    // the writer swaps its descriptor on table schema updates, and stencil swaps input descriptors on refresh
+    private BigQueryProtoConversionPlans getConversionPlans(Descriptors.Descriptor inputDescriptor,
+            Descriptors.Descriptor tableDescriptor) {
+        BigQueryProtoConversionPlans plans = conversionPlans;
+        if (plans == null || !plans.isFor(inputDescriptor, tableDescriptor)) {
+            plans = new BigQueryProtoConversionPlans(inputDescriptor, tableDescriptor, config.getTablePartitionKey());
+            conversionPlans = plans;
         }
-        messageBuilder.setField(outputField, repeatedNestedFields);
+        return plans;
     }
 
     @Override
@@ -9,4 +9,16 @@ import lombok.Getter;
 public class BigQueryProtoStream implements BigQueryStream {
     @Getter
     private final StreamWriter streamWriter;
+    private final Runnable release;
+
+    public BigQueryProtoStream(StreamWriter streamWriter) {
+        this(streamWriter, streamWriter::close);
+    }
+
+    /**
+     * Closes the stream writer, or gives it back to the registry when it is shared.
+     */
+    public void close() {
+        release.run();
+    }
 }
@@ -0,0 +1,216 @@
+package org.raystack.depot.bigquery.storage.proto;
+
+import com.google.cloud.bigquery.storage.v1.AppendRowsResponse;
+import com.google.cloud.bigquery.storage.v1.BatchCommitWriteStreamsRequest;
+import com.google.cloud.bigquery.storage.v1.BatchCommitWriteStreamsResponse;
+import com.google.cloud.bigquery.storage.v1.BigQueryWriteClient;
+import com.google.cloud.bigquery.storage.v1.CreateWriteStreamRequest;
+import com.google.cloud.bigquery.storage.v1.Exceptions;
+import com.google.cloud.bigquery.storage.v1.ProtoRows;
+import com.google.cloud.bigquery.storage.v1.ProtoSchema;
+import com.google.cloud.bigquery.storage.v1.ProtoSchemaConverter;
+import com.google.cloud.bigquery.storage.v1.StreamWriter;
+import com.google.cloud.bigquery.storage.v1.TableName;
+import com.google.cloud.bigquery.storage.v1.TableSchema;
+import com.google.cloud.bigquery.storage.v1.WriteStream;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.Int64Value;
+import io.grpc.Status;
+import org.raystack.depot.bigquery.storage.BigQueryStorageResponseParser;
+import org.raystack.depot.metrics.Instrumentation;
+
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiFunction;
+
+/**
+ * An application created COMMITTED or PENDING stream of the table, appended to with explicit offsets.
+ * One append is in flight at a time, the offset of an append is the number of rows written to the stream before it.
+ * An append failing with a retryable status is sent again at the same offset, so the rows of an attempt that
+ * reached BigQuery are reported as already existing instead of being written twice.
+ * <p>
+ * Rows still failing with a retryable status after the last attempt are unconfirmed, they may or may not have been
+ * written. The stream and its offset are kept, so the same rows appended again are sent at that offset and still
+ * written once. Other rows can not be sent at an offset that may hold rows already, the stream is replaced for them
+ * and the unconfirmed rows, when they are pushed again later, may be written twice. That case is at least once.
+ * <p>
+ * A PENDING stream holds the rows of a single append, it is finalized and committed before the append returns,
+ * so rows are only reported as written once they are committed. A failed commit is reported as a retryable
+ * ABORTED status, the rows of the uncommitted stream are discarded by BigQuery. Every append thus creates a stream
+ * and its writer, and finalizes and commits the stream.
+ * <p>
+ * A COMMITTED stream is finalized and replaced by a new one once SINK_BIGQUERY_STORAGE_API_STREAM_ROTATION_MS
+ * passed since it was created, once an append failed for good or when the table schema changed.
+ */
+class BigQueryProtoWriteStream {
+    private static final int MAX_APPEND_ATTEMPTS = 3;
+    private final BigQueryWriteClient client;
+    private final BiFunction<String, ProtoSchema, StreamWriter> writerCreator;
+    private final TableName table;
+    private final WriteStream.Type type;
+    private final long rotationMs;
+    private final Instrumentation instrumentation;
+    private String streamName;
+    private StreamWriter writer;
+    private Descriptors.Descriptor descriptor;
+    private long offset;
+    private long createdMillis;
+    private boolean failed;
+    private ProtoRows unconfirmedRows;
+    private TableSchema updatedSchema;
+
+    BigQueryProtoWriteStream(BigQueryWriteClient client, BiFunction<String, ProtoSchema, StreamWriter> writerCreator,
+            TableName table, WriteStream.Type type, long rotationMs, Instrumentation instrumentation) {
+        this.client = client;
+        this.writerCreator = writerCreator;
+        this.table = table;
+        this.type = type;
+        this.rotationMs = rotationMs;
+        this.instrumentation = instrumentation;
+    }
+
+    /**
+     * Appends the rows, which were converted with the descriptor, at the current offset of the stream.
+     */
+    synchronized AppendRowsResponse append(ProtoRows rows, Descriptors.Descriptor rowsDescriptor)
+            throws ExecutionException, InterruptedException {
+        boolean resendingUnconfirmed = unconfirmedRows != null && unconfirmedRows.equals(rows);
+        if (unconfirmedRows != null && !resendingUnconfirmed) {
+            instrumentation.logInfo("Rows at offset {} of stream {} are unconfirmed, appending other rows to a new stream",
+                    offset, streamName);
+            failed = true;
+        }
+        if (writer == null || failed || descriptor != rowsDescriptor
+                || (!resendingUnconfirmed && System.currentTimeMillis() - createdMillis >= rotationMs)) {
+            rotate(rowsDescriptor);
+        } else if (writer.isClosed()) {
+            writer = writerCreator.apply(streamName, ProtoSchemaConverter.convert(descriptor));
+        }
+        AppendRowsResponse response = appendAtOffset(rows);
+        if (!response.hasError()) {
+            commitPending();
+        }
+        return response;
+    }
+
+    private AppendRowsResponse appendAtOffset(ProtoRows rows) throws ExecutionException, InterruptedException {
+        long rowCount = rows.getSerializedRowsCount();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                AppendRowsResponse response = writer.append(rows, offset).get();
+                rememberUpdatedSchema();
+                unconfirmedRows = null;
+                if (!response.hasError()) {
+                    offset += rowCount;
+                }
+                return response;
+            } catch (ExecutionException e) {
+                if (isAlreadyWritten(e.getCause())) {
+                    instrumentation.logInfo("Rows at offset {} of stream {} were already written", offset, streamName);
+                    AppendRowsResponse response = AppendRowsResponse.newBuilder()
+                            .setAppendResult(AppendRowsResponse.AppendResult.newBuilder().setOffset(Int64Value.of(offset)))
+                            .build();
+                    unconfirmedRows = null;
+                    offset += rowCount;
+                    return response;
+                }
+                if (!BigQueryStorageResponseParser.shouldRetry(Status.fromThrowable(e.getCause()))) {
+                    unconfirmedRows = null;
+                    failed = true;
+                    throw e;
+                }
+                if (attempt >= MAX_APPEND_ATTEMPTS) {
+                    // a PENDING stream is never committed, so its rows can be sent to a new stream
+                    if (type == WriteStream.Type.PENDING) {
+                        failed = true;
+                    } else {
+                        unconfirmedRows = rows;
+                    }
+                    throw e;
+                }
+                if (writer.isClosed()) {
+                    writer = writerCreator.apply(streamName, ProtoSchemaConverter.convert(descriptor));
+                }
+            }
+        }
+    }
+
+    private static boolean isAlreadyWritten(Throwable cause) {
+        return cause instanceof Exceptions.OffsetAlreadyExists
+                || Status.fromThrowable(cause).getCode() == Status.Code.ALREADY_EXISTS;
+    }
+
+    private void rememberUpdatedSchema() {
+        TableSchema schema = writer.getUpdatedSchema();
+        if (schema != null) {
+            updatedSchema = schema;
+        }
+    }
+
+    synchronized TableSchema getUpdatedSchema() {
+        return updatedSchema;
+    }
+
+    // finalizes and commits the PENDING stream holding the rows just appended
+    private void commitPending() throws ExecutionException {
+        if (type != WriteStream.Type.PENDING) {
+            return;
+        }
+        String pendingStream = streamName;
+        writer.close();
+        writer = null;
+        BatchCommitWriteStreamsResponse response;
+        try {
+            client.finalizeWriteStream(pendingStream);
+            response = client.batchCommitWriteStreams(BatchCommitWriteStreamsRequest.newBuilder()
+                    .setParent(table.toString())
+                    .addWriteStreams(pendingStream)
+                    .build());
+        } catch (RuntimeException e) {
+            throw commitFailure(pendingStream, e.getMessage(), e);
+        }
+        if (!response.hasCommitTime()) {
+            throw commitFailure(pendingStream, response.getStreamErrorsList().toString(), null);
+        }
+    }
+
+    private ExecutionException commitFailure(String pendingStream, String reason, Throwable cause) {
+        instrumentation.logError("Pending write stream {} could not be committed: {}", pendingStream, reason);
+        return new ExecutionException(Status.ABORTED
+                .withDescription("Pending write stream " + pendingStream + " could not be committed: " + reason)
+                .withCause(cause)
+                .asRuntimeException());
+    }
+
+    private void rotate(Descriptors.Descriptor rowsDescriptor) {
+        finish();
+        WriteStream stream = client.createWriteStream(CreateWriteStreamRequest.newBuilder()
+                .setParent(table.toString())
+                .setWriteStream(WriteStream.newBuilder().setType(type).build())
+                .build());
+        streamName = stream.getName();
+        descriptor = rowsDescriptor;
+        writer = writerCreator.apply(streamName, ProtoSchemaConverter.convert(rowsDescriptor));
+        offset = 0;
+        createdMillis = System.currentTimeMillis();
+        failed = false;
+        unconfirmedRows = null;
+        instrumentation.logInfo("Created {} write stream {}", type, streamName);
+    }
+
+    /**
+     * Closes the writer and finalizes the stream. A PENDING stream left open holds no acknowledged rows,
+     * it is not committed.
+     */
+    synchronized void finish() {
+        if (writer == null) {
+            return;
+        }
+        writer.close();
+        writer = null;
+        try {
+            client.finalizeWriteStream(streamName);
+        } catch (RuntimeException e) {
+            instrumentation.logError("Write stream {} could not be finalized: {}", streamName, e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package org.raystack.depot.bigquery.storage.proto;
 
 import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
 import com.google.api.gax.core.CredentialsProvider;
 import com.google.cloud.bigquery.storage.v1.AppendRowsResponse;
 import com.google.cloud.bigquery.storage.v1.BQTableSchemaToProtoDescriptor;
@@ -10,27 +12,56 @@ import com.google.cloud.bigquery.storage.v1.ProtoRows;
 import com.google.cloud.bigquery.storage.v1.ProtoSchema;
 import com.google.cloud.bigquery.storage.v1.ProtoSchemaConverter;
 import com.google.cloud.bigquery.storage.v1.StreamWriter;
+import com.google.cloud.bigquery.storage.v1.TableName;
 import com.google.cloud.bigquery.storage.v1.TableSchema;
 import com.google.cloud.bigquery.storage.v1.WriteStream;
 import com.google.cloud.bigquery.storage.v1.WriteStreamView;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.Descriptors;
+import com.google.rpc.Code;
+import io.grpc.Status;
 import org.raystack.depot.bigquery.storage.BigQueryPayload;
 import org.raystack.depot.bigquery.storage.BigQueryStorageResponseParser;
 import org.raystack.depot.bigquery.storage.BigQueryStream;
 import org.raystack.depot.bigquery.storage.BigQueryWriter;
 import org.raystack.depot.bigquery.storage.BigQueryWriterUtils;
+import org.raystack.depot.common.AdaptiveConcurrencyLimiter;
 import org.raystack.depot.common.Function3;
 import org.raystack.depot.config.BigQuerySinkConfig;
+import org.raystack.depot.config.enums.BigQueryStorageWriteMode;
+import org.raystack.depot.message.proto.converter.fields.ProtoFieldFactory;
 import org.raystack.depot.metrics.BigQueryMetrics;
 import org.raystack.depot.metrics.Instrumentation;
-import lombok.Getter;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
+/**
+ * Appends proto rows to the storage write API.
+ * <p>
+ * The stream writer and the descriptor rows are converted with are published together as one {@link WriterState}.
+ * When a response reports an updated table schema, the writer for the new schema is created on the schema update
+ * executor while appends keep going to the current writer. The new state is then swapped in atomically and the old
+ * writer is closed once the appends that already picked it have been sent and their responses arrived, so appends
+ * never wait for a writer to be recreated nor fail on a writer closed under them. Only a writer that closed itself is
+ * recreated by the appending thread, as there is nothing to append to.
+ * <p>
+ * With COMMITTED or PENDING streams, every stream has its own append thread, so asynchronous appends to different
+ * streams are in flight at the same time.
+ */
 public class BigQueryProtoWriter implements BigQueryWriter {
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
 
     private final BigQuerySinkConfig config;
     private final Function<BigQuerySinkConfig, BigQueryWriteClient> bqWriterCreator;
@@ -38,23 +69,57 @@ public class BigQueryProtoWriter implements BigQueryWriter {
     private final Function3<BigQuerySinkConfig, CredentialsProvider, ProtoSchema, BigQueryStream> streamCreator;
     private final Instrumentation instrumentation;
     private final BigQueryMetrics metrics;
-    @Getter
-    private StreamWriter streamWriter;
-    @Getter
-    private Descriptors.Descriptor descriptor;
-    private boolean isClosed = false;
+    private final AtomicReference<WriterState> writerState = new AtomicReference<>();
+    private final AtomicBoolean schemaUpdateInProgress = new AtomicBoolean();
+    private final ExecutorService schemaUpdateExecutor;
+    private final Semaphore inflightRequests;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private volatile boolean isClosed = false;
+    private final AtomicInteger nextWriteStream = new AtomicInteger();
+    private BigQueryWriteClient writeClient;
+    private BigQueryProtoWriteStream[] writeStreams;
+    private ExecutorService writeStreamExecutor;
 
     public BigQueryProtoWriter(BigQuerySinkConfig config,
             Function<BigQuerySinkConfig, BigQueryWriteClient> bqWriterCreator,
             Function<BigQuerySinkConfig, CredentialsProvider> credCreator,
             Function3<BigQuerySinkConfig, CredentialsProvider, ProtoSchema, BigQueryStream> streamCreator,
             Instrumentation instrumentation, BigQueryMetrics metrics) {
+        this(config, bqWriterCreator, credCreator, streamCreator, instrumentation, metrics,
+                Executors.newSingleThreadExecutor());
+    }
+
+    /**
+     * The schema update executor is shut down when the writer is closed.
+     */
+    public BigQueryProtoWriter(BigQuerySinkConfig config,
+            Function<BigQuerySinkConfig, BigQueryWriteClient> bqWriterCreator,
+            Function<BigQuerySinkConfig, CredentialsProvider> credCreator,
+            Function3<BigQuerySinkConfig, CredentialsProvider, ProtoSchema, BigQueryStream> streamCreator,
+            Instrumentation instrumentation, BigQueryMetrics metrics, ExecutorService schemaUpdateExecutor) {
         this.config = config;
         this.bqWriterCreator = bqWriterCreator;
         this.credCreator = credCreator;
         this.streamCreator = streamCreator;
         this.instrumentation = instrumentation;
         this.metrics = metrics;
+        int maxInflightRequests = config.getSinkBigqueryStorageAPIMaxInflightRequests();
+        if (isApplicationStreamMode()) {
+            maxInflightRequests = Math.max(maxInflightRequests, config.getSinkBigqueryStorageAPIStreamCount());
+        }
+        this.inflightRequests = new Semaphore(Math.max(1, maxInflightRequests));
+        this.concurrencyLimiter = AdaptiveConcurrencyLimiter.create("bigquery_storage", config, instrumentation);
+        this.schemaUpdateExecutor = schemaUpdateExecutor;
+    }
+
+    public StreamWriter getStreamWriter() {
+        WriterState state = writerState.get();
+        return state == null || state.stream == null ? null : state.stream.getStreamWriter();
+    }
+
+    public Descriptors.Descriptor getDescriptor() {
+        WriterState state = writerState.get();
+        return state == null ? null : state.descriptor;
     }
 
     @Override
@@ -69,9 +134,15 @@ public class BigQueryProtoWriter implements BigQueryWriter {
                 // This WriteStream is to get the schema of the table.
                 WriteStream writeStream = bigQueryInstance.getWriteStream(writeStreamRequest);
                 // saving the descriptor for conversion
-                descriptor = BQTableSchemaToProtoDescriptor
-                        .convertBQTableSchemaToProtoDescriptor(writeStream.getTableSchema());
-                streamWriter = createStreamWriter();
+                TableSchema tableSchema = writeStream.getTableSchema();
+                Descriptors.Descriptor descriptor = BQTableSchemaToProtoDescriptor
+                        .convertBQTableSchemaToProtoDescriptor(tableSchema);
+                if (isApplicationStreamMode()) {
+                    createWriteStreams();
+                    writerState.set(new WriterState(null, descriptor, tableSchema));
+                } else {
+                    writerState.set(createWriterState(descriptor, tableSchema));
+                }
             }
         } catch (Descriptors.DescriptorValidationException e) {
             throw new IllegalArgumentException("Could not initialise the bigquery writer", e);
@@ -84,15 +155,80 @@ public class BigQueryProtoWriter implements BigQueryWriter {
             isClosed = true;
             instrumentation.logInfo("Closing StreamWriter");
             Instant start = Instant.now();
-            streamWriter.close();
+            if (writeStreams != null) {
+                writeStreamExecutor.shutdown();
+                try {
+                    writeStreamExecutor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (BigQueryProtoWriteStream writeStream : writeStreams) {
+                    writeStream.finish();
+                }
+                writeClient.close();
+            } else {
+                writerState.get().stream.close();
+            }
             instrument(start, BigQueryMetrics.BigQueryStorageAPIType.STREAM_WRITER_CLOSED);
+            schemaUpdateExecutor.shutdown();
+        }
+    }
+
+    private boolean isApplicationStreamMode() {
+        BigQueryStorageWriteMode mode = config.getSinkBigqueryStorageAPIWriteMode();
+        return mode == BigQueryStorageWriteMode.COMMITTED || mode == BigQueryStorageWriteMode.PENDING;
+    }
+
+    // the streams themselves are created on their first append
+    private void createWriteStreams() {
+        writeClient = bqWriterCreator.apply(config);
+        WriteStream.Type type = config.getSinkBigqueryStorageAPIWriteMode() == BigQueryStorageWriteMode.PENDING
+                ? WriteStream.Type.PENDING
+                : WriteStream.Type.COMMITTED;
+        TableName table = TableName.of(config.getGCloudProjectID(), config.getDatasetName(), config.getTableName());
+        writeStreams = new BigQueryProtoWriteStream[Math.max(1, config.getSinkBigqueryStorageAPIStreamCount())];
+        for (int i = 0; i < writeStreams.length; i++) {
+            writeStreams[i] = new BigQueryProtoWriteStream(writeClient,
+                    (name, schema) -> BigQueryWriterUtils.getApplicationStreamWriter(writeClient, name, schema),
+                    table, type, config.getSinkBigqueryStorageAPIStreamRotationMs(), instrumentation);
         }
+        writeStreamExecutor = Executors.newFixedThreadPool(writeStreams.length);
+    }
+
+    private BigQueryProtoWriteStream nextWriteStream() {
+        return writeStreams[Math.floorMod(nextWriteStream.getAndIncrement(), writeStreams.length)];
+    }
+
+    // the stream rotates itself when the descriptor changed
+    private AppendRowsResponse appendToWriteStream(BigQueryProtoWriteStream writeStream, ProtoRows payload)
+            throws ExecutionException, InterruptedException {
+        WriterState current = writerState.get();
+        AppendRowsResponse response = writeStream.append(payload, current.descriptor);
+        TableSchema updatedSchema = writeStream.getUpdatedSchema();
+        if (updatedSchema != null && !updatedSchema.equals(current.tableSchema)) {
+            Descriptors.Descriptor updatedDescriptor;
+            try {
+                updatedDescriptor = BQTableSchemaToProtoDescriptor.convertBQTableSchemaToProtoDescriptor(updatedSchema);
+            } catch (Descriptors.DescriptorValidationException e) {
+                throw new IllegalArgumentException("Could not initialise the bigquery writer", e);
+            }
+            if (writerState.compareAndSet(current, new WriterState(null, updatedDescriptor, updatedSchema))) {
+                instrumentation.logInfo("Updated table schema detected, rotating write streams");
+                ProtoFieldFactory.clearCache();
+            }
+        }
+        return response;
     }
 
     // In the callback one can have the container and set the errors and/or log the
     // response errors
     @Override
     public AppendRowsResponse appendAndGet(BigQueryPayload rows) throws ExecutionException, InterruptedException {
+        return appendAndGet(rows, writeStreams == null ? null : nextWriteStream());
+    }
+
+    private AppendRowsResponse appendAndGet(BigQueryPayload rows, BigQueryProtoWriteStream writeStream)
+            throws ExecutionException, InterruptedException {
         ApiFuture<AppendRowsResponse> future;
         ProtoRows payload = (ProtoRows) rows.getPayload();
         Instant start;
@@ -100,45 +236,232 @@ public class BigQueryProtoWriter implements BigQueryWriter {
             instrumentation.logError("The client is permanently closed. More tasks can not be added");
             return BigQueryStorageResponseParser.get4xxErrorResponse();
         }
-        // need to synchronize
-        synchronized (this) {
-            TableSchema updatedSchema = streamWriter.getUpdatedSchema();
-            if (updatedSchema != null) {
-                instrumentation.logInfo("Updated table schema detected, recreating stream writer");
-                try {
-                    // Close the StreamWriter
-                    start = Instant.now();
-                    streamWriter.close();
-                    instrument(start, BigQueryMetrics.BigQueryStorageAPIType.STREAM_WRITER_CLOSED);
-                    descriptor = BQTableSchemaToProtoDescriptor.convertBQTableSchemaToProtoDescriptor(updatedSchema);
-                    streamWriter = createStreamWriter();
-                } catch (Descriptors.DescriptorValidationException e) {
-                    throw new IllegalArgumentException("Could not initialise the bigquery writer", e);
-                }
-            }
-            if (streamWriter.isClosed()) {
-                // somehow the stream writer is not recoverable
-                // we need to create a new one
-                streamWriter = createStreamWriter();
+        AppendRowsResponse appendRowsResponse;
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire();
+        try {
+            if (writeStream != null) {
+                start = Instant.now();
+                appendRowsResponse = appendToWriteStream(writeStream, payload);
+            } else {
+                // timer for append latency
+                start = Instant.now();
+                future = appendToCurrentWriter(payload);
+                appendRowsResponse = future.get();
             }
-            // timer for append latency
-            start = Instant.now();
-            future = streamWriter.append(payload);
+            complete(permit, appendRowsResponse, null);
+        } catch (ExecutionException e) {
+            complete(permit, null, e.getCause());
+            throw e;
+        } finally {
+            permit.onIgnore();
         }
-        AppendRowsResponse appendRowsResponse = future.get();
         instrument(start, BigQueryMetrics.BigQueryStorageAPIType.STREAM_WRITER_APPEND);
         captureSizeMetric(payload);
         return appendRowsResponse;
     }
 
-    private StreamWriter createStreamWriter() {
+    // requests rejected for load shrink the limit, failures for other reasons keep it
+    private static void complete(AdaptiveConcurrencyLimiter.Permit permit, AppendRowsResponse response, Throwable failure) {
+        if (failure != null) {
+            if (Status.fromThrowable(failure).getCode() == Status.Code.RESOURCE_EXHAUSTED) {
+                permit.onDropped();
+            } else {
+                permit.onIgnore();
+            }
+        } else if (response.hasError() && response.getError().getCode() == Code.RESOURCE_EXHAUSTED_VALUE) {
+            permit.onDropped();
+        } else {
+            permit.onSuccess();
+        }
+    }
+
+    /**
+     * Appends without waiting for the response, so several payloads can be in flight on the stream.
+     * Blocks the caller when SINK_BIGQUERY_STORAGE_API_MAX_INFLIGHT_REQUESTS appends are already pending,
+     * or when the adaptive concurrency limit is reached, the permit is released once the response arrived.
+     * With COMMITTED or PENDING streams, the payload is appended to the next stream round robin on its append thread.
+     */
+    @Override
+    public CompletableFuture<AppendRowsResponse> appendAsync(BigQueryPayload rows) {
+        ProtoRows payload = (ProtoRows) rows.getPayload();
+        CompletableFuture<AppendRowsResponse> result = new CompletableFuture<>();
+        if (isClosed) {
+            instrumentation.logError("The client is permanently closed. More tasks can not be added");
+            result.complete(BigQueryStorageResponseParser.get4xxErrorResponse());
+            return result;
+        }
+        try {
+            inflightRequests.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+            return result;
+        }
+        if (writeStreams != null) {
+            BigQueryProtoWriteStream writeStream = nextWriteStream();
+            try {
+                writeStreamExecutor.execute(() -> appendToWriteStreamAsync(rows, writeStream, result));
+            } catch (RejectedExecutionException e) {
+                inflightRequests.release();
+                result.completeExceptionally(e);
+            }
+            return result;
+        }
+        ApiFuture<AppendRowsResponse> future;
+        Instant start;
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire();
+        try {
+            // timer for append latency
+            start = Instant.now();
+            future = appendToCurrentWriter(payload);
+        } catch (RuntimeException e) {
+            permit.onIgnore();
+            inflightRequests.release();
+            result.completeExceptionally(e);
+            return result;
+        }
+        final Instant appendStart = start;
+        ApiFutures.addCallback(future, new ApiFutureCallback<AppendRowsResponse>() {
+            @Override
+            public void onSuccess(AppendRowsResponse appendRowsResponse) {
+                complete(permit, appendRowsResponse, null);
+                inflightRequests.release();
+                instrument(appendStart, BigQueryMetrics.BigQueryStorageAPIType.STREAM_WRITER_APPEND);
+                captureSizeMetric(payload);
+                result.complete(appendRowsResponse);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                complete(permit, null, t);
+                inflightRequests.release();
+                result.completeExceptionally(t);
+            }
+        }, MoreExecutors.directExecutor());
+        return result;
+    }
+
+    private void appendToWriteStreamAsync(BigQueryPayload rows, BigQueryProtoWriteStream writeStream,
+            CompletableFuture<AppendRowsResponse> result) {
+        try {
+            result.complete(appendAndGet(rows, writeStream));
+        } catch (ExecutionException e) {
+            result.completeExceptionally(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        } finally {
+            inflightRequests.release();
+        }
+    }
+
+    private ApiFuture<AppendRowsResponse> appendToCurrentWriter(ProtoRows payload) {
+        while (true) {
+            WriterState state = currentWriterState();
+            state.appending.incrementAndGet();
+            try {
+                // a writer retired before this append registered is closing, append to its replacement
+                if (!state.retired) {
+                    return state.stream.getStreamWriter().append(payload);
+                }
+            } finally {
+                if (state.appending.decrementAndGet() == 0 && state.retired) {
+                    closeRetiredWriter(state, true);
+                }
+            }
+        }
+    }
+
+    // starts swapping in a writer for an updated schema, returns the writer to append to meanwhile
+    private WriterState currentWriterState() {
+        WriterState current = writerState.get();
+        TableSchema updatedSchema = current.stream.getStreamWriter().getUpdatedSchema();
+        if (updatedSchema != null && !updatedSchema.equals(current.tableSchema)
+                && schemaUpdateInProgress.compareAndSet(false, true)) {
+            WriterState outdated = current;
+            try {
+                schemaUpdateExecutor.execute(() -> swapStreamWriter(outdated, updatedSchema));
+            } catch (RejectedExecutionException e) {
+                schemaUpdateInProgress.set(false);
+            }
+            current = writerState.get();
+        }
+        if (current.stream.getStreamWriter().isClosed()) {
+            current = recreateClosedStreamWriter(current);
+        }
+        return current;
+    }
+
+    private void swapStreamWriter(WriterState outdated, TableSchema updatedSchema) {
+        try {
+            instrumentation.logInfo("Updated table schema detected, recreating stream writer");
+            Descriptors.Descriptor updatedDescriptor = BQTableSchemaToProtoDescriptor
+                    .convertBQTableSchemaToProtoDescriptor(updatedSchema);
+            WriterState updated = createWriterState(updatedDescriptor, updatedSchema);
+            if (!writerState.compareAndSet(outdated, updated) || isClosed) {
+                // the writer was recreated or closed meanwhile
+                updated.stream.close();
+                return;
+            }
+            ProtoFieldFactory.clearCache();
+            outdated.retired = true;
+            if (outdated.appending.get() == 0) {
+                closeRetiredWriter(outdated, false);
+            }
+        } catch (Descriptors.DescriptorValidationException | RuntimeException e) {
+            instrumentation.logError("Could not recreate the stream writer for the updated table schema: {}", e.getMessage());
+        } finally {
+            schemaUpdateInProgress.set(false);
+        }
+    }
+
+    /**
+     * Closes a writer replaced by the writer of an updated schema, once. Closing waits for the responses of the
+     * appends sent to it, so an appending thread leaves that to the schema update executor.
+     */
+    private void closeRetiredWriter(WriterState retired, boolean onAppendingThread) {
+        if (!retired.closing.compareAndSet(false, true)) {
+            return;
+        }
+        Runnable close = () -> {
+            Instant start = Instant.now();
+            retired.stream.close();
+            instrument(start, BigQueryMetrics.BigQueryStorageAPIType.STREAM_WRITER_CLOSED);
+        };
+        if (!onAppendingThread) {
+            close.run();
+            return;
+        }
+        try {
+            schemaUpdateExecutor.execute(close);
+        } catch (RejectedExecutionException e) {
+            close.run();
+        }
+    }
+
+    private synchronized WriterState recreateClosedStreamWriter(WriterState closed) {
+        WriterState current = writerState.get();
+        if (current != closed) {
+            return current;
+        }
+        // somehow the stream writer is not recoverable
+        // we need to create a new one
+        closed.stream.close();
+        WriterState recreated = createWriterState(closed.descriptor, closed.tableSchema);
+        writerState.set(recreated);
+        return recreated;
+    }
+
+    private WriterState createWriterState(Descriptors.Descriptor descriptor, TableSchema tableSchema) {
         Instant start = Instant.now();
-        BigQueryStream bigQueryStream = streamCreator.apply(config,
+        BigQueryStream stream = streamCreator.apply(config,
                 credCreator.apply(config),
                 ProtoSchemaConverter.convert(descriptor));
         instrument(start, BigQueryMetrics.BigQueryStorageAPIType.STREAM_WRITER_CREATED);
-        assert (bigQueryStream instanceof BigQueryProtoStream);
-        return ((BigQueryProtoStream) bigQueryStream).getStreamWriter();
+        assert (stream instanceof BigQueryProtoStream);
+        return new WriterState((BigQueryProtoStream) stream, descriptor, tableSchema);
     }
 
     private void captureSizeMetric(ProtoRows payload) {
@@ -165,4 +488,24 @@ public class BigQueryProtoWriter implements BigQueryWriter {
                 String.format(BigQueryMetrics.BIGQUERY_PROJECT_TAG, config.getGCloudProjectID()),
                 String.format(BigQueryMetrics.BIGQUERY_API_TAG, type));
     }
+
+    /**
+     * A stream writer with the descriptor of the table schema it was created for.
+     * The stream is null when appending to COMMITTED or PENDING streams.
+     * A retired writer was replaced and is closed when no append is in the middle of sending to it.
+     */
+    private static final class WriterState {
+        private final BigQueryProtoStream stream;
+        private final Descriptors.Descriptor descriptor;
+        private final TableSchema tableSchema;
+        private final AtomicInteger appending = new AtomicInteger();
+        private final AtomicBoolean closing = new AtomicBoolean();
+        private volatile boolean retired;
+
+        private WriterState(BigQueryProtoStream stream, Descriptors.Descriptor descriptor, TableSchema tableSchema) {
+            this.stream = stream;
+            this.descriptor = descriptor;
+            this.tableSchema = tableSchema;
+        }
+    }
 }
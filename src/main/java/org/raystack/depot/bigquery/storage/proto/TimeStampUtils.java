@@ -14,11 +14,17 @@ public class TimeStampUtils {
 
     public static long getBQInstant(Instant instant, Descriptors.FieldDescriptor fieldDescriptor, boolean isTopLevel,
             BigQuerySinkConfig config) {
+        // Partition column is always top level
+        return getBQInstant(instant, fieldDescriptor,
+                isTopLevel && fieldDescriptor.getName().equals(config.getTablePartitionKey()));
+    }
+
+    public static long getBQInstant(Instant instant, Descriptors.FieldDescriptor fieldDescriptor,
+            boolean isPartitionColumn) {
         // Timestamp should be in microseconds
         long timeStamp = TimeUnit.SECONDS.toMicros(instant.getEpochSecond())
                 + TimeUnit.NANOSECONDS.toMicros(instant.getNano());
-        // Partition column is always top level
-        if (isTopLevel && fieldDescriptor.getName().equals(config.getTablePartitionKey())) {
+        if (isPartitionColumn) {
             Instant currentInstant = Instant.now();
             boolean isValid;
             boolean isPastInstant = currentInstant.isAfter(instant);
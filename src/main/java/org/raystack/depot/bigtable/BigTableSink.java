@@ -5,35 +5,58 @@ import org.raystack.depot.bigtable.model.BigTableRecord;
 import org.raystack.depot.bigtable.parser.BigTableRecordParser;
 import org.raystack.depot.bigtable.parser.BigTableResponseParser;
 import org.raystack.depot.bigtable.response.BigTableResponse;
-import org.raystack.depot.Sink;
+import org.raystack.depot.AsyncSink;
+import org.raystack.depot.ParsedSink;
 import org.raystack.depot.SinkResponse;
+import org.raystack.depot.common.RetryExecutor;
 import org.raystack.depot.error.ErrorInfo;
 import org.raystack.depot.message.Message;
+import org.raystack.depot.message.ParsedMessages;
 import org.raystack.depot.metrics.BigTableMetrics;
 import org.raystack.depot.metrics.Instrumentation;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
-public class BigTableSink implements Sink {
+public class BigTableSink implements AsyncSink, ParsedSink {
     private final BigTableClient bigTableClient;
     private final BigTableRecordParser bigTableRecordParser;
     private final BigTableMetrics bigtableMetrics;
     private final Instrumentation instrumentation;
+    private final RetryExecutor retryExecutor;
 
     public BigTableSink(BigTableClient bigTableClient, BigTableRecordParser bigTableRecordParser,
             BigTableMetrics bigtableMetrics, Instrumentation instrumentation) {
+        this(bigTableClient, bigTableRecordParser, bigtableMetrics, instrumentation, RetryExecutor.noRetry());
+    }
+
+    /**
+     * @param retryExecutor resends the mutations of rows that failed with a retryable error in pushToSink
+     */
+    public BigTableSink(BigTableClient bigTableClient, BigTableRecordParser bigTableRecordParser,
+            BigTableMetrics bigtableMetrics, Instrumentation instrumentation, RetryExecutor retryExecutor) {
         this.bigTableClient = bigTableClient;
         this.bigTableRecordParser = bigTableRecordParser;
         this.bigtableMetrics = bigtableMetrics;
         this.instrumentation = instrumentation;
+        this.retryExecutor = retryExecutor;
     }
 
     @Override
     public SinkResponse pushToSink(List<Message> messages) {
-        List<BigTableRecord> records = bigTableRecordParser.convert(messages);
+        return push(bigTableRecordParser.convert(messages));
+    }
+
+    @Override
+    public SinkResponse pushParsedToSink(List<Message> messages, ParsedMessages parsedMessages) {
+        return push(bigTableRecordParser.convert(messages, parsedMessages));
+    }
+
+    private SinkResponse push(List<BigTableRecord> records) {
         Map<Boolean, List<BigTableRecord>> splitterRecords = records.stream()
                 .collect(Collectors.partitioningBy(BigTableRecord::isValid));
         List<BigTableRecord> invalidRecords = splitterRecords.get(Boolean.FALSE);
@@ -44,18 +67,45 @@ public class BigTableSink implements Sink {
                 invalidRecord -> sinkResponse.addErrors(invalidRecord.getIndex(), invalidRecord.getErrorInfo()));
 
         if (validRecords.size() > 0) {
-            BigTableResponse bigTableResponse = bigTableClient.send(validRecords);
-            if (bigTableResponse != null && bigTableResponse.hasErrors()) {
-                instrumentation.logInfo("Found {} Error records in response", bigTableResponse.getErrorCount());
-                Map<Long, ErrorInfo> errorInfoMap = BigTableResponseParser.getErrorsFromSinkResponse(validRecords,
-                        bigTableResponse, bigtableMetrics, instrumentation);
-                errorInfoMap.forEach(sinkResponse::addErrors);
-            }
+            retryExecutor.execute(validRecords, BigTableRecord::getIndex,
+                    records -> getResponseErrors(records, bigTableClient.send(records)))
+                    .forEach(sinkResponse::addErrors);
         }
 
         return sinkResponse;
     }
 
+    @Override
+    public CompletableFuture<SinkResponse> pushToSinkAsync(List<Message> messages) {
+        List<BigTableRecord> records = bigTableRecordParser.convert(messages);
+        Map<Boolean, List<BigTableRecord>> splitterRecords = records.stream()
+                .collect(Collectors.partitioningBy(BigTableRecord::isValid));
+        List<BigTableRecord> invalidRecords = splitterRecords.get(Boolean.FALSE);
+        List<BigTableRecord> validRecords = splitterRecords.get(Boolean.TRUE);
+
+        SinkResponse sinkResponse = new SinkResponse();
+        invalidRecords.forEach(
+                invalidRecord -> sinkResponse.addErrors(invalidRecord.getIndex(), invalidRecord.getErrorInfo()));
+
+        if (validRecords.size() == 0) {
+            return CompletableFuture.completedFuture(sinkResponse);
+        }
+        return bigTableClient.sendAsync(validRecords).thenApply(bigTableResponse -> {
+            getResponseErrors(validRecords, bigTableResponse).forEach(sinkResponse::addErrors);
+            return sinkResponse;
+        });
+    }
+
+    private Map<Long, ErrorInfo> getResponseErrors(List<BigTableRecord> validRecords,
+            BigTableResponse bigTableResponse) {
+        if (bigTableResponse != null && bigTableResponse.hasErrors()) {
+            instrumentation.logInfo("Found {} Error records in response", bigTableResponse.getErrorCount());
+            return BigTableResponseParser.getErrorsFromSinkResponse(validRecords,
+                    bigTableResponse, bigtableMetrics, instrumentation);
+        }
+        return Collections.emptyMap();
+    }
+
     @Override
     public void close() throws IOException {
     }
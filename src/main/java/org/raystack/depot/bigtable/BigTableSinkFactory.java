@@ -7,10 +7,17 @@ import org.raystack.depot.bigtable.parser.BigTableRowKeyParser;
 import org.raystack.depot.exception.ConfigurationException;
 import org.raystack.depot.exception.InvalidTemplateException;
 import com.timgroup.statsd.NoOpStatsDClient;
+import org.raystack.depot.AsyncSink;
+import org.raystack.depot.BufferingSink;
+import org.raystack.depot.DeadLetterSink;
 import org.raystack.depot.Sink;
+import org.raystack.depot.SpillingSink;
+import org.raystack.depot.common.BatchConverter;
+import org.raystack.depot.common.RetryExecutor;
 import org.raystack.depot.common.Template;
 import org.raystack.depot.common.Tuple;
 import org.raystack.depot.config.BigTableSinkConfig;
+import org.raystack.depot.config.BigTableSinkConfigSnapshot;
 import org.raystack.depot.message.MessageParser;
 import org.raystack.depot.message.MessageParserFactory;
 import org.raystack.depot.message.MessageSchema;
@@ -30,7 +37,7 @@ public class BigTableSinkFactory {
     private BigTableMetrics bigtableMetrics;
 
     public BigTableSinkFactory(BigTableSinkConfig sinkConfig, StatsDReporter statsDReporter) {
-        this.sinkConfig = sinkConfig;
+        this.sinkConfig = BigTableSinkConfigSnapshot.of(sinkConfig);
         this.statsDReporter = statsDReporter;
     }
 
@@ -70,7 +77,8 @@ public class BigTableSinkFactory {
                     bigTableRowKeyParser,
                     modeAndSchema,
                     schema,
-                    bigtableSchema);
+                    bigtableSchema,
+                    BatchConverter.create(sinkConfig));
             instrumentation.logInfo("Connection to bigtable established successfully");
         } catch (IOException | InvalidTemplateException e) {
             throw new ConfigurationException("Exception occurred while creating sink", e);
@@ -78,10 +86,23 @@ public class BigTableSinkFactory {
     }
 
     public Sink create() {
+        return BufferingSink.wrap(SpillingSink.wrap(DeadLetterSink.wrap(createSink(), sinkConfig, statsDReporter),
+                sinkConfig, statsDReporter), sinkConfig);
+    }
+
+    /**
+     * Bigtable sink pushing asynchronously, behind a {@link BufferingSink} when SINK_BUFFER_ENABLE is set.
+     */
+    public AsyncSink createAsync() {
+        return BufferingSink.wrapAsync(createSink(), sinkConfig);
+    }
+
+    private AsyncSink createSink() {
         return new BigTableSink(
                 bigTableClient,
                 bigTableRecordParser,
                 bigtableMetrics,
-                new Instrumentation(statsDReporter, BigTableSink.class));
+                new Instrumentation(statsDReporter, BigTableSink.class),
+                RetryExecutor.create(sinkConfig));
     }
 }
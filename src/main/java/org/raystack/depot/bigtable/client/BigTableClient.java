@@ -1,6 +1,11 @@
 package org.raystack.depot.bigtable.client;
 
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
 import com.google.api.gax.core.FixedCredentialsProvider;
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.cloud.bigtable.admin.v2.BigtableTableAdminClient;
 import com.google.cloud.bigtable.admin.v2.BigtableTableAdminSettings;
@@ -9,11 +14,14 @@ import com.google.cloud.bigtable.data.v2.BigtableDataClient;
 import com.google.cloud.bigtable.data.v2.BigtableDataSettings;
 import com.google.cloud.bigtable.data.v2.models.BulkMutation;
 import com.google.cloud.bigtable.data.v2.models.MutateRowsException;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.raystack.depot.bigtable.exception.BigTableInvalidSchemaException;
 import org.raystack.depot.bigtable.model.BigTableRecord;
 import org.raystack.depot.bigtable.model.BigTableSchema;
 import org.raystack.depot.bigtable.response.BigTableResponse;
+import org.raystack.depot.common.AdaptiveConcurrencyLimiter;
 import org.raystack.depot.config.BigTableSinkConfig;
+import org.raystack.depot.exception.SinkException;
 import org.raystack.depot.metrics.BigTableMetrics;
 import org.raystack.depot.metrics.Instrumentation;
 
@@ -22,6 +30,7 @@ import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class BigTableClient {
@@ -31,6 +40,7 @@ public class BigTableClient {
     private final BigTableSchema bigtableSchema;
     private final BigTableMetrics bigtableMetrics;
     private final Instrumentation instrumentation;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
 
     public BigTableClient(BigTableSinkConfig sinkConfig, BigTableSchema bigtableSchema, BigTableMetrics bigtableMetrics,
             Instrumentation instrumentation) throws IOException {
@@ -47,6 +57,7 @@ public class BigTableClient {
         this.bigtableSchema = bigtableSchema;
         this.bigtableMetrics = bigtableMetrics;
         this.instrumentation = instrumentation;
+        this.concurrencyLimiter = AdaptiveConcurrencyLimiter.create("bigtable", sinkConfig, instrumentation);
     }
 
     private static BigtableDataClient getBigTableDataClient(BigTableSinkConfig sinkConfig) throws IOException {
@@ -73,17 +84,88 @@ public class BigTableClient {
         BigTableResponse bigTableResponse = null;
         BulkMutation batch = BulkMutation.create(sinkConfig.getTableId());
         records.forEach(record -> batch.add(record.getRowMutationEntry()));
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire();
         try {
             Instant startTime = Instant.now();
             bigtableDataClient.bulkMutateRows(batch);
+            release(permit, null);
             instrument(startTime, batch.getEntryCount());
         } catch (MutateRowsException e) {
+            release(permit, e);
             bigTableResponse = new BigTableResponse(e);
             instrumentation.logError("Some entries failed to be applied. {}", e.getCause());
+        } catch (ApiException e) {
+            release(permit, e);
+            throw e;
+        } finally {
+            permit.onIgnore();
         }
         return bigTableResponse;
     }
 
+    private static boolean isResourceExhausted(ApiException e) {
+        return e != null && e.getStatusCode().getCode() == StatusCode.Code.RESOURCE_EXHAUSTED;
+    }
+
+    // mutations rejected for load shrink the limit, failures for other reasons keep it
+    private static void release(AdaptiveConcurrencyLimiter.Permit permit, Throwable failure) {
+        if (failure == null) {
+            permit.onSuccess();
+        } else if (failure instanceof MutateRowsException) {
+            if (((MutateRowsException) failure).getFailedMutations().stream()
+                    .anyMatch(fm -> isResourceExhausted(fm.getError()))) {
+                permit.onDropped();
+            } else {
+                permit.onSuccess();
+            }
+        } else if (failure instanceof ApiException && isResourceExhausted((ApiException) failure)) {
+            permit.onDropped();
+        } else {
+            permit.onIgnore();
+        }
+    }
+
+    /**
+     * Same as send, but completes the returned future when the bulk mutation finishes
+     * instead of blocking the caller. The caller still waits while the adaptive concurrency limit is reached,
+     * the permit is released when the mutation finishes.
+     */
+    public CompletableFuture<BigTableResponse> sendAsync(List<BigTableRecord> records) {
+        BulkMutation batch = BulkMutation.create(sinkConfig.getTableId());
+        records.forEach(record -> batch.add(record.getRowMutationEntry()));
+        long entryCount = batch.getEntryCount();
+        CompletableFuture<BigTableResponse> result = new CompletableFuture<>();
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire();
+        Instant startTime = Instant.now();
+        ApiFuture<Void> mutation;
+        try {
+            mutation = bigtableDataClient.bulkMutateRowsAsync(batch);
+        } catch (RuntimeException e) {
+            permit.onIgnore();
+            throw e;
+        }
+        ApiFutures.addCallback(mutation, new ApiFutureCallback<Void>() {
+            @Override
+            public void onSuccess(Void unused) {
+                release(permit, null);
+                instrument(startTime, entryCount);
+                result.complete(null);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                release(permit, t);
+                if (t instanceof MutateRowsException) {
+                    instrumentation.logError("Some entries failed to be applied. {}", t.getCause());
+                    result.complete(new BigTableResponse((MutateRowsException) t));
+                } else {
+                    result.completeExceptionally(new SinkException("Exception occurred while pushing to BigTable", t));
+                }
+            }
+        }, MoreExecutors.directExecutor());
+        return result;
+    }
+
     private void instrument(Instant startTime, long entryCount) {
         instrumentation.captureDurationSince(
                 bigtableMetrics.getBigtableOperationLatencyMetric(),
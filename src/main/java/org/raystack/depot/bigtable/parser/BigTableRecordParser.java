@@ -3,6 +3,7 @@ package org.raystack.depot.bigtable.parser;
 import com.google.cloud.bigtable.data.v2.models.RowMutationEntry;
 import org.raystack.depot.bigtable.model.BigTableRecord;
 import org.raystack.depot.bigtable.model.BigTableSchema;
+import org.raystack.depot.common.BatchConverter;
 import org.raystack.depot.common.Tuple;
 import org.raystack.depot.error.ErrorInfo;
 import org.raystack.depot.error.ErrorType;
@@ -14,11 +15,11 @@ import org.raystack.depot.message.Message;
 import org.raystack.depot.message.MessageParser;
 import org.raystack.depot.message.MessageSchema;
 import org.raystack.depot.message.ParsedMessage;
+import org.raystack.depot.message.ParsedMessages;
 import org.raystack.depot.message.SinkConnectorSchemaMessageMode;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -29,33 +30,45 @@ public class BigTableRecordParser {
     private final BigTableSchema bigTableSchema;
     private final MessageSchema schema;
     private final Tuple<SinkConnectorSchemaMessageMode, String> modeAndSchema;
+    private final BatchConverter batchConverter;
 
     public BigTableRecordParser(MessageParser messageParser,
             BigTableRowKeyParser bigTableRowKeyParser,
             Tuple<SinkConnectorSchemaMessageMode, String> modeAndSchema,
             MessageSchema schema,
             BigTableSchema bigTableSchema) {
+        this(messageParser, bigTableRowKeyParser, modeAndSchema, schema, bigTableSchema, BatchConverter.sequential());
+    }
+
+    public BigTableRecordParser(MessageParser messageParser,
+            BigTableRowKeyParser bigTableRowKeyParser,
+            Tuple<SinkConnectorSchemaMessageMode, String> modeAndSchema,
+            MessageSchema schema,
+            BigTableSchema bigTableSchema,
+            BatchConverter batchConverter) {
         this.messageParser = messageParser;
         this.bigTableRowKeyParser = bigTableRowKeyParser;
         this.modeAndSchema = modeAndSchema;
         this.schema = schema;
         this.bigTableSchema = bigTableSchema;
+        this.batchConverter = batchConverter;
     }
 
     public List<BigTableRecord> convert(List<Message> messages) {
-        ArrayList<BigTableRecord> records = new ArrayList<>();
-        for (int index = 0; index < messages.size(); index++) {
-            Message message = messages.get(index);
-            BigTableRecord record = createRecord(message, index);
-            records.add(record);
-        }
-        return records;
+        return convert(messages, ParsedMessages.none());
+    }
+
+    /**
+     * Converts the messages, reusing the ones already parsed with the same mode and schema class.
+     */
+    public List<BigTableRecord> convert(List<Message> messages, ParsedMessages parsedMessages) {
+        return batchConverter.convert(messages, (message, index) -> createRecord(message, index, parsedMessages));
     }
 
-    private BigTableRecord createRecord(Message message, long index) {
+    private BigTableRecord createRecord(Message message, int index, ParsedMessages parsedMessages) {
         try {
-            ParsedMessage parsedMessage = messageParser.parse(message, modeAndSchema.getFirst(),
-                    modeAndSchema.getSecond());
+            ParsedMessage parsedMessage = parsedMessages.getOrParse(message, index, messageParser,
+                    modeAndSchema.getFirst(), modeAndSchema.getSecond());
             String rowKey = bigTableRowKeyParser.parse(parsedMessage);
             RowMutationEntry rowMutationEntry = RowMutationEntry.create(rowKey);
             bigTableSchema.getColumnFamilies().forEach(
@@ -0,0 +1,150 @@
+package org.raystack.depot.common;
+
+import org.raystack.depot.config.SinkConfig;
+import org.raystack.depot.metrics.Instrumentation;
+import org.raystack.depot.metrics.SinkMetrics;
+
+/**
+ * Limits the requests a client has in flight, adapting the limit with additive increase and multiplicative decrease.
+ * Every request completing within SINK_ADAPTIVE_CONCURRENCY_LATENCY_TOLERANCE times the baseline latency grows the
+ * limit by one over the current limit, so by about one per limit requests. A slower request or a request the backend
+ * rejected for load, like 429 or RESOURCE_EXHAUSTED, multiplies the limit by SINK_ADAPTIVE_CONCURRENCY_BACKOFF_RATIO.
+ * The baseline is the lowest latency seen, slowly drifting towards slower latencies so it follows the backend.
+ * <p>
+ * Callers acquire a {@link Permit} before the request and report its outcome exactly once.
+ * The current limit is reported as a gauge whenever it changes.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final AdaptiveConcurrencyLimiter UNLIMITED = new AdaptiveConcurrencyLimiter(
+            null, null, null, Integer.MAX_VALUE, Integer.MAX_VALUE, 1, Double.MAX_VALUE);
+    private static final int MIN_LIMIT = 1;
+    // fraction of the difference the baseline moves towards a slower latency per request
+    private static final double BASELINE_DRIFT = 0.01;
+    private final String client;
+    private final String metric;
+    private final Instrumentation instrumentation;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private double limit;
+    private int inflight;
+    private double baselineNanos = Double.MAX_VALUE;
+    private int reportedLimit;
+
+    public AdaptiveConcurrencyLimiter(String client, String metric, Instrumentation instrumentation,
+            int initialLimit, int maxLimit, double backoffRatio, double latencyTolerance) {
+        this.client = client;
+        this.metric = metric;
+        this.instrumentation = instrumentation;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.max(MIN_LIMIT, Math.min(initialLimit, maxLimit));
+        this.reportedLimit = (int) limit;
+    }
+
+    /**
+     * Limiter for the client when SINK_ADAPTIVE_CONCURRENCY_ENABLE is set, a limiter that never blocks otherwise.
+     */
+    public static AdaptiveConcurrencyLimiter create(String client, SinkConfig config, Instrumentation instrumentation) {
+        if (!config.getSinkAdaptiveConcurrencyEnable()) {
+            return UNLIMITED;
+        }
+        return new AdaptiveConcurrencyLimiter(client, new SinkMetrics(config).getConcurrencyLimitMetric(),
+                instrumentation, config.getSinkAdaptiveConcurrencyInitialLimit(),
+                config.getSinkAdaptiveConcurrencyMaxLimit(), config.getSinkAdaptiveConcurrencyBackoffRatio(),
+                config.getSinkAdaptiveConcurrencyLatencyTolerance());
+    }
+
+    public static AdaptiveConcurrencyLimiter unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * Blocks until a request can be sent. An interrupted caller is let through with the interrupt flag kept.
+     */
+    public Permit acquire() {
+        if (this == UNLIMITED) {
+            return new Permit(0);
+        }
+        synchronized (this) {
+            while (inflight >= (int) limit) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            inflight++;
+        }
+        return new Permit(System.nanoTime());
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    private void release(long latencyNanos, boolean dropped, boolean ignored) {
+        int currentLimit;
+        synchronized (this) {
+            inflight--;
+            if (dropped || (!ignored && latencyNanos > baselineNanos * latencyTolerance)) {
+                limit = Math.max(MIN_LIMIT, limit * backoffRatio);
+            } else if (!ignored) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+                baselineNanos = latencyNanos < baselineNanos
+                        ? latencyNanos
+                        : baselineNanos + (latencyNanos - baselineNanos) * BASELINE_DRIFT;
+            }
+            notifyAll();
+            currentLimit = (int) limit;
+            if (currentLimit == reportedLimit) {
+                return;
+            }
+            reportedLimit = currentLimit;
+        }
+        instrumentation.captureValue(metric, currentLimit, String.format(SinkMetrics.CLIENT_TAG, client));
+    }
+
+    /**
+     * A request in flight.
+     */
+    public final class Permit {
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * The backend answered, the latency decides whether the limit grows or shrinks.
+         */
+        public void onSuccess() {
+            complete(false, false);
+        }
+
+        /**
+         * The backend rejected the request for load, the limit shrinks.
+         */
+        public void onDropped() {
+            complete(true, false);
+        }
+
+        /**
+         * The request failed for a reason unrelated to load, the limit is kept.
+         */
+        public void onIgnore() {
+            complete(false, true);
+        }
+
+        private void complete(boolean dropped, boolean ignored) {
+            if (released || AdaptiveConcurrencyLimiter.this == UNLIMITED) {
+                return;
+            }
+            released = true;
+            release(System.nanoTime() - startNanos, dropped, ignored);
+        }
+    }
+}
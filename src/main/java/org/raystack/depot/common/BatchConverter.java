@@ -0,0 +1,70 @@
+package org.raystack.depot.common;
+
+import org.raystack.depot.config.SinkConfig;
+import org.raystack.depot.message.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Converts every message of a batch and returns the results in batch order.
+ * Batches larger than the chunk size are split into chunks and converted on a fork join pool,
+ * pools are shared by every sink configured with the same parallelism.
+ */
+public class BatchConverter {
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+    private final int parallelism;
+    private final int chunkSize;
+
+    public BatchConverter(int parallelism, int chunkSize) {
+        this.parallelism = parallelism;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public static BatchConverter create(SinkConfig config) {
+        return new BatchConverter(config.getSinkConversionParallelism(), config.getSinkConversionChunkSize());
+    }
+
+    public static BatchConverter sequential() {
+        return new BatchConverter(1, Integer.MAX_VALUE);
+    }
+
+    public <T> List<T> convert(List<Message> messages, MessageConverter<T> converter) {
+        int size = messages.size();
+        if (parallelism <= 1 || size <= chunkSize) {
+            return convert(messages, converter, 0, size);
+        }
+        ForkJoinPool pool = POOLS.computeIfAbsent(parallelism, ForkJoinPool::new);
+        List<ForkJoinTask<List<T>>> chunks = new ArrayList<>();
+        for (int start = 0; start < size; start += chunkSize) {
+            int from = start;
+            int to = Math.min(size, start + chunkSize);
+            chunks.add(pool.submit(() -> convert(messages, converter, from, to)));
+        }
+        List<T> results = new ArrayList<>(size);
+        for (ForkJoinTask<List<T>> chunk : chunks) {
+            results.addAll(chunk.join());
+        }
+        return results;
+    }
+
+    private <T> List<T> convert(List<Message> messages, MessageConverter<T> converter, int from, int to) {
+        List<T> results = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+            results.add(converter.convert(messages.get(index), index));
+        }
+        return results;
+    }
+
+    /**
+     * Converts one message, failures are expected to be captured in the result rather than thrown.
+     */
+    @FunctionalInterface
+    public interface MessageConverter<T> {
+        T convert(Message message, int index);
+    }
+}
@@ -0,0 +1,78 @@
+package org.raystack.depot.common;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Exclusive use of a directory, held through a lock file in it, against users in this and in other processes.
+ */
+public class DirectoryLock implements Closeable {
+    private static final String LOCK_FILE = "lock";
+    private final Path directory;
+    private final FileChannel channel;
+    private final FileLock lock;
+
+    private DirectoryLock(Path directory, FileChannel channel, FileLock lock) {
+        this.directory = directory;
+        this.channel = channel;
+        this.lock = lock;
+    }
+
+    /**
+     * Creates the directory if needed and locks it.
+     *
+     * @return null if the directory is locked already
+     */
+    public static DirectoryLock tryLock(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        if (lock == null) {
+            channel.close();
+            return null;
+        }
+        return new DirectoryLock(directory, channel, lock);
+    }
+
+    /**
+     * Locks the first of the numbered subdirectories 0, 1, 2, ... of the parent that is not locked yet,
+     * so several users configured with the same directory each get one of their own.
+     * Users created in the same order after a restart get the same subdirectories back.
+     */
+    public static DirectoryLock lockUnused(Path parent) throws IOException {
+        for (int i = 0; ; i++) {
+            DirectoryLock directoryLock = tryLock(parent.resolve(String.valueOf(i)));
+            if (directoryLock != null) {
+                return directoryLock;
+            }
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            lock.release();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.raystack.depot.common;
+
+import org.raystack.depot.config.SinkConfig;
+import org.raystack.depot.error.ErrorInfo;
+import org.raystack.depot.error.ErrorType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Resends the already converted records of a batch whose errors are retryable.
+ * Only records that failed with {@link ErrorType#SINK_5XX_ERROR} or {@link ErrorType#SINK_RETRYABLE_ERROR}
+ * are sent again, after an exponential backoff with jitter, until they succeed, fail with a
+ * non retryable error, SINK_RETRY_MAX_ATTEMPTS is reached or the next backoff would exceed SINK_RETRY_TIMEOUT_MS.
+ * An interrupt during the backoff stops retrying and returns the errors of the last attempt.
+ */
+public class RetryExecutor {
+    private static final RetryExecutor NO_RETRY = new RetryExecutor(1, 0, 0, 0);
+    private static final int MAX_BACKOFF_SHIFT = 30;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long timeoutMs;
+
+    public RetryExecutor(int maxAttempts, long initialBackoffMs, long maxBackoffMs, long timeoutMs) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public static RetryExecutor create(SinkConfig config) {
+        if (config.getSinkRetryMaxAttempts() <= 1) {
+            return NO_RETRY;
+        }
+        return new RetryExecutor(config.getSinkRetryMaxAttempts(), config.getSinkRetryInitialBackoffMs(),
+                config.getSinkRetryMaxBackoffMs(), config.getSinkRetryTimeoutMs());
+    }
+
+    /**
+     * Sends every batch once.
+     */
+    public static RetryExecutor noRetry() {
+        return NO_RETRY;
+    }
+
+    public static boolean isRetryable(ErrorInfo errorInfo) {
+        return errorInfo != null && (errorInfo.getErrorType() == ErrorType.SINK_5XX_ERROR
+                || errorInfo.getErrorType() == ErrorType.SINK_RETRYABLE_ERROR);
+    }
+
+    /**
+     * Sends the records and resends the ones that failed with a retryable error.
+     *
+     * @param records    converted records of the batch
+     * @param inputIndex index of the record in the input batch, as used for the keys of the errors
+     * @param attempt    sends records and returns their errors keyed by input index
+     * @return errors of the last attempt of every record, keyed by input index
+     */
+    public <T, E extends Exception> Map<Long, ErrorInfo> execute(List<T> records, ToLongFunction<T> inputIndex,
+            Attempt<T, E> attempt) throws E {
+        Map<Long, ErrorInfo> errors = attempt.send(records);
+        if (maxAttempts <= 1 || errors.isEmpty()) {
+            return errors;
+        }
+        errors = new HashMap<>(errors);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<T> pending = records;
+        for (int retry = 1; retry < maxAttempts; retry++) {
+            pending = retryable(pending, inputIndex, errors);
+            if (pending.isEmpty()) {
+                break;
+            }
+            long backoffMs = backoffMs(retry);
+            if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs) > deadline || !sleep(backoffMs)) {
+                break;
+            }
+            Map<Long, ErrorInfo> retryErrors = attempt.send(pending);
+            for (T record : pending) {
+                errors.remove(inputIndex.applyAsLong(record));
+            }
+            errors.putAll(retryErrors);
+        }
+        return errors;
+    }
+
+    private <T> List<T> retryable(List<T> records, ToLongFunction<T> inputIndex, Map<Long, ErrorInfo> errors) {
+        List<T> retryable = new ArrayList<>();
+        for (T record : records) {
+            if (isRetryable(errors.get(inputIndex.applyAsLong(record)))) {
+                retryable.add(record);
+            }
+        }
+        return retryable;
+    }
+
+    // equal jitter, half of the exponential backoff is fixed and the other half random
+    long backoffMs(int retry) {
+        long exponential = Math.min(maxBackoffMs, initialBackoffMs << Math.min(retry - 1, MAX_BACKOFF_SHIFT));
+        long half = exponential / 2;
+        return exponential - half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    private boolean sleep(long backoffMs) {
+        try {
+            Thread.sleep(backoffMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Attempt<T, E extends Exception> {
+        Map<Long, ErrorInfo> send(List<T> records) throws E;
+    }
+}
@@ -8,12 +8,28 @@ import org.raystack.depot.message.field.GenericFieldFactory;
 import org.raystack.depot.message.proto.converter.fields.ProtoField;
 import org.raystack.depot.utils.StringUtils;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Formattable;
 import java.util.List;
+import java.util.regex.Matcher;
 
+/**
+ * Template is compiled once into literal segments and format specifiers.
+ * Plain %s and %d are appended directly to a reused builder, any other specifier is formatted on its own.
+ * Templates with explicit argument indexes are always rendered with {@link String#format}.
+ */
 public class Template {
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(StringBuilder::new);
+    private static final String STRING_SPECIFIER = "%s";
+    private static final String DECIMAL_SPECIFIER = "%d";
+
     private final String templatePattern;
     private final List<String> patternVariableFieldNames;
+    private final String[] fieldNames;
+    private final String[] literals;
+    private final String[] specifiers;
+    private final boolean compiled;
 
     public Template(String template) throws InvalidTemplateException {
         if (template == null || template.isEmpty()) {
@@ -24,6 +40,10 @@ public class Template {
         this.templatePattern = templateStrings.get(0);
         this.patternVariableFieldNames = templateStrings.subList(1, templateStrings.size());
         validate();
+        this.fieldNames = patternVariableFieldNames.toArray(new String[0]);
+        this.literals = new String[fieldNames.length + 1];
+        this.specifiers = new String[fieldNames.length];
+        this.compiled = compile();
     }
 
     private void validate() throws InvalidTemplateException {
@@ -36,12 +56,55 @@ public class Template {
         }
     }
 
+    private boolean compile() {
+        Matcher matcher = StringUtils.variableMatcher(templatePattern);
+        int start = 0;
+        for (int i = 0; i < specifiers.length; i++) {
+            if (!matcher.find() || matcher.group(1) != null || "<".equals(matcher.group(2))) {
+                return false;
+            }
+            literals[i] = templatePattern.substring(start, matcher.start());
+            specifiers[i] = matcher.group();
+            start = matcher.end();
+        }
+        literals[specifiers.length] = templatePattern.substring(start);
+        return true;
+    }
+
     public String parse(ParsedMessage parsedMessage, MessageSchema schema) {
-        Object[] patternVariableData = patternVariableFieldNames
-                .stream()
-                .map(fieldName -> fetchInternalValue(parsedMessage.getFieldByName(fieldName, schema)))
-                .toArray();
-        return String.format(templatePattern, patternVariableData);
+        if (fieldNames.length == 0) {
+            return templatePattern;
+        }
+        if (!compiled) {
+            Object[] patternVariableData = new Object[fieldNames.length];
+            for (int i = 0; i < fieldNames.length; i++) {
+                patternVariableData[i] = fetchInternalValue(parsedMessage.getFieldByName(fieldNames[i], schema));
+            }
+            return String.format(templatePattern, patternVariableData);
+        }
+        StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+        for (int i = 0; i < fieldNames.length; i++) {
+            builder.append(literals[i]);
+            append(builder, specifiers[i], fetchInternalValue(parsedMessage.getFieldByName(fieldNames[i], schema)));
+        }
+        builder.append(literals[fieldNames.length]);
+        return builder.toString();
+    }
+
+    private void append(StringBuilder builder, String specifier, Object value) {
+        if (STRING_SPECIFIER.equals(specifier) && !(value instanceof Formattable)) {
+            builder.append(value);
+        } else if (DECIMAL_SPECIFIER.equals(specifier) && isIntegral(value)) {
+            builder.append(value);
+        } else {
+            builder.append(String.format(specifier, value));
+        }
+    }
+
+    private boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte || value instanceof BigInteger;
     }
 
     private Object fetchInternalValue(Object ob) {
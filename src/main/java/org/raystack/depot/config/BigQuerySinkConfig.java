@@ -1,9 +1,11 @@
 package org.raystack.depot.config;
 
+import org.raystack.depot.config.converter.BigQueryStorageWriteModeConverter;
 import org.raystack.depot.config.converter.ConfToListConverter;
 import org.raystack.depot.config.converter.ConverterUtils;
 import org.raystack.depot.config.converter.LabelMapConverter;
 import org.raystack.depot.common.TupleString;
+import org.raystack.depot.config.enums.BigQueryStorageWriteMode;
 
 import java.util.List;
 import java.util.Map;
@@ -59,6 +61,18 @@ public interface BigQuerySinkConfig extends SinkConfig {
     @DefaultValue("-1")
     int getBqClientConnectTimeoutMS();
 
+    @Key("SINK_BIGQUERY_INSERT_ALL_MAX_ROWS")
+    @DefaultValue("2147483647")
+    int getSinkBigqueryInsertAllMaxRows();
+
+    @Key("SINK_BIGQUERY_INSERT_ALL_MAX_REQUEST_BYTES")
+    @DefaultValue("9437184")
+    long getSinkBigqueryInsertAllMaxRequestBytes();
+
+    @Key("SINK_BIGQUERY_INSERT_ALL_PARALLELISM")
+    @DefaultValue("1")
+    int getSinkBigqueryInsertAllParallelism();
+
     @Key("SINK_BIGQUERY_TABLE_PARTITION_EXPIRY_MS")
     @DefaultValue("-1")
     Long getBigQueryTablePartitionExpiryMS();
@@ -103,4 +117,49 @@ public interface BigQuerySinkConfig extends SinkConfig {
     @DefaultValue("false")
     @Key("SINK_BIGQUERY_STORAGE_API_ENABLE")
     boolean getSinkBigqueryStorageAPIEnable();
+
+    @DefaultValue("1")
+    @Key("SINK_BIGQUERY_STORAGE_API_MAX_INFLIGHT_REQUESTS")
+    int getSinkBigqueryStorageAPIMaxInflightRequests();
+
+    @DefaultValue("false")
+    @Key("SINK_BIGQUERY_STORAGE_API_CONNECTION_POOL_ENABLE")
+    boolean getSinkBigqueryStorageAPIConnectionPoolEnable();
+
+    @DefaultValue("2")
+    @Key("SINK_BIGQUERY_STORAGE_API_MIN_CONNECTIONS_PER_REGION")
+    int getSinkBigqueryStorageAPIMinConnectionsPerRegion();
+
+    @DefaultValue("20")
+    @Key("SINK_BIGQUERY_STORAGE_API_MAX_CONNECTIONS_PER_REGION")
+    int getSinkBigqueryStorageAPIMaxConnectionsPerRegion();
+
+    @DefaultValue("9437184")
+    @Key("SINK_BIGQUERY_STORAGE_API_MAX_REQUEST_BYTES")
+    int getSinkBigqueryStorageAPIMaxRequestBytes();
+
+    @DefaultValue("DEFAULT")
+    @Key("SINK_BIGQUERY_STORAGE_API_WRITE_MODE")
+    @ConverterClass(BigQueryStorageWriteModeConverter.class)
+    BigQueryStorageWriteMode getSinkBigqueryStorageAPIWriteMode();
+
+    @DefaultValue("1")
+    @Key("SINK_BIGQUERY_STORAGE_API_STREAM_COUNT")
+    int getSinkBigqueryStorageAPIStreamCount();
+
+    @DefaultValue("300000")
+    @Key("SINK_BIGQUERY_STORAGE_API_STREAM_ROTATION_MS")
+    long getSinkBigqueryStorageAPIStreamRotationMs();
+
+    @DefaultValue("")
+    @Key("SINK_BIGQUERY_TABLE_NAME_TEMPLATE")
+    String getSinkBigqueryTableNameTemplate();
+
+    @DefaultValue("16")
+    @Key("SINK_BIGQUERY_ROUTING_MAX_TABLES")
+    int getSinkBigqueryRoutingMaxTables();
+
+    @DefaultValue("30000")
+    @Key("SINK_BIGQUERY_ROUTING_FAILED_TABLE_RETRY_MS")
+    long getSinkBigqueryRoutingFailedTableRetryMs();
 }
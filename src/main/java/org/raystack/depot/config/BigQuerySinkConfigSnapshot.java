@@ -0,0 +1,292 @@
+package org.raystack.depot.config;
+
+import org.raystack.depot.common.TupleString;
+import org.raystack.depot.config.enums.BigQueryStorageWriteMode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable copy of a {@link BigQuerySinkConfig}, see {@link SinkConfigSnapshot}.
+ */
+public class BigQuerySinkConfigSnapshot extends SinkConfigSnapshot implements BigQuerySinkConfig {
+
+    private final String gCloudProjectID;
+    private final String tableName;
+    private final Map<String, String> datasetLabels;
+    private final Map<String, String> tableLabels;
+    private final String datasetName;
+    private final String bigQueryCredentialPath;
+    private final Boolean tablePartitioningEnabled;
+    private final String tablePartitionKey;
+    private final Boolean tableClusteringEnabled;
+    private final List<String> tableClusteringKeys;
+    private final Boolean rowInsertIdEnabled;
+    private final int bqClientReadTimeoutMS;
+    private final int bqClientConnectTimeoutMS;
+    private final Long bigQueryTablePartitionExpiryMS;
+    private final String bigQueryDatasetLocation;
+    private final String bqMetadataNamespace;
+    private final boolean addMetadata;
+    private final List<TupleString> metadataColumnsTypes;
+    private final boolean sinkBigqueryAddEventTimestampEnable;
+    private final List<TupleString> sinkBigqueryDefaultColumns;
+    private final boolean sinkBigqueryDefaultDatatypeStringEnable;
+    private final boolean sinkBigqueryDynamicSchemaEnable;
+    private final boolean sinkBigqueryStorageAPIEnable;
+    private final int sinkBigqueryStorageAPIMaxInflightRequests;
+    private final boolean sinkBigqueryStorageAPIConnectionPoolEnable;
+    private final int sinkBigqueryStorageAPIMinConnectionsPerRegion;
+    private final int sinkBigqueryStorageAPIMaxConnectionsPerRegion;
+    private final int sinkBigqueryStorageAPIMaxRequestBytes;
+    private final int sinkBigqueryInsertAllMaxRows;
+    private final long sinkBigqueryInsertAllMaxRequestBytes;
+    private final int sinkBigqueryInsertAllParallelism;
+    private final BigQueryStorageWriteMode sinkBigqueryStorageAPIWriteMode;
+    private final int sinkBigqueryStorageAPIStreamCount;
+    private final long sinkBigqueryStorageAPIStreamRotationMs;
+    private final String sinkBigqueryTableNameTemplate;
+    private final int sinkBigqueryRoutingMaxTables;
+    private final long sinkBigqueryRoutingFailedTableRetryMs;
+
+    public BigQuerySinkConfigSnapshot(BigQuerySinkConfig config) {
+        this(config, config.getTableName(), config.getSinkBigqueryTableNameTemplate());
+    }
+
+    private BigQuerySinkConfigSnapshot(BigQuerySinkConfig config, String tableName, String tableNameTemplate) {
+        super(config);
+        this.gCloudProjectID = config.getGCloudProjectID();
+        this.tableName = tableName;
+        this.datasetLabels = immutableCopy(config.getDatasetLabels());
+        this.tableLabels = immutableCopy(config.getTableLabels());
+        this.datasetName = config.getDatasetName();
+        this.bigQueryCredentialPath = config.getBigQueryCredentialPath();
+        this.tablePartitioningEnabled = config.isTablePartitioningEnabled();
+        this.tablePartitionKey = config.getTablePartitionKey();
+        this.tableClusteringEnabled = config.isTableClusteringEnabled();
+        this.tableClusteringKeys = immutableCopy(config.getTableClusteringKeys());
+        this.rowInsertIdEnabled = config.isRowInsertIdEnabled();
+        this.bqClientReadTimeoutMS = config.getBqClientReadTimeoutMS();
+        this.bqClientConnectTimeoutMS = config.getBqClientConnectTimeoutMS();
+        this.bigQueryTablePartitionExpiryMS = config.getBigQueryTablePartitionExpiryMS();
+        this.bigQueryDatasetLocation = config.getBigQueryDatasetLocation();
+        this.bqMetadataNamespace = config.getBqMetadataNamespace();
+        this.addMetadata = config.shouldAddMetadata();
+        this.metadataColumnsTypes = immutableCopy(config.getMetadataColumnsTypes());
+        this.sinkBigqueryAddEventTimestampEnable = config.getSinkBigqueryAddEventTimestampEnable();
+        this.sinkBigqueryDefaultColumns = immutableCopy(config.getSinkBigqueryDefaultColumns());
+        this.sinkBigqueryDefaultDatatypeStringEnable = config.getSinkBigqueryDefaultDatatypeStringEnable();
+        this.sinkBigqueryDynamicSchemaEnable = config.getSinkBigqueryDynamicSchemaEnable();
+        this.sinkBigqueryStorageAPIEnable = config.getSinkBigqueryStorageAPIEnable();
+        this.sinkBigqueryStorageAPIMaxInflightRequests = config.getSinkBigqueryStorageAPIMaxInflightRequests();
+        this.sinkBigqueryStorageAPIConnectionPoolEnable = config.getSinkBigqueryStorageAPIConnectionPoolEnable();
+        this.sinkBigqueryStorageAPIMinConnectionsPerRegion = config.getSinkBigqueryStorageAPIMinConnectionsPerRegion();
+        this.sinkBigqueryStorageAPIMaxConnectionsPerRegion = config.getSinkBigqueryStorageAPIMaxConnectionsPerRegion();
+        this.sinkBigqueryStorageAPIMaxRequestBytes = config.getSinkBigqueryStorageAPIMaxRequestBytes();
+        this.sinkBigqueryInsertAllMaxRows = config.getSinkBigqueryInsertAllMaxRows();
+        this.sinkBigqueryInsertAllMaxRequestBytes = config.getSinkBigqueryInsertAllMaxRequestBytes();
+        this.sinkBigqueryInsertAllParallelism = config.getSinkBigqueryInsertAllParallelism();
+        this.sinkBigqueryStorageAPIWriteMode = config.getSinkBigqueryStorageAPIWriteMode();
+        this.sinkBigqueryStorageAPIStreamCount = config.getSinkBigqueryStorageAPIStreamCount();
+        this.sinkBigqueryStorageAPIStreamRotationMs = config.getSinkBigqueryStorageAPIStreamRotationMs();
+        this.sinkBigqueryTableNameTemplate = tableNameTemplate;
+        this.sinkBigqueryRoutingMaxTables = config.getSinkBigqueryRoutingMaxTables();
+        this.sinkBigqueryRoutingFailedTableRetryMs = config.getSinkBigqueryRoutingFailedTableRetryMs();
+    }
+
+    public static BigQuerySinkConfig of(BigQuerySinkConfig config) {
+        return config instanceof BigQuerySinkConfigSnapshot ? config : new BigQuerySinkConfigSnapshot(config);
+    }
+
+    /**
+     * Copy of the config writing to the given table, with SINK_BIGQUERY_TABLE_NAME_TEMPLATE unset.
+     */
+    public static BigQuerySinkConfig forTable(BigQuerySinkConfig config, String tableName) {
+        return new BigQuerySinkConfigSnapshot(config, tableName, "");
+    }
+
+    @Override
+    public String getGCloudProjectID() {
+        return gCloudProjectID;
+    }
+
+    @Override
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    public Map<String, String> getDatasetLabels() {
+        return datasetLabels;
+    }
+
+    @Override
+    public Map<String, String> getTableLabels() {
+        return tableLabels;
+    }
+
+    @Override
+    public String getDatasetName() {
+        return datasetName;
+    }
+
+    @Override
+    public String getBigQueryCredentialPath() {
+        return bigQueryCredentialPath;
+    }
+
+    @Override
+    public Boolean isTablePartitioningEnabled() {
+        return tablePartitioningEnabled;
+    }
+
+    @Override
+    public String getTablePartitionKey() {
+        return tablePartitionKey;
+    }
+
+    @Override
+    public Boolean isTableClusteringEnabled() {
+        return tableClusteringEnabled;
+    }
+
+    @Override
+    public List<String> getTableClusteringKeys() {
+        return tableClusteringKeys;
+    }
+
+    @Override
+    public Boolean isRowInsertIdEnabled() {
+        return rowInsertIdEnabled;
+    }
+
+    @Override
+    public int getBqClientReadTimeoutMS() {
+        return bqClientReadTimeoutMS;
+    }
+
+    @Override
+    public int getBqClientConnectTimeoutMS() {
+        return bqClientConnectTimeoutMS;
+    }
+
+    @Override
+    public Long getBigQueryTablePartitionExpiryMS() {
+        return bigQueryTablePartitionExpiryMS;
+    }
+
+    @Override
+    public String getBigQueryDatasetLocation() {
+        return bigQueryDatasetLocation;
+    }
+
+    @Override
+    public String getBqMetadataNamespace() {
+        return bqMetadataNamespace;
+    }
+
+    @Override
+    public boolean shouldAddMetadata() {
+        return addMetadata;
+    }
+
+    @Override
+    public List<TupleString> getMetadataColumnsTypes() {
+        return metadataColumnsTypes;
+    }
+
+    @Override
+    public boolean getSinkBigqueryAddEventTimestampEnable() {
+        return sinkBigqueryAddEventTimestampEnable;
+    }
+
+    @Override
+    public List<TupleString> getSinkBigqueryDefaultColumns() {
+        return sinkBigqueryDefaultColumns;
+    }
+
+    @Override
+    public boolean getSinkBigqueryDefaultDatatypeStringEnable() {
+        return sinkBigqueryDefaultDatatypeStringEnable;
+    }
+
+    @Override
+    public boolean getSinkBigqueryDynamicSchemaEnable() {
+        return sinkBigqueryDynamicSchemaEnable;
+    }
+
+    @Override
+    public boolean getSinkBigqueryStorageAPIEnable() {
+        return sinkBigqueryStorageAPIEnable;
+    }
+
+    @Override
+    public int getSinkBigqueryStorageAPIMaxInflightRequests() {
+        return sinkBigqueryStorageAPIMaxInflightRequests;
+    }
+
+    @Override
+    public boolean getSinkBigqueryStorageAPIConnectionPoolEnable() {
+        return sinkBigqueryStorageAPIConnectionPoolEnable;
+    }
+
+    @Override
+    public int getSinkBigqueryStorageAPIMinConnectionsPerRegion() {
+        return sinkBigqueryStorageAPIMinConnectionsPerRegion;
+    }
+
+    @Override
+    public int getSinkBigqueryStorageAPIMaxConnectionsPerRegion() {
+        return sinkBigqueryStorageAPIMaxConnectionsPerRegion;
+    }
+
+    @Override
+    public int getSinkBigqueryStorageAPIMaxRequestBytes() {
+        return sinkBigqueryStorageAPIMaxRequestBytes;
+    }
+
+    @Override
+    public int getSinkBigqueryInsertAllMaxRows() {
+        return sinkBigqueryInsertAllMaxRows;
+    }
+
+    @Override
+    public long getSinkBigqueryInsertAllMaxRequestBytes() {
+        return sinkBigqueryInsertAllMaxRequestBytes;
+    }
+
+    @Override
+    public int getSinkBigqueryInsertAllParallelism() {
+        return sinkBigqueryInsertAllParallelism;
+    }
+
+    @Override
+    public BigQueryStorageWriteMode getSinkBigqueryStorageAPIWriteMode() {
+        return sinkBigqueryStorageAPIWriteMode;
+    }
+
+    @Override
+    public int getSinkBigqueryStorageAPIStreamCount() {
+        return sinkBigqueryStorageAPIStreamCount;
+    }
+
+    @Override
+    public long getSinkBigqueryStorageAPIStreamRotationMs() {
+        return sinkBigqueryStorageAPIStreamRotationMs;
+    }
+
+    @Override
+    public String getSinkBigqueryTableNameTemplate() {
+        return sinkBigqueryTableNameTemplate;
+    }
+
+    @Override
+    public int getSinkBigqueryRoutingMaxTables() {
+        return sinkBigqueryRoutingMaxTables;
+    }
+
+    @Override
+    public long getSinkBigqueryRoutingFailedTableRetryMs() {
+        return sinkBigqueryRoutingFailedTableRetryMs;
+    }
+}
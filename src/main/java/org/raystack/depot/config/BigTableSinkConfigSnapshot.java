@@ -0,0 +1,58 @@
+package org.raystack.depot.config;
+
+/**
+ * Immutable copy of a {@link BigTableSinkConfig}, see {@link SinkConfigSnapshot}.
+ */
+public class BigTableSinkConfigSnapshot extends SinkConfigSnapshot implements BigTableSinkConfig {
+
+    private final String gCloudProjectID;
+    private final String instanceId;
+    private final String tableId;
+    private final String credentialPath;
+    private final String rowKeyTemplate;
+    private final String columnFamilyMapping;
+
+    public BigTableSinkConfigSnapshot(BigTableSinkConfig config) {
+        super(config);
+        this.gCloudProjectID = config.getGCloudProjectID();
+        this.instanceId = config.getInstanceId();
+        this.tableId = config.getTableId();
+        this.credentialPath = config.getCredentialPath();
+        this.rowKeyTemplate = config.getRowKeyTemplate();
+        this.columnFamilyMapping = config.getColumnFamilyMapping();
+    }
+
+    public static BigTableSinkConfig of(BigTableSinkConfig config) {
+        return config instanceof BigTableSinkConfigSnapshot ? config : new BigTableSinkConfigSnapshot(config);
+    }
+
+    @Override
+    public String getGCloudProjectID() {
+        return gCloudProjectID;
+    }
+
+    @Override
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    @Override
+    public String getTableId() {
+        return tableId;
+    }
+
+    @Override
+    public String getCredentialPath() {
+        return credentialPath;
+    }
+
+    @Override
+    public String getRowKeyTemplate() {
+        return rowKeyTemplate;
+    }
+
+    @Override
+    public String getColumnFamilyMapping() {
+        return columnFamilyMapping;
+    }
+}
@@ -48,4 +48,12 @@ public interface RedisSinkConfig extends SinkConfig {
     @ConverterClass(JsonToPropertiesConverter.class)
     @DefaultValue("")
     Properties getSinkRedisHashsetFieldToColumnMapping();
+
+    @Key("SINK_REDIS_CLUSTER_PIPELINE_ENABLE")
+    @DefaultValue("false")
+    boolean getSinkRedisClusterPipelineEnable();
+
+    @Key("SINK_REDIS_COMMAND_COALESCING_ENABLE")
+    @DefaultValue("false")
+    boolean getSinkRedisCommandCoalescingEnable();
 }
@@ -0,0 +1,111 @@
+package org.raystack.depot.config;
+
+import org.raystack.depot.redis.enums.RedisSinkDataType;
+import org.raystack.depot.redis.enums.RedisSinkDeploymentType;
+import org.raystack.depot.redis.enums.RedisSinkTtlType;
+
+import java.util.Properties;
+
+/**
+ * Immutable copy of a {@link RedisSinkConfig}, see {@link SinkConfigSnapshot}.
+ */
+public class RedisSinkConfigSnapshot extends SinkConfigSnapshot implements RedisSinkConfig {
+
+    private final String sinkRedisUrls;
+    private final String sinkRedisKeyTemplate;
+    private final RedisSinkDataType sinkRedisDataType;
+    private final RedisSinkTtlType sinkRedisTtlType;
+    private final long sinkRedisTtlValue;
+    private final RedisSinkDeploymentType sinkRedisDeploymentType;
+    private final String sinkRedisKeyValueDataFieldName;
+    private final String sinkRedisListDataFieldName;
+    private final Properties sinkRedisHashsetFieldToColumnMapping;
+    private final boolean sinkRedisClusterPipelineEnable;
+    private final boolean sinkRedisCommandCoalescingEnable;
+
+    public RedisSinkConfigSnapshot(RedisSinkConfig config) {
+        super(config);
+        this.sinkRedisUrls = config.getSinkRedisUrls();
+        this.sinkRedisKeyTemplate = config.getSinkRedisKeyTemplate();
+        this.sinkRedisDataType = config.getSinkRedisDataType();
+        this.sinkRedisTtlType = config.getSinkRedisTtlType();
+        this.sinkRedisTtlValue = config.getSinkRedisTtlValue();
+        this.sinkRedisDeploymentType = config.getSinkRedisDeploymentType();
+        this.sinkRedisKeyValueDataFieldName = config.getSinkRedisKeyValueDataFieldName();
+        this.sinkRedisListDataFieldName = config.getSinkRedisListDataFieldName();
+        this.sinkRedisHashsetFieldToColumnMapping = copy(config.getSinkRedisHashsetFieldToColumnMapping());
+        this.sinkRedisClusterPipelineEnable = config.getSinkRedisClusterPipelineEnable();
+        this.sinkRedisCommandCoalescingEnable = config.getSinkRedisCommandCoalescingEnable();
+    }
+
+    public static RedisSinkConfig of(RedisSinkConfig config) {
+        return config instanceof RedisSinkConfigSnapshot ? config : new RedisSinkConfigSnapshot(config);
+    }
+
+    private static Properties copy(Properties properties) {
+        if (properties == null) {
+            return null;
+        }
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        return copy;
+    }
+
+    @Override
+    public String getSinkRedisUrls() {
+        return sinkRedisUrls;
+    }
+
+    @Override
+    public String getSinkRedisKeyTemplate() {
+        return sinkRedisKeyTemplate;
+    }
+
+    @Override
+    public RedisSinkDataType getSinkRedisDataType() {
+        return sinkRedisDataType;
+    }
+
+    @Override
+    public RedisSinkTtlType getSinkRedisTtlType() {
+        return sinkRedisTtlType;
+    }
+
+    @Override
+    public long getSinkRedisTtlValue() {
+        return sinkRedisTtlValue;
+    }
+
+    @Override
+    public RedisSinkDeploymentType getSinkRedisDeploymentType() {
+        return sinkRedisDeploymentType;
+    }
+
+    @Override
+    public String getSinkRedisKeyValueDataFieldName() {
+        return sinkRedisKeyValueDataFieldName;
+    }
+
+    @Override
+    public String getSinkRedisListDataFieldName() {
+        return sinkRedisListDataFieldName;
+    }
+
+    /**
+     * Properties can not be made unmodifiable, every call returns a copy of its own.
+     */
+    @Override
+    public Properties getSinkRedisHashsetFieldToColumnMapping() {
+        return copy(sinkRedisHashsetFieldToColumnMapping);
+    }
+
+    @Override
+    public boolean getSinkRedisClusterPipelineEnable() {
+        return sinkRedisClusterPipelineEnable;
+    }
+
+    @Override
+    public boolean getSinkRedisCommandCoalescingEnable() {
+        return sinkRedisCommandCoalescingEnable;
+    }
+}
@@ -4,7 +4,10 @@ import org.raystack.depot.config.converter.SchemaRegistryHeadersConverter;
 import org.raystack.depot.config.converter.SchemaRegistryRefreshConverter;
 import org.raystack.depot.config.converter.SinkConnectorSchemaDataTypeConverter;
 import org.raystack.depot.config.converter.SinkConnectorSchemaMessageModeConverter;
+import org.raystack.depot.config.converter.SinkFanOutResponsePolicyConverter;
 import org.raystack.depot.config.enums.SinkConnectorSchemaDataType;
+import org.raystack.depot.config.enums.SinkFanOutResponsePolicy;
+import org.raystack.depot.error.ErrorType;
 import org.raystack.depot.message.SinkConnectorSchemaMessageMode;
 import org.raystack.stencil.cache.SchemaRefreshStrategy;
 import org.aeonbits.owner.Config;
@@ -81,4 +84,122 @@ public interface SinkConfig extends Config {
     @Key("SINK_CONNECTOR_SCHEMA_PROTO_ALLOW_UNKNOWN_FIELDS_ENABLE")
     @DefaultValue("false")
     boolean getSinkConnectorSchemaProtoAllowUnknownFieldsEnable();
+
+    @Key("SINK_CONVERSION_PARALLELISM")
+    @DefaultValue("1")
+    int getSinkConversionParallelism();
+
+    @Key("SINK_CONVERSION_CHUNK_SIZE")
+    @DefaultValue("1000")
+    int getSinkConversionChunkSize();
+
+    @Key("SINK_BUFFER_ENABLE")
+    @DefaultValue("false")
+    boolean getSinkBufferEnable();
+
+    @Key("SINK_BUFFER_MAX_MESSAGES")
+    @DefaultValue("500")
+    int getSinkBufferMaxMessages();
+
+    @Key("SINK_BUFFER_MAX_BYTES")
+    @DefaultValue("5242880")
+    long getSinkBufferMaxBytes();
+
+    @Key("SINK_BUFFER_LINGER_MS")
+    @DefaultValue("100")
+    long getSinkBufferLingerMs();
+
+    @Key("SINK_RETRY_MAX_ATTEMPTS")
+    @DefaultValue("1")
+    int getSinkRetryMaxAttempts();
+
+    @Key("SINK_RETRY_INITIAL_BACKOFF_MS")
+    @DefaultValue("100")
+    long getSinkRetryInitialBackoffMs();
+
+    @Key("SINK_RETRY_MAX_BACKOFF_MS")
+    @DefaultValue("5000")
+    long getSinkRetryMaxBackoffMs();
+
+    @Key("SINK_RETRY_TIMEOUT_MS")
+    @DefaultValue("30000")
+    long getSinkRetryTimeoutMs();
+
+    @Key("SINK_FAN_OUT_RESPONSE_POLICY")
+    @ConverterClass(SinkFanOutResponsePolicyConverter.class)
+    @DefaultValue("ALL_SUCCEEDED")
+    SinkFanOutResponsePolicy getSinkFanOutResponsePolicy();
+
+    @Key("SINK_ADAPTIVE_CONCURRENCY_ENABLE")
+    @DefaultValue("false")
+    boolean getSinkAdaptiveConcurrencyEnable();
+
+    @Key("SINK_ADAPTIVE_CONCURRENCY_INITIAL_LIMIT")
+    @DefaultValue("4")
+    int getSinkAdaptiveConcurrencyInitialLimit();
+
+    @Key("SINK_ADAPTIVE_CONCURRENCY_MAX_LIMIT")
+    @DefaultValue("64")
+    int getSinkAdaptiveConcurrencyMaxLimit();
+
+    @Key("SINK_ADAPTIVE_CONCURRENCY_BACKOFF_RATIO")
+    @DefaultValue("0.9")
+    double getSinkAdaptiveConcurrencyBackoffRatio();
+
+    @Key("SINK_ADAPTIVE_CONCURRENCY_LATENCY_TOLERANCE")
+    @DefaultValue("2.0")
+    double getSinkAdaptiveConcurrencyLatencyTolerance();
+
+    @Key("SINK_SPILL_ENABLE")
+    @DefaultValue("false")
+    boolean getSinkSpillEnable();
+
+    @Key("SINK_SPILL_DIRECTORY")
+    @DefaultValue("/tmp/depot/spill")
+    String getSinkSpillDirectory();
+
+    @Key("SINK_SPILL_SEGMENT_BYTES")
+    @DefaultValue("67108864")
+    int getSinkSpillSegmentBytes();
+
+    @Key("SINK_SPILL_MAX_BYTES")
+    @DefaultValue("1073741824")
+    long getSinkSpillMaxBytes();
+
+    @Key("SINK_SPILL_ERROR_RATE_THRESHOLD")
+    @DefaultValue("0.5")
+    double getSinkSpillErrorRateThreshold();
+
+    @Key("SINK_SPILL_REPLAY_BATCH_SIZE")
+    @DefaultValue("500")
+    int getSinkSpillReplayBatchSize();
+
+    @Key("SINK_SPILL_REPLAY_INTERVAL_MS")
+    @DefaultValue("1000")
+    long getSinkSpillReplayIntervalMs();
+
+    @Key("SINK_DEAD_LETTER_ENABLE")
+    @DefaultValue("false")
+    boolean getSinkDeadLetterEnable();
+
+    @Key("SINK_DEAD_LETTER_DIRECTORY")
+    @DefaultValue("/tmp/depot/dead-letter")
+    String getSinkDeadLetterDirectory();
+
+    @Key("SINK_DEAD_LETTER_ERROR_TYPES")
+    @Separator(",")
+    @DefaultValue("DESERIALIZATION_ERROR,UNKNOWN_FIELDS_ERROR,INVALID_MESSAGE_ERROR,SINK_4XX_ERROR")
+    List<ErrorType> getSinkDeadLetterErrorTypes();
+
+    @Key("SINK_DEAD_LETTER_SEGMENT_BYTES")
+    @DefaultValue("134217728")
+    long getSinkDeadLetterSegmentBytes();
+
+    @Key("SINK_DEAD_LETTER_MAX_SEGMENTS")
+    @DefaultValue("10")
+    int getSinkDeadLetterMaxSegments();
+
+    @Key("SINK_DEAD_LETTER_QUEUE_SIZE")
+    @DefaultValue("10000")
+    int getSinkDeadLetterQueueSize();
 }
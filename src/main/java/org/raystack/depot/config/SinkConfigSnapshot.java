@@ -0,0 +1,353 @@
+package org.raystack.depot.config;
+
+import org.raystack.depot.config.enums.SinkConnectorSchemaDataType;
+import org.raystack.depot.config.enums.SinkFanOutResponsePolicy;
+import org.raystack.depot.error.ErrorType;
+import org.raystack.depot.message.SinkConnectorSchemaMessageMode;
+import org.raystack.stencil.cache.SchemaRefreshStrategy;
+import org.apache.http.Header;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable copy of a {@link SinkConfig}.
+ * Owner proxies resolve and convert the property on every call, the snapshot reads every key once
+ * so that per message lookups are plain field reads.
+ */
+public class SinkConfigSnapshot implements SinkConfig {
+
+    private final Boolean schemaRegistryStencilEnable;
+    private final Integer schemaRegistryStencilFetchTimeoutMs;
+    private final Integer schemaRegistryStencilFetchRetries;
+    private final Long schemaRegistryStencilFetchBackoffMinMs;
+    private final SchemaRefreshStrategy schemaRegistryStencilRefreshStrategy;
+    private final List<Header> schemaRegistryStencilFetchHeaders;
+    private final Boolean schemaRegistryStencilCacheAutoRefresh;
+    private final Long schemaRegistryStencilCacheTtlMs;
+    private final String schemaRegistryStencilUrls;
+    private final String metricsApplicationPrefix;
+    private final String sinkConnectorSchemaProtoMessageClass;
+    private final String sinkConnectorSchemaProtoKeyClass;
+    private final boolean sinkConnectorSchemaJsonParserStringModeEnabled;
+    private final SinkConnectorSchemaDataType sinkConnectorSchemaDataType;
+    private final SinkConnectorSchemaMessageMode sinkConnectorSchemaMessageMode;
+    private final boolean sinkConnectorSchemaProtoAllowUnknownFieldsEnable;
+    private final int sinkConversionParallelism;
+    private final int sinkConversionChunkSize;
+    private final boolean sinkBufferEnable;
+    private final int sinkBufferMaxMessages;
+    private final long sinkBufferMaxBytes;
+    private final long sinkBufferLingerMs;
+    private final int sinkRetryMaxAttempts;
+    private final long sinkRetryInitialBackoffMs;
+    private final long sinkRetryMaxBackoffMs;
+    private final long sinkRetryTimeoutMs;
+    private final SinkFanOutResponsePolicy sinkFanOutResponsePolicy;
+    private final boolean sinkAdaptiveConcurrencyEnable;
+    private final int sinkAdaptiveConcurrencyInitialLimit;
+    private final int sinkAdaptiveConcurrencyMaxLimit;
+    private final double sinkAdaptiveConcurrencyBackoffRatio;
+    private final double sinkAdaptiveConcurrencyLatencyTolerance;
+    private final boolean sinkSpillEnable;
+    private final String sinkSpillDirectory;
+    private final int sinkSpillSegmentBytes;
+    private final long sinkSpillMaxBytes;
+    private final double sinkSpillErrorRateThreshold;
+    private final int sinkSpillReplayBatchSize;
+    private final long sinkSpillReplayIntervalMs;
+    private final boolean sinkDeadLetterEnable;
+    private final String sinkDeadLetterDirectory;
+    private final List<ErrorType> sinkDeadLetterErrorTypes;
+    private final long sinkDeadLetterSegmentBytes;
+    private final int sinkDeadLetterMaxSegments;
+    private final int sinkDeadLetterQueueSize;
+
+    public SinkConfigSnapshot(SinkConfig config) {
+        this.schemaRegistryStencilEnable = config.isSchemaRegistryStencilEnable();
+        this.schemaRegistryStencilFetchTimeoutMs = config.getSchemaRegistryStencilFetchTimeoutMs();
+        this.schemaRegistryStencilFetchRetries = config.getSchemaRegistryStencilFetchRetries();
+        this.schemaRegistryStencilFetchBackoffMinMs = config.getSchemaRegistryStencilFetchBackoffMinMs();
+        this.schemaRegistryStencilRefreshStrategy = config.getSchemaRegistryStencilRefreshStrategy();
+        this.schemaRegistryStencilFetchHeaders = immutableCopy(config.getSchemaRegistryStencilFetchHeaders());
+        this.schemaRegistryStencilCacheAutoRefresh = config.getSchemaRegistryStencilCacheAutoRefresh();
+        this.schemaRegistryStencilCacheTtlMs = config.getSchemaRegistryStencilCacheTtlMs();
+        this.schemaRegistryStencilUrls = config.getSchemaRegistryStencilUrls();
+        this.metricsApplicationPrefix = config.getMetricsApplicationPrefix();
+        this.sinkConnectorSchemaProtoMessageClass = config.getSinkConnectorSchemaProtoMessageClass();
+        this.sinkConnectorSchemaProtoKeyClass = config.getSinkConnectorSchemaProtoKeyClass();
+        this.sinkConnectorSchemaJsonParserStringModeEnabled = config.getSinkConnectorSchemaJsonParserStringModeEnabled();
+        this.sinkConnectorSchemaDataType = config.getSinkConnectorSchemaDataType();
+        this.sinkConnectorSchemaMessageMode = config.getSinkConnectorSchemaMessageMode();
+        this.sinkConnectorSchemaProtoAllowUnknownFieldsEnable = config.getSinkConnectorSchemaProtoAllowUnknownFieldsEnable();
+        this.sinkConversionParallelism = config.getSinkConversionParallelism();
+        this.sinkConversionChunkSize = config.getSinkConversionChunkSize();
+        this.sinkBufferEnable = config.getSinkBufferEnable();
+        this.sinkBufferMaxMessages = config.getSinkBufferMaxMessages();
+        this.sinkBufferMaxBytes = config.getSinkBufferMaxBytes();
+        this.sinkBufferLingerMs = config.getSinkBufferLingerMs();
+        this.sinkRetryMaxAttempts = config.getSinkRetryMaxAttempts();
+        this.sinkRetryInitialBackoffMs = config.getSinkRetryInitialBackoffMs();
+        this.sinkRetryMaxBackoffMs = config.getSinkRetryMaxBackoffMs();
+        this.sinkRetryTimeoutMs = config.getSinkRetryTimeoutMs();
+        this.sinkFanOutResponsePolicy = config.getSinkFanOutResponsePolicy();
+        this.sinkAdaptiveConcurrencyEnable = config.getSinkAdaptiveConcurrencyEnable();
+        this.sinkAdaptiveConcurrencyInitialLimit = config.getSinkAdaptiveConcurrencyInitialLimit();
+        this.sinkAdaptiveConcurrencyMaxLimit = config.getSinkAdaptiveConcurrencyMaxLimit();
+        this.sinkAdaptiveConcurrencyBackoffRatio = config.getSinkAdaptiveConcurrencyBackoffRatio();
+        this.sinkAdaptiveConcurrencyLatencyTolerance = config.getSinkAdaptiveConcurrencyLatencyTolerance();
+        this.sinkSpillEnable = config.getSinkSpillEnable();
+        this.sinkSpillDirectory = config.getSinkSpillDirectory();
+        this.sinkSpillSegmentBytes = config.getSinkSpillSegmentBytes();
+        this.sinkSpillMaxBytes = config.getSinkSpillMaxBytes();
+        this.sinkSpillErrorRateThreshold = config.getSinkSpillErrorRateThreshold();
+        this.sinkSpillReplayBatchSize = config.getSinkSpillReplayBatchSize();
+        this.sinkSpillReplayIntervalMs = config.getSinkSpillReplayIntervalMs();
+        this.sinkDeadLetterEnable = config.getSinkDeadLetterEnable();
+        this.sinkDeadLetterDirectory = config.getSinkDeadLetterDirectory();
+        this.sinkDeadLetterErrorTypes = immutableCopy(config.getSinkDeadLetterErrorTypes());
+        this.sinkDeadLetterSegmentBytes = config.getSinkDeadLetterSegmentBytes();
+        this.sinkDeadLetterMaxSegments = config.getSinkDeadLetterMaxSegments();
+        this.sinkDeadLetterQueueSize = config.getSinkDeadLetterQueueSize();
+    }
+
+    public static SinkConfig of(SinkConfig config) {
+        return config instanceof SinkConfigSnapshot ? config : new SinkConfigSnapshot(config);
+    }
+
+    protected static <T> List<T> immutableCopy(List<T> list) {
+        return list == null ? null : Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
+    protected static <K, V> Map<K, V> immutableCopy(Map<K, V> map) {
+        return map == null ? null : Collections.unmodifiableMap(new HashMap<>(map));
+    }
+
+    @Override
+    public Boolean isSchemaRegistryStencilEnable() {
+        return schemaRegistryStencilEnable;
+    }
+
+    @Override
+    public Integer getSchemaRegistryStencilFetchTimeoutMs() {
+        return schemaRegistryStencilFetchTimeoutMs;
+    }
+
+    @Override
+    public Integer getSchemaRegistryStencilFetchRetries() {
+        return schemaRegistryStencilFetchRetries;
+    }
+
+    @Override
+    public Long getSchemaRegistryStencilFetchBackoffMinMs() {
+        return schemaRegistryStencilFetchBackoffMinMs;
+    }
+
+    @Override
+    public SchemaRefreshStrategy getSchemaRegistryStencilRefreshStrategy() {
+        return schemaRegistryStencilRefreshStrategy;
+    }
+
+    @Override
+    public List<Header> getSchemaRegistryStencilFetchHeaders() {
+        return schemaRegistryStencilFetchHeaders;
+    }
+
+    @Override
+    public Boolean getSchemaRegistryStencilCacheAutoRefresh() {
+        return schemaRegistryStencilCacheAutoRefresh;
+    }
+
+    @Override
+    public Long getSchemaRegistryStencilCacheTtlMs() {
+        return schemaRegistryStencilCacheTtlMs;
+    }
+
+    @Override
+    public String getSchemaRegistryStencilUrls() {
+        return schemaRegistryStencilUrls;
+    }
+
+    @Override
+    public String getMetricsApplicationPrefix() {
+        return metricsApplicationPrefix;
+    }
+
+    @Override
+    public String getSinkConnectorSchemaProtoMessageClass() {
+        return sinkConnectorSchemaProtoMessageClass;
+    }
+
+    @Override
+    public String getSinkConnectorSchemaProtoKeyClass() {
+        return sinkConnectorSchemaProtoKeyClass;
+    }
+
+    @Override
+    public boolean getSinkConnectorSchemaJsonParserStringModeEnabled() {
+        return sinkConnectorSchemaJsonParserStringModeEnabled;
+    }
+
+    @Override
+    public SinkConnectorSchemaDataType getSinkConnectorSchemaDataType() {
+        return sinkConnectorSchemaDataType;
+    }
+
+    @Override
+    public SinkConnectorSchemaMessageMode getSinkConnectorSchemaMessageMode() {
+        return sinkConnectorSchemaMessageMode;
+    }
+
+    @Override
+    public boolean getSinkConnectorSchemaProtoAllowUnknownFieldsEnable() {
+        return sinkConnectorSchemaProtoAllowUnknownFieldsEnable;
+    }
+
+    @Override
+    public int getSinkConversionParallelism() {
+        return sinkConversionParallelism;
+    }
+
+    @Override
+    public int getSinkConversionChunkSize() {
+        return sinkConversionChunkSize;
+    }
+
+    @Override
+    public boolean getSinkBufferEnable() {
+        return sinkBufferEnable;
+    }
+
+    @Override
+    public int getSinkBufferMaxMessages() {
+        return sinkBufferMaxMessages;
+    }
+
+    @Override
+    public long getSinkBufferMaxBytes() {
+        return sinkBufferMaxBytes;
+    }
+
+    @Override
+    public long getSinkBufferLingerMs() {
+        return sinkBufferLingerMs;
+    }
+
+    @Override
+    public int getSinkRetryMaxAttempts() {
+        return sinkRetryMaxAttempts;
+    }
+
+    @Override
+    public long getSinkRetryInitialBackoffMs() {
+        return sinkRetryInitialBackoffMs;
+    }
+
+    @Override
+    public long getSinkRetryMaxBackoffMs() {
+        return sinkRetryMaxBackoffMs;
+    }
+
+    @Override
+    public long getSinkRetryTimeoutMs() {
+        return sinkRetryTimeoutMs;
+    }
+
+    @Override
+    public SinkFanOutResponsePolicy getSinkFanOutResponsePolicy() {
+        return sinkFanOutResponsePolicy;
+    }
+
+    @Override
+    public boolean getSinkAdaptiveConcurrencyEnable() {
+        return sinkAdaptiveConcurrencyEnable;
+    }
+
+    @Override
+    public int getSinkAdaptiveConcurrencyInitialLimit() {
+        return sinkAdaptiveConcurrencyInitialLimit;
+    }
+
+    @Override
+    public int getSinkAdaptiveConcurrencyMaxLimit() {
+        return sinkAdaptiveConcurrencyMaxLimit;
+    }
+
+    @Override
+    public double getSinkAdaptiveConcurrencyBackoffRatio() {
+        return sinkAdaptiveConcurrencyBackoffRatio;
+    }
+
+    @Override
+    public double getSinkAdaptiveConcurrencyLatencyTolerance() {
+        return sinkAdaptiveConcurrencyLatencyTolerance;
+    }
+
+    @Override
+    public boolean getSinkSpillEnable() {
+        return sinkSpillEnable;
+    }
+
+    @Override
+    public String getSinkSpillDirectory() {
+        return sinkSpillDirectory;
+    }
+
+    @Override
+    public int getSinkSpillSegmentBytes() {
+        return sinkSpillSegmentBytes;
+    }
+
+    @Override
+    public long getSinkSpillMaxBytes() {
+        return sinkSpillMaxBytes;
+    }
+
+    @Override
+    public double getSinkSpillErrorRateThreshold() {
+        return sinkSpillErrorRateThreshold;
+    }
+
+    @Override
+    public int getSinkSpillReplayBatchSize() {
+        return sinkSpillReplayBatchSize;
+    }
+
+    @Override
+    public long getSinkSpillReplayIntervalMs() {
+        return sinkSpillReplayIntervalMs;
+    }
+
+    @Override
+    public boolean getSinkDeadLetterEnable() {
+        return sinkDeadLetterEnable;
+    }
+
+    @Override
+    public String getSinkDeadLetterDirectory() {
+        return sinkDeadLetterDirectory;
+    }
+
+    @Override
+    public List<ErrorType> getSinkDeadLetterErrorTypes() {
+        return sinkDeadLetterErrorTypes;
+    }
+
+    @Override
+    public long getSinkDeadLetterSegmentBytes() {
+        return sinkDeadLetterSegmentBytes;
+    }
+
+    @Override
+    public int getSinkDeadLetterMaxSegments() {
+        return sinkDeadLetterMaxSegments;
+    }
+
+    @Override
+    public int getSinkDeadLetterQueueSize() {
+        return sinkDeadLetterQueueSize;
+    }
+}
@@ -0,0 +1,13 @@
+package org.raystack.depot.config.converter;
+
+import org.raystack.depot.config.enums.BigQueryStorageWriteMode;
+import org.aeonbits.owner.Converter;
+
+import java.lang.reflect.Method;
+
+public class BigQueryStorageWriteModeConverter implements Converter<BigQueryStorageWriteMode> {
+    @Override
+    public BigQueryStorageWriteMode convert(Method method, String input) {
+        return BigQueryStorageWriteMode.valueOf(input.toUpperCase());
+    }
+}
@@ -0,0 +1,13 @@
+package org.raystack.depot.config.converter;
+
+import org.raystack.depot.config.enums.SinkFanOutResponsePolicy;
+import org.aeonbits.owner.Converter;
+
+import java.lang.reflect.Method;
+
+public class SinkFanOutResponsePolicyConverter implements Converter<SinkFanOutResponsePolicy> {
+    @Override
+    public SinkFanOutResponsePolicy convert(Method method, String input) {
+        return SinkFanOutResponsePolicy.valueOf(input.toUpperCase());
+    }
+}
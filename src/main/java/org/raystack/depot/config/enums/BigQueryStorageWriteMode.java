@@ -0,0 +1,19 @@
+package org.raystack.depot.config.enums;
+
+/**
+ * Write streams the storage write API sink appends to.
+ */
+public enum BigQueryStorageWriteMode {
+    /**
+     * The default stream of the table, rows are visible once appended and delivered at least once.
+     */
+    DEFAULT,
+    /**
+     * Application created committed streams appended to with offsets, rows are visible once appended.
+     */
+    COMMITTED,
+    /**
+     * Application created pending streams appended to with offsets, rows are visible once the stream is committed.
+     */
+    PENDING
+}
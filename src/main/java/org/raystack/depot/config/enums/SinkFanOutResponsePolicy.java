@@ -0,0 +1,15 @@
+package org.raystack.depot.config.enums;
+
+/**
+ * How the responses of the sinks of a fan out are merged.
+ */
+public enum SinkFanOutResponsePolicy {
+    /**
+     * A message fails when any sink failed it, with the error of the first such sink.
+     */
+    ALL_SUCCEEDED,
+    /**
+     * A message fails only when every sink failed it, with the error of the first sink.
+     */
+    ANY_SUCCEEDED
+}
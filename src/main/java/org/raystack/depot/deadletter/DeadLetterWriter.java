@@ -0,0 +1,232 @@
+package org.raystack.depot.deadletter;
+
+import org.raystack.depot.common.DirectoryLock;
+
+import org.raystack.depot.error.ErrorInfo;
+import org.raystack.depot.message.Message;
+import org.raystack.depot.metrics.Instrumentation;
+import org.raystack.depot.metrics.SinkMetrics;
+import org.json.JSONObject;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes dead letters to gzip compressed JSON lines files on a background thread.
+ * Each line holds the key, value and metadata of the message, the error type and the error message.
+ * Byte array keys and values are written base64 encoded as log_key_base64 and log_message_base64.
+ * <p>
+ * A file is rotated once SINK_DEAD_LETTER_SEGMENT_BYTES uncompressed bytes were written to it,
+ * only the last SINK_DEAD_LETTER_MAX_SEGMENTS files are kept. Files are flushed whenever the queue runs empty,
+ * so a crash loses at most the letters still queued.
+ * {@link #offer(Message, ErrorInfo)} never blocks, letters offered while SINK_DEAD_LETTER_QUEUE_SIZE letters are queued are dropped.
+ * <p>
+ * Writers sharing a directory would overwrite and prune each other's files, {@link #openUnused} gives every writer
+ * configured with the same directory a locked subdirectory of its own.
+ */
+public class DeadLetterWriter implements Closeable {
+    private static final String FILE_PREFIX = "dead-letter-";
+    private static final String FILE_SUFFIX = ".jsonl.gz";
+    private static final long POLL_TIMEOUT_MS = 100;
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+    private final Path directory;
+    private final long segmentBytes;
+    private final int maxSegments;
+    private final BlockingQueue<DeadLetter> queue;
+    private final Instrumentation instrumentation;
+    private final SinkMetrics sinkMetrics;
+    private final Deque<Path> segments = new ArrayDeque<>();
+    private final Thread thread;
+    private final DirectoryLock directoryLock;
+    private volatile boolean running = true;
+    private long nextSegment;
+    private OutputStream output;
+    private long segmentWritten;
+
+    public DeadLetterWriter(Path directory, long segmentBytes, int maxSegments, int queueSize,
+            Instrumentation instrumentation, SinkMetrics sinkMetrics) throws IOException {
+        this(directory, null, segmentBytes, maxSegments, queueSize, instrumentation, sinkMetrics);
+    }
+
+    private DeadLetterWriter(Path directory, DirectoryLock directoryLock, long segmentBytes, int maxSegments,
+            int queueSize, Instrumentation instrumentation, SinkMetrics sinkMetrics) throws IOException {
+        this.directory = directory;
+        this.directoryLock = directoryLock;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = Math.max(1, maxSegments);
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.instrumentation = instrumentation;
+        this.sinkMetrics = sinkMetrics;
+        Files.createDirectories(directory);
+        List<Path> existing = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            files.forEach(existing::add);
+        }
+        existing.sort(null);
+        for (Path file : existing) {
+            segments.add(file);
+            String name = file.getFileName().toString();
+            nextSegment = Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length())) + 1;
+        }
+        this.thread = new Thread(this::run, "depot-dead-letter-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Opens a writer in the first numbered subdirectory of the parent no other writer uses.
+     */
+    public static DeadLetterWriter openUnused(Path parent, long segmentBytes, int maxSegments, int queueSize,
+            Instrumentation instrumentation, SinkMetrics sinkMetrics) throws IOException {
+        DirectoryLock directoryLock = DirectoryLock.lockUnused(parent);
+        try {
+            return new DeadLetterWriter(directoryLock.getDirectory(), directoryLock, segmentBytes, maxSegments,
+                    queueSize, instrumentation, sinkMetrics);
+        } catch (IOException | RuntimeException e) {
+            directoryLock.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Queues the message to be written.
+     *
+     * @return false if the queue is full or the writer is closed
+     */
+    public boolean offer(Message message, ErrorInfo errorInfo) {
+        if (running && queue.offer(new DeadLetter(message, errorInfo, System.currentTimeMillis()))) {
+            return true;
+        }
+        captureDropped(errorInfo);
+        return false;
+    }
+
+    private void captureDropped(ErrorInfo errorInfo) {
+        instrumentation.captureCount(sinkMetrics.getDeadLetterDroppedMetric(), 1L,
+                String.format(SinkMetrics.ERROR_TYPE_TAG, errorInfo.getErrorType()));
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            DeadLetter deadLetter;
+            try {
+                deadLetter = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (deadLetter == null) {
+                continue;
+            }
+            try {
+                write(deadLetter);
+                if (queue.isEmpty()) {
+                    output.flush();
+                }
+            } catch (IOException | RuntimeException e) {
+                instrumentation.logError("Dead letter could not be written: {}", e.getMessage());
+                captureDropped(deadLetter.errorInfo);
+                closeSegment();
+            }
+        }
+        closeSegment();
+    }
+
+    private void write(DeadLetter deadLetter) throws IOException {
+        byte[] line = (toJson(deadLetter).toString() + "\n").getBytes(StandardCharsets.UTF_8);
+        if (output == null || segmentWritten >= segmentBytes) {
+            rotate();
+        }
+        output.write(line);
+        segmentWritten += line.length;
+        instrumentation.captureCount(sinkMetrics.getDeadLetterMessagesMetric(), 1L,
+                String.format(SinkMetrics.ERROR_TYPE_TAG, deadLetter.errorInfo.getErrorType()));
+    }
+
+    private void rotate() throws IOException {
+        closeSegment();
+        Path file = directory.resolve(String.format("%s%020d%s", FILE_PREFIX, nextSegment++, FILE_SUFFIX));
+        output = new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(file), true));
+        segmentWritten = 0;
+        segments.add(file);
+        while (segments.size() > maxSegments) {
+            Files.deleteIfExists(segments.poll());
+        }
+    }
+
+    private void closeSegment() {
+        if (output == null) {
+            return;
+        }
+        try {
+            output.close();
+        } catch (IOException e) {
+            instrumentation.logError("Dead letter file could not be closed: {}", e.getMessage());
+        }
+        output = null;
+    }
+
+    private static JSONObject toJson(DeadLetter deadLetter) {
+        JSONObject json = new JSONObject();
+        putPayload(json, "log_key", deadLetter.message.getLogKey());
+        putPayload(json, "log_message", deadLetter.message.getLogMessage());
+        json.put("metadata", new JSONObject(deadLetter.message.getMetadata()));
+        json.put("error_type", deadLetter.errorInfo.getErrorType().name());
+        if (deadLetter.errorInfo.getException() != null) {
+            json.put("error_message", deadLetter.errorInfo.getException().getMessage());
+        }
+        json.put("timestamp", deadLetter.timestamp);
+        return json;
+    }
+
+    private static void putPayload(JSONObject json, String name, Object payload) {
+        if (payload instanceof byte[]) {
+            json.put(name + "_base64", Base64.getEncoder().encodeToString((byte[]) payload));
+        } else if (payload != null) {
+            json.put(name, payload.toString());
+        }
+    }
+
+    /**
+     * Writes the queued letters and closes the current file.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (directoryLock != null) {
+            directoryLock.close();
+        }
+    }
+
+    private static class DeadLetter {
+        private final Message message;
+        private final ErrorInfo errorInfo;
+        private final long timestamp;
+
+        DeadLetter(Message message, ErrorInfo errorInfo, long timestamp) {
+            this.message = message;
+            this.errorInfo = errorInfo;
+            this.timestamp = timestamp;
+        }
+    }
+}
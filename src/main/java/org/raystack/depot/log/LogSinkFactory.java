@@ -1,11 +1,14 @@
 package org.raystack.depot.log;
 
 import org.raystack.depot.config.SinkConfig;
+import org.raystack.depot.config.SinkConfigSnapshot;
 import org.raystack.depot.message.MessageParser;
 import org.raystack.depot.message.MessageParserFactory;
 import org.raystack.depot.metrics.Instrumentation;
 import org.raystack.depot.metrics.StatsDReporter;
 import com.timgroup.statsd.NoOpStatsDClient;
+import org.raystack.depot.AsyncSink;
+import org.raystack.depot.AsyncSinkAdapter;
 import org.raystack.depot.Sink;
 import org.aeonbits.owner.ConfigFactory;
 
@@ -22,7 +25,7 @@ public class LogSinkFactory {
     }
 
     public LogSinkFactory(SinkConfig sinkConfig, StatsDReporter statsDReporter) {
-        this.sinkConfig = sinkConfig;
+        this.sinkConfig = SinkConfigSnapshot.of(sinkConfig);
         this.statsDReporter = statsDReporter;
     }
 
@@ -37,4 +40,8 @@ public class LogSinkFactory {
     public Sink create() {
         return new LogSink(sinkConfig, messageParser, new Instrumentation(statsDReporter, LogSink.class));
     }
+
+    public AsyncSink createAsync() {
+        return new AsyncSinkAdapter(create());
+    }
 }
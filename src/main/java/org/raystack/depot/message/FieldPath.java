@@ -0,0 +1,26 @@
+package org.raystack.depot.message;
+
+import lombok.Getter;
+
+/**
+ * Dotted field name compiled once into a format specific accessor.
+ * Implementations are cached by name and shared between messages and threads.
+ */
+public abstract class FieldPath {
+    @Getter
+    private final String name;
+
+    protected FieldPath(String name) {
+        this.name = name;
+    }
+
+    protected static void validateName(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Invalid field config : name can not be empty");
+        }
+    }
+
+    protected IllegalArgumentException invalidField() {
+        return new IllegalArgumentException("Invalid field config : " + name);
+    }
+}
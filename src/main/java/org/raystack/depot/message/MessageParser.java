@@ -6,4 +6,12 @@ public interface MessageParser {
     ParsedMessage parse(Message message, SinkConnectorSchemaMessageMode type, String schemaClass) throws IOException;
 
     MessageSchema getSchema(String schemaClass) throws IOException;
+
+    /**
+     * Parsers with equal keys parse a message the same way, so their parsed messages can be shared.
+     * A parser without a key only shares with itself.
+     */
+    default Object getParseKey() {
+        return this;
+    }
 }
@@ -1,22 +1,15 @@
 package org.raystack.depot.message;
 
 import com.jayway.jsonpath.Configuration;
-import com.jayway.jsonpath.JsonPath;
-import com.jayway.jsonpath.PathNotFoundException;
 import org.json.JSONObject;
+import org.raystack.depot.message.json.JsonFieldPath;
 
 import java.io.IOException;
 
 public class MessageUtils {
 
     public static Object getFieldFromJsonObject(String name, JSONObject jsonObject, Configuration jsonPathConfig) {
-        try {
-            String jsonPathName = "$." + name;
-            JsonPath jsonPath = JsonPath.compile(jsonPathName);
-            return jsonPath.read(jsonObject, jsonPathConfig);
-        } catch (PathNotFoundException e) {
-            throw new IllegalArgumentException("Invalid field config : " + name, e);
-        }
+        return JsonFieldPath.of(name).read(jsonObject, jsonPathConfig);
     }
 
     public static void validate(Message message, Class validClass) throws IOException {
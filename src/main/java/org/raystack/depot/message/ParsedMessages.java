@@ -0,0 +1,78 @@
+package org.raystack.depot.message;
+
+import org.raystack.depot.common.BatchConverter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Messages of a batch parsed once with one parser, mode and schema class, so that several sinks can share them.
+ * A sink reuses them when its parser has the same {@link MessageParser#getParseKey()}.
+ * Messages that could not be parsed have no entry, sinks parse them again to report the error the way they always do.
+ */
+public class ParsedMessages {
+    private static final ParsedMessages NONE = new ParsedMessages(null, null, null, new ParsedMessage[0]);
+    private final Object parseKey;
+    private final SinkConnectorSchemaMessageMode mode;
+    private final String schemaClass;
+    private final ParsedMessage[] parsedMessages;
+
+    private ParsedMessages(Object parseKey, SinkConnectorSchemaMessageMode mode, String schemaClass,
+            ParsedMessage[] parsedMessages) {
+        this.parseKey = parseKey;
+        this.mode = mode;
+        this.schemaClass = schemaClass;
+        this.parsedMessages = parsedMessages;
+    }
+
+    /**
+     * No message is parsed, every sink parses its messages itself.
+     */
+    public static ParsedMessages none() {
+        return NONE;
+    }
+
+    public static ParsedMessages parse(List<Message> messages, MessageParser parser,
+            SinkConnectorSchemaMessageMode mode, String schemaClass, BatchConverter batchConverter) {
+        List<ParsedMessage> parsed = batchConverter.convert(messages, (message, index) -> {
+            try {
+                return parser.parse(message, mode, schemaClass);
+            } catch (IOException | RuntimeException e) {
+                return null;
+            }
+        });
+        return new ParsedMessages(parseKey(parser), mode, schemaClass, parsed.toArray(new ParsedMessage[0]));
+    }
+
+    /**
+     * The parsed messages at the given indexes, in that order, for pushing part of the batch to a sink.
+     */
+    public ParsedMessages select(List<Integer> indexes) {
+        ParsedMessage[] selected = new ParsedMessage[indexes.size()];
+        for (int i = 0; i < selected.length; i++) {
+            int index = indexes.get(i);
+            selected[i] = index < parsedMessages.length ? parsedMessages[index] : null;
+        }
+        return new ParsedMessages(parseKey, mode, schemaClass, selected);
+    }
+
+    /**
+     * Returns the shared parsed message when it was parsed the same way, with the same mode and schema class,
+     * parses the message otherwise.
+     */
+    public ParsedMessage getOrParse(Message message, int index, MessageParser parser,
+            SinkConnectorSchemaMessageMode messageMode, String messageSchemaClass) throws IOException {
+        if (index < parsedMessages.length && parsedMessages[index] != null
+                && mode == messageMode && Objects.equals(schemaClass, messageSchemaClass)
+                && Objects.equals(parseKey, parseKey(parser))) {
+            return parsedMessages[index];
+        }
+        return parser.parse(message, messageMode, messageSchemaClass);
+    }
+
+    private static Object parseKey(MessageParser parser) {
+        Object key = parser.getParseKey();
+        return key == null ? parser : key;
+    }
+}
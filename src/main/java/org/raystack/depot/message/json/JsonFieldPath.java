@@ -0,0 +1,36 @@
+package org.raystack.depot.message.json;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.PathNotFoundException;
+import org.json.JSONObject;
+import org.raystack.depot.message.FieldPath;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Field name compiled into a {@link JsonPath} rooted at the message.
+ */
+public final class JsonFieldPath extends FieldPath {
+    private static final Map<String, JsonFieldPath> PATHS = new ConcurrentHashMap<>();
+    private final JsonPath jsonPath;
+
+    private JsonFieldPath(String name) {
+        super(name);
+        this.jsonPath = JsonPath.compile("$." + name);
+    }
+
+    public static JsonFieldPath of(String name) {
+        validateName(name);
+        return PATHS.computeIfAbsent(name, JsonFieldPath::new);
+    }
+
+    public Object read(JSONObject jsonObject, Configuration jsonPathConfig) {
+        try {
+            return jsonPath.read(jsonObject, jsonPathConfig);
+        } catch (PathNotFoundException e) {
+            throw new IllegalArgumentException("Invalid field config : " + getName(), e);
+        }
+    }
+}
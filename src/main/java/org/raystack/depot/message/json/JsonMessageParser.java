@@ -20,6 +20,7 @@ import org.json.JSONObject;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.Arrays;
 
 @Slf4j
 public class JsonMessageParser implements MessageParser {
@@ -74,4 +75,9 @@ public class JsonMessageParser implements MessageParser {
     public MessageSchema getSchema(String schemaClass) {
         return null;
     }
+
+    @Override
+    public Object getParseKey() {
+        return Arrays.asList(JsonMessageParser.class, config.getSinkConnectorSchemaJsonParserStringModeEnabled());
+    }
 }
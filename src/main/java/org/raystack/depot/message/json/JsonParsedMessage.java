@@ -2,17 +2,19 @@ package org.raystack.depot.message.json;
 
 import com.jayway.jsonpath.Configuration;
 import org.raystack.depot.config.SinkConfig;
-import org.raystack.depot.message.MessageUtils;
 import org.raystack.depot.message.MessageSchema;
 import org.raystack.depot.message.ParsedMessage;
 import org.json.JSONObject;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 public class JsonParsedMessage implements ParsedMessage {
     private final JSONObject jsonObject;
     private final Configuration jsonPathConfig;
+    // a parsed message can be shared by the sinks of a fan out, the cache is guarded by its own lock
+    private final Map<String, Object> cachedFields = new HashMap<>();
 
     public JsonParsedMessage(JSONObject jsonObject, Configuration jsonPathConfig) {
         this.jsonObject = jsonObject;
@@ -42,9 +44,14 @@ public class JsonParsedMessage implements ParsedMessage {
     }
 
     public Object getFieldByName(String name, MessageSchema messageSchema) {
-        if (name == null || name.isEmpty()) {
-            throw new IllegalArgumentException("Invalid field config : name can not be empty");
+        JsonFieldPath fieldPath = JsonFieldPath.of(name);
+        synchronized (cachedFields) {
+            if (cachedFields.containsKey(name)) {
+                return cachedFields.get(name);
+            }
+            Object value = fieldPath.read(jsonObject, jsonPathConfig);
+            cachedFields.put(name, value);
+            return value;
         }
-        return MessageUtils.getFieldFromJsonObject(name, jsonObject, jsonPathConfig);
     }
 }
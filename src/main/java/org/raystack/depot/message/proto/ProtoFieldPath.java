@@ -0,0 +1,76 @@
+package org.raystack.depot.message.proto;
+
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+import org.raystack.depot.message.FieldPath;
+import org.raystack.depot.message.proto.converter.fields.ProtoField;
+import org.raystack.depot.message.proto.converter.fields.ProtoFieldFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Field name resolved into the chain of field descriptors leading to it.
+ * A chain is kept for each root descriptor the name is read from, so a name used for both the key and the message
+ * is resolved once for each. A schema update hands out new descriptors, the chains of the replaced ones are dropped
+ * once more than a few roots have been seen.
+ */
+public final class ProtoFieldPath extends FieldPath {
+    private static final Map<String, ProtoFieldPath> PATHS = new ConcurrentHashMap<>();
+    private static final int MAX_ROOTS = 16;
+    private final String[] keys;
+    private final Map<Descriptors.Descriptor, Descriptors.FieldDescriptor[]> chains = new ConcurrentHashMap<>();
+
+    private ProtoFieldPath(String name) {
+        super(name);
+        this.keys = name.split("\\.");
+    }
+
+    public static ProtoFieldPath of(String name) {
+        validateName(name);
+        return PATHS.computeIfAbsent(name, ProtoFieldPath::new);
+    }
+
+    public ProtoField read(DynamicMessage message) {
+        Descriptors.FieldDescriptor[] chain = resolve(message.getDescriptorForType());
+        Object currentValue = message;
+        for (Descriptors.FieldDescriptor descriptor : chain) {
+            if (!(currentValue instanceof DynamicMessage)) {
+                throw invalidField();
+            }
+            currentValue = ((DynamicMessage) currentValue).getField(descriptor);
+        }
+        return ProtoFieldFactory.getField(chain[chain.length - 1], currentValue);
+    }
+
+    private Descriptors.FieldDescriptor[] resolve(Descriptors.Descriptor root) {
+        Descriptors.FieldDescriptor[] resolved = chains.get(root);
+        if (resolved != null) {
+            return resolved;
+        }
+        if (keys.length == 0) {
+            throw invalidField();
+        }
+        Descriptors.FieldDescriptor[] chain = new Descriptors.FieldDescriptor[keys.length];
+        Descriptors.Descriptor type = root;
+        for (int i = 0; i < keys.length; i++) {
+            Descriptors.FieldDescriptor descriptor = type == null ? null : type.findFieldByName(keys[i]);
+            if (descriptor == null) {
+                throw invalidField();
+            }
+            chain[i] = descriptor;
+            type = descriptor.getJavaType() == Descriptors.FieldDescriptor.JavaType.MESSAGE && !descriptor.isRepeated()
+                    ? descriptor.getMessageType()
+                    : null;
+        }
+        if (chains.size() >= MAX_ROOTS) {
+            chains.clear();
+        }
+        chains.put(root, chain);
+        return chain;
+    }
+
+    boolean isResolvedFor(Descriptors.Descriptor root) {
+        return chains.containsKey(root);
+    }
+}
@@ -12,14 +12,17 @@ import org.raystack.depot.message.MessageParser;
 import org.raystack.depot.message.MessageSchema;
 import org.raystack.depot.message.ParsedMessage;
 import org.raystack.depot.message.SinkConnectorSchemaMessageMode;
+import org.raystack.depot.message.proto.converter.fields.ProtoFieldFactory;
 import org.raystack.depot.metrics.StatsDReporter;
 import org.raystack.depot.stencil.DepotStencilUpdateListener;
+import org.raystack.stencil.SchemaUpdateListener;
 import org.raystack.stencil.StencilClientFactory;
 import org.raystack.stencil.client.StencilClient;
 import org.raystack.stencil.config.StencilConfig;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -32,20 +35,37 @@ public class ProtoMessageParser implements MessageParser {
 
     private final StencilClient stencilClient;
     private final ProtoFieldParser protoMappingParser = new ProtoFieldParser();
+    private final Object parseKey;
 
     public ProtoMessageParser(SinkConfig sinkConfig, StatsDReporter reporter,
             DepotStencilUpdateListener protoUpdateListener) {
         StencilConfig stencilConfig = StencilUtils.getStencilConfig(sinkConfig, reporter.getClient(),
-                protoUpdateListener);
+                withFieldKindReset(protoUpdateListener));
         if (sinkConfig.isSchemaRegistryStencilEnable()) {
             stencilClient = StencilClientFactory.getClient(sinkConfig.getSchemaRegistryStencilUrls(), stencilConfig);
         } else {
             stencilClient = StencilClientFactory.getClient();
         }
+        // parsers reading descriptors from the same registry parse messages the same way
+        parseKey = Arrays.asList(ProtoMessageParser.class,
+                sinkConfig.isSchemaRegistryStencilEnable() ? sinkConfig.getSchemaRegistryStencilUrls() : null);
     }
 
     public ProtoMessageParser(StencilClient stencilClient) {
         this.stencilClient = stencilClient;
+        this.parseKey = stencilClient;
+    }
+
+    /**
+     * Resolved field kinds belong to the old descriptors, they are dropped before the listener sees new ones.
+     */
+    private static SchemaUpdateListener withFieldKindReset(SchemaUpdateListener listener) {
+        return newDescriptors -> {
+            ProtoFieldFactory.clearCache();
+            if (listener != null) {
+                listener.onSchemaUpdate(newDescriptors);
+            }
+        };
     }
 
     public ParsedMessage parse(Message message, SinkConnectorSchemaMessageMode type, String schemaClass)
@@ -73,6 +93,11 @@ public class ProtoMessageParser implements MessageParser {
         return new ProtoParsedMessage(dynamicMessage);
     }
 
+    @Override
+    public Object getParseKey() {
+        return parseKey;
+    }
+
     public Map<String, Descriptors.Descriptor> getDescriptorMap() {
         return stencilClient.getAll();
     }
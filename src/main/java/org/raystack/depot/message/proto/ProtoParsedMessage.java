@@ -20,6 +20,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,8 +30,12 @@ import java.util.Properties;
 public class ProtoParsedMessage implements ParsedMessage {
     private final DynamicMessage dynamicMessage;
 
+    // a parsed message can be shared by the sinks of a fan out, the caches are guarded by their own lock
+    // and the cached mapping is only handed out unmodifiable
     private final Map<MessageSchema, Map<String, Object>> cachedMapping = new HashMap<>();
 
+    private final Map<String, Object> cachedFields = new HashMap<>();
+
     public ProtoParsedMessage(DynamicMessage dynamicMessage) {
         this.dynamicMessage = dynamicMessage;
     }
@@ -58,7 +63,10 @@ public class ProtoParsedMessage implements ParsedMessage {
         if (schema.getSchema() == null) {
             throw new ConfigurationException("Schema is not configured");
         }
-        return cachedMapping.computeIfAbsent(schema, x -> getMappings(dynamicMessage, (Properties) schema.getSchema()));
+        synchronized (cachedMapping) {
+            return Collections.unmodifiableMap(cachedMapping.computeIfAbsent(schema,
+                    x -> getMappings(dynamicMessage, (Properties) schema.getSchema())));
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -152,23 +160,9 @@ public class ProtoParsedMessage implements ParsedMessage {
     }
 
     public Object getFieldByName(String name, MessageSchema messageSchema) {
-        if (name == null || name.isEmpty()) {
-            throw new IllegalArgumentException("Invalid field config : name can not be empty");
-        }
-        String[] keys = name.split("\\.");
-        Object currentValue = dynamicMessage;
-        Descriptors.FieldDescriptor descriptor = null;
-        for (String key : keys) {
-            if (!(currentValue instanceof DynamicMessage)) {
-                throw new IllegalArgumentException("Invalid field config : " + name);
-            }
-            DynamicMessage message = (DynamicMessage) currentValue;
-            descriptor = message.getDescriptorForType().findFieldByName(key);
-            if (descriptor == null) {
-                throw new IllegalArgumentException("Invalid field config : " + name);
-            }
-            currentValue = message.getField(descriptor);
+        ProtoFieldPath fieldPath = ProtoFieldPath.of(name);
+        synchronized (cachedFields) {
+            return cachedFields.computeIfAbsent(name, n -> fieldPath.read(dynamicMessage));
         }
-        return ProtoFieldFactory.getField(descriptor, currentValue);
     }
 }
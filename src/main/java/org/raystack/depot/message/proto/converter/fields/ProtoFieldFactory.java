@@ -2,25 +2,25 @@ package org.raystack.depot.message.proto.converter.fields;
 
 import com.google.protobuf.Descriptors;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ProtoFieldFactory {
+    // field descriptors are compared by identity, new descriptors from stencil get new entries
+    private static final Map<Descriptors.FieldDescriptor, ProtoFieldKind> FIELD_KINDS = new ConcurrentHashMap<>();
 
     public static ProtoField getField(Descriptors.FieldDescriptor descriptor, Object fieldValue) {
-        List<ProtoField> protoFields = Arrays.asList(
-                new DurationProtoField(descriptor, fieldValue),
-                new TimestampProtoField(descriptor, fieldValue),
-                new EnumProtoField(descriptor, fieldValue),
-                new StructProtoField(descriptor, fieldValue),
-                new FloatProtoField(descriptor, fieldValue),
-                new IntegerProtoField(descriptor, fieldValue),
-                new MessageProtoField(descriptor, fieldValue));
-        Optional<ProtoField> first = protoFields
-                .stream()
-                .filter(ProtoField::matches)
-                .findFirst();
-        return first.orElseGet(() -> new DefaultProtoField(fieldValue));
+        ProtoFieldKind kind = FIELD_KINDS.get(descriptor);
+        if (kind == null) {
+            kind = FIELD_KINDS.computeIfAbsent(descriptor, ProtoFieldKind::of);
+        }
+        return kind.create(descriptor, fieldValue);
+    }
+
+    /**
+     * Drops the resolved field kinds, to be called when new descriptors are loaded.
+     */
+    public static void clearCache() {
+        FIELD_KINDS.clear();
     }
 }
@@ -0,0 +1,38 @@
+package org.raystack.depot.message.proto.converter.fields;
+
+import com.google.protobuf.Descriptors;
+
+import java.util.function.BiFunction;
+
+/**
+ * Kind of conversion a proto field needs, in the order fields are matched against.
+ */
+enum ProtoFieldKind {
+    DURATION(DurationProtoField::new),
+    TIMESTAMP(TimestampProtoField::new),
+    ENUM(EnumProtoField::new),
+    STRUCT(StructProtoField::new),
+    FLOAT(FloatProtoField::new),
+    INTEGER(IntegerProtoField::new),
+    MESSAGE(MessageProtoField::new),
+    DEFAULT((descriptor, fieldValue) -> new DefaultProtoField(fieldValue));
+
+    private final BiFunction<Descriptors.FieldDescriptor, Object, ProtoField> creator;
+
+    ProtoFieldKind(BiFunction<Descriptors.FieldDescriptor, Object, ProtoField> creator) {
+        this.creator = creator;
+    }
+
+    ProtoField create(Descriptors.FieldDescriptor descriptor, Object fieldValue) {
+        return creator.apply(descriptor, fieldValue);
+    }
+
+    static ProtoFieldKind of(Descriptors.FieldDescriptor descriptor) {
+        for (ProtoFieldKind kind : values()) {
+            if (kind != DEFAULT && kind.create(descriptor, null).matches()) {
+                return kind;
+            }
+        }
+        return DEFAULT;
+    }
+}
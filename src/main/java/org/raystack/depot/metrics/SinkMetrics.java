@@ -11,6 +11,7 @@ public class SinkMetrics {
     public static final String ERROR_MESSAGE_CLASS_TAG = "class";
     public static final String NON_FATAL_ERROR = "nonfatal";
     public static final String FATAL_ERROR = "fatal";
+    public static final String CLIENT_TAG = "client=%s";
 
     @Getter
     private final String applicationPrefix;
@@ -22,4 +23,20 @@ public class SinkMetrics {
     public String getErrorEventMetric() {
         return applicationPrefix + ERROR_PREFIX + "event";
     }
+
+    public String getConcurrencyLimitMetric() {
+        return applicationPrefix + SINK_PREFIX + "concurrency_limit";
+    }
+
+    public String getSpilledMessagesMetric() {
+        return applicationPrefix + SINK_PREFIX + "spilled_messages";
+    }
+
+    public String getDeadLetterMessagesMetric() {
+        return applicationPrefix + SINK_PREFIX + "dead_letter_messages_total";
+    }
+
+    public String getDeadLetterDroppedMetric() {
+        return applicationPrefix + SINK_PREFIX + "dead_letter_dropped_total";
+    }
 }
@@ -1,54 +1,161 @@
 package org.raystack.depot.redis;
 
 import org.raystack.depot.message.Message;
+import org.raystack.depot.message.ParsedMessages;
 import org.raystack.depot.metrics.Instrumentation;
 import org.raystack.depot.redis.client.RedisClient;
 import org.raystack.depot.redis.client.response.RedisResponse;
+import org.raystack.depot.redis.coalescer.RedisCoalescedBatch;
+import org.raystack.depot.redis.coalescer.RedisRecordCoalescer;
 import org.raystack.depot.redis.parsers.RedisParser;
 import org.raystack.depot.redis.record.RedisRecord;
 import org.raystack.depot.redis.util.RedisSinkUtils;
-import org.raystack.depot.Sink;
+import org.raystack.depot.AsyncSink;
+import org.raystack.depot.ParsedSink;
 import org.raystack.depot.SinkResponse;
+import org.raystack.depot.common.RetryExecutor;
 import org.raystack.depot.error.ErrorInfo;
+import org.raystack.depot.exception.SinkException;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-public class RedisSink implements Sink {
+public class RedisSink implements AsyncSink, ParsedSink {
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
     private final RedisClient redisClient;
     private final RedisParser redisParser;
     private final Instrumentation instrumentation;
+    private final RedisRecordCoalescer coalescer;
+    private final RetryExecutor retryExecutor;
+    // redis clients are not thread safe, async sends are serialised on a single thread
+    private final ExecutorService sendExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "depot-redis-sink-send");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public RedisSink(RedisClient redisClient, RedisParser redisParser, Instrumentation instrumentation) {
+        this(redisClient, redisParser, instrumentation, null);
+    }
+
+    /**
+     * @param coalescer merges the records of a batch per key before sending, null to send records as parsed
+     */
+    public RedisSink(RedisClient redisClient, RedisParser redisParser, Instrumentation instrumentation,
+            RedisRecordCoalescer coalescer) {
+        this(redisClient, redisParser, instrumentation, coalescer, RetryExecutor.noRetry());
+    }
+
+    /**
+     * @param retryExecutor resends the records that failed with a retryable error in pushToSink
+     */
+    public RedisSink(RedisClient redisClient, RedisParser redisParser, Instrumentation instrumentation,
+            RedisRecordCoalescer coalescer, RetryExecutor retryExecutor) {
         this.redisClient = redisClient;
         this.redisParser = redisParser;
         this.instrumentation = instrumentation;
+        this.coalescer = coalescer;
+        this.retryExecutor = retryExecutor;
     }
 
     @Override
     public SinkResponse pushToSink(List<Message> messages) {
-        List<RedisRecord> records = redisParser.convert(messages);
-        Map<Boolean, List<RedisRecord>> splitterRecords = records.stream()
-                .collect(Collectors.partitioningBy(RedisRecord::isValid));
-        List<RedisRecord> invalidRecords = splitterRecords.get(Boolean.FALSE);
-        List<RedisRecord> validRecords = splitterRecords.get(Boolean.TRUE);
+        return push(redisParser.convert(messages));
+    }
+
+    @Override
+    public SinkResponse pushParsedToSink(List<Message> messages, ParsedMessages parsedMessages) {
+        return push(redisParser.convert(messages, parsedMessages));
+    }
+
+    private SinkResponse push(List<RedisRecord> records) {
         SinkResponse sinkResponse = new SinkResponse();
-        invalidRecords.forEach(
-                invalidRecord -> sinkResponse.addErrors(invalidRecord.getIndex(), invalidRecord.getErrorInfo()));
+        List<RedisRecord> validRecords = validRecords(records, sinkResponse);
         if (validRecords.size() > 0) {
-            List<RedisResponse> responses = redisClient.send(validRecords);
-            Map<Long, ErrorInfo> errorInfoMap = RedisSinkUtils.getErrorsFromResponse(validRecords, responses,
-                    instrumentation);
-            errorInfoMap.forEach(sinkResponse::addErrors);
-            instrumentation.logInfo("Pushed a batch of {} records to Redis", validRecords.size());
+            sendWithRetries(validRecords).forEach(sinkResponse::addErrors);
         }
         return sinkResponse;
     }
 
+    // reports the records that could not be parsed and returns the others
+    private static List<RedisRecord> validRecords(List<RedisRecord> records, SinkResponse sinkResponse) {
+        Map<Boolean, List<RedisRecord>> splitterRecords = records.stream()
+                .collect(Collectors.partitioningBy(RedisRecord::isValid));
+        splitterRecords.get(Boolean.FALSE).forEach(
+                invalidRecord -> sinkResponse.addErrors(invalidRecord.getIndex(), invalidRecord.getErrorInfo()));
+        return splitterRecords.get(Boolean.TRUE);
+    }
+
+    private Map<Long, ErrorInfo> sendWithRetries(List<RedisRecord> validRecords) {
+        return retryExecutor.execute(validRecords, RedisRecord::getIndex, this::send);
+    }
+
+    /**
+     * Parses the messages on the calling thread and sends them on the sink's send thread,
+     * so the next batch can be parsed while this one is on the wire. Records failing with a retryable error
+     * are resent like in pushToSink, a send that throws completes the future with a {@link SinkException}.
+     */
     @Override
-    public void close() throws IOException {
+    public CompletableFuture<SinkResponse> pushToSinkAsync(List<Message> messages) {
+        SinkResponse sinkResponse = new SinkResponse();
+        List<RedisRecord> validRecords = validRecords(redisParser.convert(messages), sinkResponse);
+        if (validRecords.size() == 0) {
+            return CompletableFuture.completedFuture(sinkResponse);
+        }
+        CompletableFuture<SinkResponse> result = new CompletableFuture<>();
+        try {
+            sendExecutor.execute(() -> {
+                try {
+                    sendWithRetries(validRecords).forEach(sinkResponse::addErrors);
+                    result.complete(sinkResponse);
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(new SinkException("Exception occurred while pushing to Redis", e));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new SinkException("Exception occurred while pushing to Redis", e));
+        }
+        return result;
+    }
+
+    private Map<Long, ErrorInfo> send(List<RedisRecord> validRecords) {
+        List<RedisResponse> responses;
+        if (coalescer == null) {
+            synchronized (redisClient) {
+                responses = redisClient.send(validRecords);
+            }
+        } else {
+            RedisCoalescedBatch batch = coalescer.coalesce(validRecords);
+            List<RedisResponse> coalescedResponses;
+            synchronized (redisClient) {
+                coalescedResponses = redisClient.send(batch.getRecords());
+            }
+            responses = batch.expand(coalescedResponses);
+        }
+        Map<Long, ErrorInfo> errorInfoMap = RedisSinkUtils.getErrorsFromResponse(validRecords, responses,
+                instrumentation);
+        instrumentation.logInfo("Pushed a batch of {} records to Redis", validRecords.size());
+        return errorInfoMap;
+    }
 
+    /**
+     * Waits for the sends in flight before closing the redis client.
+     */
+    @Override
+    public void close() throws IOException {
+        sendExecutor.shutdown();
+        try {
+            sendExecutor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        redisClient.close();
     }
 }
@@ -1,7 +1,10 @@
 package org.raystack.depot.redis;
 
+import org.raystack.depot.common.BatchConverter;
+import org.raystack.depot.common.RetryExecutor;
 import org.raystack.depot.common.Tuple;
 import org.raystack.depot.config.RedisSinkConfig;
+import org.raystack.depot.config.RedisSinkConfigSnapshot;
 import org.raystack.depot.message.MessageParser;
 import org.raystack.depot.message.MessageParserFactory;
 import org.raystack.depot.message.MessageSchema;
@@ -9,12 +12,17 @@ import org.raystack.depot.message.SinkConnectorSchemaMessageMode;
 import org.raystack.depot.metrics.Instrumentation;
 import org.raystack.depot.metrics.StatsDReporter;
 import org.raystack.depot.redis.client.RedisClientFactory;
+import org.raystack.depot.redis.coalescer.RedisRecordCoalescer;
 import org.raystack.depot.redis.parsers.RedisEntryParser;
 import org.raystack.depot.redis.parsers.RedisEntryParserFactory;
 import org.raystack.depot.redis.parsers.RedisParser;
 import org.raystack.depot.utils.MessageConfigUtils;
 import com.timgroup.statsd.NoOpStatsDClient;
+import org.raystack.depot.AsyncSink;
+import org.raystack.depot.BufferingSink;
+import org.raystack.depot.DeadLetterSink;
 import org.raystack.depot.Sink;
+import org.raystack.depot.SpillingSink;
 
 import java.io.IOException;
 
@@ -24,13 +32,12 @@ public class RedisSinkFactory {
     private RedisParser redisParser;
 
     public RedisSinkFactory(RedisSinkConfig sinkConfig, StatsDReporter statsDReporter) {
-        this.sinkConfig = sinkConfig;
+        this.sinkConfig = RedisSinkConfigSnapshot.of(sinkConfig);
         this.statsDReporter = statsDReporter;
     }
 
     public RedisSinkFactory(RedisSinkConfig sinkConfig) {
-        this.sinkConfig = sinkConfig;
-        this.statsDReporter = new StatsDReporter(new NoOpStatsDClient());
+        this(sinkConfig, new StatsDReporter(new NoOpStatsDClient()));
     }
 
     public void init() {
@@ -66,7 +73,8 @@ public class RedisSinkFactory {
             MessageSchema schema = messageParser.getSchema(modeAndSchema.getSecond());
             RedisEntryParser redisEntryParser = RedisEntryParserFactory.getRedisEntryParser(sinkConfig, statsDReporter,
                     schema);
-            this.redisParser = new RedisParser(messageParser, redisEntryParser, modeAndSchema);
+            this.redisParser = new RedisParser(messageParser, redisEntryParser, modeAndSchema,
+                    BatchConverter.create(sinkConfig));
             instrumentation.logInfo("Connection to redis established successfully");
         } catch (IOException e) {
             throw new IllegalArgumentException("Exception occurred while creating Redis sink", e);
@@ -79,9 +87,26 @@ public class RedisSinkFactory {
      * @return RedisSink
      */
     public Sink create() {
+        return BufferingSink.wrap(SpillingSink.wrap(DeadLetterSink.wrap(createSink(), sinkConfig, statsDReporter),
+                sinkConfig, statsDReporter), sinkConfig);
+    }
+
+    /**
+     * Same as create without spilling and dead letters, the returned sink can also push batches asynchronously
+     * and is buffered when SINK_BUFFER_ENABLE is set.
+     */
+    public AsyncSink createAsync() {
+        return BufferingSink.wrapAsync(createSink(), sinkConfig);
+    }
+
+    private AsyncSink createSink() {
         return new RedisSink(
                 RedisClientFactory.getClient(sinkConfig, statsDReporter),
                 redisParser,
-                new Instrumentation(statsDReporter, RedisSink.class));
+                new Instrumentation(statsDReporter, RedisSink.class),
+                sinkConfig.getSinkRedisCommandCoalescingEnable()
+                        ? new RedisRecordCoalescer(new Instrumentation(statsDReporter, RedisRecordCoalescer.class))
+                        : null,
+                RetryExecutor.create(sinkConfig));
     }
 }
@@ -0,0 +1,49 @@
+package org.raystack.depot.redis.client;
+
+import org.raystack.depot.common.AdaptiveConcurrencyLimiter;
+import org.raystack.depot.redis.client.response.RedisResponse;
+import org.raystack.depot.redis.record.RedisRecord;
+import org.raystack.depot.redis.util.RedisSinkUtils;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Sends through the wrapped client once the concurrency limiter lets the request through.
+ * Responses redis answers with while it is loading, busy or failing over shrink the limit.
+ */
+public class LimitedRedisClient implements RedisClient {
+    private final RedisClient redisClient;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public LimitedRedisClient(RedisClient redisClient, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.redisClient = redisClient;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Override
+    public List<RedisResponse> send(List<RedisRecord> records) {
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire();
+        try {
+            List<RedisResponse> responses = redisClient.send(records);
+            if (responses.stream().anyMatch(response -> response.isFailed()
+                    && RedisSinkUtils.isTransientError(response.getMessage()))) {
+                permit.onDropped();
+            } else {
+                permit.onSuccess();
+            }
+            return responses;
+        } catch (JedisConnectionException e) {
+            permit.onDropped();
+            throw e;
+        } finally {
+            permit.onIgnore();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        redisClient.close();
+    }
+}
@@ -1,5 +1,6 @@
 package org.raystack.depot.redis.client;
 
+import org.raystack.depot.common.AdaptiveConcurrencyLimiter;
 import org.raystack.depot.config.RedisSinkConfig;
 import org.raystack.depot.exception.ConfigurationException;
 import org.raystack.depot.metrics.Instrumentation;
@@ -13,6 +14,7 @@ import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisCluster;
 
 import java.util.HashSet;
+import java.util.concurrent.Executors;
 
 /**
  * Redis client factory.
@@ -24,9 +26,14 @@ public class RedisClientFactory {
     public static RedisClient getClient(RedisSinkConfig redisSinkConfig, StatsDReporter statsDReporter) {
         RedisSinkDeploymentType redisSinkDeploymentType = redisSinkConfig.getSinkRedisDeploymentType();
         RedisTtl redisTTL = RedisTTLFactory.getTTl(redisSinkConfig);
-        return RedisSinkDeploymentType.CLUSTER.equals(redisSinkDeploymentType)
+        RedisClient redisClient = RedisSinkDeploymentType.CLUSTER.equals(redisSinkDeploymentType)
                 ? getRedisClusterClient(redisTTL, redisSinkConfig, statsDReporter)
                 : getRedisStandaloneClient(redisTTL, redisSinkConfig, statsDReporter);
+        if (!redisSinkConfig.getSinkAdaptiveConcurrencyEnable()) {
+            return redisClient;
+        }
+        return new LimitedRedisClient(redisClient, AdaptiveConcurrencyLimiter.create("redis", redisSinkConfig,
+                new Instrumentation(statsDReporter, LimitedRedisClient.class)));
     }
 
     private static RedisStandaloneClient getRedisStandaloneClient(RedisTtl redisTTL, RedisSinkConfig redisSinkConfig,
@@ -43,7 +50,7 @@ public class RedisClientFactory {
                 jedis);
     }
 
-    private static RedisClusterClient getRedisClusterClient(RedisTtl redisTTL, RedisSinkConfig redisSinkConfig,
+    private static RedisClient getRedisClusterClient(RedisTtl redisTTL, RedisSinkConfig redisSinkConfig,
             StatsDReporter statsDReporter) {
         String[] redisUrls = redisSinkConfig.getSinkRedisUrls().split(DELIMITER);
         HashSet<HostAndPort> nodes = new HashSet<>();
@@ -56,6 +63,11 @@ public class RedisClientFactory {
                     String.format("Invalid url(s) for redis cluster: %s", redisSinkConfig.getSinkRedisUrls()));
         }
         JedisCluster jedisCluster = new JedisCluster(nodes);
+        if (redisSinkConfig.getSinkRedisClusterPipelineEnable()) {
+            return new RedisClusterPipelineClient(
+                    new Instrumentation(statsDReporter, RedisClusterPipelineClient.class), redisTTL, jedisCluster,
+                    Executors.newFixedThreadPool(Math.max(1, jedisCluster.getClusterNodes().size())));
+        }
         return new RedisClusterClient(new Instrumentation(statsDReporter, RedisClusterClient.class), redisTTL,
                 jedisCluster);
     }
@@ -0,0 +1,148 @@
+package org.raystack.depot.redis.client;
+
+import org.raystack.depot.metrics.Instrumentation;
+import org.raystack.depot.redis.client.response.RedisClusterResponse;
+import org.raystack.depot.redis.client.response.RedisResponse;
+import org.raystack.depot.redis.client.response.RedisStandaloneResponse;
+import org.raystack.depot.redis.record.RedisRecord;
+import org.raystack.depot.redis.ttl.RedisTtl;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.util.JedisClusterCRC16;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Redis cluster client which groups records by the node owning their hash slot
+ * and sends one pipeline per node, all nodes in parallel.
+ * Records redirected by the cluster are resent through {@link JedisCluster}, which follows the redirection.
+ */
+public class RedisClusterPipelineClient implements RedisClient {
+    private static final int HASH_SLOTS = 16384;
+
+    private final Instrumentation instrumentation;
+    private final RedisTtl redisTTL;
+    private final JedisCluster jedisCluster;
+    private final ExecutorService executorService;
+    private String[] slotOwners;
+
+    public RedisClusterPipelineClient(Instrumentation instrumentation, RedisTtl redisTTL, JedisCluster jedisCluster,
+            ExecutorService executorService) {
+        this.instrumentation = instrumentation;
+        this.redisTTL = redisTTL;
+        this.jedisCluster = jedisCluster;
+        this.executorService = executorService;
+    }
+
+    @Override
+    public List<RedisResponse> send(List<RedisRecord> records) {
+        if (slotOwners == null) {
+            refreshSlotOwners();
+        }
+        Map<String, List<Integer>> indexesByNode = new LinkedHashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            String node = slotOwners[JedisClusterCRC16.getSlot(records.get(i).getKey())];
+            indexesByNode.computeIfAbsent(node, n -> new ArrayList<>()).add(i);
+        }
+        Map<String, JedisPool> pools = jedisCluster.getClusterNodes();
+        Map<String, Future<List<RedisStandaloneResponse>>> nodeResponses = new LinkedHashMap<>();
+        indexesByNode.forEach((node, indexes) -> {
+            JedisPool pool = node == null ? null : pools.get(node);
+            if (pool != null) {
+                nodeResponses.put(node, executorService.submit(() -> sendPipeline(pool, records, indexes)));
+            }
+        });
+
+        RedisResponse[] responses = new RedisResponse[records.size()];
+        boolean refreshNeeded = false;
+        for (Map.Entry<String, List<Integer>> entry : indexesByNode.entrySet()) {
+            List<Integer> indexes = entry.getValue();
+            Future<List<RedisStandaloneResponse>> future = nodeResponses.get(entry.getKey());
+            if (future == null) {
+                refreshNeeded = true;
+                continue;
+            }
+            try {
+                List<RedisStandaloneResponse> pipelineResponses = future.get();
+                for (int i = 0; i < indexes.size(); i++) {
+                    RedisStandaloneResponse response = pipelineResponses.get(i);
+                    if (response.isRedirected()) {
+                        refreshNeeded = true;
+                    } else {
+                        responses[indexes.get(i)] = response;
+                    }
+                }
+            } catch (ExecutionException e) {
+                instrumentation.logError("Pipeline to redis node {} failed: {}", entry.getKey(), e.getCause());
+                refreshNeeded = true;
+                indexes.forEach(index -> responses[index] = new RedisClusterResponse(e.getCause().getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                indexes.forEach(index -> responses[index] = new RedisClusterResponse(e.getMessage()));
+            }
+        }
+        // records without a known node or moved since the last refresh go through the cluster client
+        for (int i = 0; i < responses.length; i++) {
+            if (responses[i] == null) {
+                responses[i] = records.get(i).send(jedisCluster, redisTTL);
+            }
+        }
+        if (refreshNeeded) {
+            refreshSlotOwners();
+        }
+        return Arrays.asList(responses);
+    }
+
+    private List<RedisStandaloneResponse> sendPipeline(JedisPool pool, List<RedisRecord> records,
+            List<Integer> indexes) {
+        List<RedisStandaloneResponse> responses = new ArrayList<>(indexes.size());
+        try (Jedis jedis = pool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            indexes.forEach(index -> responses.add(records.get(index).send(pipeline, redisTTL)));
+            pipeline.sync();
+        }
+        responses.forEach(RedisStandaloneResponse::process);
+        return responses;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void refreshSlotOwners() {
+        String[] owners = new String[HASH_SLOTS];
+        for (JedisPool pool : jedisCluster.getClusterNodes().values()) {
+            try (Jedis jedis = pool.getResource()) {
+                for (Object slotRange : jedis.clusterSlots()) {
+                    List<Object> range = (List<Object>) slotRange;
+                    List<Object> master = (List<Object>) range.get(2);
+                    String node = SafeEncoder.encode((byte[]) master.get(0)) + ":" + master.get(1);
+                    int start = ((Long) range.get(0)).intValue();
+                    int end = ((Long) range.get(1)).intValue();
+                    Arrays.fill(owners, start, end + 1, node);
+                }
+                slotOwners = owners;
+                return;
+            } catch (JedisException e) {
+                instrumentation.logWarn("Could not fetch cluster slots from node: {}", e.getMessage());
+            }
+        }
+        instrumentation.logWarn("Could not fetch cluster slots from any node, records will be sent one by one");
+        slotOwners = owners;
+    }
+
+    @Override
+    public void close() {
+        instrumentation.logInfo("Closing Jedis client");
+        executorService.shutdown();
+        jedisCluster.close();
+    }
+}
@@ -11,6 +11,13 @@ import redis.clients.jedis.Pipeline;
  */
 public interface RedisEntry {
 
+    /**
+     * Key this entry is written to.
+     *
+     * @return the redis key
+     */
+    String getKey();
+
     /**
      * Push messages to jedis pipeline.
      *
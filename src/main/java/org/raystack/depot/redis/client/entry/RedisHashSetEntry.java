@@ -0,0 +1,61 @@
+package org.raystack.depot.redis.client.entry;
+
+import org.raystack.depot.metrics.Instrumentation;
+import org.raystack.depot.redis.client.response.RedisClusterResponse;
+import org.raystack.depot.redis.client.response.RedisStandaloneResponse;
+import org.raystack.depot.redis.ttl.RedisTtl;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.util.Map;
+
+/**
+ * Class for Redis Hash set entry writing several fields of a key in one HSET.
+ */
+@AllArgsConstructor
+@EqualsAndHashCode
+public class RedisHashSetEntry implements RedisEntry {
+
+    private final String key;
+    private final Map<String, String> fields;
+    @EqualsAndHashCode.Exclude
+    private final Instrumentation instrumentation;
+
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    public Map<String, String> getFields() {
+        return fields;
+    }
+
+    @Override
+    public RedisStandaloneResponse send(Pipeline jedisPipelined, RedisTtl redisTTL) {
+        instrumentation.logDebug("key: {}, fields: {}", key, fields);
+        Response<Long> response = jedisPipelined.hset(key, fields);
+        Response<Long> ttlResponse = redisTTL.setTtl(jedisPipelined, key);
+        return new RedisStandaloneResponse("HSET", response, ttlResponse);
+    }
+
+    @Override
+    public RedisClusterResponse send(JedisCluster jedisCluster, RedisTtl redisTTL) {
+        instrumentation.logDebug("key: {}, fields: {}", key, fields);
+        try {
+            Long response = jedisCluster.hset(key, fields);
+            Long ttlResponse = redisTTL.setTtl(jedisCluster, key);
+            return new RedisClusterResponse("HSET", response, ttlResponse);
+        } catch (JedisException e) {
+            return new RedisClusterResponse(e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RedisHashSetEntry Key %s, Fields %s", key, fields);
+    }
+}
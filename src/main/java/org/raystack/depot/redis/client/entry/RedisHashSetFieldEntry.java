@@ -24,6 +24,7 @@ public class RedisHashSetFieldEntry implements RedisEntry {
     @EqualsAndHashCode.Exclude
     private final Instrumentation instrumentation;
 
+    @Override
     public String getKey() {
         return key;
     }
@@ -19,6 +19,15 @@ public class RedisKeyValueEntry implements RedisEntry {
     @EqualsAndHashCode.Exclude
     private final Instrumentation instrumentation;
 
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
     @Override
     public RedisStandaloneResponse send(Pipeline jedisPipelined, RedisTtl redisTTL) {
         instrumentation.logDebug("key: {}, value: {}", key, value);
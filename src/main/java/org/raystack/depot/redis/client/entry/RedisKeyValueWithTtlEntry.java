@@ -0,0 +1,67 @@
+package org.raystack.depot.redis.client.entry;
+
+import org.raystack.depot.metrics.Instrumentation;
+import org.raystack.depot.redis.client.response.RedisClusterResponse;
+import org.raystack.depot.redis.client.response.RedisStandaloneResponse;
+import org.raystack.depot.redis.ttl.RedisTtl;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.params.SetParams;
+
+/**
+ * Key value entry which sets the TTL in the SET command itself when the TTL type allows it.
+ */
+@AllArgsConstructor
+@EqualsAndHashCode
+public class RedisKeyValueWithTtlEntry implements RedisEntry {
+    private final String key;
+    private final String value;
+    @EqualsAndHashCode.Exclude
+    private final Instrumentation instrumentation;
+
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public RedisStandaloneResponse send(Pipeline jedisPipelined, RedisTtl redisTTL) {
+        instrumentation.logDebug("key: {}, value: {}", key, value);
+        SetParams setParams = redisTTL.getSetParams();
+        if (setParams != null) {
+            return new RedisStandaloneResponse("SET EX", jedisPipelined.set(key, value, setParams), null);
+        }
+        Response<String> response = jedisPipelined.set(key, value);
+        Response<Long> ttlResponse = redisTTL.setTtl(jedisPipelined, key);
+        return new RedisStandaloneResponse("SET", response, ttlResponse);
+    }
+
+    @Override
+    public RedisClusterResponse send(JedisCluster jedisCluster, RedisTtl redisTTL) {
+        instrumentation.logDebug("key: {}, value: {}", key, value);
+        try {
+            SetParams setParams = redisTTL.getSetParams();
+            if (setParams != null) {
+                return new RedisClusterResponse("SET EX", jedisCluster.set(key, value, setParams), null);
+            }
+            String response = jedisCluster.set(key, value);
+            Long ttlResponse = redisTTL.setTtl(jedisCluster, key);
+            return new RedisClusterResponse("SET", response, ttlResponse);
+        } catch (JedisException e) {
+            return new RedisClusterResponse(e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RedisKeyValueWithTtlEntry: Key %s, Value %s", key, value);
+    }
+}
@@ -22,6 +22,15 @@ public class RedisListEntry implements RedisEntry {
     @EqualsAndHashCode.Exclude
     private final Instrumentation instrumentation;
 
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
     @Override
     public RedisStandaloneResponse send(Pipeline jedisPipelined, RedisTtl redisTTL) {
         instrumentation.logDebug("key: {}, value: {}", key, value);
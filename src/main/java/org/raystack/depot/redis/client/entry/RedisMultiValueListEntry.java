@@ -0,0 +1,61 @@
+package org.raystack.depot.redis.client.entry;
+
+import org.raystack.depot.metrics.Instrumentation;
+import org.raystack.depot.redis.client.response.RedisClusterResponse;
+import org.raystack.depot.redis.client.response.RedisStandaloneResponse;
+import org.raystack.depot.redis.ttl.RedisTtl;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.util.List;
+
+/**
+ * Class for Redis list entry pushing several values of a key in one LPUSH.
+ * Values are pushed in list order, same as pushing them one by one.
+ */
+@AllArgsConstructor
+@EqualsAndHashCode
+public class RedisMultiValueListEntry implements RedisEntry {
+    private final String key;
+    private final List<String> values;
+    @EqualsAndHashCode.Exclude
+    private final Instrumentation instrumentation;
+
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    public List<String> getValues() {
+        return values;
+    }
+
+    @Override
+    public RedisStandaloneResponse send(Pipeline jedisPipelined, RedisTtl redisTTL) {
+        instrumentation.logDebug("key: {}, values: {}", key, values);
+        Response<Long> response = jedisPipelined.lpush(key, values.toArray(new String[0]));
+        Response<Long> ttlResponse = redisTTL.setTtl(jedisPipelined, key);
+        return new RedisStandaloneResponse("LPUSH", response, ttlResponse);
+    }
+
+    @Override
+    public RedisClusterResponse send(JedisCluster jedisCluster, RedisTtl redisTTL) {
+        instrumentation.logDebug("key: {}, values: {}", key, values);
+        try {
+            Long response = jedisCluster.lpush(key, values.toArray(new String[0]));
+            Long ttlResponse = redisTTL.setTtl(jedisCluster, key);
+            return new RedisClusterResponse("LPUSH", response, ttlResponse);
+        } catch (JedisException e) {
+            return new RedisClusterResponse(e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RedisMultiValueListEntry: Key %s, Values %s", key, values);
+    }
+}
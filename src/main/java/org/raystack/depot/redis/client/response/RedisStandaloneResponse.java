@@ -3,6 +3,7 @@ package org.raystack.depot.redis.client.response;
 import lombok.Getter;
 import redis.clients.jedis.Response;
 import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.exceptions.JedisRedirectionException;
 
 public class RedisStandaloneResponse implements RedisResponse {
     private final Response response;
@@ -12,6 +13,8 @@ public class RedisStandaloneResponse implements RedisResponse {
     private String message;
     @Getter
     private boolean failed = true;
+    @Getter
+    private boolean redirected = false;
 
     public RedisStandaloneResponse(String command, Response response, Response ttlResponse) {
         this.command = command;
@@ -28,6 +31,7 @@ public class RedisStandaloneResponse implements RedisResponse {
         } catch (JedisException e) {
             message = e.getMessage();
             failed = true;
+            redirected = e instanceof JedisRedirectionException;
         }
         return this;
     }
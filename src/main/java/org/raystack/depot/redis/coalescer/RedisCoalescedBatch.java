@@ -0,0 +1,36 @@
+package org.raystack.depot.redis.coalescer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.raystack.depot.redis.client.response.RedisResponse;
+import org.raystack.depot.redis.record.RedisRecord;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Coalesced records of a batch, along with the positions of the source records each one was built from.
+ */
+@AllArgsConstructor
+public class RedisCoalescedBatch {
+    @Getter
+    private final List<RedisRecord> records;
+    private final List<List<Integer>> sourcePositions;
+    private final int sourceCount;
+
+    /**
+     * Maps the responses of the coalesced records back to the source records,
+     * every source record gets the response of the command it was merged into.
+     *
+     * @param responses responses in the order of {@link #getRecords()}
+     * @return responses in the order of the source records
+     */
+    public List<RedisResponse> expand(List<RedisResponse> responses) {
+        RedisResponse[] expanded = new RedisResponse[sourceCount];
+        for (int i = 0; i < responses.size(); i++) {
+            RedisResponse response = responses.get(i);
+            sourcePositions.get(i).forEach(position -> expanded[position] = response);
+        }
+        return Arrays.asList(expanded);
+    }
+}
@@ -0,0 +1,100 @@
+package org.raystack.depot.redis.coalescer;
+
+import org.raystack.depot.metrics.Instrumentation;
+import org.raystack.depot.redis.client.entry.RedisEntry;
+import org.raystack.depot.redis.client.entry.RedisHashSetEntry;
+import org.raystack.depot.redis.client.entry.RedisHashSetFieldEntry;
+import org.raystack.depot.redis.client.entry.RedisKeyValueEntry;
+import org.raystack.depot.redis.client.entry.RedisKeyValueWithTtlEntry;
+import org.raystack.depot.redis.client.entry.RedisListEntry;
+import org.raystack.depot.redis.client.entry.RedisMultiValueListEntry;
+import org.raystack.depot.redis.record.RedisRecord;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges the entries of a batch per key, so every key is written with one command and one TTL command.
+ * Hash set fields become one variadic HSET, list values one multi-value LPUSH, and key values
+ * one SET carrying the TTL where possible. Later writes to the same hash field or key win, as they would
+ * when sent one by one.
+ */
+public class RedisRecordCoalescer {
+    private final Instrumentation instrumentation;
+
+    public RedisRecordCoalescer(Instrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+    }
+
+    public RedisCoalescedBatch coalesce(List<RedisRecord> records) {
+        Map<String, KeyGroup> groups = new LinkedHashMap<>();
+        List<KeyGroup> orderedGroups = new ArrayList<>();
+        for (int position = 0; position < records.size(); position++) {
+            RedisRecord record = records.get(position);
+            RedisEntry entry = record.getRedisEntry();
+            KeyGroup group;
+            if (entry instanceof RedisHashSetFieldEntry
+                    || entry instanceof RedisKeyValueEntry
+                    || entry instanceof RedisListEntry) {
+                group = groups.computeIfAbsent(entry.getClass().getSimpleName() + ":" + entry.getKey(), k -> {
+                    KeyGroup newGroup = new KeyGroup(record);
+                    orderedGroups.add(newGroup);
+                    return newGroup;
+                });
+            } else {
+                group = new KeyGroup(record);
+                orderedGroups.add(group);
+            }
+            group.add(position, entry);
+        }
+        List<RedisRecord> coalesced = new ArrayList<>(orderedGroups.size());
+        List<List<Integer>> sourcePositions = new ArrayList<>(orderedGroups.size());
+        for (KeyGroup group : orderedGroups) {
+            coalesced.add(group.toRecord(instrumentation));
+            sourcePositions.add(group.positions);
+        }
+        instrumentation.logDebug("Coalesced {} redis records into {}", records.size(), coalesced.size());
+        return new RedisCoalescedBatch(coalesced, sourcePositions, records.size());
+    }
+
+    private static final class KeyGroup {
+        private final RedisRecord first;
+        private final List<Integer> positions = new ArrayList<>();
+        private final Map<String, String> fields = new LinkedHashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        private KeyGroup(RedisRecord first) {
+            this.first = first;
+        }
+
+        private void add(int position, RedisEntry entry) {
+            positions.add(position);
+            if (entry instanceof RedisHashSetFieldEntry) {
+                RedisHashSetFieldEntry fieldEntry = (RedisHashSetFieldEntry) entry;
+                fields.put(fieldEntry.getField(), fieldEntry.getValue());
+            } else if (entry instanceof RedisKeyValueEntry) {
+                values.add(((RedisKeyValueEntry) entry).getValue());
+            } else if (entry instanceof RedisListEntry) {
+                values.add(((RedisListEntry) entry).getValue());
+            }
+        }
+
+        private RedisRecord toRecord(Instrumentation instrumentation) {
+            RedisEntry entry = first.getRedisEntry();
+            RedisEntry coalescedEntry;
+            if (entry instanceof RedisHashSetFieldEntry) {
+                coalescedEntry = new RedisHashSetEntry(entry.getKey(), fields, instrumentation);
+            } else if (entry instanceof RedisKeyValueEntry) {
+                coalescedEntry = new RedisKeyValueWithTtlEntry(entry.getKey(), values.get(values.size() - 1),
+                        instrumentation);
+            } else if (entry instanceof RedisListEntry) {
+                coalescedEntry = new RedisMultiValueListEntry(entry.getKey(), values, instrumentation);
+            } else {
+                return first;
+            }
+            return new RedisRecord(coalescedEntry, first.getIndex(), null, first.getMetadata(), true);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.raystack.depot.redis.parsers;
 
 import org.raystack.depot.redis.client.entry.RedisEntry;
 import org.raystack.depot.redis.record.RedisRecord;
+import org.raystack.depot.common.BatchConverter;
 import org.raystack.depot.common.Tuple;
 import org.raystack.depot.error.ErrorInfo;
 import org.raystack.depot.error.ErrorType;
@@ -10,14 +11,15 @@ import org.raystack.depot.exception.DeserializerException;
 import org.raystack.depot.message.Message;
 import org.raystack.depot.message.MessageParser;
 import org.raystack.depot.message.ParsedMessage;
+import org.raystack.depot.message.ParsedMessages;
 import org.raystack.depot.message.SinkConnectorSchemaMessageMode;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.IntStream;
 
 /**
  * Convert Messages to RedisRecords.
@@ -29,36 +31,52 @@ public class RedisParser {
     private final MessageParser messageParser;
     private final RedisEntryParser redisEntryParser;
     private final Tuple<SinkConnectorSchemaMessageMode, String> modeAndSchema;
+    private final BatchConverter batchConverter;
+
+    public RedisParser(MessageParser messageParser, RedisEntryParser redisEntryParser,
+            Tuple<SinkConnectorSchemaMessageMode, String> modeAndSchema) {
+        this(messageParser, redisEntryParser, modeAndSchema, BatchConverter.sequential());
+    }
 
     public List<RedisRecord> convert(List<Message> messages) {
+        return convert(messages, ParsedMessages.none());
+    }
+
+    /**
+     * Converts the messages, reusing the ones already parsed with the same mode and schema class.
+     */
+    public List<RedisRecord> convert(List<Message> messages, ParsedMessages parsedMessages) {
         List<RedisRecord> records = new ArrayList<>();
-        IntStream.range(0, messages.size()).forEach(index -> {
-            try {
-                ParsedMessage parsedMessage = messageParser.parse(messages.get(index), modeAndSchema.getFirst(),
-                        modeAndSchema.getSecond());
-                List<RedisEntry> redisDataEntries = redisEntryParser.getRedisEntry(parsedMessage);
-                for (RedisEntry redisEntry : redisDataEntries) {
-                    records.add(new RedisRecord(redisEntry, (long) index, null, messages.get(index).getMetadataString(),
-                            true));
-                }
-            } catch (UnsupportedOperationException e) {
-                records.add(createAndLogErrorRecord(e, ErrorType.INVALID_MESSAGE_ERROR, index, messages));
-            } catch (ConfigurationException e) {
-                records.add(createAndLogErrorRecord(e, ErrorType.UNKNOWN_FIELDS_ERROR, index, messages));
-            } catch (IllegalArgumentException e) {
-                records.add(createAndLogErrorRecord(e, ErrorType.DEFAULT_ERROR, index, messages));
-            } catch (DeserializerException | IOException e) {
-                records.add(createAndLogErrorRecord(e, ErrorType.DESERIALIZATION_ERROR, index, messages));
-            }
-        });
+        batchConverter.convert(messages, (message, index) -> toRecords(message, index, parsedMessages))
+                .forEach(records::addAll);
         return records;
     }
 
-    private RedisRecord createAndLogErrorRecord(Exception e, ErrorType type, int index, List<Message> messages) {
+    private List<RedisRecord> toRecords(Message message, int index, ParsedMessages parsedMessages) {
+        try {
+            ParsedMessage parsedMessage = parsedMessages.getOrParse(message, index, messageParser,
+                    modeAndSchema.getFirst(), modeAndSchema.getSecond());
+            List<RedisEntry> redisDataEntries = redisEntryParser.getRedisEntry(parsedMessage);
+            List<RedisRecord> records = new ArrayList<>(redisDataEntries.size());
+            for (RedisEntry redisEntry : redisDataEntries) {
+                records.add(new RedisRecord(redisEntry, (long) index, null, message.getMetadataString(), true));
+            }
+            return records;
+        } catch (UnsupportedOperationException e) {
+            return createAndLogErrorRecord(e, ErrorType.INVALID_MESSAGE_ERROR, index, message);
+        } catch (ConfigurationException e) {
+            return createAndLogErrorRecord(e, ErrorType.UNKNOWN_FIELDS_ERROR, index, message);
+        } catch (IllegalArgumentException e) {
+            return createAndLogErrorRecord(e, ErrorType.DEFAULT_ERROR, index, message);
+        } catch (DeserializerException | IOException e) {
+            return createAndLogErrorRecord(e, ErrorType.DESERIALIZATION_ERROR, index, message);
+        }
+    }
+
+    private List<RedisRecord> createAndLogErrorRecord(Exception e, ErrorType type, int index, Message message) {
         ErrorInfo errorInfo = new ErrorInfo(e, type);
-        RedisRecord record = new RedisRecord(null, (long) index, errorInfo, messages.get(index).getMetadataString(),
-                false);
+        RedisRecord record = new RedisRecord(null, (long) index, errorInfo, message.getMetadataString(), false);
         log.error("Error while parsing record for message. Record: {}, Error: {}", record, errorInfo);
-        return record;
+        return Collections.singletonList(record);
     }
 }
@@ -12,6 +12,7 @@ import redis.clients.jedis.Pipeline;
 
 @AllArgsConstructor
 public class RedisRecord {
+    @Getter
     private RedisEntry redisEntry;
     @Getter
     private final Long index;
@@ -22,6 +23,10 @@ public class RedisRecord {
     @Getter
     private final boolean valid;
 
+    public String getKey() {
+        return redisEntry.getKey();
+    }
+
     public RedisStandaloneResponse send(Pipeline jedisPipelined, RedisTtl redisTTL) {
         return redisEntry.send(jedisPipelined, redisTTL);
     }
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.Response;
+import redis.clients.jedis.params.SetParams;
 
 @AllArgsConstructor
 public class DurationTtl implements RedisTtl {
@@ -18,4 +19,15 @@ public class DurationTtl implements RedisTtl {
     public Long setTtl(JedisCluster jedisCluster, String key) {
         return jedisCluster.expire(key, ttlInSeconds);
     }
+
+    /**
+     * Redis rejects SET with a non positive EX, such a TTL is left to EXPIRE as before.
+     */
+    @Override
+    public SetParams getSetParams() {
+        if (ttlInSeconds <= 0) {
+            return null;
+        }
+        return SetParams.setParams().ex(ttlInSeconds);
+    }
 }
@@ -3,6 +3,7 @@ package org.raystack.depot.redis.ttl;
 import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.Response;
+import redis.clients.jedis.params.SetParams;
 
 /**
  * Interface for RedisTTL.
@@ -11,4 +12,13 @@ public interface RedisTtl {
     Response<Long> setTtl(Pipeline jedisPipelined, String key);
 
     Long setTtl(JedisCluster jedisCluster, String key);
+
+    /**
+     * TTL as SET options, so key-value writes can carry their expiry in the same command.
+     *
+     * @return the set params, or null when the TTL has to be set with a separate command
+     */
+    default SetParams getSetParams() {
+        return null;
+    }
 }
@@ -12,6 +12,11 @@ import java.util.Map;
 import java.util.stream.IntStream;
 
 public class RedisSinkUtils {
+    /**
+     * Error prefixes redis replies with while the server or cluster is temporarily unable to serve writes.
+     */
+    private static final String[] TRANSIENT_ERROR_PREFIXES = {"LOADING", "BUSY", "TRYAGAIN", "CLUSTERDOWN", "MASTERDOWN"};
+
     public static Map<Long, ErrorInfo> getErrorsFromResponse(List<RedisRecord> redisRecords,
             List<RedisResponse> responses, Instrumentation instrumentation) {
         Map<Long, ErrorInfo> errors = new HashMap<>();
@@ -23,9 +28,27 @@ public class RedisSinkUtils {
                         instrumentation.logError("Error while inserting to redis for message. Record: {}, Error: {}",
                                 record.toString(), response.getMessage());
                         errors.put(record.getIndex(),
-                                new ErrorInfo(new Exception(response.getMessage()), ErrorType.DEFAULT_ERROR));
+                                new ErrorInfo(new Exception(response.getMessage()), getErrorType(response.getMessage())));
                     }
                 });
         return errors;
     }
+
+    private static ErrorType getErrorType(String message) {
+        return isTransientError(message) ? ErrorType.SINK_RETRYABLE_ERROR : ErrorType.DEFAULT_ERROR;
+    }
+
+    /**
+     * Whether redis rejected the command because it is temporarily unable to serve writes.
+     */
+    public static boolean isTransientError(String message) {
+        if (message != null) {
+            for (String prefix : TRANSIENT_ERROR_PREFIXES) {
+                if (message.startsWith(prefix)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 }
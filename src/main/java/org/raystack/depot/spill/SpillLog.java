@@ -0,0 +1,349 @@
+package org.raystack.depot.spill;
+
+import org.raystack.depot.common.DirectoryLock;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Append only log of records kept in memory mapped segment files of SINK_SPILL_SEGMENT_BYTES each.
+ * At most SINK_SPILL_MAX_BYTES worth of segments exist at once, appends that do not fit are refused. Segments are
+ * unmapped when they are deleted, as the disk space of a deleted file stays in use as long as it is mapped.
+ * <p>
+ * Every record is written as its length, the CRC32 of its bytes and the bytes, and segments are forced to disk
+ * after every append. The position of the first unread record is kept in a head file replaced atomically.
+ * When opened, the segments are scanned and everything from the first torn or corrupt record of a segment is erased,
+ * so a crash loses at most the append in progress. Records read but not yet advanced over are read again after a crash.
+ * <p>
+ * A lock file makes sure only one log uses the directory at a time, {@link #openUnused} gives every log
+ * configured with the same directory a subdirectory of its own.
+ */
+public class SpillLog implements Closeable {
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int HEAD_FILE_BYTES = Long.BYTES + Integer.BYTES * 2;
+    private static final String SEGMENT_SUFFIX = ".segment";
+    private static final String HEAD_FILE = "head";
+    private final Path directory;
+    private final int segmentBytes;
+    private final long maxSegments;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final DirectoryLock directoryLock;
+    private long headSegment;
+    private int headOffset;
+    private long nextSegment;
+    private long records;
+
+    public SpillLog(Path directory, int segmentBytes, long maxBytes) throws IOException {
+        this(lock(directory), segmentBytes, maxBytes);
+    }
+
+    private SpillLog(DirectoryLock directoryLock, int segmentBytes, long maxBytes) throws IOException {
+        this.directory = directoryLock.getDirectory();
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = Math.max(1, maxBytes / segmentBytes);
+        this.directoryLock = directoryLock;
+        try {
+            recover();
+        } catch (IOException | RuntimeException e) {
+            directoryLock.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a log in the first numbered subdirectory of the parent no other spill log uses.
+     */
+    public static SpillLog openUnused(Path parent, int segmentBytes, long maxBytes) throws IOException {
+        return new SpillLog(DirectoryLock.lockUnused(parent), segmentBytes, maxBytes);
+    }
+
+    private static DirectoryLock lock(Path directory) throws IOException {
+        DirectoryLock directoryLock = DirectoryLock.tryLock(directory);
+        if (directoryLock == null) {
+            throw new IOException("Spill directory " + directory + " is used by another spill log");
+        }
+        return directoryLock;
+    }
+
+    private void recover() throws IOException {
+        readHead();
+        List<Long> ids = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                ids.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        ids.sort(Long::compare);
+        for (long id : ids) {
+            if (id < headSegment) {
+                Files.deleteIfExists(segmentPath(id));
+                continue;
+            }
+            Segment segment = new Segment(id, map(id));
+            segment.writeOffset = scan(segment);
+            segments.put(id, segment);
+        }
+        if (segments.isEmpty() || segments.firstKey() != headSegment) {
+            headSegment = segments.isEmpty() ? headSegment : segments.firstKey();
+            headOffset = 0;
+        }
+        headOffset = Math.min(headOffset, segments.isEmpty() ? 0 : segments.firstEntry().getValue().writeOffset);
+        nextSegment = segments.isEmpty() ? headSegment : segments.lastKey() + 1;
+        records = count();
+    }
+
+    // returns the end of the valid records and erases whatever follows
+    private int scan(Segment segment) {
+        int offset = 0;
+        while (offset + HEADER_BYTES <= segmentBytes) {
+            int length = segment.buffer.getInt(offset);
+            if (length <= 0 || length > segmentBytes - offset - HEADER_BYTES
+                    || segment.buffer.getInt(offset + Integer.BYTES) != checksum(segment.buffer, offset + HEADER_BYTES, length)) {
+                break;
+            }
+            offset += HEADER_BYTES + length;
+        }
+        boolean erased = false;
+        for (int i = offset; i < segmentBytes; i++) {
+            if (segment.buffer.get(i) != 0) {
+                segment.buffer.put(i, (byte) 0);
+                erased = true;
+            }
+        }
+        if (erased) {
+            segment.buffer.force();
+        }
+        return offset;
+    }
+
+    private long count() {
+        long count = 0;
+        for (Segment segment : segments.values()) {
+            int offset = segment.id == headSegment ? headOffset : 0;
+            while (offset < segment.writeOffset) {
+                offset += HEADER_BYTES + segment.buffer.getInt(offset);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Appends all records or none of them.
+     *
+     * @return false if the records do not fit in the remaining disk budget or a record is larger than a segment
+     */
+    public synchronized boolean append(List<byte[]> payloads) throws IOException {
+        Segment tail = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        int offset = tail == null ? segmentBytes : tail.writeOffset;
+        long newSegments = 0;
+        for (byte[] payload : payloads) {
+            int size = HEADER_BYTES + payload.length;
+            if (payload.length == 0 || size > segmentBytes) {
+                return false;
+            }
+            if (offset + size > segmentBytes) {
+                newSegments++;
+                offset = 0;
+            }
+            offset += size;
+        }
+        if (segments.size() + newSegments > maxSegments) {
+            return false;
+        }
+        Set<Segment> written = new HashSet<>();
+        for (byte[] payload : payloads) {
+            int size = HEADER_BYTES + payload.length;
+            if (tail == null || tail.writeOffset + size > segmentBytes) {
+                tail = new Segment(nextSegment, map(nextSegment));
+                segments.put(nextSegment++, tail);
+            }
+            ByteBuffer buffer = tail.buffer.duplicate();
+            buffer.position(tail.writeOffset + HEADER_BYTES);
+            buffer.put(payload);
+            tail.buffer.putInt(tail.writeOffset + Integer.BYTES, checksum(tail.buffer, tail.writeOffset + HEADER_BYTES, payload.length));
+            tail.buffer.putInt(tail.writeOffset, payload.length);
+            tail.writeOffset += size;
+            written.add(tail);
+            records++;
+        }
+        for (Segment segment : written) {
+            segment.buffer.force();
+        }
+        return true;
+    }
+
+    /**
+     * Returns up to maxRecords records from the head of the log without removing them.
+     */
+    public synchronized List<byte[]> read(int maxRecords) throws IOException {
+        List<byte[]> payloads = new ArrayList<>();
+        int offset = headOffset;
+        for (Segment segment : segments.tailMap(headSegment).values()) {
+            while (offset < segment.writeOffset && payloads.size() < maxRecords) {
+                int length = segment.buffer.getInt(offset);
+                if (segment.buffer.getInt(offset + Integer.BYTES) != checksum(segment.buffer, offset + HEADER_BYTES, length)) {
+                    throw new IOException("Checksum mismatch in spill segment " + segmentPath(segment.id) + " at " + offset);
+                }
+                byte[] payload = new byte[length];
+                ByteBuffer buffer = segment.buffer.duplicate();
+                buffer.position(offset + HEADER_BYTES);
+                buffer.get(payload);
+                payloads.add(payload);
+                offset += HEADER_BYTES + length;
+            }
+            if (payloads.size() == maxRecords) {
+                break;
+            }
+            offset = 0;
+        }
+        return payloads;
+    }
+
+    /**
+     * Removes the first count records, deleting the segments that were fully read.
+     */
+    public synchronized void advance(int count) throws IOException {
+        int remaining = (int) Math.min(count, records);
+        while (remaining > 0) {
+            Segment segment = segments.get(headSegment);
+            if (headOffset >= segment.writeOffset) {
+                deleteHeadSegment();
+                continue;
+            }
+            headOffset += HEADER_BYTES + segment.buffer.getInt(headOffset);
+            records--;
+            remaining--;
+        }
+        Segment head = segments.get(headSegment);
+        if (head != null && headOffset >= head.writeOffset) {
+            deleteHeadSegment();
+        }
+        writeHead();
+    }
+
+    private void deleteHeadSegment() throws IOException {
+        unmap(segments.remove(headSegment).buffer);
+        Files.deleteIfExists(segmentPath(headSegment));
+        headSegment = segments.isEmpty() ? nextSegment : segments.firstKey();
+        headOffset = 0;
+    }
+
+    public synchronized boolean isEmpty() {
+        return records == 0;
+    }
+
+    public synchronized long size() {
+        return records;
+    }
+
+    private MappedByteBuffer map(long id) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segmentPath(id).toFile(), "rw")) {
+            file.setLength(segmentBytes);
+            return file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+    }
+
+    // releases the mapping right away instead of when the buffer is garbage collected, the buffer must not be used after
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            try {
+                unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(theUnsafe.get(null), buffer);
+            } catch (NoSuchMethodException e) {
+                // java 8 has no invokeCleaner, its mapped buffers expose their cleaner instead
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // left to the garbage collector
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX));
+    }
+
+    private void readHead() throws IOException {
+        Path head = directory.resolve(HEAD_FILE);
+        if (!Files.exists(head)) {
+            return;
+        }
+        byte[] bytes = Files.readAllBytes(head);
+        if (bytes.length != HEAD_FILE_BYTES) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt(Long.BYTES + Integer.BYTES) == checksum(buffer, 0, Long.BYTES + Integer.BYTES)) {
+            headSegment = buffer.getLong(0);
+            headOffset = buffer.getInt(Long.BYTES);
+            nextSegment = headSegment;
+        }
+    }
+
+    private void writeHead() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEAD_FILE_BYTES);
+        buffer.putLong(0, headSegment);
+        buffer.putInt(Long.BYTES, headOffset);
+        buffer.putInt(Long.BYTES + Integer.BYTES, checksum(buffer, 0, Long.BYTES + Integer.BYTES));
+        Path temporary = directory.resolve(HEAD_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(buffer);
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(HEAD_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer view = buffer.duplicate();
+        view.limit(offset + length);
+        view.position(offset);
+        CRC32 crc = new CRC32();
+        crc.update(view);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments.values()) {
+            segment.buffer.force();
+            unmap(segment.buffer);
+        }
+        segments.clear();
+        directoryLock.close();
+    }
+
+    private static class Segment {
+        private final long id;
+        private final MappedByteBuffer buffer;
+        private int writeOffset;
+
+        Segment(long id, MappedByteBuffer buffer) {
+            this.id = id;
+            this.buffer = buffer;
+        }
+    }
+}
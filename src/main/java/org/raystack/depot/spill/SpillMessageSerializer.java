@@ -0,0 +1,109 @@
+package org.raystack.depot.spill;
+
+import org.raystack.depot.common.Tuple;
+import org.raystack.depot.message.Message;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Writes the key, value and metadata of a {@link Message} to bytes and back.
+ * Keys, values and metadata values may be null, byte arrays, strings, longs, integers, doubles or booleans,
+ * messages holding anything else can not be spilled.
+ */
+public class SpillMessageSerializer {
+    private static final int NULL = 0;
+    private static final int BYTES = 1;
+    private static final int STRING = 2;
+    private static final int LONG = 3;
+    private static final int INTEGER = 4;
+    private static final int DOUBLE = 5;
+    private static final int BOOLEAN = 6;
+
+    public static byte[] serialize(Message message) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            writeValue(output, message.getLogKey());
+            writeValue(output, message.getLogMessage());
+            output.writeInt(message.getMetadata().size());
+            for (Map.Entry<String, Object> entry : message.getMetadata().entrySet()) {
+                output.writeUTF(entry.getKey());
+                writeValue(output, entry.getValue());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Message deserialize(byte[] bytes) throws IOException {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            Object logKey = readValue(input);
+            Object logMessage = readValue(input);
+            Tuple<String, Object>[] metadata = new Tuple[input.readInt()];
+            for (int i = 0; i < metadata.length; i++) {
+                metadata[i] = new Tuple<>(input.readUTF(), readValue(input));
+            }
+            return new Message(logKey, logMessage, metadata);
+        }
+    }
+
+    private static void writeValue(DataOutputStream output, Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof byte[]) {
+            output.writeByte(BYTES);
+            output.writeInt(((byte[]) value).length);
+            output.write((byte[]) value);
+        } else if (value instanceof String) {
+            byte[] string = ((String) value).getBytes(StandardCharsets.UTF_8);
+            output.writeByte(STRING);
+            output.writeInt(string.length);
+            output.write(string);
+        } else if (value instanceof Long) {
+            output.writeByte(LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(INTEGER);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Double) {
+            output.writeByte(DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else {
+            throw new IOException("Can not spill value of type " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream input) throws IOException {
+        int type = input.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case BYTES:
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                return bytes;
+            case STRING:
+                byte[] string = new byte[input.readInt()];
+                input.readFully(string);
+                return new String(string, StandardCharsets.UTF_8);
+            case LONG:
+                return input.readLong();
+            case INTEGER:
+                return input.readInt();
+            case DOUBLE:
+                return input.readDouble();
+            case BOOLEAN:
+                return input.readBoolean();
+            default:
+                throw new IOException("Unknown spilled value type " + type);
+        }
+    }
+}
@@ -30,6 +30,13 @@ public class StringUtils {
         return Math.max(np, maxref);
     }
 
+    /**
+     * Matches every format specifier of the given format string.
+     */
+    public static Matcher variableMatcher(String fmt) {
+        return PATTERN.matcher(fmt);
+    }
+
     public static int count(String in, char c) {
         return IntStream.range(0, in.length()).reduce(0, (x, y) -> x + (in.charAt(y) == c ? 1 : 0));
     }
@@ -0,0 +1,42 @@
+package org.raystack.depot;
+
+import org.raystack.depot.exception.SinkException;
+import org.raystack.depot.message.Message;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+public class AsyncSinkAdapterTest {
+    private final Sink sink = Mockito.mock(Sink.class);
+
+    @Test
+    public void shouldPushToWrappedSinkOnExecutor() throws Exception {
+        List<Message> messages = new ArrayList<>();
+        SinkResponse sinkResponse = new SinkResponse();
+        Mockito.when(sink.pushToSink(messages)).thenReturn(sinkResponse);
+        AsyncSinkAdapter asyncSink = new AsyncSinkAdapter(sink, Runnable::run);
+        Assert.assertSame(sinkResponse, asyncSink.pushToSinkAsync(messages).get());
+        Mockito.verify(sink, Mockito.times(1)).pushToSink(messages);
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyWhenSinkThrows() throws Exception {
+        List<Message> messages = new ArrayList<>();
+        SinkException exception = new SinkException("failed", new RuntimeException());
+        Mockito.when(sink.pushToSink(messages)).thenThrow(exception);
+        AsyncSinkAdapter asyncSink = new AsyncSinkAdapter(sink);
+        try {
+            asyncSink.pushToSinkAsync(messages).get();
+            Assert.fail("expected the push to fail");
+        } catch (ExecutionException e) {
+            Assert.assertSame(exception, e.getCause());
+        } finally {
+            asyncSink.close();
+        }
+        Mockito.verify(sink, Mockito.times(1)).close();
+    }
+}
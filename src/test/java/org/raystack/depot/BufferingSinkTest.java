@@ -0,0 +1,155 @@
+package org.raystack.depot;
+
+import org.raystack.depot.error.ErrorInfo;
+import org.raystack.depot.error.ErrorType;
+import org.raystack.depot.exception.SinkException;
+import org.raystack.depot.message.Message;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class BufferingSinkTest {
+    private static final long LONG_LINGER_MS = 60000;
+    private final Sink sink = Mockito.mock(Sink.class);
+
+    private List<Message> messages(String... values) {
+        List<Message> messages = new ArrayList<>();
+        Arrays.stream(values).forEach(value -> messages.add(new Message(null, value)));
+        return messages;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldFlushCombinedBatchWhenMaxMessagesIsReached() throws Exception {
+        ErrorInfo errorInfo = new ErrorInfo(new Exception("error"), ErrorType.SINK_4XX_ERROR);
+        SinkResponse combined = new SinkResponse();
+        combined.addErrors(3, errorInfo);
+        Mockito.when(sink.pushToSink(Mockito.anyList())).thenReturn(combined);
+        BufferingSink bufferingSink = new BufferingSink(sink, 4, Long.MAX_VALUE, LONG_LINGER_MS);
+
+        CompletableFuture<SinkResponse> first = bufferingSink.pushToSinkAsync(messages("a", "b"));
+        CompletableFuture<SinkResponse> second = bufferingSink.pushToSinkAsync(messages("c", "d"));
+
+        SinkResponse firstResponse = first.get(10, TimeUnit.SECONDS);
+        SinkResponse secondResponse = second.get(10, TimeUnit.SECONDS);
+        Assert.assertFalse(firstResponse.hasErrors());
+        Assert.assertEquals(1, secondResponse.getErrors().size());
+        Assert.assertSame(errorInfo, secondResponse.getErrorsFor(1));
+        ArgumentCaptor<List<Message>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(sink, Mockito.times(1)).pushToSink(captor.capture());
+        Assert.assertEquals(messages("a", "b", "c", "d"), captor.getValue());
+    }
+
+    @Test
+    public void shouldFlushWhenMaxBytesIsReached() throws Exception {
+        Mockito.when(sink.pushToSink(Mockito.anyList())).thenReturn(new SinkResponse());
+        BufferingSink bufferingSink = new BufferingSink(sink, 100, 6, LONG_LINGER_MS);
+
+        CompletableFuture<SinkResponse> first = bufferingSink.pushToSinkAsync(messages("abc"));
+        CompletableFuture<SinkResponse> second = bufferingSink.pushToSinkAsync(messages("def"));
+
+        Assert.assertFalse(first.get(10, TimeUnit.SECONDS).hasErrors());
+        Assert.assertFalse(second.get(10, TimeUnit.SECONDS).hasErrors());
+        Mockito.verify(sink, Mockito.times(1)).pushToSink(messages("abc", "def"));
+    }
+
+    @Test
+    public void shouldFlushAfterLinger() throws Exception {
+        Mockito.when(sink.pushToSink(Mockito.anyList())).thenReturn(new SinkResponse());
+        BufferingSink bufferingSink = new BufferingSink(sink, 100, Long.MAX_VALUE, 10);
+
+        SinkResponse response = bufferingSink.pushToSink(messages("a"));
+
+        Assert.assertFalse(response.hasErrors());
+        Mockito.verify(sink, Mockito.times(1)).pushToSink(messages("a"));
+    }
+
+    @Test
+    public void shouldCombineSequentialAsyncPushesOfOneThread() throws Exception {
+        Mockito.when(sink.pushToSink(Mockito.anyList())).thenReturn(new SinkResponse());
+        BufferingSink bufferingSink = new BufferingSink(sink, 100, Long.MAX_VALUE, 500);
+
+        CompletableFuture<SinkResponse> first = bufferingSink.pushToSinkAsync(messages("a"));
+        CompletableFuture<SinkResponse> second = bufferingSink.pushToSinkAsync(messages("b"));
+
+        Assert.assertFalse(first.get(10, TimeUnit.SECONDS).hasErrors());
+        Assert.assertFalse(second.get(10, TimeUnit.SECONDS).hasErrors());
+        Mockito.verify(sink, Mockito.times(1)).pushToSink(Mockito.anyList());
+        Mockito.verify(sink).pushToSink(messages("a", "b"));
+    }
+
+    @Test
+    public void shouldWaitForLingerBeforeFlushingSynchronousPush() throws Exception {
+        Mockito.when(sink.pushToSink(Mockito.anyList())).thenReturn(new SinkResponse());
+        BufferingSink bufferingSink = new BufferingSink(sink, 100, Long.MAX_VALUE, 200);
+
+        long start = System.currentTimeMillis();
+        bufferingSink.pushToSink(messages("a"));
+
+        Assert.assertTrue(System.currentTimeMillis() - start >= 190);
+        Mockito.verify(sink, Mockito.times(1)).pushToSink(messages("a"));
+    }
+
+    @Test
+    public void shouldCombineSynchronousPushesOfSeveralThreads() throws Exception {
+        Mockito.when(sink.pushToSink(Mockito.anyList())).thenReturn(new SinkResponse());
+        BufferingSink bufferingSink = new BufferingSink(sink, 2, Long.MAX_VALUE, LONG_LINGER_MS);
+
+        CompletableFuture<SinkResponse> first = CompletableFuture.supplyAsync(() -> push(bufferingSink, messages("a")));
+        SinkResponse second = bufferingSink.pushToSink(messages("b"));
+
+        Assert.assertFalse(first.get(10, TimeUnit.SECONDS).hasErrors());
+        Assert.assertFalse(second.hasErrors());
+        Mockito.verify(sink, Mockito.times(1)).pushToSink(Mockito.anyList());
+    }
+
+    private SinkResponse push(BufferingSink bufferingSink, List<Message> messages) {
+        try {
+            return bufferingSink.pushToSink(messages);
+        } catch (SinkException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    public void shouldFailEveryCallerWhenFlushFails() throws Exception {
+        SinkException exception = new SinkException("failed", new RuntimeException());
+        Mockito.when(sink.pushToSink(Mockito.anyList())).thenThrow(exception);
+        BufferingSink bufferingSink = new BufferingSink(sink, 2, Long.MAX_VALUE, LONG_LINGER_MS);
+
+        CompletableFuture<SinkResponse> first = bufferingSink.pushToSinkAsync(messages("a"));
+        try {
+            bufferingSink.pushToSink(messages("b"));
+            Assert.fail("expected the push to fail");
+        } catch (SinkException e) {
+            Assert.assertSame(exception, e);
+        }
+        try {
+            first.get(10, TimeUnit.SECONDS);
+            Assert.fail("expected the push to fail");
+        } catch (ExecutionException e) {
+            Assert.assertSame(exception, e.getCause());
+        }
+    }
+
+    @Test
+    public void shouldFlushBufferedMessagesOnClose() throws Exception {
+        Mockito.when(sink.pushToSink(Mockito.anyList())).thenReturn(new SinkResponse());
+        BufferingSink bufferingSink = new BufferingSink(sink, 100, Long.MAX_VALUE, LONG_LINGER_MS);
+
+        CompletableFuture<SinkResponse> future = bufferingSink.pushToSinkAsync(messages("a"));
+        bufferingSink.close();
+
+        Assert.assertTrue(future.isDone());
+        Mockito.verify(sink, Mockito.times(1)).pushToSink(messages("a"));
+        Mockito.verify(sink, Mockito.times(1)).close();
+    }
+}
@@ -0,0 +1,71 @@
+package org.raystack.depot;
+
+import org.raystack.depot.deadletter.DeadLetterWriter;
+import org.raystack.depot.error.ErrorInfo;
+import org.raystack.depot.error.ErrorType;
+import org.raystack.depot.message.Message;
+import org.raystack.depot.message.ParsedMessages;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+public class DeadLetterSinkTest {
+    private final Sink sink = Mockito.mock(Sink.class);
+    private final DeadLetterWriter deadLetterWriter = Mockito.mock(DeadLetterWriter.class);
+    private final DeadLetterSink deadLetterSink = new DeadLetterSink(sink, deadLetterWriter,
+            EnumSet.of(ErrorType.DESERIALIZATION_ERROR, ErrorType.SINK_4XX_ERROR));
+    private final List<Message> messages = Arrays.asList(new Message(null, "a"), new Message(null, "b"),
+            new Message(null, "c"), new Message(null, "d"));
+
+    @Test
+    public void shouldWriteConfiguredErrorTypesAndKeepOthers() throws Exception {
+        ErrorInfo deserialization = new ErrorInfo(new Exception("bad"), ErrorType.DESERIALIZATION_ERROR);
+        ErrorInfo unavailable = new ErrorInfo(new Exception("unavailable"), ErrorType.SINK_5XX_ERROR);
+        ErrorInfo rejected = new ErrorInfo(new Exception("rejected"), ErrorType.SINK_4XX_ERROR);
+        SinkResponse response = new SinkResponse();
+        response.addErrors(0, deserialization);
+        response.addErrors(1, unavailable);
+        response.addErrors(3, rejected);
+        Mockito.when(sink.pushToSink(messages)).thenReturn(response);
+        Mockito.when(deadLetterWriter.offer(messages.get(0), deserialization)).thenReturn(true);
+        Mockito.when(deadLetterWriter.offer(messages.get(3), rejected)).thenReturn(false);
+
+        SinkResponse remaining = deadLetterSink.pushToSink(messages);
+
+        Assert.assertEquals(2, remaining.getErrors().size());
+        Assert.assertSame(unavailable, remaining.getErrorsFor(1));
+        Assert.assertSame(rejected, remaining.getErrorsFor(3));
+        Mockito.verify(deadLetterWriter, Mockito.never()).offer(messages.get(1), unavailable);
+    }
+
+    @Test
+    public void shouldReturnResponseWithoutErrorsUnchanged() throws Exception {
+        SinkResponse response = new SinkResponse();
+        Mockito.when(sink.pushToSink(messages)).thenReturn(response);
+
+        Assert.assertSame(response, deadLetterSink.pushToSink(messages));
+        Mockito.verifyNoInteractions(deadLetterWriter);
+    }
+
+    @Test
+    public void shouldPassParsedMessagesToParsedSink() throws Exception {
+        ParsedSink parsedSink = Mockito.mock(ParsedSink.class);
+        ParsedMessages parsedMessages = Mockito.mock(ParsedMessages.class);
+        ErrorInfo rejected = new ErrorInfo(new Exception("rejected"), ErrorType.SINK_4XX_ERROR);
+        SinkResponse response = new SinkResponse();
+        response.addErrors(2, rejected);
+        Mockito.when(parsedSink.pushParsedToSink(messages, parsedMessages)).thenReturn(response);
+        Mockito.when(deadLetterWriter.offer(messages.get(2), rejected)).thenReturn(true);
+        DeadLetterSink parsedDeadLetterSink = new DeadLetterSink(parsedSink, deadLetterWriter,
+                EnumSet.of(ErrorType.SINK_4XX_ERROR));
+
+        SinkResponse remaining = parsedDeadLetterSink.pushParsedToSink(messages, parsedMessages);
+
+        Assert.assertFalse(remaining.hasErrors());
+        Mockito.verify(parsedSink, Mockito.never()).pushToSink(Mockito.any());
+    }
+}
@@ -0,0 +1,133 @@
+package org.raystack.depot;
+
+import org.raystack.depot.common.BatchConverter;
+import org.raystack.depot.common.Tuple;
+import org.raystack.depot.config.enums.SinkFanOutResponsePolicy;
+import org.raystack.depot.error.ErrorInfo;
+import org.raystack.depot.error.ErrorType;
+import org.raystack.depot.exception.SinkException;
+import org.raystack.depot.message.Message;
+import org.raystack.depot.message.MessageParser;
+import org.raystack.depot.message.ParsedMessage;
+import org.raystack.depot.message.ParsedMessages;
+import org.raystack.depot.message.SinkConnectorSchemaMessageMode;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class FanOutSinkTest {
+    private static final String SCHEMA_CLASS = "org.raystack.depot.TestMessage";
+    private final MessageParser messageParser = Mockito.mock(MessageParser.class);
+    private final ParsedSink first = Mockito.mock(ParsedSink.class);
+    private final ParsedSink second = Mockito.mock(ParsedSink.class);
+    private final ErrorInfo firstError = new ErrorInfo(new Exception("first"), ErrorType.SINK_4XX_ERROR);
+    private final ErrorInfo secondError = new ErrorInfo(new Exception("second"), ErrorType.SINK_5XX_ERROR);
+
+    private FanOutSink createSink(SinkFanOutResponsePolicy policy, Sink... sinks) {
+        return new FanOutSink(Arrays.asList(sinks), messageParser,
+                new Tuple<>(SinkConnectorSchemaMessageMode.LOG_MESSAGE, SCHEMA_CLASS), BatchConverter.sequential(), policy);
+    }
+
+    private List<Message> messages() {
+        List<Message> messages = new ArrayList<>();
+        messages.add(new Message(null, "a".getBytes()));
+        messages.add(new Message(null, "b".getBytes()));
+        messages.add(new Message(null, "c".getBytes()));
+        return messages;
+    }
+
+    private SinkResponse response(long index, ErrorInfo errorInfo) {
+        SinkResponse sinkResponse = new SinkResponse();
+        sinkResponse.addErrors(index, errorInfo);
+        return sinkResponse;
+    }
+
+    @Test
+    public void shouldParseOnceAndShareParsedMessages() throws Exception {
+        List<Message> messages = messages();
+        ParsedMessage parsedMessage = Mockito.mock(ParsedMessage.class);
+        Mockito.when(messageParser.parse(Mockito.any(), Mockito.eq(SinkConnectorSchemaMessageMode.LOG_MESSAGE),
+                Mockito.eq(SCHEMA_CLASS))).thenReturn(parsedMessage);
+        Mockito.when(first.pushParsedToSink(Mockito.eq(messages), Mockito.any())).thenReturn(new SinkResponse());
+        Mockito.when(second.pushParsedToSink(Mockito.eq(messages), Mockito.any())).thenReturn(new SinkResponse());
+
+        SinkResponse sinkResponse = createSink(SinkFanOutResponsePolicy.ALL_SUCCEEDED, first, second).pushToSink(messages);
+
+        Assert.assertFalse(sinkResponse.hasErrors());
+        Mockito.verify(messageParser, Mockito.times(3)).parse(Mockito.any(), Mockito.any(), Mockito.any());
+        ArgumentCaptor<ParsedMessages> firstParsed = ArgumentCaptor.forClass(ParsedMessages.class);
+        ArgumentCaptor<ParsedMessages> secondParsed = ArgumentCaptor.forClass(ParsedMessages.class);
+        Mockito.verify(first).pushParsedToSink(Mockito.eq(messages), firstParsed.capture());
+        Mockito.verify(second).pushParsedToSink(Mockito.eq(messages), secondParsed.capture());
+        Assert.assertSame(firstParsed.getValue(), secondParsed.getValue());
+        Assert.assertSame(parsedMessage, firstParsed.getValue().getOrParse(messages.get(1), 1, messageParser,
+                SinkConnectorSchemaMessageMode.LOG_MESSAGE, SCHEMA_CLASS));
+    }
+
+    @Test
+    public void shouldFailMessageFailedByAnySinkWhenAllMustSucceed() throws Exception {
+        List<Message> messages = messages();
+        Mockito.when(first.pushParsedToSink(Mockito.eq(messages), Mockito.any())).thenReturn(response(0, firstError));
+        Mockito.when(second.pushParsedToSink(Mockito.eq(messages), Mockito.any())).thenReturn(response(2, secondError));
+
+        SinkResponse sinkResponse = createSink(SinkFanOutResponsePolicy.ALL_SUCCEEDED, first, second).pushToSink(messages);
+
+        Assert.assertEquals(2, sinkResponse.getErrors().size());
+        Assert.assertSame(firstError, sinkResponse.getErrorsFor(0));
+        Assert.assertSame(secondError, sinkResponse.getErrorsFor(2));
+    }
+
+    @Test
+    public void shouldFailMessageOnlyWhenEverySinkFailedWhenAnyMaySucceed() throws Exception {
+        List<Message> messages = messages();
+        SinkResponse firstResponse = response(0, firstError);
+        firstResponse.addErrors(1, firstError);
+        Mockito.when(first.pushParsedToSink(Mockito.eq(messages), Mockito.any())).thenReturn(firstResponse);
+        Mockito.when(second.pushParsedToSink(Mockito.eq(messages), Mockito.any())).thenReturn(response(1, secondError));
+
+        SinkResponse sinkResponse = createSink(SinkFanOutResponsePolicy.ANY_SUCCEEDED, first, second).pushToSink(messages);
+
+        Assert.assertEquals(1, sinkResponse.getErrors().size());
+        Assert.assertSame(firstError, sinkResponse.getErrorsFor(1));
+    }
+
+    @Test
+    public void shouldPushUnparsedMessagesToOtherSinks() throws Exception {
+        List<Message> messages = messages();
+        Sink sink = Mockito.mock(Sink.class);
+        Mockito.when(sink.pushToSink(messages)).thenReturn(response(1, secondError));
+
+        SinkResponse sinkResponse = createSink(SinkFanOutResponsePolicy.ALL_SUCCEEDED, sink).pushToSink(messages);
+
+        Assert.assertSame(secondError, sinkResponse.getErrorsFor(1));
+    }
+
+    @Test
+    public void shouldThrowWhenAnySinkThrows() throws Exception {
+        List<Message> messages = messages();
+        SinkException exception = new SinkException("failed", new RuntimeException());
+        Mockito.when(first.pushParsedToSink(Mockito.eq(messages), Mockito.any())).thenReturn(new SinkResponse());
+        Mockito.when(second.pushParsedToSink(Mockito.eq(messages), Mockito.any())).thenThrow(exception);
+        FanOutSink fanOutSink = createSink(SinkFanOutResponsePolicy.ALL_SUCCEEDED, first, second);
+        try {
+            fanOutSink.pushToSink(messages);
+            Assert.fail("expected the push to fail");
+        } catch (SinkException e) {
+            Assert.assertSame(exception, e);
+        }
+        fanOutSink.close();
+        Mockito.verify(first).close();
+        Mockito.verify(second).close();
+    }
+
+    @Test
+    public void shouldRejectEmptySinkList() {
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> createSink(SinkFanOutResponsePolicy.ALL_SUCCEEDED));
+    }
+}
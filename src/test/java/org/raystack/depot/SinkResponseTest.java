@@ -0,0 +1,73 @@
+package org.raystack.depot;
+
+import org.raystack.depot.error.ErrorInfo;
+import org.raystack.depot.error.ErrorType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SinkResponseTest {
+
+    @Test
+    public void shouldReturnErrorsAddedOutOfOrder() {
+        SinkResponse sinkResponse = new SinkResponse();
+        ErrorInfo first = new ErrorInfo(new Exception("first"), ErrorType.DESERIALIZATION_ERROR);
+        ErrorInfo second = new ErrorInfo(new Exception("second"), ErrorType.SINK_4XX_ERROR);
+        ErrorInfo third = new ErrorInfo(new Exception("third"), ErrorType.SINK_5XX_ERROR);
+        sinkResponse.addErrors(7, first);
+        sinkResponse.addErrors(2, second);
+        sinkResponse.addErrors(4, third);
+
+        Assert.assertTrue(sinkResponse.hasErrors());
+        Assert.assertSame(first, sinkResponse.getErrorsFor(7));
+        Assert.assertSame(second, sinkResponse.getErrorsFor(2));
+        Assert.assertSame(third, sinkResponse.getErrorsFor(4));
+        Assert.assertNull(sinkResponse.getErrorsFor(3));
+        Assert.assertNull(sinkResponse.getErrorsFor(-1));
+        List<Long> indexes = new ArrayList<>(sinkResponse.getErrors().keySet());
+        Assert.assertEquals(3, indexes.size());
+        Assert.assertEquals(Long.valueOf(2), indexes.get(0));
+        Assert.assertEquals(Long.valueOf(4), indexes.get(1));
+        Assert.assertEquals(Long.valueOf(7), indexes.get(2));
+    }
+
+    @Test
+    public void shouldReplaceErrorForSameIndex() {
+        SinkResponse sinkResponse = new SinkResponse();
+        ErrorInfo retryable = new ErrorInfo(new Exception("retry"), ErrorType.SINK_5XX_ERROR);
+        ErrorInfo nonRetryable = new ErrorInfo(new Exception("bad row"), ErrorType.SINK_4XX_ERROR);
+        sinkResponse.addErrors(1, retryable);
+        sinkResponse.addErrors(1, nonRetryable);
+
+        Assert.assertEquals(1, sinkResponse.getErrors().size());
+        Assert.assertSame(nonRetryable, sinkResponse.getErrorsFor(1));
+    }
+
+    @Test
+    public void shouldExposeErrorsAsMap() {
+        SinkResponse sinkResponse = new SinkResponse();
+        Assert.assertFalse(sinkResponse.hasErrors());
+        Assert.assertTrue(sinkResponse.getErrors().isEmpty());
+        ErrorInfo errorInfo = new ErrorInfo(new Exception("error"), ErrorType.SINK_UNKNOWN_ERROR);
+        sinkResponse.addErrors(0, errorInfo);
+        sinkResponse.addErrors(5, errorInfo);
+
+        Map<Long, ErrorInfo> expected = new HashMap<>();
+        expected.put(0L, errorInfo);
+        expected.put(5L, errorInfo);
+        Assert.assertEquals(expected, sinkResponse.getErrors());
+        Assert.assertTrue(sinkResponse.getErrors().containsKey(5L));
+        Assert.assertFalse(sinkResponse.getErrors().containsKey(1L));
+        Assert.assertSame(errorInfo, sinkResponse.getErrors().get(0L));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotAllowModifyingErrors() {
+        SinkResponse sinkResponse = new SinkResponse();
+        sinkResponse.getErrors().put(0L, new ErrorInfo(new Exception("error"), ErrorType.SINK_UNKNOWN_ERROR));
+    }
+}
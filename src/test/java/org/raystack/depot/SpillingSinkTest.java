@@ -0,0 +1,109 @@
+package org.raystack.depot;
+
+import org.raystack.depot.config.SinkConfig;
+import org.raystack.depot.error.ErrorInfo;
+import org.raystack.depot.error.ErrorType;
+import org.raystack.depot.message.Message;
+import org.raystack.depot.metrics.Instrumentation;
+import org.raystack.depot.spill.SpillLog;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SpillingSinkTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private final Sink sink = Mockito.mock(Sink.class);
+    private final SinkConfig sinkConfig = Mockito.mock(SinkConfig.class);
+    private final ErrorInfo unavailable = new ErrorInfo(new Exception("unavailable"), ErrorType.SINK_5XX_ERROR);
+    private final ErrorInfo invalid = new ErrorInfo(new Exception("invalid"), ErrorType.SINK_4XX_ERROR);
+    private SpillLog spillLog;
+    private SpillingSink spillingSink;
+
+    @Before
+    public void setUp() throws IOException {
+        Mockito.when(sinkConfig.getSinkSpillErrorRateThreshold()).thenReturn(0.5);
+        Mockito.when(sinkConfig.getSinkSpillReplayBatchSize()).thenReturn(10);
+        Mockito.when(sinkConfig.getSinkSpillReplayIntervalMs()).thenReturn(0L);
+        spillLog = new SpillLog(folder.getRoot().toPath(), 1024, 1024 * 1024);
+        spillingSink = new SpillingSink(sink, spillLog, Mockito.mock(Instrumentation.class), sinkConfig);
+    }
+
+    private List<Message> messages(String... values) {
+        List<Message> messages = new ArrayList<>();
+        Arrays.stream(values).forEach(value -> messages.add(new Message("key", value)));
+        return messages;
+    }
+
+    private SinkResponse response(ErrorInfo... errors) {
+        SinkResponse response = new SinkResponse();
+        for (int i = 0; i < errors.length; i++) {
+            if (errors[i] != null) {
+                response.addErrors(i, errors[i]);
+            }
+        }
+        return response;
+    }
+
+    @Test
+    public void shouldReturnResponseWhenErrorRateIsBelowThreshold() throws Exception {
+        SinkResponse response = response(unavailable, null, null, invalid);
+        Mockito.when(sink.pushToSink(Mockito.anyList())).thenReturn(response);
+
+        Assert.assertSame(response, spillingSink.pushToSink(messages("a", "b", "c", "d")));
+        Assert.assertTrue(spillLog.isEmpty());
+    }
+
+    @Test
+    public void shouldSpillRetryableFailuresAndKeepOtherErrors() throws Exception {
+        Mockito.when(sink.pushToSink(Mockito.anyList())).thenReturn(response(unavailable, unavailable, invalid));
+
+        SinkResponse response = spillingSink.pushToSink(messages("a", "b", "c"));
+
+        Assert.assertEquals(1, response.getErrors().size());
+        Assert.assertSame(invalid, response.getErrorsFor(2));
+        Assert.assertEquals(2, spillLog.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldAppendNewBatchesBehindSpilledMessagesAndReplayThemInOrder() throws Exception {
+        Mockito.when(sink.pushToSink(Mockito.anyList()))
+                .thenReturn(response(unavailable, unavailable))
+                .thenReturn(response(unavailable, unavailable))
+                .thenReturn(response())
+                .thenReturn(response());
+
+        Assert.assertFalse(spillingSink.pushToSink(messages("a", "b")).hasErrors());
+        Assert.assertFalse(spillingSink.pushToSink(messages("c")).hasErrors());
+        Assert.assertEquals(3, spillLog.size());
+        Assert.assertFalse(spillingSink.pushToSink(messages("d")).hasErrors());
+
+        Assert.assertTrue(spillLog.isEmpty());
+        ArgumentCaptor<List<Message>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(sink, Mockito.times(4)).pushToSink(captor.capture());
+        Assert.assertEquals(Arrays.asList(messages("a", "b"), messages("a", "b"), messages("a", "b", "c"), messages("d")),
+                captor.getAllValues());
+    }
+
+    @Test
+    public void shouldReturnErrorsWhenSpillLogIsFull() throws Exception {
+        spillLog.close();
+        spillLog = new SpillLog(folder.newFolder().toPath(), 32, 32);
+        spillingSink = new SpillingSink(sink, spillLog, Mockito.mock(Instrumentation.class), sinkConfig);
+        SinkResponse failed = response(unavailable, unavailable, unavailable);
+        Mockito.when(sink.pushToSink(Mockito.anyList())).thenReturn(failed);
+
+        Assert.assertSame(failed, spillingSink.pushToSink(messages("a", "b", "c")));
+        Assert.assertTrue(spillLog.isEmpty());
+    }
+}
@@ -0,0 +1,207 @@
+package org.raystack.depot.bigquery;
+
+import org.raystack.depot.ParsedSink;
+import org.raystack.depot.Sink;
+import org.raystack.depot.SinkResponse;
+import org.raystack.depot.common.BatchConverter;
+import org.raystack.depot.common.Template;
+import org.raystack.depot.common.Tuple;
+import org.raystack.depot.error.ErrorInfo;
+import org.raystack.depot.error.ErrorType;
+import org.raystack.depot.exception.SinkException;
+import org.raystack.depot.message.Message;
+import org.raystack.depot.message.MessageParser;
+import org.raystack.depot.message.MessageSchema;
+import org.raystack.depot.message.ParsedMessage;
+import org.raystack.depot.message.ParsedMessages;
+import org.raystack.depot.message.SinkConnectorSchemaMessageMode;
+import org.raystack.depot.metrics.Instrumentation;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BigQueryRoutingSinkTest {
+    private static final String SCHEMA_CLASS = "org.raystack.depot.TestMessage";
+    private final MessageParser messageParser = Mockito.mock(MessageParser.class);
+    private final MessageSchema schema = Mockito.mock(MessageSchema.class);
+    private final Map<String, ParsedSink> sinks = new HashMap<>();
+    private final List<String> createdTables = new ArrayList<>();
+
+    @Before
+    public void setup() throws Exception {
+        Mockito.when(messageParser.getSchema(SCHEMA_CLASS)).thenReturn(schema);
+        Mockito.when(messageParser.parse(Mockito.any(), Mockito.eq(SinkConnectorSchemaMessageMode.LOG_MESSAGE),
+                Mockito.eq(SCHEMA_CLASS))).thenAnswer(invocation -> {
+                    String eventType = new String((byte[]) ((Message) invocation.getArgument(0)).getLogMessage());
+                    if (eventType.isEmpty()) {
+                        throw new IOException("empty message");
+                    }
+                    ParsedMessage parsedMessage = Mockito.mock(ParsedMessage.class);
+                    Mockito.when(parsedMessage.getFieldByName("event_type", schema)).thenReturn(eventType);
+                    return parsedMessage;
+                });
+    }
+
+    private BigQueryRoutingSink createSink(int maxTables) throws Exception {
+        return new BigQueryRoutingSink(new Template("events_%s,event_type"), messageParser,
+                new Tuple<>(SinkConnectorSchemaMessageMode.LOG_MESSAGE, SCHEMA_CLASS), BatchConverter.sequential(),
+                maxTables, 60000, this::createTableSink, Mockito.mock(Instrumentation.class));
+    }
+
+    private Sink createTableSink(String table) {
+        createdTables.add(table);
+        ParsedSink sink = Mockito.mock(ParsedSink.class);
+        try {
+            Mockito.when(sink.pushParsedToSink(Mockito.any(), Mockito.any())).thenReturn(new SinkResponse());
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        sinks.put(table, sink);
+        return sink;
+    }
+
+    private List<Message> messages(String... eventTypes) {
+        List<Message> messages = new ArrayList<>();
+        for (String eventType : eventTypes) {
+            messages.add(new Message(null, eventType.getBytes()));
+        }
+        return messages;
+    }
+
+    @Test
+    public void shouldPushMessagesToTheSinkOfTheirTable() throws Exception {
+        List<Message> messages = messages("click", "view", "click");
+
+        SinkResponse sinkResponse = createSink(16).pushToSink(messages);
+
+        Assert.assertFalse(sinkResponse.hasErrors());
+        Assert.assertEquals(Arrays.asList("events_click", "events_view"), createdTables);
+        Mockito.verify(sinks.get("events_click")).pushParsedToSink(
+                Mockito.eq(Arrays.asList(messages.get(0), messages.get(2))), Mockito.any(ParsedMessages.class));
+        Mockito.verify(sinks.get("events_view")).pushParsedToSink(
+                Mockito.eq(Arrays.asList(messages.get(1))), Mockito.any(ParsedMessages.class));
+        Mockito.verify(messageParser, Mockito.times(3)).parse(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void shouldMapErrorsOfTableSinksBackToInputIndexes() throws Exception {
+        BigQueryRoutingSink sink = createSink(16);
+        sink.pushToSink(messages("click"));
+        ErrorInfo errorInfo = new ErrorInfo(new Exception("failed"), ErrorType.SINK_4XX_ERROR);
+        SinkResponse clickResponse = new SinkResponse();
+        clickResponse.addErrors(1, errorInfo);
+        Mockito.when(sinks.get("events_click").pushParsedToSink(Mockito.any(), Mockito.any()))
+                .thenReturn(clickResponse);
+
+        SinkResponse sinkResponse = sink.pushToSink(messages("click", "view", "click"));
+
+        Assert.assertEquals(1, sinkResponse.getErrors().size());
+        Assert.assertEquals(errorInfo, sinkResponse.getErrorsFor(2));
+    }
+
+    @Test
+    public void shouldFailOnlyMessagesOfTableWhoseSinkThrows() throws Exception {
+        BigQueryRoutingSink sink = createSink(16);
+        sink.pushToSink(messages("view"));
+        SinkException exception = new SinkException("push failed", new IOException("unavailable"));
+        Mockito.when(sinks.get("events_view").pushParsedToSink(Mockito.any(), Mockito.any())).thenThrow(exception);
+
+        SinkResponse sinkResponse = sink.pushToSink(messages("click", "view", "click", "view"));
+
+        Assert.assertEquals(2, sinkResponse.getErrors().size());
+        Assert.assertNull(sinkResponse.getErrorsFor(0));
+        Assert.assertNull(sinkResponse.getErrorsFor(2));
+        Assert.assertEquals(ErrorType.SINK_RETRYABLE_ERROR, sinkResponse.getErrorsFor(1).getErrorType());
+        Assert.assertEquals(exception, sinkResponse.getErrorsFor(3).getException());
+        Mockito.verify(sinks.get("events_click")).pushParsedToSink(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void shouldReportMessagesThatCanNotBeParsedAndPushTheOthers() throws Exception {
+        SinkResponse sinkResponse = createSink(16).pushToSink(messages("click", ""));
+
+        Assert.assertEquals(1, sinkResponse.getErrors().size());
+        Assert.assertEquals(ErrorType.DESERIALIZATION_ERROR, sinkResponse.getErrorsFor(1).getErrorType());
+        Mockito.verify(sinks.get("events_click")).pushParsedToSink(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void shouldCloseLeastRecentlyUsedSinkWhenPoolIsFull() throws Exception {
+        BigQueryRoutingSink sink = createSink(2);
+        sink.pushToSink(messages("click", "view"));
+        sink.pushToSink(messages("click"));
+
+        sink.pushToSink(messages("order"));
+
+        Mockito.verify(sinks.get("events_view")).close();
+        Mockito.verify(sinks.get("events_click"), Mockito.never()).close();
+        sink.pushToSink(messages("view"));
+        Assert.assertEquals(Arrays.asList("events_click", "events_view", "events_order", "events_view"), createdTables);
+    }
+
+    @Test
+    public void shouldFailMessagesOfTableWhoseSinkCanNotBeCreated() throws Exception {
+        BigQueryRoutingSink sink = new BigQueryRoutingSink(new Template("events_%s,event_type"), messageParser,
+                new Tuple<>(SinkConnectorSchemaMessageMode.LOG_MESSAGE, SCHEMA_CLASS), BatchConverter.sequential(), 16,
+                60000, table -> {
+                    throw new IllegalArgumentException("invalid table " + table);
+                }, Mockito.mock(Instrumentation.class));
+
+        SinkResponse sinkResponse = sink.pushToSink(messages("click", "view"));
+
+        Assert.assertEquals(ErrorType.SINK_UNKNOWN_ERROR, sinkResponse.getErrorsFor(0).getErrorType());
+        Assert.assertEquals(ErrorType.SINK_UNKNOWN_ERROR, sinkResponse.getErrorsFor(1).getErrorType());
+    }
+
+    private BigQueryRoutingSink createFailingSink(long failedTableRetryMillis, List<String> attempts) {
+        return new BigQueryRoutingSink(new Template("events_%s,event_type"), messageParser,
+                new Tuple<>(SinkConnectorSchemaMessageMode.LOG_MESSAGE, SCHEMA_CLASS), BatchConverter.sequential(), 16,
+                failedTableRetryMillis, table -> {
+                    attempts.add(table);
+                    throw new IllegalArgumentException("invalid table " + table);
+                }, Mockito.mock(Instrumentation.class));
+    }
+
+    @Test
+    public void shouldNotRetryCreatingSinkOfFailedTableWithinRetryTime() throws Exception {
+        List<String> attempts = new ArrayList<>();
+        BigQueryRoutingSink sink = createFailingSink(60000, attempts);
+        sink.pushToSink(messages("click"));
+
+        SinkResponse sinkResponse = sink.pushToSink(messages("click", "view"));
+
+        Assert.assertEquals(Arrays.asList("events_click", "events_view"), attempts);
+        Assert.assertEquals(ErrorType.SINK_UNKNOWN_ERROR, sinkResponse.getErrorsFor(0).getErrorType());
+        Assert.assertEquals("invalid table events_click", sinkResponse.getErrorsFor(0).getException().getMessage());
+    }
+
+    @Test
+    public void shouldRetryCreatingSinkOfFailedTableAfterRetryTime() throws Exception {
+        List<String> attempts = new ArrayList<>();
+        BigQueryRoutingSink sink = createFailingSink(0, attempts);
+        sink.pushToSink(messages("click"));
+
+        sink.pushToSink(messages("click"));
+
+        Assert.assertEquals(Arrays.asList("events_click", "events_click"), attempts);
+    }
+
+    @Test
+    public void shouldCloseAllTableSinks() throws Exception {
+        BigQueryRoutingSink sink = createSink(16);
+        sink.pushToSink(messages("click", "view"));
+
+        sink.close();
+
+        Mockito.verify(sinks.get("events_click")).close();
+        Mockito.verify(sinks.get("events_view")).close();
+    }
+}
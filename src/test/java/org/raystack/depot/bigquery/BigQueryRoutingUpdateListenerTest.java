@@ -0,0 +1,61 @@
+package org.raystack.depot.bigquery;
+
+import com.google.protobuf.Descriptors;
+import org.raystack.depot.metrics.Instrumentation;
+import org.raystack.depot.stencil.DepotStencilUpdateListener;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class BigQueryRoutingUpdateListenerTest {
+    private final BigQueryRoutingUpdateListener listener = new BigQueryRoutingUpdateListener(
+            Mockito.mock(Instrumentation.class));
+    private final DepotStencilUpdateListener clickListener = Mockito.mock(DepotStencilUpdateListener.class);
+    private final DepotStencilUpdateListener viewListener = Mockito.mock(DepotStencilUpdateListener.class);
+
+    @Test
+    public void shouldPassSchemaUpdatesToEveryTable() {
+        listener.addTable("events_click", clickListener);
+        listener.addTable("events_view", viewListener);
+        Map<String, Descriptors.Descriptor> descriptors = new HashMap<>();
+
+        listener.onSchemaUpdate(descriptors);
+
+        Mockito.verify(clickListener).onSchemaUpdate(descriptors);
+        Mockito.verify(viewListener).onSchemaUpdate(descriptors);
+    }
+
+    @Test
+    public void shouldUpdateOtherTablesWhenOneFails() {
+        listener.addTable("events_click", clickListener);
+        listener.addTable("events_view", viewListener);
+        Mockito.doThrow(new IllegalStateException("update failed")).when(clickListener).updateSchema();
+
+        listener.updateSchema();
+
+        Mockito.verify(viewListener).updateSchema();
+    }
+
+    @Test
+    public void shouldNotUpdateRemovedTable() {
+        listener.addTable("events_click", clickListener);
+        listener.removeTable("events_click", clickListener);
+
+        listener.onSchemaUpdate(new HashMap<>());
+
+        Mockito.verifyNoInteractions(clickListener);
+    }
+
+    @Test
+    public void shouldKeepListenerOfRecreatedTableWhenOldOneIsRemoved() {
+        listener.addTable("events_click", clickListener);
+        listener.addTable("events_click", viewListener);
+        listener.removeTable("events_click", clickListener);
+
+        listener.updateSchema();
+
+        Mockito.verify(viewListener).updateSchema();
+    }
+}
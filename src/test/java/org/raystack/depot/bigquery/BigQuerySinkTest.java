@@ -1,10 +1,12 @@
 package org.raystack.depot.bigquery;
 
 import com.google.cloud.bigquery.BigQueryError;
+import com.google.cloud.bigquery.BigQueryException;
 import com.google.cloud.bigquery.InsertAllRequest;
 import com.google.cloud.bigquery.InsertAllResponse;
 import com.google.cloud.bigquery.TableId;
 import org.raystack.depot.bigquery.client.BigQueryClient;
+import org.raystack.depot.bigquery.client.BigQueryInsertAllChunker;
 import org.raystack.depot.bigquery.client.BigQueryRow;
 import org.raystack.depot.bigquery.client.BigQueryRowWithInsertId;
 import org.raystack.depot.bigquery.converter.MessageRecordConverter;
@@ -13,6 +15,7 @@ import org.raystack.depot.bigquery.handler.ErrorHandler;
 import org.raystack.depot.bigquery.models.Record;
 import org.raystack.depot.bigquery.models.Records;
 import org.raystack.depot.SinkResponse;
+import org.raystack.depot.common.RetryExecutor;
 import org.raystack.depot.error.ErrorInfo;
 import org.raystack.depot.error.ErrorType;
 import org.raystack.depot.metrics.BigQueryMetrics;
@@ -27,6 +30,7 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -227,4 +231,114 @@ public class BigQuerySinkTest {
         Assert.assertEquals(ErrorType.INVALID_MESSAGE_ERROR, response.getErrors().get(3L).getErrorType());
         Assert.assertEquals(ErrorType.SINK_4XX_ERROR, response.getErrors().get(4L).getErrorType());
     }
+
+    @Test
+    public void shouldSplitInsertAllRequestsAndShiftErrorIndexes() {
+        BigQuerySink chunkedSink = new BigQuerySink(client, converterCache, rowCreator, metrics, instrumentation,
+                errorHandler, RetryExecutor.noRetry(), new BigQueryInsertAllChunker(2, Long.MAX_VALUE, null));
+        List<Message> messages = new ArrayList<>();
+        List<Record> validRecords = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            TestMetadata metadata = new TestMetadata("topic1", i, 100 + i, Instant.now().toEpochMilli(),
+                    Instant.now().toEpochMilli());
+            Message message = TestMessageBuilder.withMetadata(metadata).createConsumerRecord("order-" + i,
+                    "order-url-" + i, "order-details-" + i);
+            messages.add(message);
+            validRecords.add(new Record(message.getMetadata(), new HashMap<>(), i, null));
+        }
+        Records records = new Records(validRecords, new ArrayList<>());
+        InsertAllRequest.Builder firstBuilder = InsertAllRequest.newBuilder(tableId);
+        validRecords.subList(0, 2).forEach((Record m) -> firstBuilder.addRow(rowCreator.of(m)));
+        InsertAllRequest.Builder secondBuilder = InsertAllRequest.newBuilder(tableId);
+        validRecords.subList(2, 4).forEach((Record m) -> secondBuilder.addRow(rowCreator.of(m)));
+        InsertAllResponse secondResponse = Mockito.mock(InsertAllResponse.class);
+        BigQueryError error = new BigQueryError("invalid", "",
+                "The destination table's partition tmp$20160101 is outside the allowed bounds. You can only stream to partitions within 1825 days in the past and 366 days in the future relative to the current date");
+        Map<Long, List<BigQueryError>> secondErrors = new HashMap<>();
+        secondErrors.put(1L, Collections.list(error));
+        Mockito.when(converter.convert(Mockito.eq(messages))).thenReturn(records);
+        Mockito.when(client.insertAll(firstBuilder.build())).thenReturn(insertAllResponse);
+        Mockito.when(client.insertAll(secondBuilder.build())).thenReturn(secondResponse);
+        Mockito.when(insertAllResponse.hasErrors()).thenReturn(false);
+        Mockito.when(secondResponse.hasErrors()).thenReturn(true);
+        Mockito.when(secondResponse.getInsertErrors()).thenReturn(secondErrors);
+
+        SinkResponse response = chunkedSink.pushToSink(messages);
+
+        Mockito.verify(client, Mockito.times(2)).insertAll(Mockito.any());
+        Assert.assertEquals(1, response.getErrors().size());
+        Assert.assertEquals(ErrorType.SINK_4XX_ERROR, response.getErrors().get(3L).getErrorType());
+        Map<Long, List<BigQueryError>> shiftedErrors = new HashMap<>();
+        shiftedErrors.put(3L, Collections.list(error));
+        Mockito.verify(errorHandler, Mockito.times(1)).handle(shiftedErrors, validRecords);
+    }
+
+    private List<Message> chunkMessages(List<Record> validRecords) {
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            TestMetadata metadata = new TestMetadata("topic1", i, 100 + i, Instant.now().toEpochMilli(),
+                    Instant.now().toEpochMilli());
+            Message message = TestMessageBuilder.withMetadata(metadata).createConsumerRecord("order-" + i,
+                    "order-url-" + i, "order-details-" + i);
+            messages.add(message);
+            validRecords.add(new Record(message.getMetadata(), new HashMap<>(), i, null));
+        }
+        Mockito.when(converter.convert(Mockito.eq(messages))).thenReturn(new Records(validRecords, new ArrayList<>()));
+        return messages;
+    }
+
+    private InsertAllRequest request(List<Record> records) {
+        InsertAllRequest.Builder builder = InsertAllRequest.newBuilder(tableId);
+        records.forEach((Record m) -> builder.addRow(rowCreator.of(m)));
+        return builder.build();
+    }
+
+    @Test
+    public void shouldFailOnlyRecordsOfFailedInsertAllRequest() {
+        BigQuerySink chunkedSink = new BigQuerySink(client, converterCache, rowCreator, metrics, instrumentation,
+                errorHandler, RetryExecutor.noRetry(), new BigQueryInsertAllChunker(2, Long.MAX_VALUE, null));
+        List<Record> validRecords = new ArrayList<>();
+        List<Message> messages = chunkMessages(validRecords);
+        Mockito.when(client.insertAll(request(validRecords.subList(0, 2)))).thenReturn(insertAllResponse);
+        Mockito.when(client.insertAll(request(validRecords.subList(2, 4))))
+                .thenThrow(new BigQueryException(503, "backend error"));
+        Mockito.when(insertAllResponse.hasErrors()).thenReturn(false);
+
+        SinkResponse response = chunkedSink.pushToSink(messages);
+
+        Mockito.verify(client, Mockito.times(2)).insertAll(Mockito.any());
+        Assert.assertEquals(2, response.getErrors().size());
+        Assert.assertEquals(ErrorType.SINK_5XX_ERROR, response.getErrors().get(2L).getErrorType());
+        Assert.assertEquals(ErrorType.SINK_5XX_ERROR, response.getErrors().get(3L).getErrorType());
+        Mockito.verify(errorHandler, Mockito.never()).handle(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void shouldMapClientErrorOfInsertAllRequestToSink4XXError() {
+        BigQuerySink chunkedSink = new BigQuerySink(client, converterCache, rowCreator, metrics, instrumentation,
+                errorHandler, RetryExecutor.noRetry(), new BigQueryInsertAllChunker(2, Long.MAX_VALUE, null));
+        List<Record> validRecords = new ArrayList<>();
+        List<Message> messages = chunkMessages(validRecords);
+        Mockito.when(client.insertAll(request(validRecords.subList(0, 2))))
+                .thenThrow(new BigQueryException(400, "invalid request"));
+        Mockito.when(client.insertAll(request(validRecords.subList(2, 4)))).thenReturn(insertAllResponse);
+        Mockito.when(insertAllResponse.hasErrors()).thenReturn(false);
+
+        SinkResponse response = chunkedSink.pushToSink(messages);
+
+        Assert.assertEquals(2, response.getErrors().size());
+        Assert.assertEquals(ErrorType.SINK_4XX_ERROR, response.getErrors().get(0L).getErrorType());
+        Assert.assertEquals(ErrorType.SINK_4XX_ERROR, response.getErrors().get(1L).getErrorType());
+    }
+
+    @Test(expected = BigQueryException.class)
+    public void shouldThrowWhenAllInsertAllRequestsFail() {
+        BigQuerySink chunkedSink = new BigQuerySink(client, converterCache, rowCreator, metrics, instrumentation,
+                errorHandler, RetryExecutor.noRetry(), new BigQueryInsertAllChunker(2, Long.MAX_VALUE, null));
+        List<Record> validRecords = new ArrayList<>();
+        List<Message> messages = chunkMessages(validRecords);
+        Mockito.when(client.insertAll(Mockito.any())).thenThrow(new BigQueryException(503, "backend error"));
+
+        chunkedSink.pushToSink(messages);
+    }
 }
@@ -0,0 +1,114 @@
+package org.raystack.depot.bigquery;
+
+import com.google.cloud.bigquery.storage.v1.AppendRowsResponse;
+import com.google.cloud.bigquery.storage.v1.RowError;
+import io.grpc.Status;
+import org.raystack.depot.SinkResponse;
+import org.raystack.depot.bigquery.storage.BigQueryPayload;
+import org.raystack.depot.bigquery.storage.BigQueryStorageClient;
+import org.raystack.depot.bigquery.storage.BigQueryStorageResponseParser;
+import org.raystack.depot.config.BigQuerySinkConfig;
+import org.raystack.depot.error.ErrorType;
+import org.raystack.depot.message.Message;
+import org.raystack.depot.metrics.BigQueryMetrics;
+import org.raystack.depot.metrics.Instrumentation;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class BigQueryStorageAPISinkTest {
+    private final BigQueryStorageClient client = Mockito.mock(BigQueryStorageClient.class);
+    private final BigQueryStorageAPISink sink = new BigQueryStorageAPISink(client, new BigQueryStorageResponseParser(
+            Mockito.mock(BigQuerySinkConfig.class), Mockito.mock(Instrumentation.class),
+            Mockito.mock(BigQueryMetrics.class)));
+    private final List<Message> messages = new ArrayList<>();
+    private final BigQueryPayload payload = payload(0, 1, 2, 3, 4, 5);
+    private final BigQueryPayload firstChunk = payload(0, 1, 2);
+    private final BigQueryPayload secondChunk = payload(3, 4, 5);
+
+    private static BigQueryPayload payload(int... inputIndexes) {
+        BigQueryPayload payload = new BigQueryPayload();
+        for (int i = 0; i < inputIndexes.length; i++) {
+            payload.putValidIndexToInputIndex(i, inputIndexes[i]);
+        }
+        return payload;
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable throwable) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+        return future;
+    }
+
+    @Before
+    public void setup() {
+        for (int i = 0; i < 6; i++) {
+            messages.add(new Message(null, "message" + i));
+        }
+        Mockito.when(client.convert(messages)).thenReturn(payload);
+        Mockito.when(client.split(payload)).thenReturn(Arrays.asList(firstChunk, secondChunk));
+        Mockito.when(client.appendAsync(firstChunk))
+                .thenReturn(CompletableFuture.completedFuture(AppendRowsResponse.getDefaultInstance()));
+    }
+
+    @Test
+    public void shouldMapRowErrorsOfLaterChunkToInputIndexes() throws Exception {
+        AppendRowsResponse rowErrors = AppendRowsResponse.newBuilder()
+                .addRowErrors(RowError.newBuilder().setIndex(1).setMessage("invalid row").build())
+                .build();
+        Mockito.when(client.appendAsync(secondChunk)).thenReturn(CompletableFuture.completedFuture(rowErrors));
+
+        SinkResponse sinkResponse = sink.pushToSink(messages);
+
+        Assert.assertEquals(1, sinkResponse.getErrors().size());
+        Assert.assertEquals(ErrorType.SINK_4XX_ERROR, sinkResponse.getErrorsFor(4).getErrorType());
+        Mockito.verify(client, Mockito.never()).appendAndGet(Mockito.any());
+    }
+
+    @Test
+    public void shouldFailOnlyRowsOfFailedChunk() throws Exception {
+        Mockito.when(client.appendAsync(secondChunk)).thenReturn(failed(Status.UNAVAILABLE.asRuntimeException()));
+
+        SinkResponse sinkResponse = sink.pushToSink(messages);
+
+        Assert.assertEquals(3, sinkResponse.getErrors().size());
+        for (long index = 3; index < 6; index++) {
+            Assert.assertEquals(ErrorType.SINK_5XX_ERROR, sinkResponse.getErrorsFor(index).getErrorType());
+        }
+    }
+
+    @Test
+    public void shouldFailOnlyRowsOfFailedChunkWhenPushedAsync() throws Exception {
+        Mockito.when(client.appendAsync(firstChunk)).thenReturn(failed(Status.INVALID_ARGUMENT.asRuntimeException()));
+        Mockito.when(client.appendAsync(secondChunk))
+                .thenReturn(CompletableFuture.completedFuture(AppendRowsResponse.getDefaultInstance()));
+
+        SinkResponse sinkResponse = sink.pushToSinkAsync(messages).get(1, TimeUnit.SECONDS);
+
+        Assert.assertEquals(3, sinkResponse.getErrors().size());
+        for (long index = 0; index < 3; index++) {
+            Assert.assertEquals(ErrorType.SINK_4XX_ERROR, sinkResponse.getErrorsFor(index).getErrorType());
+        }
+    }
+
+    @Test
+    public void shouldAppendPayloadThatFitsOneRequestAndWait() throws Exception {
+        Mockito.when(client.split(payload)).thenReturn(Arrays.asList(payload));
+        Mockito.when(client.appendAndGet(payload)).thenReturn(AppendRowsResponse.newBuilder()
+                .addRowErrors(RowError.newBuilder().setIndex(5).setMessage("invalid row").build())
+                .build());
+
+        SinkResponse sinkResponse = sink.pushToSink(messages);
+
+        Assert.assertEquals(1, sinkResponse.getErrors().size());
+        Assert.assertEquals(ErrorType.SINK_4XX_ERROR, sinkResponse.getErrorsFor(5).getErrorType());
+        Mockito.verify(client, Mockito.never()).appendAsync(Mockito.any());
+    }
+}
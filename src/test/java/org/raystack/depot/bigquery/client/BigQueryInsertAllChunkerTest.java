@@ -0,0 +1,90 @@
+package org.raystack.depot.bigquery.client;
+
+import com.google.cloud.bigquery.InsertAllRequest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+public class BigQueryInsertAllChunkerTest {
+
+    private static InsertAllRequest.RowToInsert row(String value) {
+        Map<String, Object> content = new HashMap<>();
+        content.put("field", value);
+        return InsertAllRequest.RowToInsert.of(content);
+    }
+
+    @Test
+    public void shouldSplitByRowCount() {
+        List<InsertAllRequest.RowToInsert> rows = Arrays.asList(row("a"), row("b"), row("c"), row("d"), row("e"));
+        BigQueryInsertAllChunker chunker = new BigQueryInsertAllChunker(2, Long.MAX_VALUE, null);
+
+        Assert.assertEquals(Arrays.asList(2, 4, 5), chunker.chunkEnds(rows));
+    }
+
+    @Test
+    public void shouldSplitByEstimatedSize() {
+        List<InsertAllRequest.RowToInsert> rows = Arrays.asList(row("aaaaaaaaaa"), row("bbbbbbbbbb"), row("cccccccccc"));
+        long rowBytes = BigQueryInsertAllChunker.estimateJsonBytes(rows.get(0).getContent());
+        BigQueryInsertAllChunker chunker = new BigQueryInsertAllChunker(100, rowBytes * 2, null);
+
+        Assert.assertEquals(Arrays.asList(2, 3), chunker.chunkEnds(rows));
+    }
+
+    @Test
+    public void shouldSendOversizedRowAlone() {
+        List<InsertAllRequest.RowToInsert> rows = Arrays.asList(row("a"), row("bbbbbbbbbbbbbbbbbbbb"), row("c"));
+        long smallRowBytes = BigQueryInsertAllChunker.estimateJsonBytes(rows.get(0).getContent());
+        BigQueryInsertAllChunker chunker = new BigQueryInsertAllChunker(100, smallRowBytes, null);
+
+        Assert.assertEquals(Arrays.asList(1, 2, 3), chunker.chunkEnds(rows));
+    }
+
+    @Test
+    public void shouldKeepAllRowsInOneChunkWhenSingle() {
+        List<InsertAllRequest.RowToInsert> rows = Arrays.asList(row("a"), row("b"), row("c"));
+
+        Assert.assertEquals(Collections.singletonList(3), BigQueryInsertAllChunker.single().chunkEnds(rows));
+    }
+
+    @Test
+    public void shouldEstimateBytesAsBase64() {
+        Assert.assertEquals(8 + 4, BigQueryInsertAllChunker.estimateJsonBytes(new byte[6]));
+        Assert.assertEquals(4 + 4, BigQueryInsertAllChunker.estimateJsonBytes(new byte[1]));
+    }
+
+    @Test
+    public void shouldReturnResultsInRequestOrderWhenConcurrent() throws Exception {
+        BigQueryInsertAllChunker chunker = new BigQueryInsertAllChunker(1, Long.MAX_VALUE, Executors.newFixedThreadPool(3));
+        List<Callable<Integer>> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int value = i;
+            requests.add(() -> value);
+        }
+
+        Assert.assertEquals(Arrays.asList(0, 1, 2, 3, 4), chunker.invokeAll(requests));
+        chunker.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRethrowFailureOfConcurrentRequest() throws Exception {
+        BigQueryInsertAllChunker chunker = new BigQueryInsertAllChunker(1, Long.MAX_VALUE, Executors.newFixedThreadPool(2));
+        List<Callable<Integer>> requests = new ArrayList<>();
+        requests.add(() -> 1);
+        requests.add(() -> {
+            throw new IllegalArgumentException("failed");
+        });
+        try {
+            chunker.invokeAll(requests);
+        } finally {
+            chunker.close();
+        }
+    }
+}
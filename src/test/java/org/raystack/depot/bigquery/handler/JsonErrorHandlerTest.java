@@ -574,4 +574,57 @@ public class JsonErrorHandlerTest {
                                 () -> jsonErrorHandler.handle(errorInfoMap, validRecords));
                 verify(bigQueryClient, never()).upsertTable(any());
         }
+
+    @Test
+    public void shouldAddNewFieldsBeforeInsertOnlyOnce() {
+        when(bigQueryClient.getSchema()).thenReturn(Schema.of(getField("first_name", LegacySQLTypeName.STRING)));
+        Record record = Record.builder()
+                .columns(ImmutableMap.of("first_name", "john", "last_name", "doe"))
+                .build();
+        JsonErrorHandler jsonErrorHandler = new JsonErrorHandler(bigQueryClient, bigQuerySinkConfig, instrumentation);
+
+        jsonErrorHandler.beforeInsert(ImmutableList.of(record));
+        jsonErrorHandler.beforeInsert(ImmutableList.of(record));
+
+        verify(bigQueryClient, times(1)).getSchema();
+        verify(bigQueryClient, times(1)).upsertTable(fieldsArgumentCaptor.capture());
+        assertThat(fieldsArgumentCaptor.getValue(), containsInAnyOrder(
+                getField("first_name", LegacySQLTypeName.STRING),
+                getField("last_name", LegacySQLTypeName.STRING)));
+    }
+
+    @Test
+    public void shouldNotFetchSchemaBeforeInsertWhenColumnsAreCached() {
+        when(bigQueryClient.getSchema()).thenReturn(Schema.of(getField("first_name", LegacySQLTypeName.STRING)));
+        Record record = Record.builder()
+                .columns(ImmutableMap.of("first_name", "john"))
+                .build();
+        JsonErrorHandler jsonErrorHandler = new JsonErrorHandler(bigQueryClient, bigQuerySinkConfig, instrumentation);
+
+        jsonErrorHandler.beforeInsert(ImmutableList.of(record));
+        jsonErrorHandler.beforeInsert(ImmutableList.of(record));
+
+        verify(bigQueryClient, times(1)).getSchema();
+        verify(bigQueryClient, never()).upsertTable(any());
+    }
+
+    @Test
+    public void shouldRefreshCachedColumnsOnUnknownFieldError() {
+        when(bigQueryClient.getSchema()).thenReturn(Schema.of(getField("first_name", LegacySQLTypeName.STRING)));
+        Record record = Record.builder()
+                .columns(ImmutableMap.of("first_name", "john"))
+                .build();
+        Record newRecord = Record.builder()
+                .columns(ImmutableMap.of("first_name", "john", "age", "30"))
+                .build();
+        BigQueryError bigQueryError = new BigQueryError("invalid", "age", "no such field: age");
+        JsonErrorHandler jsonErrorHandler = new JsonErrorHandler(bigQueryClient, bigQuerySinkConfig, instrumentation);
+
+        jsonErrorHandler.beforeInsert(ImmutableList.of(record));
+        jsonErrorHandler.handle(ImmutableMap.of(0L, Collections.singletonList(bigQueryError)), ImmutableList.of(newRecord));
+        jsonErrorHandler.beforeInsert(ImmutableList.of(newRecord));
+
+        verify(bigQueryClient, times(2)).getSchema();
+        verify(bigQueryClient, times(1)).upsertTable(any());
+    }
 }
@@ -0,0 +1,134 @@
+package org.raystack.depot.bigquery.storage;
+
+import com.google.api.gax.core.CredentialsProvider;
+import com.google.cloud.bigquery.storage.v1.BigQueryWriteClient;
+import com.google.cloud.bigquery.storage.v1.ProtoSchema;
+import com.google.cloud.bigquery.storage.v1.StreamWriter;
+import com.google.protobuf.DescriptorProtos;
+import org.raystack.depot.bigquery.storage.proto.BigQueryProtoStream;
+import org.raystack.depot.config.BigQuerySinkConfig;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BigQueryStreamWriterRegistryTest {
+    private final BigQuerySinkConfig config = Mockito.mock(BigQuerySinkConfig.class);
+    private final CredentialsProvider credentialsProvider = Mockito.mock(CredentialsProvider.class);
+    private final List<BigQueryWriteClient> clients = new ArrayList<>();
+    private final List<StreamWriter> writers = new ArrayList<>();
+    private final ProtoSchema schema = schema("TestMessage");
+    private BigQueryStreamWriterRegistry registry;
+
+    private static ProtoSchema schema(String name) {
+        return ProtoSchema.newBuilder()
+                .setProtoDescriptor(DescriptorProtos.DescriptorProto.newBuilder().setName(name).build())
+                .build();
+    }
+
+    @Before
+    public void setup() {
+        Mockito.when(config.getGCloudProjectID()).thenReturn("project");
+        Mockito.when(config.getDatasetName()).thenReturn("dataset");
+        Mockito.when(config.getTableName()).thenReturn("table");
+        Mockito.when(config.getBigQueryCredentialPath()).thenReturn("/credentials.json");
+        Mockito.when(config.getSinkBigqueryStorageAPIMinConnectionsPerRegion()).thenReturn(2);
+        Mockito.when(config.getSinkBigqueryStorageAPIMaxConnectionsPerRegion()).thenReturn(20);
+        registry = new BigQueryStreamWriterRegistry(sinkConfig -> {
+            BigQueryWriteClient client = Mockito.mock(BigQueryWriteClient.class);
+            clients.add(client);
+            return client;
+        }, (streamName, client, credentials, writerSchema) -> {
+            StreamWriter writer = Mockito.mock(StreamWriter.class);
+            writers.add(writer);
+            return writer;
+        });
+    }
+
+    @Test
+    public void shouldShareWriterOfSameStreamAndSchema() {
+        BigQueryProtoStream first = registry.acquire(config, credentialsProvider, schema);
+        BigQueryProtoStream second = registry.acquire(config, credentialsProvider, schema);
+
+        Assert.assertEquals(1, writers.size());
+        Assert.assertSame(first.getStreamWriter(), second.getStreamWriter());
+        Assert.assertEquals(1, clients.size());
+    }
+
+    @Test
+    public void shouldCloseWriterAndClientWhenLastReferenceIsReleased() {
+        BigQueryProtoStream first = registry.acquire(config, credentialsProvider, schema);
+        BigQueryProtoStream second = registry.acquire(config, credentialsProvider, schema);
+
+        first.close();
+        first.close();
+
+        Mockito.verify(writers.get(0), Mockito.never()).close();
+        Mockito.verify(clients.get(0), Mockito.never()).close();
+        second.close();
+        Mockito.verify(writers.get(0)).close();
+        Mockito.verify(clients.get(0)).close();
+    }
+
+    @Test
+    public void shouldCreateWriterAgainAfterLastRelease() {
+        registry.acquire(config, credentialsProvider, schema).close();
+
+        registry.acquire(config, credentialsProvider, schema);
+
+        Assert.assertEquals(2, writers.size());
+        Assert.assertEquals(2, clients.size());
+    }
+
+    @Test
+    public void shouldReplaceClosedWriter() {
+        BigQueryProtoStream first = registry.acquire(config, credentialsProvider, schema);
+        Mockito.when(writers.get(0).isClosed()).thenReturn(true);
+
+        BigQueryProtoStream second = registry.acquire(config, credentialsProvider, schema);
+
+        Assert.assertEquals(2, writers.size());
+        Assert.assertSame(writers.get(1), second.getStreamWriter());
+        first.close();
+        Mockito.verify(clients.get(0), Mockito.never()).close();
+        BigQueryProtoStream third = registry.acquire(config, credentialsProvider, schema);
+        Assert.assertSame(writers.get(1), third.getStreamWriter());
+        second.close();
+        third.close();
+        Mockito.verify(clients.get(0)).close();
+    }
+
+    @Test
+    public void shouldCreateWriterForEverySchemaSharingTheClient() {
+        BigQueryProtoStream first = registry.acquire(config, credentialsProvider, schema);
+        BigQueryProtoStream second = registry.acquire(config, credentialsProvider, schema("OtherMessage"));
+
+        Assert.assertEquals(2, writers.size());
+        Assert.assertNotSame(first.getStreamWriter(), second.getStreamWriter());
+        Assert.assertEquals(1, clients.size());
+        first.close();
+        Mockito.verify(writers.get(0)).close();
+        Mockito.verify(clients.get(0), Mockito.never()).close();
+        second.close();
+        Mockito.verify(clients.get(0)).close();
+    }
+
+    @Test
+    public void shouldCloseClientWhenWriterCanNotBeCreated() {
+        BigQueryStreamWriterRegistry failingRegistry = new BigQueryStreamWriterRegistry(sinkConfig -> {
+            BigQueryWriteClient client = Mockito.mock(BigQueryWriteClient.class);
+            clients.add(client);
+            return client;
+        }, (streamName, client, credentials, writerSchema) -> {
+            throw new IOException("failed");
+        });
+
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> failingRegistry.acquire(config, credentialsProvider, schema));
+        Mockito.verify(clients.get(0)).close();
+    }
+}
@@ -764,4 +764,78 @@ public class BigQueryProtoStorageClientTest {
                 Assert.assertEquals(TimeUnit.SECONDS.toMicros(future.getEpochSecond()), updatedAt.get(0));
                 Assert.assertEquals(TimeUnit.SECONDS.toMicros(past.getEpochSecond()), updatedAt.get(1));
         }
+
+        @Test
+        public void shouldUseNewTableDescriptorAfterSchemaUpdate() throws Exception {
+                BigQuerySinkConfig config = ConfigFactory.create(BigQuerySinkConfig.class, System.getProperties());
+                BigQueryProtoWriter writer = Mockito.mock(BigQueryProtoWriter.class);
+                BigQueryProtoStorageClient client = new BigQueryProtoStorageClient(writer, config, protoMessageParser);
+                TableSchema oldSchema = TableSchema.newBuilder()
+                                .addFields(TableFieldSchema.newBuilder()
+                                                .setName("order_number")
+                                                .setMode(TableFieldSchema.Mode.NULLABLE)
+                                                .setType(TableFieldSchema.Type.STRING)
+                                                .build())
+                                .build();
+                Descriptors.Descriptor oldDescriptor = BQTableSchemaToProtoDescriptor
+                                .convertBQTableSchemaToProtoDescriptor(oldSchema);
+                TestMessageBQ m1 = TestMessageBQ.newBuilder()
+                                .setOrderNumber("order-no-112")
+                                .setOrderUrl("order-url-1")
+                                .build();
+                List<Message> inputList = Collections.singletonList(new Message(null, m1.toByteArray()));
+
+                Mockito.when(writer.getDescriptor()).thenReturn(oldDescriptor);
+                ProtoRows oldRows = (ProtoRows) client.convert(inputList).getPayload();
+                DynamicMessage oldRow = DynamicMessage.parseFrom(oldDescriptor, oldRows.getSerializedRows(0));
+                Assert.assertEquals("order-no-112", oldRow.getField(oldDescriptor.findFieldByName("order_number")));
+                Assert.assertTrue(oldRow.getUnknownFields().asMap().isEmpty());
+
+                Mockito.when(writer.getDescriptor()).thenReturn(testDescriptor);
+                ProtoRows newRows = (ProtoRows) client.convert(inputList).getPayload();
+                DynamicMessage newRow = DynamicMessage.parseFrom(testDescriptor, newRows.getSerializedRows(0));
+                Assert.assertEquals("order-no-112", newRow.getField(testDescriptor.findFieldByName("order_number")));
+                Assert.assertEquals("order-url-1", newRow.getField(testDescriptor.findFieldByName("order_url")));
+        }
+
+        @Test
+        public void shouldSplitPayloadIntoChunksUnderMaxRequestBytes() {
+                Properties properties = new Properties();
+                properties.putAll(System.getProperties());
+                properties.setProperty("SINK_BIGQUERY_STORAGE_API_MAX_REQUEST_BYTES", "100");
+                BigQuerySinkConfig config = ConfigFactory.create(BigQuerySinkConfig.class, properties);
+                BigQueryProtoStorageClient client = new BigQueryProtoStorageClient(
+                                Mockito.mock(BigQueryProtoWriter.class), config, protoMessageParser);
+                ProtoRows.Builder rows = ProtoRows.newBuilder();
+                BigQueryPayload payload = new BigQueryPayload();
+                for (int i = 0; i < 5; i++) {
+                        // 42 bytes serialized with the field tag and length
+                        rows.addSerializedRows(ByteString.copyFrom(new byte[40]));
+                        payload.putValidIndexToInputIndex(i, i + 10);
+                }
+                payload.setPayload(rows.build());
+
+                List<BigQueryPayload> chunks = client.split(payload);
+
+                Assert.assertEquals(3, chunks.size());
+                Assert.assertEquals(2, chunks.get(0).getPayloadSize());
+                Assert.assertEquals(2, chunks.get(1).getPayloadSize());
+                Assert.assertEquals(1, chunks.get(2).getPayloadSize());
+                Assert.assertEquals(10, chunks.get(0).getInputIndex(0));
+                Assert.assertEquals(13, chunks.get(1).getInputIndex(1));
+                Assert.assertEquals(14, chunks.get(2).getInputIndex(0));
+                Assert.assertEquals(2, ((ProtoRows) chunks.get(1).getPayload()).getSerializedRowsCount());
+        }
+
+        @Test
+        public void shouldNotSplitPayloadUnderMaxRequestBytes() {
+                BigQueryPayload payload = new BigQueryPayload();
+                payload.putValidIndexToInputIndex(0, 0);
+                payload.setPayload(ProtoRows.newBuilder().addSerializedRows(ByteString.copyFrom(new byte[40])).build());
+
+                List<BigQueryPayload> chunks = converter.split(payload);
+
+                Assert.assertEquals(1, chunks.size());
+                Assert.assertSame(payload, chunks.get(0));
+        }
 }
@@ -0,0 +1,205 @@
+package org.raystack.depot.bigquery.storage.proto;
+
+import com.google.api.core.ApiFutures;
+import com.google.cloud.bigquery.storage.v1.AppendRowsResponse;
+import com.google.cloud.bigquery.storage.v1.BatchCommitWriteStreamsRequest;
+import com.google.cloud.bigquery.storage.v1.BatchCommitWriteStreamsResponse;
+import com.google.cloud.bigquery.storage.v1.BigQueryWriteClient;
+import com.google.cloud.bigquery.storage.v1.CreateWriteStreamRequest;
+import com.google.cloud.bigquery.storage.v1.FinalizeWriteStreamResponse;
+import com.google.cloud.bigquery.storage.v1.ProtoRows;
+import com.google.cloud.bigquery.storage.v1.StreamWriter;
+import com.google.cloud.bigquery.storage.v1.TableName;
+import com.google.cloud.bigquery.storage.v1.WriteStream;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.DescriptorProtos;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.Timestamp;
+import io.grpc.Status;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.raystack.depot.metrics.Instrumentation;
+
+import java.util.concurrent.ExecutionException;
+
+public class BigQueryProtoWriteStreamTest {
+    private final BigQueryWriteClient client = Mockito.mock(BigQueryWriteClient.class);
+    private final StreamWriter writer = Mockito.mock(StreamWriter.class);
+    private final Instrumentation instrumentation = Mockito.mock(Instrumentation.class);
+    private final TableName table = TableName.of("project", "dataset", "table");
+    private final ProtoRows rows = ProtoRows.newBuilder()
+            .addSerializedRows(ByteString.copyFromUtf8("a"))
+            .addSerializedRows(ByteString.copyFromUtf8("b"))
+            .build();
+    private Descriptors.Descriptor descriptor;
+
+    @Before
+    public void setup() throws Exception {
+        DescriptorProtos.FileDescriptorProto file = DescriptorProtos.FileDescriptorProto.newBuilder()
+                .setName("row.proto")
+                .addMessageType(DescriptorProtos.DescriptorProto.newBuilder()
+                        .setName("Row")
+                        .addField(DescriptorProtos.FieldDescriptorProto.newBuilder()
+                                .setName("field1")
+                                .setNumber(1)
+                                .setType(DescriptorProtos.FieldDescriptorProto.Type.TYPE_STRING)))
+                .build();
+        descriptor = Descriptors.FileDescriptor.buildFrom(file, new Descriptors.FileDescriptor[0]).findMessageTypeByName("Row");
+        Mockito.when(client.createWriteStream(Mockito.any(CreateWriteStreamRequest.class)))
+                .thenReturn(WriteStream.newBuilder().setName(table + "/streams/s1").build());
+        Mockito.when(client.finalizeWriteStream(Mockito.anyString()))
+                .thenReturn(FinalizeWriteStreamResponse.newBuilder().setRowCount(2).build());
+        Mockito.when(client.batchCommitWriteStreams(Mockito.any(BatchCommitWriteStreamsRequest.class)))
+                .thenReturn(BatchCommitWriteStreamsResponse.newBuilder().setCommitTime(Timestamp.getDefaultInstance()).build());
+    }
+
+    private BigQueryProtoWriteStream writeStream(WriteStream.Type type, long rotationMs) {
+        return new BigQueryProtoWriteStream(client, (name, schema) -> writer, table, type, rotationMs, instrumentation);
+    }
+
+    @Test
+    public void shouldAppendAtIncreasingOffsets() throws Exception {
+        Mockito.when(writer.append(Mockito.eq(rows), Mockito.anyLong()))
+                .thenReturn(ApiFutures.immediateFuture(AppendRowsResponse.getDefaultInstance()));
+        BigQueryProtoWriteStream writeStream = writeStream(WriteStream.Type.COMMITTED, Long.MAX_VALUE);
+
+        writeStream.append(rows, descriptor);
+        writeStream.append(rows, descriptor);
+
+        Mockito.verify(writer).append(rows, 0L);
+        Mockito.verify(writer).append(rows, 2L);
+        Mockito.verify(client, Mockito.times(1)).createWriteStream(Mockito.any(CreateWriteStreamRequest.class));
+    }
+
+    @Test
+    public void shouldTreatAlreadyWrittenRowsAsAppended() throws Exception {
+        Mockito.when(writer.append(rows, 0L))
+                .thenReturn(ApiFutures.immediateFailedFuture(Status.UNAVAILABLE.asRuntimeException()))
+                .thenReturn(ApiFutures.immediateFailedFuture(Status.ALREADY_EXISTS.asRuntimeException()));
+        Mockito.when(writer.append(rows, 2L))
+                .thenReturn(ApiFutures.immediateFuture(AppendRowsResponse.getDefaultInstance()));
+        BigQueryProtoWriteStream writeStream = writeStream(WriteStream.Type.COMMITTED, Long.MAX_VALUE);
+
+        AppendRowsResponse response = writeStream.append(rows, descriptor);
+        writeStream.append(rows, descriptor);
+
+        Assert.assertFalse(response.hasError());
+        Assert.assertEquals(0L, response.getAppendResult().getOffset().getValue());
+        Mockito.verify(writer, Mockito.times(2)).append(rows, 0L);
+        Mockito.verify(writer).append(rows, 2L);
+    }
+
+    @Test
+    public void shouldKeepStreamAndOffsetForRowsFailingEveryAttempt() throws Exception {
+        Mockito.when(writer.append(rows, 0L))
+                .thenReturn(ApiFutures.immediateFailedFuture(Status.UNAVAILABLE.asRuntimeException()))
+                .thenReturn(ApiFutures.immediateFailedFuture(Status.UNAVAILABLE.asRuntimeException()))
+                .thenReturn(ApiFutures.immediateFailedFuture(Status.UNAVAILABLE.asRuntimeException()))
+                .thenReturn(ApiFutures.immediateFailedFuture(Status.ALREADY_EXISTS.asRuntimeException()));
+        BigQueryProtoWriteStream writeStream = writeStream(WriteStream.Type.COMMITTED, Long.MAX_VALUE);
+
+        Assert.assertThrows(ExecutionException.class, () -> writeStream.append(rows, descriptor));
+        AppendRowsResponse response = writeStream.append(rows, descriptor);
+
+        Assert.assertFalse(response.hasError());
+        Mockito.verify(writer, Mockito.times(4)).append(rows, 0L);
+        Mockito.verify(client, Mockito.times(1)).createWriteStream(Mockito.any(CreateWriteStreamRequest.class));
+        Mockito.verify(client, Mockito.never()).finalizeWriteStream(Mockito.anyString());
+    }
+
+    @Test
+    public void shouldAppendOtherRowsToNewStreamAfterUnconfirmedRows() throws Exception {
+        ProtoRows otherRows = ProtoRows.newBuilder().addSerializedRows(ByteString.copyFromUtf8("c")).build();
+        Mockito.when(writer.append(rows, 0L))
+                .thenReturn(ApiFutures.immediateFailedFuture(Status.UNAVAILABLE.asRuntimeException()));
+        Mockito.when(writer.append(otherRows, 0L))
+                .thenReturn(ApiFutures.immediateFuture(AppendRowsResponse.getDefaultInstance()));
+        BigQueryProtoWriteStream writeStream = writeStream(WriteStream.Type.COMMITTED, Long.MAX_VALUE);
+        Assert.assertThrows(ExecutionException.class, () -> writeStream.append(rows, descriptor));
+
+        writeStream.append(otherRows, descriptor);
+
+        Mockito.verify(client, Mockito.times(2)).createWriteStream(Mockito.any(CreateWriteStreamRequest.class));
+        Mockito.verify(client).finalizeWriteStream(table + "/streams/s1");
+        Mockito.verify(writer).append(otherRows, 0L);
+    }
+
+    @Test
+    public void shouldRotateStreamAfterNonRetryableFailure() throws Exception {
+        Mockito.when(writer.append(rows, 0L))
+                .thenReturn(ApiFutures.immediateFailedFuture(Status.INVALID_ARGUMENT.asRuntimeException()))
+                .thenReturn(ApiFutures.immediateFuture(AppendRowsResponse.getDefaultInstance()));
+        BigQueryProtoWriteStream writeStream = writeStream(WriteStream.Type.COMMITTED, Long.MAX_VALUE);
+
+        Assert.assertThrows(ExecutionException.class, () -> writeStream.append(rows, descriptor));
+        writeStream.append(rows, descriptor);
+
+        Mockito.verify(client, Mockito.times(2)).createWriteStream(Mockito.any(CreateWriteStreamRequest.class));
+        Mockito.verify(client).finalizeWriteStream(table + "/streams/s1");
+        Mockito.verify(client, Mockito.never()).batchCommitWriteStreams(Mockito.any(BatchCommitWriteStreamsRequest.class));
+    }
+
+    @Test
+    public void shouldCommitPendingStreamBeforeAppendReturns() throws Exception {
+        Mockito.when(writer.append(Mockito.eq(rows), Mockito.anyLong()))
+                .thenReturn(ApiFutures.immediateFuture(AppendRowsResponse.getDefaultInstance()));
+        BigQueryProtoWriteStream writeStream = writeStream(WriteStream.Type.PENDING, Long.MAX_VALUE);
+
+        writeStream.append(rows, descriptor);
+
+        Mockito.verify(writer).close();
+        Mockito.verify(client).finalizeWriteStream(table + "/streams/s1");
+        Mockito.verify(client).batchCommitWriteStreams(BatchCommitWriteStreamsRequest.newBuilder()
+                .setParent(table.toString())
+                .addWriteStreams(table + "/streams/s1")
+                .build());
+        writeStream.append(rows, descriptor);
+        Mockito.verify(client, Mockito.times(2)).createWriteStream(Mockito.any(CreateWriteStreamRequest.class));
+        Mockito.verify(writer, Mockito.times(2)).append(rows, 0L);
+    }
+
+    @Test
+    public void shouldFailAppendWithRetryableStatusWhenPendingStreamIsNotCommitted() throws Exception {
+        Mockito.when(writer.append(Mockito.eq(rows), Mockito.anyLong()))
+                .thenReturn(ApiFutures.immediateFuture(AppendRowsResponse.getDefaultInstance()));
+        Mockito.when(client.batchCommitWriteStreams(Mockito.any(BatchCommitWriteStreamsRequest.class)))
+                .thenReturn(BatchCommitWriteStreamsResponse.getDefaultInstance());
+        BigQueryProtoWriteStream writeStream = writeStream(WriteStream.Type.PENDING, Long.MAX_VALUE);
+
+        ExecutionException exception = Assert.assertThrows(ExecutionException.class,
+                () -> writeStream.append(rows, descriptor));
+
+        Assert.assertEquals(Status.Code.ABORTED, Status.fromThrowable(exception.getCause()).getCode());
+        Mockito.verify(writer, Mockito.times(1)).append(rows, 0L);
+    }
+
+    @Test
+    public void shouldNotCommitPendingStreamOnFinish() throws Exception {
+        Mockito.when(writer.append(Mockito.eq(rows), Mockito.anyLong()))
+                .thenReturn(ApiFutures.immediateFailedFuture(Status.INVALID_ARGUMENT.asRuntimeException()));
+        BigQueryProtoWriteStream writeStream = writeStream(WriteStream.Type.PENDING, Long.MAX_VALUE);
+        Assert.assertThrows(ExecutionException.class, () -> writeStream.append(rows, descriptor));
+
+        writeStream.finish();
+
+        Mockito.verify(client).finalizeWriteStream(table + "/streams/s1");
+        Mockito.verify(client, Mockito.never()).batchCommitWriteStreams(Mockito.any(BatchCommitWriteStreamsRequest.class));
+    }
+
+    @Test
+    public void shouldRotateStreamWhenDue() throws Exception {
+        Mockito.when(writer.append(Mockito.eq(rows), Mockito.anyLong()))
+                .thenReturn(ApiFutures.immediateFuture(AppendRowsResponse.getDefaultInstance()));
+        BigQueryProtoWriteStream writeStream = writeStream(WriteStream.Type.COMMITTED, 0);
+
+        writeStream.append(rows, descriptor);
+        writeStream.append(rows, descriptor);
+
+        Mockito.verify(client, Mockito.times(2)).createWriteStream(Mockito.any(CreateWriteStreamRequest.class));
+        Mockito.verify(client).finalizeWriteStream(table + "/streams/s1");
+        Mockito.verify(client, Mockito.never()).batchCommitWriteStreams(Mockito.any(BatchCommitWriteStreamsRequest.class));
+        Mockito.verify(writer, Mockito.times(2)).append(rows, 0L);
+    }
+}
@@ -1,13 +1,15 @@
 package org.raystack.depot.bigquery.storage.proto;
 
 import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
 import com.google.api.gax.core.CredentialsProvider;
 import com.google.cloud.bigquery.storage.v1.*;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.Descriptors;
 import org.raystack.depot.bigquery.storage.BigQueryPayload;
 import org.raystack.depot.bigquery.storage.BigQueryStream;
 import org.raystack.depot.bigquery.storage.BigQueryWriter;
-import org.raystack.depot.bigquery.storage.BigQueryWriterFactory;
 import org.raystack.depot.config.BigQuerySinkConfig;
 import org.raystack.depot.config.enums.SinkConnectorSchemaDataType;
 import org.raystack.depot.metrics.BigQueryMetrics;
@@ -15,10 +17,16 @@ import org.raystack.depot.metrics.Instrumentation;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class BigQueryProtoWriterTest {
         private final StreamWriter writer = Mockito.mock(StreamWriter.class);
@@ -55,8 +63,9 @@ public class BigQueryProtoWriterTest {
                                 .build();
                 Mockito.when(ws.getTableSchema()).thenReturn(schema);
                 Mockito.when(bqwc.getWriteStream(Mockito.any(GetWriteStreamRequest.class))).thenReturn(ws);
-                bigQueryWriter = BigQueryWriterFactory.createBigQueryWriter(config, c -> bqwc, c -> cp,
-                                (c, cr, p) -> bqs, instrumentation, metrics);
+                // schema updates are applied on the appending thread to keep the assertions deterministic
+                bigQueryWriter = new BigQueryProtoWriter(config, c -> bqwc, c -> cp,
+                                (c, cr, p) -> bqs, instrumentation, metrics, MoreExecutors.newDirectExecutorService());
                 bigQueryWriter.init();
         }
 
@@ -364,4 +373,196 @@ public class BigQueryProtoWriterTest {
                                 Mockito.eq(projectId),
                                 Mockito.eq(apiTag));
         }
+
+        @Test
+        public void shouldAppendAsync() throws Exception {
+                ProtoRows rows = Mockito.mock(ProtoRows.class);
+                BigQueryPayload payload = new BigQueryPayload();
+                payload.setPayload(rows);
+                AppendRowsResponse apiResponse = Mockito.mock(AppendRowsResponse.class);
+                Mockito.when(writer.append(rows)).thenReturn(ApiFutures.immediateFuture(apiResponse));
+                CompletableFuture<AppendRowsResponse> future = bigQueryWriter.appendAsync(payload);
+                Assert.assertEquals(apiResponse, future.get(1, TimeUnit.SECONDS));
+                String apiTag = String.format(BigQueryMetrics.BIGQUERY_API_TAG,
+                                BigQueryMetrics.BigQueryStorageAPIType.STREAM_WRITER_APPEND);
+                Mockito.verify(instrumentation, Mockito.times(1)).incrementCounter(
+                                metrics.getBigqueryOperationTotalMetric(),
+                                String.format(BigQueryMetrics.BIGQUERY_TABLE_TAG, config.getTableName()),
+                                String.format(BigQueryMetrics.BIGQUERY_DATASET_TAG, config.getDatasetName()),
+                                String.format(BigQueryMetrics.BIGQUERY_PROJECT_TAG, config.getGCloudProjectID()),
+                                apiTag);
+        }
+
+        @Test
+        public void shouldHoldAsyncAppendBeyondConcurrencyLimitUntilResponseArrives() throws Exception {
+                Mockito.when(config.getSinkBigqueryStorageAPIMaxInflightRequests()).thenReturn(10);
+                Mockito.when(config.getSinkAdaptiveConcurrencyEnable()).thenReturn(true);
+                Mockito.when(config.getSinkAdaptiveConcurrencyInitialLimit()).thenReturn(1);
+                Mockito.when(config.getSinkAdaptiveConcurrencyMaxLimit()).thenReturn(1);
+                Mockito.when(config.getSinkAdaptiveConcurrencyBackoffRatio()).thenReturn(0.5);
+                Mockito.when(config.getSinkAdaptiveConcurrencyLatencyTolerance()).thenReturn(2.0);
+                BigQueryWriteClient bqwc = Mockito.mock(BigQueryWriteClient.class);
+                WriteStream ws = Mockito.mock(WriteStream.class);
+                Mockito.when(ws.getTableSchema()).thenReturn(TableSchema.newBuilder()
+                                .addFields(TableFieldSchema.newBuilder()
+                                                .setName("field1")
+                                                .setMode(TableFieldSchema.Mode.NULLABLE)
+                                                .setType(TableFieldSchema.Type.STRING)
+                                                .build())
+                                .build());
+                Mockito.when(bqwc.getWriteStream(Mockito.any(GetWriteStreamRequest.class))).thenReturn(ws);
+                BigQueryStream bqs = new BigQueryProtoStream(writer);
+                BigQueryProtoWriter limitedWriter = new BigQueryProtoWriter(config, c -> bqwc,
+                                c -> Mockito.mock(CredentialsProvider.class), (c, cr, p) -> bqs, instrumentation, metrics,
+                                MoreExecutors.newDirectExecutorService());
+                limitedWriter.init();
+                ProtoRows rows = Mockito.mock(ProtoRows.class);
+                BigQueryPayload payload = new BigQueryPayload();
+                payload.setPayload(rows);
+                AppendRowsResponse apiResponse = Mockito.mock(AppendRowsResponse.class);
+                SettableApiFuture<AppendRowsResponse> pending = SettableApiFuture.create();
+                Mockito.when(writer.append(rows)).thenReturn(pending)
+                                .thenReturn(ApiFutures.immediateFuture(apiResponse));
+
+                CompletableFuture<AppendRowsResponse> first = limitedWriter.appendAsync(payload);
+                CompletableFuture<CompletableFuture<AppendRowsResponse>> second = CompletableFuture
+                                .supplyAsync(() -> limitedWriter.appendAsync(payload));
+
+                Mockito.verify(writer, Mockito.after(200).times(1)).append(rows);
+                Assert.assertFalse(second.isDone());
+                pending.set(apiResponse);
+                Assert.assertEquals(apiResponse, first.get(1, TimeUnit.SECONDS));
+                Assert.assertEquals(apiResponse, second.get(1, TimeUnit.SECONDS).get(1, TimeUnit.SECONDS));
+                Mockito.verify(writer, Mockito.times(2)).append(rows);
+        }
+
+        @Test
+        public void shouldReleaseInflightRequestWhenAppendFails() throws Exception {
+                ProtoRows failedRows = Mockito.mock(ProtoRows.class);
+                BigQueryPayload failedPayload = new BigQueryPayload();
+                failedPayload.setPayload(failedRows);
+                ProtoRows rows = Mockito.mock(ProtoRows.class);
+                BigQueryPayload payload = new BigQueryPayload();
+                payload.setPayload(rows);
+                AppendRowsResponse apiResponse = Mockito.mock(AppendRowsResponse.class);
+                RuntimeException exception = new RuntimeException("append failed");
+                Mockito.when(writer.append(failedRows)).thenReturn(ApiFutures.immediateFailedFuture(exception));
+                Mockito.when(writer.append(rows)).thenReturn(ApiFutures.immediateFuture(apiResponse));
+
+                CompletableFuture<AppendRowsResponse> failed = bigQueryWriter.appendAsync(failedPayload);
+                Assert.assertTrue(failed.isCompletedExceptionally());
+                // only one request is allowed in flight by default, this would block if the permit leaked
+                CompletableFuture<AppendRowsResponse> future = bigQueryWriter.appendAsync(payload);
+                Assert.assertEquals(apiResponse, future.get(1, TimeUnit.SECONDS));
+        }
+
+        @Test
+        public void shouldKeepAppendingToCurrentWriterWhileUpdatedSchemaWriterIsCreated() throws Exception {
+                TableSchema schema = TableSchema.newBuilder()
+                                .addFields(TableFieldSchema.newBuilder()
+                                                .setName("field1")
+                                                .setMode(TableFieldSchema.Mode.NULLABLE)
+                                                .setType(TableFieldSchema.Type.STRING)
+                                                .build())
+                                .build();
+                TableSchema newSchema = schema.toBuilder()
+                                .addFields(TableFieldSchema.newBuilder()
+                                                .setName("field2")
+                                                .setMode(TableFieldSchema.Mode.NULLABLE)
+                                                .setType(TableFieldSchema.Type.STRING)
+                                                .build())
+                                .build();
+                BigQueryWriteClient bqwc = Mockito.mock(BigQueryWriteClient.class);
+                WriteStream ws = Mockito.mock(WriteStream.class);
+                Mockito.when(ws.getTableSchema()).thenReturn(schema);
+                Mockito.when(bqwc.getWriteStream(Mockito.any(GetWriteStreamRequest.class))).thenReturn(ws);
+                StreamWriter updatedWriter = Mockito.mock(StreamWriter.class);
+                BigQueryStream[] streams = {new BigQueryProtoStream(writer), new BigQueryProtoStream(updatedWriter)};
+                int[] created = {0};
+                ExecutorService executor = Mockito.mock(ExecutorService.class);
+                BigQueryProtoWriter protoWriter = new BigQueryProtoWriter(config, c -> bqwc,
+                                c -> Mockito.mock(CredentialsProvider.class), (c, cr, p) -> streams[created[0]++],
+                                instrumentation, metrics, executor);
+                protoWriter.init();
+                ProtoRows rows = Mockito.mock(ProtoRows.class);
+                BigQueryPayload payload = new BigQueryPayload();
+                payload.setPayload(rows);
+                AppendRowsResponse apiResponse = Mockito.mock(AppendRowsResponse.class);
+                Mockito.when(writer.append(rows)).thenReturn(ApiFutures.immediateFuture(apiResponse));
+                Mockito.when(updatedWriter.append(rows)).thenReturn(ApiFutures.immediateFuture(apiResponse));
+                Mockito.when(writer.getUpdatedSchema()).thenReturn(newSchema);
+
+                protoWriter.appendAndGet(payload);
+                protoWriter.appendAndGet(payload);
+
+                ArgumentCaptor<Runnable> swap = ArgumentCaptor.forClass(Runnable.class);
+                Mockito.verify(executor, Mockito.times(1)).execute(swap.capture());
+                Mockito.verify(writer, Mockito.times(2)).append(rows);
+                Mockito.verify(writer, Mockito.never()).close();
+                Assert.assertEquals(1, protoWriter.getDescriptor().getFields().size());
+
+                swap.getValue().run();
+                protoWriter.appendAndGet(payload);
+
+                Mockito.verify(writer, Mockito.times(1)).close();
+                Mockito.verify(updatedWriter, Mockito.times(1)).append(rows);
+                Assert.assertEquals(updatedWriter, protoWriter.getStreamWriter());
+                Assert.assertEquals(2, protoWriter.getDescriptor().getFields().size());
+        }
+
+        @Test
+        public void shouldCloseOutdatedWriterOnlyAfterAppendRunningDuringSwap() throws Exception {
+                TableSchema schema = TableSchema.newBuilder()
+                                .addFields(TableFieldSchema.newBuilder()
+                                                .setName("field1")
+                                                .setMode(TableFieldSchema.Mode.NULLABLE)
+                                                .setType(TableFieldSchema.Type.STRING)
+                                                .build())
+                                .build();
+                TableSchema newSchema = schema.toBuilder()
+                                .addFields(TableFieldSchema.newBuilder()
+                                                .setName("field2")
+                                                .setMode(TableFieldSchema.Mode.NULLABLE)
+                                                .setType(TableFieldSchema.Type.STRING)
+                                                .build())
+                                .build();
+                BigQueryWriteClient bqwc = Mockito.mock(BigQueryWriteClient.class);
+                WriteStream ws = Mockito.mock(WriteStream.class);
+                Mockito.when(ws.getTableSchema()).thenReturn(schema);
+                Mockito.when(bqwc.getWriteStream(Mockito.any(GetWriteStreamRequest.class))).thenReturn(ws);
+                StreamWriter updatedWriter = Mockito.mock(StreamWriter.class);
+                BigQueryStream[] streams = {new BigQueryProtoStream(writer), new BigQueryProtoStream(updatedWriter)};
+                int[] created = {0};
+                List<Runnable> tasks = new ArrayList<>();
+                ExecutorService executor = Mockito.mock(ExecutorService.class);
+                Mockito.doAnswer(invocation -> tasks.add(invocation.getArgument(0)))
+                                .when(executor).execute(Mockito.any(Runnable.class));
+                BigQueryProtoWriter protoWriter = new BigQueryProtoWriter(config, c -> bqwc,
+                                c -> Mockito.mock(CredentialsProvider.class), (c, cr, p) -> streams[created[0]++],
+                                instrumentation, metrics, executor);
+                protoWriter.init();
+                ProtoRows rows = Mockito.mock(ProtoRows.class);
+                BigQueryPayload payload = new BigQueryPayload();
+                payload.setPayload(rows);
+                AppendRowsResponse apiResponse = Mockito.mock(AppendRowsResponse.class);
+                Mockito.when(writer.getUpdatedSchema()).thenReturn(newSchema);
+                // the swap runs while the append still sends to the outdated writer
+                Mockito.when(writer.append(rows)).thenAnswer(invocation -> {
+                        tasks.get(0).run();
+                        Mockito.verify(writer, Mockito.never()).close();
+                        return ApiFutures.immediateFuture(apiResponse);
+                });
+                Mockito.when(updatedWriter.append(rows)).thenReturn(ApiFutures.immediateFuture(apiResponse));
+
+                Assert.assertEquals(apiResponse, protoWriter.appendAndGet(payload));
+
+                Assert.assertEquals(updatedWriter, protoWriter.getStreamWriter());
+                Assert.assertEquals(2, tasks.size());
+                Mockito.verify(writer, Mockito.never()).close();
+                tasks.get(1).run();
+                Mockito.verify(writer, Mockito.times(1)).close();
+                protoWriter.appendAndGet(payload);
+                Mockito.verify(writer, Mockito.times(1)).append(rows);
+                Mockito.verify(updatedWriter, Mockito.times(1)).append(rows);
+        }
 }
@@ -23,6 +23,7 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class BigTableSinkTest {
 
@@ -94,4 +95,27 @@ public class BigTableSinkTest {
         Assert.assertEquals(errorInfo, response.getErrorsFor(3));
         Assert.assertEquals(errorInfo, response.getErrorsFor(4));
     }
+
+    @Test
+    public void shouldSendValidBigTableRecordsAsynchronously() throws Exception {
+        Mockito.when(bigTableRecordParser.convert(messages)).thenReturn(validRecords);
+        Mockito.when(bigTableClient.sendAsync(validRecords)).thenReturn(CompletableFuture.completedFuture(null));
+
+        SinkResponse response = bigTableSink.pushToSinkAsync(messages).get();
+
+        Mockito.verify(bigTableClient, Mockito.times(1)).sendAsync(validRecords);
+        Mockito.verify(bigTableClient, Mockito.times(0)).send(validRecords);
+        Assert.assertEquals(0, response.getErrors().size());
+    }
+
+    @Test
+    public void shouldNotSendAsynchronouslyWhenAllRecordsAreInvalid() throws Exception {
+        Mockito.when(bigTableRecordParser.convert(messages)).thenReturn(invalidRecords);
+
+        SinkResponse response = bigTableSink.pushToSinkAsync(messages).get();
+
+        Mockito.verify(bigTableClient, Mockito.times(0)).sendAsync(Mockito.anyList());
+        Assert.assertEquals(2, response.getErrors().size());
+        Assert.assertEquals(errorInfo, response.getErrorsFor(3));
+    }
 }
@@ -1,5 +1,7 @@
 package org.raystack.depot.bigtable.client;
 
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
 import com.google.api.gax.rpc.ApiException;
 import com.google.bigtable.admin.v2.ColumnFamily;
 import com.google.cloud.bigtable.admin.v2.BigtableTableAdminClient;
@@ -12,6 +14,7 @@ import org.raystack.depot.TestBookingLogKey;
 import org.raystack.depot.TestBookingLogMessage;
 import org.raystack.depot.TestServiceType;
 import org.raystack.depot.config.BigTableSinkConfig;
+import org.raystack.depot.exception.SinkException;
 import org.raystack.depot.message.Message;
 import org.raystack.depot.message.SinkConnectorSchemaMessageMode;
 import org.raystack.depot.metrics.Instrumentation;
@@ -32,6 +35,10 @@ import org.mockito.MockitoAnnotations;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.ArgumentMatchers.eq;
@@ -165,4 +172,44 @@ public class BigTableClientTest {
                 eq(String.format(BigTableMetrics.BIGTABLE_INSTANCE_TAG, sinkConfig.getInstanceId())),
                 eq(String.format(BigTableMetrics.BIGTABLE_TABLE_TAG, sinkConfig.getTableId())));
     }
+
+    @Test
+    public void shouldCompleteAsyncSendExceptionallyWithSinkExceptionWhenBulkMutateRowsFails() throws Exception {
+        IllegalStateException failure = new IllegalStateException("failed");
+        when(bigTableDataClient.bulkMutateRowsAsync(isA(BulkMutation.class)))
+                .thenReturn(ApiFutures.immediateFailedFuture(failure));
+
+        CompletableFuture<BigTableResponse> response = bigTableClient.sendAsync(validRecords);
+
+        ExecutionException e = Assert.assertThrows(ExecutionException.class, response::get);
+        Assert.assertTrue(e.getCause() instanceof SinkException);
+        Assert.assertSame(failure, e.getCause().getCause());
+    }
+
+    @Test
+    public void shouldHoldAsyncSendBeyondConcurrencyLimitUntilMutationFinishes() throws Exception {
+        Properties properties = new Properties();
+        properties.putAll(System.getProperties());
+        properties.setProperty("SINK_ADAPTIVE_CONCURRENCY_ENABLE", "true");
+        properties.setProperty("SINK_ADAPTIVE_CONCURRENCY_INITIAL_LIMIT", "1");
+        properties.setProperty("SINK_ADAPTIVE_CONCURRENCY_MAX_LIMIT", "1");
+        BigTableSinkConfig limitedConfig = ConfigFactory.create(BigTableSinkConfig.class, properties);
+        BigTableClient limitedClient = new BigTableClient(limitedConfig, bigTableDataClient, bigtableTableAdminClient,
+                new BigTableSchema(limitedConfig.getColumnFamilyMapping()), bigtableMetrics, instrumentation);
+        SettableApiFuture<Void> pending = SettableApiFuture.create();
+        when(bigTableDataClient.bulkMutateRowsAsync(isA(BulkMutation.class)))
+                .thenReturn(pending)
+                .thenReturn(ApiFutures.immediateFuture(null));
+
+        CompletableFuture<BigTableResponse> first = limitedClient.sendAsync(validRecords);
+        CompletableFuture<CompletableFuture<BigTableResponse>> second = CompletableFuture
+                .supplyAsync(() -> limitedClient.sendAsync(validRecords));
+
+        Mockito.verify(bigTableDataClient, Mockito.after(200).times(1)).bulkMutateRowsAsync(isA(BulkMutation.class));
+        Assert.assertFalse(second.isDone());
+        pending.set(null);
+        Assert.assertNull(first.get(1, TimeUnit.SECONDS));
+        Assert.assertNull(second.get(1, TimeUnit.SECONDS).get(1, TimeUnit.SECONDS));
+        Mockito.verify(bigTableDataClient, Mockito.times(2)).bulkMutateRowsAsync(isA(BulkMutation.class));
+    }
 }
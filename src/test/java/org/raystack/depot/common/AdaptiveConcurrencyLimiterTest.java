@@ -0,0 +1,93 @@
+package org.raystack.depot.common;
+
+import org.raystack.depot.config.SinkConfig;
+import org.raystack.depot.metrics.Instrumentation;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AdaptiveConcurrencyLimiterTest {
+    private final Instrumentation instrumentation = Mockito.mock(Instrumentation.class);
+
+    @Test
+    public void shouldGrowLimitByAboutOnePerLimitSuccesses() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", "limit", instrumentation, 2, 10, 0.5, Double.MAX_VALUE);
+
+        limiter.acquire().onSuccess();
+        limiter.acquire().onSuccess();
+        Assert.assertEquals(2, limiter.getLimit());
+        limiter.acquire().onSuccess();
+        limiter.acquire().onSuccess();
+
+        Assert.assertEquals(3, limiter.getLimit());
+        Mockito.verify(instrumentation).captureValue("limit", 3, "client=test");
+    }
+
+    @Test
+    public void shouldCutLimitWhenDropped() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", "limit", instrumentation, 8, 10, 0.5, Double.MAX_VALUE);
+
+        limiter.acquire().onDropped();
+
+        Assert.assertEquals(4, limiter.getLimit());
+        Mockito.verify(instrumentation).captureValue("limit", 4, "client=test");
+    }
+
+    @Test
+    public void shouldKeepLimitWithinBounds() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", "limit", instrumentation, 2, 3, 0.5, Double.MAX_VALUE);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire().onSuccess();
+        }
+        Assert.assertEquals(3, limiter.getLimit());
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire().onDropped();
+        }
+        Assert.assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    public void shouldKeepLimitWhenIgnoredAndReleaseOnlyOnce() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", "limit", instrumentation, 4, 10, 0.5, Double.MAX_VALUE);
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+        permit.onIgnore();
+        permit.onDropped();
+
+        Assert.assertEquals(4, limiter.getLimit());
+        Mockito.verifyNoInteractions(instrumentation);
+    }
+
+    @Test
+    public void shouldBlockUntilPermitIsReleased() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", "limit", instrumentation, 1, 1, 0.5, Double.MAX_VALUE);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread waiting = new Thread(() -> {
+            limiter.acquire().onIgnore();
+            acquired.countDown();
+        });
+        waiting.start();
+
+        Assert.assertFalse(acquired.await(100, TimeUnit.MILLISECONDS));
+        permit.onIgnore();
+        Assert.assertTrue(acquired.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldNotLimitWhenDisabled() {
+        SinkConfig config = Mockito.mock(SinkConfig.class);
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.create("test", config, instrumentation);
+
+        for (int i = 0; i < 1000; i++) {
+            limiter.acquire();
+        }
+
+        Assert.assertSame(AdaptiveConcurrencyLimiter.unlimited(), limiter);
+        Mockito.verifyNoInteractions(instrumentation);
+    }
+}
@@ -0,0 +1,57 @@
+package org.raystack.depot.common;
+
+import org.raystack.depot.message.Message;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class BatchConverterTest {
+
+    private List<Message> createMessages(int count) {
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            messages.add(new Message(null, ("message-" + i).getBytes()));
+        }
+        return messages;
+    }
+
+    @Test
+    public void shouldConvertOnCallingThreadWhenBatchFitsInOneChunk() {
+        BatchConverter batchConverter = new BatchConverter(4, 100);
+        Set<Thread> threads = new HashSet<>();
+        List<Integer> results = batchConverter.convert(createMessages(10), (message, index) -> {
+            threads.add(Thread.currentThread());
+            return index;
+        });
+        Assert.assertEquals(10, results.size());
+        Assert.assertEquals(1, threads.size());
+        Assert.assertTrue(threads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void shouldKeepBatchOrderWhenConvertingInParallel() {
+        BatchConverter batchConverter = new BatchConverter(4, 7);
+        List<Message> messages = createMessages(100);
+        List<String> results = batchConverter.convert(messages,
+                (message, index) -> index + ":" + new String((byte[]) message.getLogMessage()));
+        Assert.assertEquals(100, results.size());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(i + ":message-" + i, results.get(i));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldPropagateUnexpectedExceptions() {
+        BatchConverter batchConverter = new BatchConverter(2, 5);
+        batchConverter.convert(createMessages(20), (message, index) -> {
+            if (index == 13) {
+                throw new IllegalStateException("failed");
+            }
+            return index;
+        });
+    }
+}
@@ -0,0 +1,39 @@
+package org.raystack.depot.common;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class DirectoryLockTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldNotLockDirectoryTwice() throws IOException {
+        Path directory = folder.getRoot().toPath().resolve("dir");
+        try (DirectoryLock lock = DirectoryLock.tryLock(directory)) {
+            Assert.assertNotNull(lock);
+            Assert.assertNull(DirectoryLock.tryLock(directory));
+        }
+        try (DirectoryLock lock = DirectoryLock.tryLock(directory)) {
+            Assert.assertNotNull(lock);
+        }
+    }
+
+    @Test
+    public void shouldLockFirstUnusedSubdirectory() throws IOException {
+        Path parent = folder.getRoot().toPath();
+        try (DirectoryLock first = DirectoryLock.lockUnused(parent);
+                DirectoryLock second = DirectoryLock.lockUnused(parent)) {
+            Assert.assertEquals(parent.resolve("0"), first.getDirectory());
+            Assert.assertEquals(parent.resolve("1"), second.getDirectory());
+        }
+        try (DirectoryLock lock = DirectoryLock.lockUnused(parent)) {
+            Assert.assertEquals(parent.resolve("0"), lock.getDirectory());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.raystack.depot.common;
+
+import org.raystack.depot.error.ErrorInfo;
+import org.raystack.depot.error.ErrorType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RetryExecutorTest {
+    private final ErrorInfo retryable = new ErrorInfo(new Exception("unavailable"), ErrorType.SINK_5XX_ERROR);
+    private final ErrorInfo nonRetryable = new ErrorInfo(new Exception("bad row"), ErrorType.SINK_4XX_ERROR);
+
+    @Test
+    public void shouldResendOnlyRecordsWithRetryableErrors() {
+        List<List<Long>> attempts = new ArrayList<>();
+        RetryExecutor retryExecutor = new RetryExecutor(3, 1, 1, 10000);
+
+        Map<Long, ErrorInfo> errors = retryExecutor.execute(Arrays.asList(10L, 11L, 12L, 13L), Long::longValue, records -> {
+            attempts.add(records);
+            Map<Long, ErrorInfo> attemptErrors = new HashMap<>();
+            if (attempts.size() == 1) {
+                attemptErrors.put(11L, retryable);
+                attemptErrors.put(12L, nonRetryable);
+                attemptErrors.put(13L, new ErrorInfo(new Exception("throttled"), ErrorType.SINK_RETRYABLE_ERROR));
+            }
+            return attemptErrors;
+        });
+
+        Assert.assertEquals(2, attempts.size());
+        Assert.assertEquals(Arrays.asList(11L, 13L), attempts.get(1));
+        Assert.assertEquals(Collections.singletonMap(12L, nonRetryable), errors);
+    }
+
+    @Test
+    public void shouldReturnLastErrorAfterMaxAttempts() {
+        List<List<Long>> attempts = new ArrayList<>();
+        RetryExecutor retryExecutor = new RetryExecutor(3, 1, 1, 10000);
+
+        Map<Long, ErrorInfo> errors = retryExecutor.execute(Arrays.asList(1L, 2L), Long::longValue, records -> {
+            attempts.add(records);
+            return Collections.singletonMap(2L, retryable);
+        });
+
+        Assert.assertEquals(3, attempts.size());
+        Assert.assertEquals(Collections.singletonList(2L), attempts.get(2));
+        Assert.assertEquals(Collections.singletonMap(2L, retryable), errors);
+    }
+
+    @Test
+    public void shouldNotRetryWhenBackoffExceedsTimeout() {
+        List<List<Long>> attempts = new ArrayList<>();
+        RetryExecutor retryExecutor = new RetryExecutor(5, 1000, 1000, 10);
+
+        Map<Long, ErrorInfo> errors = retryExecutor.execute(Collections.singletonList(1L), Long::longValue, records -> {
+            attempts.add(records);
+            return Collections.singletonMap(1L, retryable);
+        });
+
+        Assert.assertEquals(1, attempts.size());
+        Assert.assertEquals(Collections.singletonMap(1L, retryable), errors);
+    }
+
+    @Test
+    public void shouldSendOnceWithoutRetries() {
+        List<List<Long>> attempts = new ArrayList<>();
+
+        RetryExecutor.noRetry().execute(Collections.singletonList(1L), Long::longValue, records -> {
+            attempts.add(records);
+            return Collections.singletonMap(1L, retryable);
+        });
+
+        Assert.assertEquals(1, attempts.size());
+    }
+
+    @Test
+    public void shouldKeepBackoffWithinBounds() {
+        RetryExecutor retryExecutor = new RetryExecutor(10, 100, 1000, 10000);
+        for (int i = 0; i < 100; i++) {
+            long first = retryExecutor.backoffMs(1);
+            long fourth = retryExecutor.backoffMs(4);
+            long tenth = retryExecutor.backoffMs(10);
+            Assert.assertTrue(first >= 50 && first <= 100);
+            Assert.assertTrue(fourth >= 400 && fourth <= 800);
+            Assert.assertTrue(tenth >= 500 && tenth <= 1000);
+        }
+    }
+}
@@ -30,6 +30,7 @@ import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -142,4 +143,32 @@ public class TemplateTest {
         String expectedLocation = "{\"name\":\"\",\"address\":\"\",\"latitude\":23.9,\"longitude\":10.0,\"type\":\"\",\"note\":\"\",\"place_id\":\"\",\"accuracy_meter\":0.0,\"gate_id\":\"\"}";
         JSONAssert.assertEquals(expectedLocation, template.parse(parsedBookingMessage, schemaBooking), true);
     }
+
+    @Test
+    public void shouldAppendIntegralValuesForDecimalSpecifier() throws InvalidTemplateException {
+        ParsedMessage parsedMessage = mock(ParsedMessage.class);
+        when(parsedMessage.getFieldByName("id", schemaTest)).thenReturn(42L);
+        when(parsedMessage.getFieldByName("name", schemaTest)).thenReturn("order");
+        Template template = new Template("key:%d:%s:end, id, name");
+        assertEquals("key:42:order:end", template.parse(parsedMessage, schemaTest));
+        assertEquals("key:42:order:end", template.parse(parsedMessage, schemaTest));
+    }
+
+    @Test
+    public void shouldFormatSpecifiersWithoutFastPath() throws InvalidTemplateException {
+        ParsedMessage parsedMessage = mock(ParsedMessage.class);
+        when(parsedMessage.getFieldByName("id", schemaTest)).thenReturn(42);
+        when(parsedMessage.getFieldByName("price", schemaTest)).thenReturn(1.5);
+        Template template = new Template("%05d-%.2f, id, price");
+        assertEquals("00042-1.50", template.parse(parsedMessage, schemaTest));
+    }
+
+    @Test
+    public void shouldFormatTemplateWithArgumentIndexes() throws InvalidTemplateException {
+        ParsedMessage parsedMessage = mock(ParsedMessage.class);
+        when(parsedMessage.getFieldByName("first", schemaTest)).thenReturn("a");
+        when(parsedMessage.getFieldByName("second", schemaTest)).thenReturn("b");
+        Template template = new Template("%2$s-%1$s, first, second");
+        assertEquals("b-a", template.parse(parsedMessage, schemaTest));
+    }
 }
@@ -0,0 +1,66 @@
+package org.raystack.depot.config;
+
+import org.raystack.depot.common.TupleString;
+import org.raystack.depot.message.SinkConnectorSchemaMessageMode;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BigQuerySinkConfigSnapshotTest {
+
+    @Test
+    public void shouldCopyValuesFromConfig() {
+        Map<String, String> env = new HashMap<>();
+        env.put("SINK_CONNECTOR_SCHEMA_MESSAGE_MODE", "LOG_KEY");
+        env.put("SINK_BIGQUERY_TABLE_PARTITION_KEY", "created_at");
+        env.put("SINK_BIGQUERY_METADATA_COLUMNS_TYPES", "topic=string,partition=integer");
+        env.put("SINK_BIGQUERY_STORAGE_API_MAX_INFLIGHT_REQUESTS", "4");
+        BigQuerySinkConfig config = ConfigFactory.create(BigQuerySinkConfig.class, env);
+
+        BigQuerySinkConfig snapshot = BigQuerySinkConfigSnapshot.of(config);
+
+        Assert.assertEquals(SinkConnectorSchemaMessageMode.LOG_KEY, snapshot.getSinkConnectorSchemaMessageMode());
+        Assert.assertEquals("created_at", snapshot.getTablePartitionKey());
+        Assert.assertEquals(4, snapshot.getSinkBigqueryStorageAPIMaxInflightRequests());
+        Assert.assertEquals(config.isRowInsertIdEnabled(), snapshot.isRowInsertIdEnabled());
+        Assert.assertEquals(new ArrayList<TupleString>() {
+            {
+                add(new TupleString("topic", "string"));
+                add(new TupleString("partition", "integer"));
+            }
+        }, snapshot.getMetadataColumnsTypes());
+    }
+
+    @Test
+    public void shouldReadConfigOnlyOnce() {
+        BigQuerySinkConfig config = mock(BigQuerySinkConfig.class);
+        when(config.getTablePartitionKey()).thenReturn("created_at");
+
+        BigQuerySinkConfig snapshot = BigQuerySinkConfigSnapshot.of(config);
+        snapshot.getTablePartitionKey();
+        snapshot.getTablePartitionKey();
+
+        verify(config, times(1)).getTablePartitionKey();
+        Assert.assertSame(snapshot, BigQuerySinkConfigSnapshot.of(snapshot));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotAllowModifyingLists() {
+        BigQuerySinkConfig config = mock(BigQuerySinkConfig.class);
+        List<String> clusteringKeys = new ArrayList<>();
+        clusteringKeys.add("created_at");
+        when(config.getTableClusteringKeys()).thenReturn(clusteringKeys);
+
+        BigQuerySinkConfigSnapshot.of(config).getTableClusteringKeys().add("order_number");
+    }
+}
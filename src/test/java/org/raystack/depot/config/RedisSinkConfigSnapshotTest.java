@@ -0,0 +1,28 @@
+package org.raystack.depot.config;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Properties;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RedisSinkConfigSnapshotTest {
+
+    @Test
+    public void shouldNotShareHashsetMappingWithConfig() {
+        RedisSinkConfig config = mock(RedisSinkConfig.class);
+        Properties mapping = new Properties();
+        mapping.setProperty("order_number", "ORDER_NUMBER");
+        when(config.getSinkRedisHashsetFieldToColumnMapping()).thenReturn(mapping);
+
+        RedisSinkConfig snapshot = RedisSinkConfigSnapshot.of(config);
+        mapping.setProperty("order_url", "ORDER_URL");
+        snapshot.getSinkRedisHashsetFieldToColumnMapping().setProperty("order_details", "ORDER_DETAILS");
+
+        Properties expected = new Properties();
+        expected.setProperty("order_number", "ORDER_NUMBER");
+        Assert.assertEquals(expected, snapshot.getSinkRedisHashsetFieldToColumnMapping());
+    }
+}
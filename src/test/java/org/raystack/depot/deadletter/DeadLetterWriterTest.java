@@ -0,0 +1,131 @@
+package org.raystack.depot.deadletter;
+
+import org.raystack.depot.common.Tuple;
+import org.raystack.depot.config.SinkConfig;
+import org.raystack.depot.error.ErrorInfo;
+import org.raystack.depot.error.ErrorType;
+import org.raystack.depot.message.Message;
+import org.raystack.depot.metrics.Instrumentation;
+import org.raystack.depot.metrics.SinkMetrics;
+import org.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+public class DeadLetterWriterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private final Instrumentation instrumentation = Mockito.mock(Instrumentation.class);
+    private final SinkMetrics sinkMetrics = new SinkMetrics(Mockito.mock(SinkConfig.class));
+    private final ErrorInfo invalid = new ErrorInfo(new Exception("invalid field"), ErrorType.INVALID_MESSAGE_ERROR);
+
+    private List<Path> files(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private List<JSONObject> read(Path file) throws IOException {
+        List<JSONObject> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            reader.lines().forEach(line -> lines.add(new JSONObject(line)));
+        }
+        return lines;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldWritePayloadMetadataAndError() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        DeadLetterWriter writer = new DeadLetterWriter(directory, 1024 * 1024, 10, 100, instrumentation, sinkMetrics);
+        Message message = new Message("key".getBytes(StandardCharsets.UTF_8), "{\"a\":1}",
+                new Tuple<>("message_offset", 10L));
+
+        Assert.assertTrue(writer.offer(message, invalid));
+        writer.close();
+
+        List<JSONObject> lines = read(files(directory).get(0));
+        Assert.assertEquals(1, lines.size());
+        JSONObject line = lines.get(0);
+        Assert.assertEquals("key", new String(Base64.getDecoder().decode(line.getString("log_key_base64")), StandardCharsets.UTF_8));
+        Assert.assertEquals("{\"a\":1}", line.getString("log_message"));
+        Assert.assertEquals(10L, line.getJSONObject("metadata").getLong("message_offset"));
+        Assert.assertEquals("INVALID_MESSAGE_ERROR", line.getString("error_type"));
+        Assert.assertEquals("invalid field", line.getString("error_message"));
+        Mockito.verify(instrumentation).captureCount(sinkMetrics.getDeadLetterMessagesMetric(), 1L, "error_type=INVALID_MESSAGE_ERROR");
+    }
+
+    @Test
+    public void shouldWriteToSubdirectoriesOfTheirOwn() throws IOException {
+        Path parent = folder.getRoot().toPath();
+        DeadLetterWriter first = DeadLetterWriter.openUnused(parent, 1024 * 1024, 1, 100, instrumentation, sinkMetrics);
+        DeadLetterWriter second = DeadLetterWriter.openUnused(parent, 1024 * 1024, 1, 100, instrumentation, sinkMetrics);
+
+        Assert.assertTrue(first.offer(new Message(null, "first"), invalid));
+        Assert.assertTrue(second.offer(new Message(null, "second"), invalid));
+        first.close();
+        second.close();
+
+        Assert.assertEquals("first", read(parent.resolve("0").resolve("dead-letter-00000000000000000000.jsonl.gz"))
+                .get(0).getString("log_message"));
+        Assert.assertEquals("second", read(parent.resolve("1").resolve("dead-letter-00000000000000000000.jsonl.gz"))
+                .get(0).getString("log_message"));
+    }
+
+    @Test
+    public void shouldRotateAndKeepMaxSegments() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        DeadLetterWriter writer = new DeadLetterWriter(directory, 1, 2, 100, instrumentation, sinkMetrics);
+
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(writer.offer(new Message(null, "message-" + i), invalid));
+        }
+        writer.close();
+
+        List<Path> files = files(directory);
+        Assert.assertEquals(2, files.size());
+        Assert.assertEquals("message-3", read(files.get(0)).get(0).getString("log_message"));
+        Assert.assertEquals("message-4", read(files.get(1)).get(0).getString("log_message"));
+    }
+
+    @Test
+    public void shouldContinueNumberingAfterExistingFiles() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        DeadLetterWriter first = new DeadLetterWriter(directory, 1024, 10, 100, instrumentation, sinkMetrics);
+        first.offer(new Message(null, "first"), invalid);
+        first.close();
+        DeadLetterWriter second = new DeadLetterWriter(directory, 1024, 10, 100, instrumentation, sinkMetrics);
+        second.offer(new Message(null, "second"), invalid);
+        second.close();
+
+        List<Path> files = files(directory);
+        Assert.assertEquals(2, files.size());
+        Assert.assertEquals("first", read(files.get(0)).get(0).getString("log_message"));
+        Assert.assertEquals("second", read(files.get(1)).get(0).getString("log_message"));
+    }
+
+    @Test
+    public void shouldRefuseLettersAfterClose() throws IOException {
+        DeadLetterWriter writer = new DeadLetterWriter(folder.getRoot().toPath(), 1024, 10, 100, instrumentation, sinkMetrics);
+        writer.close();
+
+        Assert.assertFalse(writer.offer(new Message(null, "late"), invalid));
+        Mockito.verify(instrumentation).captureCount(sinkMetrics.getDeadLetterDroppedMetric(), 1L, "error_type=INVALID_MESSAGE_ERROR");
+    }
+}
@@ -0,0 +1,88 @@
+package org.raystack.depot.message;
+
+import org.raystack.depot.common.BatchConverter;
+import org.raystack.depot.exception.EmptyMessageException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ParsedMessagesTest {
+    private static final String SCHEMA_CLASS = "org.raystack.depot.TestMessage";
+    private final MessageParser messageParser = Mockito.mock(MessageParser.class);
+
+    @Test
+    public void shouldReuseMessagesParsedWithSameModeAndSchema() throws Exception {
+        List<Message> messages = new ArrayList<>();
+        messages.add(new Message(null, "a".getBytes()));
+        ParsedMessage parsedMessage = Mockito.mock(ParsedMessage.class);
+        Mockito.when(messageParser.parse(messages.get(0), SinkConnectorSchemaMessageMode.LOG_MESSAGE, SCHEMA_CLASS))
+                .thenReturn(parsedMessage);
+        ParsedMessages parsedMessages = ParsedMessages.parse(messages, messageParser,
+                SinkConnectorSchemaMessageMode.LOG_MESSAGE, SCHEMA_CLASS, BatchConverter.sequential());
+
+        Assert.assertSame(parsedMessage, parsedMessages.getOrParse(messages.get(0), 0, messageParser,
+                SinkConnectorSchemaMessageMode.LOG_MESSAGE, SCHEMA_CLASS));
+        Mockito.verify(messageParser, Mockito.times(1)).parse(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void shouldParseAgainWithDifferentModeOrSchema() throws Exception {
+        List<Message> messages = new ArrayList<>();
+        messages.add(new Message("k".getBytes(), "a".getBytes()));
+        ParsedMessage keyMessage = Mockito.mock(ParsedMessage.class);
+        Mockito.when(messageParser.parse(messages.get(0), SinkConnectorSchemaMessageMode.LOG_KEY, SCHEMA_CLASS))
+                .thenReturn(keyMessage);
+        ParsedMessages parsedMessages = ParsedMessages.parse(messages, messageParser,
+                SinkConnectorSchemaMessageMode.LOG_MESSAGE, SCHEMA_CLASS, BatchConverter.sequential());
+
+        Assert.assertSame(keyMessage, parsedMessages.getOrParse(messages.get(0), 0, messageParser,
+                SinkConnectorSchemaMessageMode.LOG_KEY, SCHEMA_CLASS));
+    }
+
+    @Test
+    public void shouldParseAgainWithParserParsingDifferently() throws Exception {
+        List<Message> messages = new ArrayList<>();
+        messages.add(new Message(null, "a".getBytes()));
+        MessageParser otherParser = Mockito.mock(MessageParser.class);
+        ParsedMessage parsedMessage = Mockito.mock(ParsedMessage.class);
+        ParsedMessage otherParsedMessage = Mockito.mock(ParsedMessage.class);
+        Mockito.when(messageParser.getParseKey()).thenReturn("string mode");
+        Mockito.when(otherParser.getParseKey()).thenReturn("typed mode");
+        Mockito.when(messageParser.parse(messages.get(0), SinkConnectorSchemaMessageMode.LOG_MESSAGE, SCHEMA_CLASS))
+                .thenReturn(parsedMessage);
+        Mockito.when(otherParser.parse(messages.get(0), SinkConnectorSchemaMessageMode.LOG_MESSAGE, SCHEMA_CLASS))
+                .thenReturn(otherParsedMessage);
+        ParsedMessages parsedMessages = ParsedMessages.parse(messages, messageParser,
+                SinkConnectorSchemaMessageMode.LOG_MESSAGE, SCHEMA_CLASS, BatchConverter.sequential());
+
+        Assert.assertSame(otherParsedMessage, parsedMessages.getOrParse(messages.get(0), 0, otherParser,
+                SinkConnectorSchemaMessageMode.LOG_MESSAGE, SCHEMA_CLASS));
+    }
+
+    @Test(expected = EmptyMessageException.class)
+    public void shouldParseAgainToReportParsingErrors() throws Exception {
+        List<Message> messages = new ArrayList<>();
+        messages.add(new Message(null, null));
+        Mockito.when(messageParser.parse(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenThrow(new EmptyMessageException());
+        ParsedMessages parsedMessages = ParsedMessages.parse(messages, messageParser,
+                SinkConnectorSchemaMessageMode.LOG_MESSAGE, SCHEMA_CLASS, BatchConverter.sequential());
+
+        parsedMessages.getOrParse(messages.get(0), 0, messageParser, SinkConnectorSchemaMessageMode.LOG_MESSAGE,
+                SCHEMA_CLASS);
+    }
+
+    @Test
+    public void shouldParseWhenNothingIsShared() throws Exception {
+        Message message = new Message(null, "a".getBytes());
+        ParsedMessage parsedMessage = Mockito.mock(ParsedMessage.class);
+        Mockito.when(messageParser.parse(message, SinkConnectorSchemaMessageMode.LOG_MESSAGE, SCHEMA_CLASS))
+                .thenReturn(parsedMessage);
+
+        Assert.assertSame(parsedMessage, ParsedMessages.none().getOrParse(message, 0, messageParser,
+                SinkConnectorSchemaMessageMode.LOG_MESSAGE, SCHEMA_CLASS));
+    }
+}
@@ -0,0 +1,69 @@
+package org.raystack.depot.message.proto;
+
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.raystack.depot.TestKeyBQ;
+import org.raystack.depot.TestMessageBQ;
+import org.raystack.depot.TestNestedMessageBQ;
+
+import static org.junit.Assert.assertThrows;
+
+public class ProtoFieldPathTest {
+
+    @Test
+    public void shouldReuseCompiledPathForSameName() {
+        Assert.assertSame(ProtoFieldPath.of("single_message.order_number"),
+                ProtoFieldPath.of("single_message.order_number"));
+    }
+
+    @Test
+    public void shouldReadNestedField() throws InvalidProtocolBufferException {
+        TestNestedMessageBQ nestedMessage = TestNestedMessageBQ.newBuilder()
+                .setSingleMessage(TestMessageBQ.newBuilder().setOrderNumber("order-1").build())
+                .build();
+        DynamicMessage message = DynamicMessage.parseFrom(TestNestedMessageBQ.getDescriptor(),
+                nestedMessage.toByteArray());
+
+        Assert.assertEquals("order-1", ProtoFieldPath.of("single_message.order_number").read(message).getValue());
+    }
+
+    @Test
+    public void shouldResolveAgainForDifferentDescriptor() throws InvalidProtocolBufferException {
+        DynamicMessage key = DynamicMessage.parseFrom(TestKeyBQ.getDescriptor(),
+                TestKeyBQ.newBuilder().setOrderNumber("key-1").build().toByteArray());
+        DynamicMessage message = DynamicMessage.parseFrom(TestMessageBQ.getDescriptor(),
+                TestMessageBQ.newBuilder().setOrderNumber("message-1").build().toByteArray());
+        ProtoFieldPath fieldPath = ProtoFieldPath.of("order_number");
+
+        Assert.assertEquals("key-1", fieldPath.read(key).getValue());
+        Assert.assertEquals("message-1", fieldPath.read(message).getValue());
+        Assert.assertEquals("key-1", fieldPath.read(key).getValue());
+    }
+
+    @Test
+    public void shouldKeepResolvedChainOfEveryDescriptor() throws InvalidProtocolBufferException {
+        DynamicMessage key = DynamicMessage.parseFrom(TestKeyBQ.getDescriptor(),
+                TestKeyBQ.newBuilder().setOrderNumber("key-1").build().toByteArray());
+        DynamicMessage message = DynamicMessage.parseFrom(TestMessageBQ.getDescriptor(),
+                TestMessageBQ.newBuilder().setOrderNumber("message-1").build().toByteArray());
+        ProtoFieldPath fieldPath = ProtoFieldPath.of("order_number");
+
+        fieldPath.read(key);
+        fieldPath.read(message);
+
+        Assert.assertTrue(fieldPath.isResolvedFor(TestKeyBQ.getDescriptor()));
+        Assert.assertTrue(fieldPath.isResolvedFor(TestMessageBQ.getDescriptor()));
+    }
+
+    @Test
+    public void shouldThrowExceptionForFieldInsideNonMessageField() throws InvalidProtocolBufferException {
+        DynamicMessage message = DynamicMessage.parseFrom(TestNestedMessageBQ.getDescriptor(),
+                TestNestedMessageBQ.newBuilder().setNestedId("test").build().toByteArray());
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> ProtoFieldPath.of("nested_id.order_id").read(message));
+        Assert.assertEquals("Invalid field config : nested_id.order_id", exception.getMessage());
+    }
+}
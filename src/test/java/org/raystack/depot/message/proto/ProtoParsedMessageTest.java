@@ -110,6 +110,16 @@ public class ProtoParsedMessageTest {
         assertEquals(21L, dateFields.get("day"));
     }
 
+    @Test
+    public void shouldNotLetSharedMappingBeModified() throws IOException {
+        MessageSchema messageSchema = messageParser.getSchema("org.raystack.depot.TestMessageBQ", descriptorsMap);
+        ProtoParsedMessage parsedMessage = new ProtoParsedMessage(dynamicMessage);
+        Map<String, Object> fields = parsedMessage.getMapping(messageSchema);
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> fields.put("metadata", "value"));
+        assertEquals("order-1", parsedMessage.getMapping(messageSchema).get("order_number"));
+    }
+
     @Test
     public void shouldThrowExceptionWhenFloatingPointIsNaN() throws IOException {
         String data = "ogQFJQAAwH8=";
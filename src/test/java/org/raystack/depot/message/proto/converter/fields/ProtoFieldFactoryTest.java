@@ -0,0 +1,45 @@
+package org.raystack.depot.message.proto.converter.fields;
+
+import com.google.protobuf.Descriptors;
+import org.raystack.depot.TestMessageBQ;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ProtoFieldFactoryTest {
+    private final Descriptors.Descriptor descriptor = TestMessageBQ.getDescriptor();
+
+    private ProtoField getField(String name, Object value) {
+        return ProtoFieldFactory.getField(descriptor.findFieldByName(name), value);
+    }
+
+    @Test
+    public void shouldResolveFieldKindsFromDescriptor() {
+        assertTrue(getField("trip_duration", null) instanceof DurationProtoField);
+        assertTrue(getField("created_at", null) instanceof TimestampProtoField);
+        assertTrue(getField("updated_at", null) instanceof TimestampProtoField);
+        assertTrue(getField("status", null) instanceof EnumProtoField);
+        assertTrue(getField("properties", null) instanceof StructProtoField);
+        assertTrue(getField("price", null) instanceof FloatProtoField);
+        assertTrue(getField("discount", null) instanceof IntegerProtoField);
+        assertTrue(getField("counter", null) instanceof IntegerProtoField);
+        assertTrue(getField("current_state", null) instanceof MessageProtoField);
+        assertTrue(getField("order_number", null) instanceof DefaultProtoField);
+        assertTrue(getField("success", null) instanceof DefaultProtoField);
+    }
+
+    @Test
+    public void shouldCreateNewFieldForEveryValue() {
+        assertEquals(10L, getField("discount", 10L).getValue());
+        assertEquals(20L, getField("discount", 20L).getValue());
+        assertEquals("order-1", getField("order_number", "order-1").getValue());
+    }
+
+    @Test
+    public void shouldResolveAgainAfterCacheIsCleared() {
+        assertTrue(getField("price", null) instanceof FloatProtoField);
+        ProtoFieldFactory.clearCache();
+        assertTrue(getField("price", null) instanceof FloatProtoField);
+    }
+}
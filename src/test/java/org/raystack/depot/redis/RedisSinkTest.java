@@ -6,21 +6,27 @@ import org.raystack.depot.redis.client.response.RedisResponse;
 import org.raystack.depot.redis.parsers.RedisParser;
 import org.raystack.depot.redis.record.RedisRecord;
 import org.raystack.depot.SinkResponse;
+import org.raystack.depot.common.RetryExecutor;
 import org.raystack.depot.error.ErrorInfo;
 import org.raystack.depot.error.ErrorType;
 import org.raystack.depot.exception.ConfigurationException;
+import org.raystack.depot.exception.SinkException;
 import org.raystack.depot.message.Message;
 import org.raystack.depot.metrics.Instrumentation;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import redis.clients.jedis.exceptions.JedisConnectionException;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 import static org.mockito.Mockito.when;
@@ -149,4 +155,89 @@ public class RedisSinkTest {
         Assert.assertEquals("failed at 3", sinkResponse.getErrorsFor(3).getException().getMessage());
         Assert.assertEquals("failed at 4", sinkResponse.getErrorsFor(4).getException().getMessage());
     }
+
+    @Test
+    public void shouldPushToSinkAsynchronously() throws Exception {
+        List<Message> messages = new ArrayList<>();
+        List<RedisRecord> records = new ArrayList<>();
+        records.add(new RedisRecord(null, 0L, new ErrorInfo(new IOException(""), ErrorType.DESERIALIZATION_ERROR), null,
+                false));
+        records.add(new RedisRecord(new RedisListEntry("key1", "val1", null), 1L, null, null, true));
+        List<RedisResponse> responses = new ArrayList<>();
+        responses.add(Mockito.mock(RedisResponse.class));
+        when(redisParser.convert(messages)).thenReturn(records);
+        List<RedisRecord> validRecords = records.stream().filter(RedisRecord::isValid).collect(Collectors.toList());
+        when(redisClient.send(validRecords)).thenReturn(responses);
+        RedisSink redisSink = new RedisSink(redisClient, redisParser, instrumentation);
+        SinkResponse sinkResponse = redisSink.pushToSinkAsync(messages).get();
+        redisSink.close();
+        Assert.assertEquals(1, sinkResponse.getErrors().size());
+        Assert.assertEquals(ErrorType.DESERIALIZATION_ERROR, sinkResponse.getErrorsFor(0).getErrorType());
+        Mockito.verify(redisClient, Mockito.times(1)).send(validRecords);
+    }
+
+    @Test
+    public void shouldCloseRedisClientAfterSendsInFlight() throws Exception {
+        List<Message> messages = new ArrayList<>();
+        List<RedisRecord> records = new ArrayList<>();
+        records.add(new RedisRecord(new RedisListEntry("key1", "val1", null), 0L, null, null, true));
+        List<RedisResponse> responses = new ArrayList<>();
+        responses.add(Mockito.mock(RedisResponse.class));
+        when(redisParser.convert(messages)).thenReturn(records);
+        when(redisClient.send(records)).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return responses;
+        });
+        RedisSink redisSink = new RedisSink(redisClient, redisParser, instrumentation);
+        CompletableFuture<SinkResponse> sinkResponse = redisSink.pushToSinkAsync(messages);
+
+        redisSink.close();
+
+        Assert.assertTrue(sinkResponse.isDone());
+        InOrder inOrder = Mockito.inOrder(redisClient);
+        inOrder.verify(redisClient).send(records);
+        inOrder.verify(redisClient).close();
+    }
+
+    @Test
+    public void shouldRetryRetryableErrorsOfAsyncPush() throws Exception {
+        List<Message> messages = new ArrayList<>();
+        List<RedisRecord> records = new ArrayList<>();
+        records.add(new RedisRecord(new RedisListEntry("key1", "val1", null), 0L, null, null, true));
+        RedisResponse busy = Mockito.mock(RedisResponse.class);
+        when(busy.isFailed()).thenReturn(true);
+        when(busy.getMessage()).thenReturn("BUSY redis is busy");
+        List<RedisResponse> busyResponses = new ArrayList<>();
+        busyResponses.add(busy);
+        List<RedisResponse> responses = new ArrayList<>();
+        responses.add(Mockito.mock(RedisResponse.class));
+        when(redisParser.convert(messages)).thenReturn(records);
+        when(redisClient.send(records)).thenReturn(busyResponses).thenReturn(responses);
+        RedisSink redisSink = new RedisSink(redisClient, redisParser, instrumentation, null,
+                new RetryExecutor(2, 1, 1, 10000));
+
+        SinkResponse sinkResponse = redisSink.pushToSinkAsync(messages).get();
+        redisSink.close();
+
+        Assert.assertFalse(sinkResponse.hasErrors());
+        Mockito.verify(redisClient, Mockito.times(2)).send(records);
+    }
+
+    @Test
+    public void shouldCompleteAsyncPushExceptionallyWithSinkExceptionWhenSendFails() throws Exception {
+        List<Message> messages = new ArrayList<>();
+        List<RedisRecord> records = new ArrayList<>();
+        records.add(new RedisRecord(new RedisListEntry("key1", "val1", null), 0L, null, null, true));
+        JedisConnectionException failure = new JedisConnectionException("connection lost");
+        when(redisParser.convert(messages)).thenReturn(records);
+        when(redisClient.send(records)).thenThrow(failure);
+        RedisSink redisSink = new RedisSink(redisClient, redisParser, instrumentation);
+
+        CompletableFuture<SinkResponse> sinkResponse = redisSink.pushToSinkAsync(messages);
+
+        ExecutionException e = Assert.assertThrows(ExecutionException.class, sinkResponse::get);
+        Assert.assertTrue(e.getCause() instanceof SinkException);
+        Assert.assertSame(failure, e.getCause().getCause());
+        redisSink.close();
+    }
 }
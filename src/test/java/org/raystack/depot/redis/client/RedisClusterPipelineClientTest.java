@@ -0,0 +1,96 @@
+package org.raystack.depot.redis.client;
+
+import org.raystack.depot.metrics.Instrumentation;
+import org.raystack.depot.redis.client.entry.RedisListEntry;
+import org.raystack.depot.redis.client.response.RedisResponse;
+import org.raystack.depot.redis.record.RedisRecord;
+import org.raystack.depot.redis.ttl.NoRedisTtl;
+import org.raystack.depot.redis.ttl.RedisTtl;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisMovedDataException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RedisClusterPipelineClientTest {
+    @Mock
+    private Instrumentation instrumentation;
+    @Mock
+    private JedisCluster jedisCluster;
+    @Mock
+    private JedisPool jedisPool;
+    @Mock
+    private Jedis jedis;
+    @Mock
+    private Pipeline pipeline;
+    private final RedisTtl redisTTL = new NoRedisTtl();
+    private RedisClient redisClient;
+
+    @Before
+    public void setup() {
+        Map<String, JedisPool> pools = new HashMap<>();
+        pools.put("localhost:7000", jedisPool);
+        List<Object> master = Arrays.asList("localhost".getBytes(), 7000L, "node-id".getBytes());
+        List<Object> slots = new ArrayList<>();
+        slots.add(Arrays.asList(0L, 16383L, master));
+        when(jedisCluster.getClusterNodes()).thenReturn(pools);
+        when(jedisPool.getResource()).thenReturn(jedis);
+        when(jedis.clusterSlots()).thenReturn(slots);
+        when(jedis.pipelined()).thenReturn(pipeline);
+        redisClient = new RedisClusterPipelineClient(instrumentation, redisTTL, jedisCluster,
+                Executors.newSingleThreadExecutor());
+    }
+
+    @Test
+    public void shouldSendRecordsOfANodeInOnePipeline() {
+        List<RedisRecord> records = new ArrayList<>();
+        for (long i = 0; i < 3; i++) {
+            records.add(new RedisRecord(new RedisListEntry("key" + i, "val" + i, instrumentation), i, null, null,
+                    true));
+            Response<Long> response = Mockito.mock(Response.class);
+            when(response.get()).thenReturn(1L);
+            when(pipeline.lpush("key" + i, "val" + i)).thenReturn(response);
+        }
+        List<RedisResponse> responses = redisClient.send(records);
+        Assert.assertEquals(3, responses.size());
+        responses.forEach(response -> Assert.assertFalse(response.isFailed()));
+        Assert.assertEquals("LPUSH: 1, TTL: NoOp", responses.get(0).getMessage());
+        Mockito.verify(pipeline, Mockito.times(1)).sync();
+        Mockito.verify(jedisCluster, Mockito.never()).lpush(Mockito.anyString(), Mockito.anyString());
+    }
+
+    @Test
+    public void shouldResendMovedRecordsThroughCluster() {
+        List<RedisRecord> records = new ArrayList<>();
+        records.add(new RedisRecord(new RedisListEntry("key0", "val0", instrumentation), 0L, null, null, true));
+        Response<Long> response = Mockito.mock(Response.class);
+        when(response.get()).thenThrow(
+                new JedisMovedDataException("MOVED 1 localhost:7001", new HostAndPort("localhost", 7001), 1));
+        when(pipeline.lpush("key0", "val0")).thenReturn(response);
+        when(jedisCluster.lpush("key0", "val0")).thenReturn(2L);
+        List<RedisResponse> responses = redisClient.send(records);
+        Assert.assertFalse(responses.get(0).isFailed());
+        Assert.assertEquals("LPUSH: 2, TTL: NoOp", responses.get(0).getMessage());
+        // slots are loaded on first send and refreshed after the redirection
+        Mockito.verify(jedis, Mockito.times(2)).clusterSlots();
+    }
+}
@@ -0,0 +1,89 @@
+package org.raystack.depot.redis.coalescer;
+
+import org.raystack.depot.metrics.Instrumentation;
+import org.raystack.depot.redis.client.entry.RedisHashSetEntry;
+import org.raystack.depot.redis.client.entry.RedisHashSetFieldEntry;
+import org.raystack.depot.redis.client.entry.RedisKeyValueEntry;
+import org.raystack.depot.redis.client.entry.RedisKeyValueWithTtlEntry;
+import org.raystack.depot.redis.client.entry.RedisListEntry;
+import org.raystack.depot.redis.client.entry.RedisMultiValueListEntry;
+import org.raystack.depot.redis.client.response.RedisClusterResponse;
+import org.raystack.depot.redis.client.response.RedisResponse;
+import org.raystack.depot.redis.record.RedisRecord;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RedisRecordCoalescerTest {
+    @Mock
+    private Instrumentation instrumentation;
+
+    @Test
+    public void shouldMergeHashSetFieldsPerKey() {
+        List<RedisRecord> records = new ArrayList<>();
+        records.add(new RedisRecord(new RedisHashSetFieldEntry("key1", "f1", "v1", instrumentation), 0L, null, "m0",
+                true));
+        records.add(new RedisRecord(new RedisHashSetFieldEntry("key1", "f2", "v2", instrumentation), 0L, null, "m0",
+                true));
+        records.add(new RedisRecord(new RedisHashSetFieldEntry("key2", "f1", "v3", instrumentation), 1L, null, "m1",
+                true));
+        records.add(new RedisRecord(new RedisHashSetFieldEntry("key1", "f1", "v4", instrumentation), 2L, null, "m2",
+                true));
+        RedisCoalescedBatch batch = new RedisRecordCoalescer(instrumentation).coalesce(records);
+
+        Assert.assertEquals(2, batch.getRecords().size());
+        Map<String, String> key1Fields = new HashMap<>();
+        key1Fields.put("f1", "v4");
+        key1Fields.put("f2", "v2");
+        Assert.assertEquals(new RedisHashSetEntry("key1", key1Fields, instrumentation),
+                batch.getRecords().get(0).getRedisEntry());
+        Assert.assertEquals(0L, (long) batch.getRecords().get(0).getIndex());
+        Map<String, String> key2Fields = new HashMap<>();
+        key2Fields.put("f1", "v3");
+        Assert.assertEquals(new RedisHashSetEntry("key2", key2Fields, instrumentation),
+                batch.getRecords().get(1).getRedisEntry());
+    }
+
+    @Test
+    public void shouldMergeListValuesInOrderAndKeepLastKeyValue() {
+        List<RedisRecord> records = new ArrayList<>();
+        records.add(new RedisRecord(new RedisListEntry("list", "a", instrumentation), 0L, null, null, true));
+        records.add(new RedisRecord(new RedisKeyValueEntry("kv", "x", instrumentation), 1L, null, null, true));
+        records.add(new RedisRecord(new RedisListEntry("list", "b", instrumentation), 2L, null, null, true));
+        records.add(new RedisRecord(new RedisKeyValueEntry("kv", "y", instrumentation), 3L, null, null, true));
+        RedisCoalescedBatch batch = new RedisRecordCoalescer(instrumentation).coalesce(records);
+
+        Assert.assertEquals(2, batch.getRecords().size());
+        Assert.assertEquals(new RedisMultiValueListEntry("list", Arrays.asList("a", "b"), instrumentation),
+                batch.getRecords().get(0).getRedisEntry());
+        Assert.assertEquals(new RedisKeyValueWithTtlEntry("kv", "y", instrumentation),
+                batch.getRecords().get(1).getRedisEntry());
+    }
+
+    @Test
+    public void shouldExpandResponsesToSourceRecords() {
+        List<RedisRecord> records = new ArrayList<>();
+        records.add(new RedisRecord(new RedisListEntry("list1", "a", instrumentation), 0L, null, null, true));
+        records.add(new RedisRecord(new RedisListEntry("list2", "b", instrumentation), 1L, null, null, true));
+        records.add(new RedisRecord(new RedisListEntry("list1", "c", instrumentation), 2L, null, null, true));
+        RedisCoalescedBatch batch = new RedisRecordCoalescer(instrumentation).coalesce(records);
+        RedisResponse failed = new RedisClusterResponse("failed");
+        RedisResponse succeeded = new RedisClusterResponse("LPUSH", 1L, null);
+
+        List<RedisResponse> responses = batch.expand(Arrays.asList(failed, succeeded));
+
+        Assert.assertEquals(3, responses.size());
+        Assert.assertSame(failed, responses.get(0));
+        Assert.assertSame(succeeded, responses.get(1));
+        Assert.assertSame(failed, responses.get(2));
+    }
+}
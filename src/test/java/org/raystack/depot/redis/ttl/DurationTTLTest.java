@@ -1,5 +1,6 @@
 package org.raystack.depot.redis.ttl;
 
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -7,6 +8,7 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.params.SetParams;
 
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -38,4 +40,15 @@ public class DurationTTLTest {
         durationTTL.setTtl(jedisCluster, "test-key");
         verify(jedisCluster, times(1)).expire("test-key", 10);
     }
+
+    @Test
+    public void shouldProvideExpiryAsSetParams() {
+        SetParams setParams = durationTTL.getSetParams();
+        Assert.assertEquals(10, (int) setParams.getParam("ex"));
+    }
+
+    @Test
+    public void shouldNotProvideSetParamsForZeroTTL() {
+        Assert.assertNull(new DurationTtl(0).getSetParams());
+    }
 }
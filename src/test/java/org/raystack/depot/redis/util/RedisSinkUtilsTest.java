@@ -70,4 +70,18 @@ public class RedisSinkUtilsTest {
                 new Instrumentation(statsDReporter, RedisSinkUtils.class));
         Assert.assertTrue(errors.isEmpty());
     }
+
+    @Test
+    public void shouldMarkTransientServerErrorsAsRetryable() {
+        List<RedisRecord> records = new ArrayList<>();
+        records.add(new RedisRecord(new RedisListEntry("key1", "val1", null), 1L, null, null, true));
+        records.add(new RedisRecord(new RedisListEntry("key1", "val1", null), 2L, null, null, true));
+        List<RedisResponse> responses = new ArrayList<>();
+        responses.add(new RedisClusterResponse("LOADING Redis is loading the dataset in memory"));
+        responses.add(new RedisClusterResponse("WRONGTYPE Operation against a key holding the wrong kind of value"));
+        Map<Long, ErrorInfo> errors = RedisSinkUtils.getErrorsFromResponse(records, responses,
+                new Instrumentation(statsDReporter, RedisSinkUtils.class));
+        Assert.assertEquals(ErrorType.SINK_RETRYABLE_ERROR, errors.get(1L).getErrorType());
+        Assert.assertEquals(ErrorType.DEFAULT_ERROR, errors.get(2L).getErrorType());
+    }
 }
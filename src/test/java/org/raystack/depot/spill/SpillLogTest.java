@@ -0,0 +1,168 @@
+package org.raystack.depot.spill;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class SpillLogTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<byte[]> records(String... values) {
+        return Arrays.stream(values).map(value -> value.getBytes(StandardCharsets.UTF_8)).collect(Collectors.toList());
+    }
+
+    private List<String> strings(List<byte[]> records) {
+        return records.stream().map(record -> new String(record, StandardCharsets.UTF_8)).collect(Collectors.toList());
+    }
+
+    private long segmentCount(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".segment")).count();
+        }
+    }
+
+    @Test
+    public void shouldReadRecordsInOrderAcrossSegments() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (SpillLog spillLog = new SpillLog(directory, 32, 1024)) {
+            Assert.assertTrue(spillLog.append(records("first", "second")));
+            Assert.assertTrue(spillLog.append(records("third", "fourth", "fifth")));
+
+            Assert.assertEquals(5, spillLog.size());
+            Assert.assertEquals(Arrays.asList("first", "second", "third"), strings(spillLog.read(3)));
+            Assert.assertEquals(3, segmentCount(directory));
+
+            spillLog.advance(3);
+            Assert.assertEquals(Arrays.asList("fourth", "fifth"), strings(spillLog.read(10)));
+            Assert.assertEquals(2, segmentCount(directory));
+
+            spillLog.advance(2);
+            Assert.assertTrue(spillLog.isEmpty());
+            Assert.assertTrue(spillLog.read(10).isEmpty());
+            Assert.assertEquals(0, segmentCount(directory));
+        }
+    }
+
+    @Test
+    public void shouldRefuseAppendsBeyondMaxBytes() throws IOException {
+        try (SpillLog spillLog = new SpillLog(folder.getRoot().toPath(), 32, 64)) {
+            Assert.assertTrue(spillLog.append(records("first", "second", "third")));
+            Assert.assertFalse(spillLog.append(records("fourth", "fifth")));
+            Assert.assertFalse(spillLog.append(records(new String(new char[40]).replace('\0', 'a'))));
+
+            Assert.assertEquals(3, spillLog.size());
+            spillLog.advance(3);
+            Assert.assertTrue(spillLog.append(records("fourth", "fifth")));
+        }
+    }
+
+    @Test
+    public void shouldUnmapDeletedSegments() throws IOException {
+        Path maps = Paths.get("/proc/self/maps");
+        Assume.assumeTrue(Files.isReadable(maps));
+        Path directory = folder.getRoot().toPath();
+        try (SpillLog spillLog = new SpillLog(directory, 32, 1024)) {
+            Assert.assertTrue(spillLog.append(records("first", "second", "third")));
+            Assert.assertTrue(mappedSegments(maps, directory) > 0);
+
+            spillLog.advance(3);
+
+            Assert.assertEquals(0, segmentCount(directory));
+            Assert.assertEquals(0, mappedSegments(maps, directory));
+        }
+    }
+
+    private long mappedSegments(Path maps, Path directory) throws IOException {
+        return Files.readAllLines(maps).stream()
+                .filter(line -> line.contains(directory.toString()) && line.contains(".segment"))
+                .count();
+    }
+
+    @Test
+    public void shouldRecoverUnreadRecordsAfterReopening() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (SpillLog spillLog = new SpillLog(directory, 64, 1024)) {
+            spillLog.append(records("first", "second", "third"));
+            spillLog.advance(1);
+        }
+
+        try (SpillLog spillLog = new SpillLog(directory, 64, 1024)) {
+            Assert.assertEquals(2, spillLog.size());
+            Assert.assertEquals(Arrays.asList("second", "third"), strings(spillLog.read(10)));
+            spillLog.append(records("fourth"));
+            Assert.assertEquals(Arrays.asList("second", "third", "fourth"), strings(spillLog.read(10)));
+        }
+    }
+
+    @Test
+    public void shouldDropTornRecordWhenReopening() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (SpillLog spillLog = new SpillLog(directory, 64, 1024)) {
+            spillLog.append(records("first", "second"));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(file -> file.toString().endsWith(".segment")).findFirst().get();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // corrupt the last byte of the second record
+            file.seek(8 + 5 + 8 + 5);
+            file.write('x');
+        }
+
+        try (SpillLog spillLog = new SpillLog(directory, 64, 1024)) {
+            Assert.assertEquals(Arrays.asList("first"), strings(spillLog.read(10)));
+            spillLog.append(records("third"));
+            Assert.assertEquals(Arrays.asList("first", "third"), strings(spillLog.read(10)));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldNotOpenDirectoryUsedByAnotherLog() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (SpillLog spillLog = new SpillLog(directory, 64, 1024)) {
+            new SpillLog(directory, 64, 1024);
+        }
+    }
+
+    @Test
+    public void shouldOpenLogsInSubdirectoriesOfTheirOwn() throws IOException {
+        Path parent = folder.getRoot().toPath();
+        try (SpillLog first = SpillLog.openUnused(parent, 32, 1024);
+                SpillLog second = SpillLog.openUnused(parent, 32, 1024)) {
+            Assert.assertTrue(first.append(records("first")));
+            Assert.assertTrue(second.append(records("second")));
+
+            Assert.assertEquals(Arrays.asList("first"), strings(first.read(10)));
+            Assert.assertEquals(Arrays.asList("second"), strings(second.read(10)));
+            Assert.assertEquals(1, segmentCount(parent.resolve("0")));
+            Assert.assertEquals(1, segmentCount(parent.resolve("1")));
+        }
+        try (SpillLog reopened = SpillLog.openUnused(parent, 32, 1024)) {
+            Assert.assertEquals(Arrays.asList("first"), strings(reopened.read(10)));
+        }
+    }
+
+    @Test
+    public void shouldReadEmptyLogWhenNothingWasAppended() throws IOException {
+        try (SpillLog spillLog = new SpillLog(folder.getRoot().toPath(), 64, 1024)) {
+            Assert.assertEquals(new ArrayList<byte[]>(), spillLog.read(10));
+            Assert.assertTrue(spillLog.isEmpty());
+        }
+    }
+}